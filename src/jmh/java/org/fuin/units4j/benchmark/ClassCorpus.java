@@ -0,0 +1,130 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.benchmark;
+
+import org.fuin.units4j.Units4JUtils;
+import org.fuin.units4j.scale.SyntheticCorpusGenerator;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Set of class files in a temporary directory and a JAR file. Either real world classes copied from the JDK's "java.base" module or
+ * classes created by the {@link SyntheticCorpusGenerator}.
+ */
+// CHECKSTYLE:OFF Benchmark code
+@State(Scope.Benchmark)
+public class ClassCorpus {
+
+    /** Maximum number of classes to copy from the JDK or number of classes to generate. */
+    @Param({ "2000" })
+    public int size;
+
+    /** Origin of the classes: "jdk" or "synthetic". */
+    @Param({ "jdk", "synthetic" })
+    public String source;
+
+    private Path root;
+
+    private File dir;
+
+    private File jar;
+
+    private List<File> classFiles;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        root = Files.createTempDirectory("units4j-jmh");
+        dir = root.resolve("classes").toFile();
+        jar = root.resolve("classes.jar").toFile();
+        classFiles = new ArrayList<>();
+
+        if ("synthetic".equals(source)) {
+            final SyntheticCorpusGenerator generator = SyntheticCorpusGenerator.typical(size);
+            generator.writeDirectory(dir);
+            generator.writeJar(jar);
+            classFiles.addAll(Units4JUtils.findAllClasses(dir));
+            return;
+        }
+
+        final Path base = FileSystems.getFileSystem(URI.create("jrt:/")).getPath("modules", "java.base");
+        final List<Path> sources;
+        try (final Stream<Path> stream = Files.walk(base)) {
+            sources = stream.filter(path -> path.toString().endsWith(".class") && !path.endsWith("module-info.class")).sorted()
+                    .limit(size).collect(Collectors.toList());
+        }
+        try (final JarOutputStream jarOut = new JarOutputStream(Files.newOutputStream(jar.toPath()))) {
+            for (final Path source : sources) {
+                final String name = base.relativize(source).toString();
+                final byte[] data = Files.readAllBytes(source);
+                final Path target = dir.toPath().resolve(name);
+                Files.createDirectories(target.getParent());
+                try (final OutputStream out = Files.newOutputStream(target)) {
+                    out.write(data);
+                }
+                classFiles.add(target.toFile());
+                jarOut.putNextEntry(new JarEntry(name));
+                jarOut.write(data);
+                jarOut.closeEntry();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (final Stream<Path> stream = Files.walk(root)) {
+            stream.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    public File getDir() {
+        return dir;
+    }
+
+    public File getJar() {
+        return jar;
+    }
+
+    public List<File> getClassFiles() {
+        return classFiles;
+    }
+
+    public int getCount() {
+        return classFiles.size();
+    }
+
+}
+// CHECKSTYLE:ON
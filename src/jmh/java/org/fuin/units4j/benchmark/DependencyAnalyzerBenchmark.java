@@ -0,0 +1,52 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.benchmark;
+
+import org.fuin.units4j.dependency.Dependencies;
+import org.fuin.units4j.dependency.DependencyAnalyzer;
+import org.fuin.units4j.dependency.DependsOn;
+import org.fuin.units4j.dependency.InvalidDependenciesDefinitionException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link DependencyAnalyzer#analyze(java.io.File)}.
+ */
+// CHECKSTYLE:OFF Benchmark code
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DependencyAnalyzerBenchmark {
+
+    @Benchmark
+    public int analyze(final ClassCorpus corpus, final ClassCounter counter) throws InvalidDependenciesDefinitionException {
+        final Dependencies dependencies = new Dependencies();
+        dependencies.getAlwaysAllowed().add(new DependsOn("java", true));
+        final DependencyAnalyzer analyzer = new DependencyAnalyzer(dependencies);
+        analyzer.analyze(corpus.getDir());
+        counter.classes += corpus.getCount();
+        return analyzer.getDependencyErrors().size();
+    }
+
+}
+// CHECKSTYLE:ON
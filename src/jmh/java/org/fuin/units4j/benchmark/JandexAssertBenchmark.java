@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.benchmark;
+
+import org.fuin.units4j.JandexAssert;
+import org.fuin.units4j.Units4JUtils;
+import org.jboss.jandex.Index;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the checks of {@link JandexAssert} on an index that was built before. Checks that fail are measured including the creation of
+ * the failure message.
+ */
+// CHECKSTYLE:OFF Benchmark code
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JandexAssertBenchmark {
+
+    private Index index;
+
+    private int count;
+
+    @Setup(Level.Trial)
+    public void setup(final ClassCorpus corpus) {
+        index = Units4JUtils.indexAllClasses(corpus.getClassFiles());
+        count = corpus.getCount();
+    }
+
+    @Benchmark
+    public Object hasOnlyValidJpaEntities(final ClassCounter counter) {
+        counter.classes += count;
+        try {
+            return JandexAssert.assertThat(index).hasOnlyValidJpaEntities();
+        } catch (final AssertionError err) {
+            return err;
+        }
+    }
+
+    @Benchmark
+    public Object hasNullabilityInfoOnAllMethods(final ClassCounter counter) {
+        counter.classes += count;
+        try {
+            return JandexAssert.assertThat(index).hasNullabilityInfoOnAllMethods();
+        } catch (final AssertionError err) {
+            return err;
+        }
+    }
+
+    @Benchmark
+    public Object hasNoFinalFieldsWithJsonbPropertyAnnotation(final ClassCounter counter) {
+        counter.classes += count;
+        try {
+            return JandexAssert.assertThat(index).hasNoFinalFieldsWithJsonbPropertyAnnotation();
+        } catch (final AssertionError err) {
+            return err;
+        }
+    }
+
+}
+// CHECKSTYLE:ON
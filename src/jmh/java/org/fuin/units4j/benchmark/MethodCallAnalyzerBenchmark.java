@@ -0,0 +1,64 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.benchmark;
+
+import org.fuin.units4j.analyzer.MCAMethod;
+import org.fuin.units4j.analyzer.MethodCallAnalyzer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+
+/**
+ * Measures {@link MethodCallAnalyzer#findCallingMethodsInDir(java.io.File)} and
+ * {@link MethodCallAnalyzer#findCallingMethodsInJar(java.io.File)}.
+ */
+// CHECKSTYLE:OFF Benchmark code
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MethodCallAnalyzerBenchmark {
+
+    private static MethodCallAnalyzer createAnalyzer() {
+        return new MethodCallAnalyzer(new MCAMethod("java.math.BigDecimal", "java.math.BigDecimal divide(java.math.BigDecimal)"),
+                new MCAMethod("java.math.BigDecimal", "java.math.BigDecimal setScale(int)"));
+    }
+
+    @Benchmark
+    public int findCallingMethodsInDir(final ClassCorpus corpus, final ClassCounter counter) {
+        final MethodCallAnalyzer analyzer = createAnalyzer();
+        analyzer.findCallingMethodsInDir(corpus.getDir());
+        counter.classes += corpus.getCount();
+        return analyzer.getMethodCalls().size();
+    }
+
+    @Benchmark
+    public int findCallingMethodsInJar(final ClassCorpus corpus, final ClassCounter counter) throws IOException {
+        final MethodCallAnalyzer analyzer = createAnalyzer();
+        analyzer.findCallingMethodsInJar(corpus.getJar());
+        counter.classes += corpus.getCount();
+        return analyzer.getMethodCalls().size();
+    }
+
+}
+// CHECKSTYLE:ON
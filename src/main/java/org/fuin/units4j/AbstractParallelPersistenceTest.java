@@ -0,0 +1,173 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Base class for persistence tests that may run in parallel using the JUnit 5 parallel execution. In contrast to
+ * {@link AbstractPersistenceTest} every test gets it's own entity manager that is bound to the executing thread. The entity manager
+ * factory is created only once per persistence unit and shared by all tests.<br>
+ * <br>
+ * The following properties of the persistence unit are used:<br>
+ * units4j.db-per-thread=true (Optional - Creates one HSQLDB in-memory database for each worker thread)<br>
+ * <br>
+ * If the database per thread mode is enabled, the "jakarta.persistence.jdbc.url" of the persistence unit must be a HSQLDB in-memory URL
+ * like "jdbc:hsqldb:mem:unit-testing-jpa". Every worker thread will then use a separate entity manager factory with a numbered URL like
+ * "jdbc:hsqldb:mem:unit-testing-jpa-1". Otherwise all threads share the same database and the tests have to make sure they don't
+ * interfere with each other.
+ */
+// CHECKSTYLE:OFF:JavaDoc
+@Execution(ExecutionMode.CONCURRENT)
+public abstract class AbstractParallelPersistenceTest {
+
+    /** Persistence unit property that enables one in-memory database per worker thread. */
+    public static final String DB_PER_THREAD = "units4j.db-per-thread";
+
+    /** Standard JPA property for the JDBC URL. */
+    static final String JDBC_URL = "jakarta.persistence.jdbc.url";
+
+    private static final String HSQLDB_MEM_PREFIX = "jdbc:hsqldb:mem:";
+
+    private static final ConcurrentMap<String, EntityManagerFactory> EMFS = new ConcurrentHashMap<>();
+
+    private static final AtomicInteger WORKER_COUNTER = new AtomicInteger();
+
+    private static final ThreadLocal<Integer> WORKER = ThreadLocal.withInitial(WORKER_COUNTER::incrementAndGet);
+
+    private static final ThreadLocal<EntityManager> EM = new ThreadLocal<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(AbstractParallelPersistenceTest::closeAll));
+    }
+
+    /**
+     * Returns the name of the persistence unit to use. Overwrite this method to use another unit than "testPU".
+     *
+     * @return Persistence unit name.
+     */
+    protected String getPersistenceUnitName() {
+        return "testPU";
+    }
+
+    @BeforeEach
+    public final void createEntityManager() {
+        EM.set(entityManagerFactory(getPersistenceUnitName()).createEntityManager());
+    }
+
+    @AfterEach
+    public final void closeEntityManager() {
+        final EntityManager em = EM.get();
+        if (em != null) {
+            EM.remove();
+            try {
+                if (em.getTransaction().isActive()) {
+                    em.getTransaction().rollback();
+                }
+            } finally {
+                em.close();
+            }
+        }
+    }
+
+    /**
+     * Returns the entity manager of the current test.
+     *
+     * @return Test entity manager.
+     */
+    protected final EntityManager getEm() {
+        final EntityManager em = EM.get();
+        if (em == null) {
+            throw new IllegalStateException("Entity manager not available - Method called outside of a test?");
+        }
+        return em;
+    }
+
+    /**
+     * Starts a transaction.
+     */
+    protected final void beginTransaction() {
+        getEm().getTransaction().begin();
+    }
+
+    /**
+     * Commits the current transaction.
+     */
+    protected final void commitTransaction() {
+        getEm().getTransaction().commit();
+    }
+
+    /**
+     * Rolls back the current transaction (if active).
+     */
+    protected final void rollbackTransaction() {
+        if (getEm().getTransaction().isActive()) {
+            getEm().getTransaction().rollback();
+        }
+    }
+
+    /**
+     * Returns the entity manager factory to use for the current thread. Creates a new factory if it does not exist yet.
+     *
+     * @param puName
+     *            Name of the persistence unit.
+     *
+     * @return Shared factory.
+     */
+    static EntityManagerFactory entityManagerFactory(final String puName) {
+        final EntityManagerFactory shared = EMFS.computeIfAbsent(puName, Persistence::createEntityManagerFactory);
+        final Map<String, Object> props = shared.getProperties();
+        if (!Boolean.parseBoolean("" + props.get(DB_PER_THREAD))) {
+            return shared;
+        }
+        final String url = "" + props.get(JDBC_URL);
+        if (!url.startsWith(HSQLDB_MEM_PREFIX)) {
+            throw new IllegalStateException(
+                    "Property '" + DB_PER_THREAD + "' requires a HSQLDB in-memory URL like '" + HSQLDB_MEM_PREFIX + "xyz', but was: " + url);
+        }
+        final String workerUrl = url + "-" + WORKER.get();
+        return EMFS.computeIfAbsent(puName + "|" + workerUrl, key -> {
+            final Map<String, Object> workerProps = new HashMap<>();
+            workerProps.put(JDBC_URL, workerUrl);
+            return Persistence.createEntityManagerFactory(puName, workerProps);
+        });
+    }
+
+    private static void closeAll() {
+        for (final EntityManagerFactory emf : EMFS.values()) {
+            if (emf.isOpen()) {
+                emf.close();
+            }
+        }
+        EMFS.clear();
+    }
+
+}
+// CHECKSTYLE:ON:JavaDoc
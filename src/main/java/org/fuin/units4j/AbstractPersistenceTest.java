@@ -39,7 +39,11 @@ import java.util.Map;
  * user=sa<br>
  * pw=<br>
  * pu_name=testPU<br>
- * If the file is not found, the above default values are used.
+ * If the file is not found, the above default values are used.<br>
+ * <br>
+ * If the persistence unit defines the "units4j.url" (and optional "units4j.user"/"units4j.pw") property, a separate JDBC connection is
+ * opened that is available by {@link #getConnection()}. If "units4j.shutdown" is set to <code>true</code>, a HSQLDB "SHUTDOWN" is executed
+ * using that connection after all tests of the class have run.
  */
 // CHECKSTYLE:OFF:JavaDoc
 public abstract class AbstractPersistenceTest {
@@ -50,14 +54,16 @@ public abstract class AbstractPersistenceTest {
 
     private static Connection connection;
 
+    private static boolean shutdown;
+
     @BeforeAll
     public static void beforeClass() throws Exception {
         try {
             emf = Persistence.createEntityManagerFactory("testPU");
             em = emf.createEntityManager();
             final Map<String, Object> props = emf.getProperties();
-            final boolean shutdown = Boolean.parseBoolean("" + props.get("units4j.shutdown"));
-            if (shutdown) {
+            shutdown = Boolean.parseBoolean("" + props.get("units4j.shutdown"));
+            if (props.get("units4j.url") != null) {
                 final String connUrl = "" + props.get("units4j.url");
                 final String connUsername = "" + props.get("units4j.user");
                 final String connPassword = "" + props.get("units4j.pw");
@@ -79,8 +85,15 @@ public abstract class AbstractPersistenceTest {
         }
         try {
             if (connection != null) {
-                try (final Statement stmt = connection.createStatement()) {
-                    stmt.execute("SHUTDOWN");
+                try {
+                    if (shutdown) {
+                        try (final Statement stmt = connection.createStatement()) {
+                            stmt.execute("SHUTDOWN");
+                        }
+                    }
+                } finally {
+                    connection.close();
+                    connection = null;
                 }
             }
         } catch (final SQLException ex) {
@@ -100,6 +113,28 @@ public abstract class AbstractPersistenceTest {
         return em;
     }
 
+    /**
+     * Returns the JDBC connection defined by the "units4j.url", "units4j.user" and "units4j.pw" properties of the persistence unit. The
+     * connection is independent of the entity manager and can be used to load test data in bulk using a {@link DataSetLoader}.
+     * 
+     * @return Test database connection.
+     */
+    protected static Connection getConnection() {
+        if (connection == null) {
+            throw new IllegalStateException("Connection not available - Is the property 'units4j.url' set in the persistence unit?");
+        }
+        return connection;
+    }
+
+    /**
+     * Returns a loader for test data that uses the {@link #getConnection()}.
+     * 
+     * @return New data set loader.
+     */
+    protected static DataSetLoader getDataSetLoader() {
+        return new DataSetLoader(getConnection());
+    }
+
     /**
      * Starts a transaction.
      */
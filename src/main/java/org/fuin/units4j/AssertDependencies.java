@@ -19,11 +19,16 @@ package org.fuin.units4j;
 
 import org.fuin.units4j.dependency.Dependencies;
 import org.fuin.units4j.dependency.DependencyAnalyzer;
+import org.fuin.units4j.dependency.DependencyDiff;
 import org.fuin.units4j.dependency.DependencyError;
+import org.fuin.units4j.dependency.DependencySnapshot;
 import org.fuin.units4j.dependency.InvalidDependenciesDefinitionException;
+import org.fuin.units4j.dependency.PackageCycle;
+import org.fuin.units4j.dependency.PackageGraph;
 import org.fuin.utils4j.Utils4J;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.fail;
@@ -131,4 +136,54 @@ public final class AssertDependencies {
         }
     }
 
+    /**
+     * Asserts that there are no cycles between the packages of the classes in a directory. Every cycle is reported with the classes that
+     * create the dependencies between the packages.
+     * 
+     * @param classesDir
+     *            Directory with the ".class" files to check - Cannot be <code>null</code> and must be a valid directory.
+     */
+    public static final void assertNoCycles(final File classesDir) {
+        Utils4J.checkNotNull("classesDir", classesDir);
+        Utils4J.checkValidDir(classesDir);
+        final List<PackageCycle> cycles = PackageGraph.create(classesDir).findCycles();
+        if (!cycles.isEmpty()) {
+            final StringBuilder sb = new StringBuilder("Found " + cycles.size() + " package cycle(s):");
+            for (final PackageCycle cycle : cycles) {
+                sb.append("\n");
+                sb.append(cycle);
+            }
+            fail(sb.toString());
+        }
+    }
+
+    /**
+     * Asserts that the classes in a directory have no package dependencies that are not already contained in a snapshot of a previous
+     * build.
+     * 
+     * @param snapshotFile
+     *            Snapshot created with {@link DependencySnapshot#write(File)} - Cannot be <code>null</code>.
+     * @param classesDir
+     *            Directory with the ".class" files to check - Cannot be <code>null</code> and must be a valid directory.
+     */
+    public static final void assertNoNewPackageDependencies(final File snapshotFile, final File classesDir) {
+        Utils4J.checkNotNull("snapshotFile", snapshotFile);
+        Utils4J.checkNotNull("classesDir", classesDir);
+        Utils4J.checkValidDir(classesDir);
+        final DependencyDiff diff;
+        try {
+            diff = DependencySnapshot.diff(DependencySnapshot.read(snapshotFile), DependencySnapshot.create(classesDir));
+        } catch (final IOException ex) {
+            throw new RuntimeException(ex);
+        }
+        if (!diff.getAddedPackageEdges().isEmpty()) {
+            final StringBuilder sb = new StringBuilder("Found " + diff.getAddedPackageEdges().size() + " new package dependencies:");
+            for (final String edge : diff.getAddedPackageEdges()) {
+                sb.append("\n    ");
+                sb.append(edge);
+            }
+            fail(sb.toString());
+        }
+    }
+
 }
@@ -0,0 +1,561 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j;
+
+import jakarta.validation.constraints.NotNull;
+import org.fuin.utils4j.Utils4J;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Loads test data in bulk using JDBC batch statements. This is considerably faster than persisting entities one by one using an entity
+ * manager. Supported formats are SQL scripts and CSV files (first line contains the column names, empty unquoted values are inserted as
+ * <code>NULL</code>). The complete content of all tables can also be saved as a {@link Snapshot} and restored later, for example to reset
+ * an in-memory HSQLDB database between test classes.<br>
+ * <br>
+ * Data is committed after loading if the connection is not in auto commit mode. Entities already loaded by an entity manager are not
+ * refreshed - Clear the persistence context and evict the second level cache after loading data.
+ */
+public final class DataSetLoader {
+
+    /** Default number of statements sent to the database in one batch. */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private static final String HSQLDB = "HSQL Database Engine";
+
+    private final Connection connection;
+
+    private final int batchSize;
+
+    /**
+     * Constructor with connection and default batch size.
+     *
+     * @param connection
+     *            Connection to use.
+     */
+    public DataSetLoader(@NotNull final Connection connection) {
+        this(connection, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructor with all data.
+     *
+     * @param connection
+     *            Connection to use.
+     * @param batchSize
+     *            Maximum number of statements sent to the database in one batch.
+     */
+    public DataSetLoader(@NotNull final Connection connection, final int batchSize) {
+        super();
+        Utils4J.checkNotNull("connection", connection);
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Argument 'batchSize' must be greater than zero, but was: " + batchSize);
+        }
+        this.connection = connection;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Executes all statements of a SQL script. Statements are terminated by a semicolon at the end of a line. Lines starting with "--" are
+     * ignored.
+     *
+     * @param clasz
+     *            Class to use for loading the resource.
+     * @param resourcePathAndName
+     *            Name and path of the SQL script (in the class path).
+     *
+     * @return Number of executed statements.
+     */
+    public final int executeScript(@NotNull final Class<?> clasz, @NotNull final String resourcePathAndName) {
+        try (final Reader reader = resourceReader(clasz, resourcePathAndName)) {
+            return executeScript(reader);
+        } catch (final IOException ex) {
+            throw new RuntimeException("Failed to read: " + resourcePathAndName, ex);
+        }
+    }
+
+    /**
+     * Executes all statements of a SQL script. Statements are terminated by a semicolon at the end of a line. Lines starting with "--" are
+     * ignored.
+     *
+     * @param reader
+     *            Reader for the script - Will not be closed.
+     *
+     * @return Number of executed statements.
+     */
+    public final int executeScript(@NotNull final Reader reader) {
+        Utils4J.checkNotNull("reader", reader);
+        try (final Statement stmt = connection.createStatement()) {
+            final BufferedReader lineReader = new BufferedReader(reader);
+            final StringBuilder sb = new StringBuilder();
+            int pending = 0;
+            int count = 0;
+            String line;
+            while ((line = lineReader.readLine()) != null) {
+                final String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                    continue;
+                }
+                if (sb.length() > 0) {
+                    sb.append('\n');
+                }
+                if (trimmed.endsWith(";")) {
+                    sb.append(trimmed, 0, trimmed.length() - 1);
+                    stmt.addBatch(sb.toString());
+                    sb.setLength(0);
+                    count++;
+                    pending++;
+                    if (pending == batchSize) {
+                        stmt.executeBatch();
+                        pending = 0;
+                    }
+                } else {
+                    sb.append(trimmed);
+                }
+            }
+            if (sb.length() > 0) {
+                stmt.addBatch(sb.toString());
+                count++;
+                pending++;
+            }
+            if (pending > 0) {
+                stmt.executeBatch();
+            }
+            commit();
+            return count;
+        } catch (final IOException | SQLException ex) {
+            throw new RuntimeException("Failed to execute script", ex);
+        }
+    }
+
+    /**
+     * Inserts all rows of a CSV resource into a table.
+     *
+     * @param table
+     *            Name of the table.
+     * @param clasz
+     *            Class to use for loading the resource.
+     * @param resourcePathAndName
+     *            Name and path of the CSV file (in the class path).
+     *
+     * @return Number of inserted rows.
+     */
+    public final int loadCsv(@NotNull final String table, @NotNull final Class<?> clasz, @NotNull final String resourcePathAndName) {
+        try (final Reader reader = resourceReader(clasz, resourcePathAndName)) {
+            return loadCsv(table, reader);
+        } catch (final IOException ex) {
+            throw new RuntimeException("Failed to read: " + resourcePathAndName, ex);
+        }
+    }
+
+    /**
+     * Inserts all rows of a CSV file into a table. The first line must contain the column names. Values are separated by a comma and may be
+     * enclosed in double quotes. A double quote inside a quoted value is escaped by another double quote. Empty unquoted values are
+     * inserted as <code>NULL</code>.
+     *
+     * @param table
+     *            Name of the table.
+     * @param reader
+     *            Reader for the CSV data - Will not be closed.
+     *
+     * @return Number of inserted rows.
+     */
+    public final int loadCsv(@NotNull final String table, @NotNull final Reader reader) {
+        Utils4J.checkNotNull("table", table);
+        Utils4J.checkNotNull("reader", reader);
+        try {
+            final CsvReader csv = new CsvReader(reader);
+            final List<String> columns = csv.readRecord();
+            if (columns == null) {
+                return 0;
+            }
+            final int[] types = columnTypes(table, columns);
+            try (final PreparedStatement stmt = connection.prepareStatement(insertSql(table, columns))) {
+                int pending = 0;
+                int count = 0;
+                List<String> values;
+                while ((values = csv.readRecord()) != null) {
+                    if (values.size() != columns.size()) {
+                        throw new IllegalArgumentException("Expected " + columns.size() + " values, but was " + values.size()
+                                + " in record #" + (count + 1) + " for table " + table + ": " + values);
+                    }
+                    for (int i = 0; i < values.size(); i++) {
+                        final String value = values.get(i);
+                        if (value == null) {
+                            stmt.setNull(i + 1, types[i]);
+                        } else {
+                            stmt.setObject(i + 1, value, types[i]);
+                        }
+                    }
+                    stmt.addBatch();
+                    count++;
+                    pending++;
+                    if (pending == batchSize) {
+                        stmt.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    stmt.executeBatch();
+                }
+                commit();
+                return count;
+            }
+        } catch (final IOException | SQLException ex) {
+            throw new RuntimeException("Failed to load CSV data into table: " + table, ex);
+        }
+    }
+
+    /**
+     * Reads the content of all tables.
+     *
+     * @return Snapshot of the current data.
+     */
+    public final Snapshot snapshot() {
+        try {
+            final List<TableData> tables = new ArrayList<>();
+            for (final String table : tableNames()) {
+                try (final Statement stmt = connection.createStatement(); final ResultSet rs = stmt.executeQuery("SELECT * FROM " + table)) {
+                    final ResultSetMetaData meta = rs.getMetaData();
+                    final int columnCount = meta.getColumnCount();
+                    final List<String> columns = new ArrayList<>(columnCount);
+                    final int[] types = new int[columnCount];
+                    for (int i = 0; i < columnCount; i++) {
+                        columns.add(meta.getColumnName(i + 1));
+                        types[i] = meta.getColumnType(i + 1);
+                    }
+                    final List<Object[]> rows = new ArrayList<>();
+                    while (rs.next()) {
+                        final Object[] row = new Object[columnCount];
+                        for (int i = 0; i < columnCount; i++) {
+                            row[i] = rs.getObject(i + 1);
+                        }
+                        rows.add(row);
+                    }
+                    tables.add(new TableData(table, columns, types, rows));
+                }
+            }
+            return new Snapshot(tables);
+        } catch (final SQLException ex) {
+            throw new RuntimeException("Failed to create snapshot", ex);
+        }
+    }
+
+    /**
+     * Replaces the content of all tables contained in the snapshot with the snapshot data. For HSQLDB the referential integrity is
+     * disabled while restoring. Other databases may fail if there are foreign keys between the tables.
+     *
+     * @param snapshot
+     *            Snapshot to restore.
+     */
+    public final void restore(@NotNull final Snapshot snapshot) {
+        Utils4J.checkNotNull("snapshot", snapshot);
+        try {
+            final boolean hsqldb = HSQLDB.equals(connection.getMetaData().getDatabaseProductName());
+            try (final Statement stmt = connection.createStatement()) {
+                if (hsqldb) {
+                    stmt.execute("SET DATABASE REFERENTIAL INTEGRITY FALSE");
+                }
+                try {
+                    for (final TableData table : snapshot.getTables()) {
+                        stmt.executeUpdate("DELETE FROM " + table.getName());
+                    }
+                    for (final TableData table : snapshot.getTables()) {
+                        insert(table);
+                    }
+                } finally {
+                    if (hsqldb) {
+                        stmt.execute("SET DATABASE REFERENTIAL INTEGRITY TRUE");
+                    }
+                }
+            }
+            commit();
+        } catch (final SQLException ex) {
+            throw new RuntimeException("Failed to restore snapshot", ex);
+        }
+    }
+
+    private void insert(final TableData table) throws SQLException {
+        if (table.getRows().isEmpty()) {
+            return;
+        }
+        try (final PreparedStatement stmt = connection.prepareStatement(insertSql(table.getName(), table.getColumns()))) {
+            int pending = 0;
+            for (final Object[] row : table.getRows()) {
+                for (int i = 0; i < row.length; i++) {
+                    if (row[i] == null) {
+                        stmt.setNull(i + 1, table.getTypes()[i]);
+                    } else {
+                        stmt.setObject(i + 1, row[i], table.getTypes()[i]);
+                    }
+                }
+                stmt.addBatch();
+                pending++;
+                if (pending == batchSize) {
+                    stmt.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                stmt.executeBatch();
+            }
+        }
+    }
+
+    private List<String> tableNames() throws SQLException {
+        final DatabaseMetaData meta = connection.getMetaData();
+        final String quote = quote(meta);
+        final List<String> names = new ArrayList<>();
+        try (final ResultSet rs = meta.getTables(null, null, "%", new String[] { "TABLE" })) {
+            while (rs.next()) {
+                final String schema = rs.getString("TABLE_SCHEM");
+                final String name = quote + rs.getString("TABLE_NAME") + quote;
+                if (schema == null) {
+                    names.add(name);
+                } else {
+                    names.add(quote + schema + quote + "." + name);
+                }
+            }
+        }
+        return names;
+    }
+
+    private int[] columnTypes(final String table, final List<String> columns) throws SQLException {
+        try (final Statement stmt = connection.createStatement();
+                final ResultSet rs = stmt.executeQuery("SELECT " + String.join(", ", columns) + " FROM " + table + " WHERE 1=0")) {
+            final ResultSetMetaData meta = rs.getMetaData();
+            final int[] types = new int[columns.size()];
+            for (int i = 0; i < types.length; i++) {
+                types[i] = meta.getColumnType(i + 1);
+            }
+            return types;
+        }
+    }
+
+    private void commit() throws SQLException {
+        if (!connection.getAutoCommit()) {
+            connection.commit();
+        }
+    }
+
+    private static String quote(final DatabaseMetaData meta) throws SQLException {
+        final String quote = meta.getIdentifierQuoteString();
+        if (quote == null || quote.trim().isEmpty()) {
+            return "";
+        }
+        return quote;
+    }
+
+    private static String insertSql(final String table, final List<String> columns) {
+        final StringBuilder sb = new StringBuilder("INSERT INTO ");
+        sb.append(table);
+        sb.append(" (");
+        sb.append(String.join(", ", columns));
+        sb.append(") VALUES (");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append('?');
+        }
+        sb.append(')');
+        return sb.toString();
+    }
+
+    private static Reader resourceReader(final Class<?> clasz, final String resourcePathAndName) {
+        Utils4J.checkNotNull("clasz", clasz);
+        Utils4J.checkNotNull("resourcePathAndName", resourcePathAndName);
+        final InputStream in = clasz.getResourceAsStream(resourcePathAndName);
+        if (in == null) {
+            throw new RuntimeException("Resource '" + resourcePathAndName + "' not found!");
+        }
+        return new InputStreamReader(in, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Content of all tables at a given point in time.
+     */
+    public static final class Snapshot {
+
+        private final List<TableData> tables;
+
+        private Snapshot(final List<TableData> tables) {
+            super();
+            this.tables = Collections.unmodifiableList(tables);
+        }
+
+        /**
+         * Returns the names of all tables in the snapshot.
+         *
+         * @return Table names.
+         */
+        public final List<String> getTableNames() {
+            final List<String> names = new ArrayList<>(tables.size());
+            for (final TableData table : tables) {
+                names.add(table.getName());
+            }
+            return names;
+        }
+
+        /**
+         * Returns the total number of rows in all tables.
+         *
+         * @return Number of rows.
+         */
+        public final int getRowCount() {
+            int count = 0;
+            for (final TableData table : tables) {
+                count += table.getRows().size();
+            }
+            return count;
+        }
+
+        private List<TableData> getTables() {
+            return tables;
+        }
+
+    }
+
+    /**
+     * Content of a single table.
+     */
+    private static final class TableData {
+
+        private final String name;
+
+        private final List<String> columns;
+
+        private final int[] types;
+
+        private final List<Object[]> rows;
+
+        public TableData(final String name, final List<String> columns, final int[] types, final List<Object[]> rows) {
+            super();
+            this.name = name;
+            this.columns = columns;
+            this.types = types;
+            this.rows = rows;
+        }
+
+        public final String getName() {
+            return name;
+        }
+
+        public final List<String> getColumns() {
+            return columns;
+        }
+
+        public final int[] getTypes() {
+            return types;
+        }
+
+        public final List<Object[]> getRows() {
+            return rows;
+        }
+
+    }
+
+    /**
+     * Minimal RFC 4180 style CSV parser.
+     */
+    private static final class CsvReader {
+
+        private final Reader reader;
+
+        private int next;
+
+        private int recordCount;
+
+        public CsvReader(final Reader reader) throws IOException {
+            super();
+            this.reader = new BufferedReader(reader);
+            this.next = this.reader.read();
+        }
+
+        /**
+         * Reads the next record.
+         *
+         * @return List of values (<code>null</code> for empty unquoted values) or <code>null</code> at the end of the input.
+         *
+         * @throws IOException
+         *             Error reading the input.
+         */
+        public List<String> readRecord() throws IOException {
+            // Skip empty lines
+            while (next == '\r' || next == '\n') {
+                next = reader.read();
+            }
+            if (next == -1) {
+                return null;
+            }
+            final List<String> values = new ArrayList<>();
+            final StringBuilder sb = new StringBuilder();
+            boolean quoted = false;
+            boolean inQuotes = false;
+            while (true) {
+                final int c = next;
+                next = reader.read();
+                if (inQuotes) {
+                    if (c == -1) {
+                        throw new IllegalArgumentException("Unterminated quoted value in record #" + (recordCount + 1));
+                    }
+                    if (c == '"') {
+                        if (next == '"') {
+                            sb.append('"');
+                            next = reader.read();
+                        } else {
+                            inQuotes = false;
+                        }
+                    } else {
+                        sb.append((char) c);
+                    }
+                } else if (c == '"') {
+                    inQuotes = true;
+                    quoted = true;
+                } else if (c == ',' || c == '\r' || c == '\n' || c == -1) {
+                    values.add(sb.length() == 0 && !quoted ? null : sb.toString());
+                    sb.setLength(0);
+                    quoted = false;
+                    if (c != ',') {
+                        recordCount++;
+                        return values;
+                    }
+                } else {
+                    sb.append((char) c);
+                }
+            }
+        }
+
+    }
+
+}
@@ -19,11 +19,16 @@ package org.fuin.units4j;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.validation.constraints.NotNull;
 import org.assertj.core.api.AbstractAssert;
 import org.fuin.units4j.assertionrules.Utils;
 import org.fuin.units4j.assertionrules.*;
+import org.fuin.units4j.jfr.RuleCheckEvent;
+import org.fuin.units4j.scan.ScanListener;
+import org.fuin.utils4j.Utils4J;
 import org.jboss.jandex.*;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -38,6 +43,8 @@ public final class JandexAssert extends AbstractAssert<JandexAssert, Index> {
     private static final int SYNTHETIC = 0x1000;
     private static final int BRIDGE = 0x0040;
 
+    private ScanListener listener = ScanListener.NONE;
+
     /**
      * Constructor to build assertion class with the object we want to make assertions on.
      * 
@@ -60,6 +67,20 @@ public final class JandexAssert extends AbstractAssert<JandexAssert, Index> {
         return new JandexAssert(actual);
     }
 
+    /**
+     * Sets a listener that is informed about every rule evaluated by the following checks.
+     * 
+     * @param listener
+     *            Listener to inform - Cannot be <code>null</code>.
+     * 
+     * @return Self.
+     */
+    public JandexAssert withScanListener(@NotNull final ScanListener listener) {
+        Utils4J.checkNotNull("listener", listener);
+        this.listener = listener;
+        return this;
+    }
+
     /**
      * Verifies that all class that are annotated with {@link Entity} observe the rules for JPA entities.
      * 
@@ -82,8 +103,9 @@ public final class JandexAssert extends AbstractAssert<JandexAssert, Index> {
         for (final AnnotationInstance ai : annotations) {
             final AnnotationTarget target = ai.target();
             final ClassInfo info = target.asClass();
-            final AssertionRules<ClassInfo> rules = new AssertionRules<>(new RulePublicOrProtectedNoArgConstructor(),
-                    new RuleClassNotFinal(), new RuleClassHasNoFinalMethods(), new RulePersistentInstanceFieldVisibility());
+            final AssertionRules<ClassInfo> rules = new AssertionRules<>(timed(new RulePublicOrProtectedNoArgConstructor()),
+                    timed(new RuleClassNotFinal()), timed(new RuleClassHasNoFinalMethods()),
+                    timed(new RulePersistentInstanceFieldVisibility()));
             final AssertionResult result = rules.verify(info);
             if (!result.isValid()) {
                 failWithMessage(result.getErrorMessage());
@@ -133,7 +155,7 @@ public final class JandexAssert extends AbstractAssert<JandexAssert, Index> {
                     final List<MethodInfo> overrideMethods = Utils.findOverrideMethods(actual, method);
                     if (overrideMethods.isEmpty()) {
                         // Only check methods that DON'T override an interface or super method
-                        final AssertionResult result = rule.verify(method);
+                        final AssertionResult result = verify(rule, method);
                         if (!result.isValid()) {
                             ok = false;
                             sb.append(result.getErrorMessage());
@@ -170,7 +192,7 @@ public final class JandexAssert extends AbstractAssert<JandexAssert, Index> {
         for (final ClassInfo clasz : classes) {
             final List<FieldInfo> fields = clasz.fields();
             for (final FieldInfo field : fields) {
-                final AssertionResult result = rule.verify(field);
+                final AssertionResult result = verify(rule, field);
                 if (!result.isValid()) {
                     ok = false;
                     sb.append(result.getErrorMessage());
@@ -186,6 +208,94 @@ public final class JandexAssert extends AbstractAssert<JandexAssert, Index> {
         return this;
     }
 
+    /**
+     * Checks if no field of any package has a collection or map type with a boxed primitive type argument like
+     * <code>List&lt;Integer&gt;</code>.
+     *
+     * @return Self.
+     */
+    public JandexAssert hasNoBoxedCollectionFields() {
+        return hasNoBoxedCollectionFields(new RuleNoBoxedCollectionField());
+    }
+
+    /**
+     * Checks if no field has a collection or map type with a boxed primitive type argument like <code>List&lt;Integer&gt;</code>.
+     *
+     * @param rule
+     *            Rule to use - Defines the packages to check.
+     *
+     * @return Self.
+     */
+    public JandexAssert hasNoBoxedCollectionFields(@NotNull final RuleNoBoxedCollectionField rule) {
+        // Precondition
+        isNotNull();
+        Utils4J.checkNotNull("rule", rule);
+
+        final StringBuilder sb = new StringBuilder();
+        boolean ok = true;
+
+        final Collection<ClassInfo> classes = actual.getKnownClasses();
+        for (final ClassInfo clasz : classes) {
+            final List<FieldInfo> fields = clasz.fields();
+            for (final FieldInfo field : fields) {
+                final AssertionResult result = verify(rule, field);
+                if (!result.isValid()) {
+                    ok = false;
+                    sb.append(result.getErrorMessage()).append("\n");
+                }
+            }
+        }
+
+        if (!ok) {
+            failWithMessage("%s", "At least one collection field has a boxed primitive type argument:\n" + sb);
+        }
+
+        return this;
+    }
+
+    /**
+     * Selects all classes that are annotated with the given annotation for further checks.
+     * 
+     * @param annotation
+     *            Annotation the classes must have.
+     * 
+     * @return Assertion for the selected classes.
+     */
+    public ClassesAssert classesAnnotatedWith(@NotNull final Class<? extends Annotation> annotation) {
+        // Precondition
+        isNotNull();
+        Utils4J.checkNotNull("annotation", annotation);
+
+        final List<ClassInfo> classes = new ArrayList<>();
+        for (final AnnotationInstance ai : actual.getAnnotations(DotName.createSimple(annotation.getName()))) {
+            if (ai.target().kind() == AnnotationTarget.Kind.CLASS) {
+                classes.add(ai.target().asClass());
+            }
+        }
+        return new ClassesAssert(actual, classes, listener);
+    }
+
+    private <T> AssertionRule<T> timed(final AssertionRule<T> rule) {
+        return target -> verify(rule, target);
+    }
+
+    private <T> AssertionResult verify(final AssertionRule<T> rule, final T target) {
+        return verify(listener, rule, target);
+    }
+
+    private static <T> AssertionResult verify(final ScanListener listener, final AssertionRule<T> rule, final T target) {
+        final RuleCheckEvent event = new RuleCheckEvent();
+        event.begin();
+        final long start = System.nanoTime();
+        final AssertionResult result = rule.verify(target);
+        final long nanos = System.nanoTime() - start;
+        event.end(rule.getClass().getSimpleName(), target, result.isValid());
+        if (listener != ScanListener.NONE) {
+            listener.ruleEvaluated(rule.getClass().getSimpleName(), String.valueOf(target), result.isValid(), nanos);
+        }
+        return result;
+    }
+
     private boolean ignored(final MethodInfo method) {
         if (isSynthetic(method.flags()) || isBridge(method.flags())) {
             return true;
@@ -225,4 +335,73 @@ public final class JandexAssert extends AbstractAssert<JandexAssert, Index> {
         return (flags & BRIDGE) > 0;
     }
 
+    /**
+     * Assertions on a selection of classes from the index.
+     */
+    public static final class ClassesAssert extends AbstractAssert<ClassesAssert, List<ClassInfo>> {
+
+        private final Index index;
+
+        private final ScanListener listener;
+
+        /**
+         * Constructor with all data.
+         * 
+         * @param index
+         *            Index the classes belong to.
+         * @param actual
+         *            Selected classes.
+         * @param listener
+         *            Listener to inform about every rule evaluated.
+         */
+        public ClassesAssert(final Index index, final List<ClassInfo> actual, final ScanListener listener) {
+            super(actual, ClassesAssert.class);
+            this.index = index;
+            this.listener = listener;
+        }
+
+        /**
+         * Verifies that the estimated shallow size of an instance of every selected class is at most the given number of bytes. See
+         * {@link RuleShallowSizeAtMost} for details on the estimation.
+         * 
+         * @param bytes
+         *            Maximum size of a single instance.
+         * 
+         * @return Self.
+         */
+        public ClassesAssert haveShallowSizeAtMost(final long bytes) {
+            return verifyAll(new RuleShallowSizeAtMost(index, bytes));
+        }
+
+        /**
+         * Verifies that all selected classes observe a rule.
+         * 
+         * @param rule
+         *            Rule to check.
+         * 
+         * @return Self.
+         */
+        public ClassesAssert verifyAll(@NotNull final AssertionRule<ClassInfo> rule) {
+            // Precondition
+            isNotNull();
+            Utils4J.checkNotNull("rule", rule);
+
+            final StringBuilder sb = new StringBuilder();
+            for (final ClassInfo info : actual) {
+                final AssertionResult result = verify(listener, rule, info);
+                if (!result.isValid()) {
+                    sb.append(result.getErrorMessage());
+                    if (!result.getErrorMessage().endsWith("\n")) {
+                        sb.append("\n");
+                    }
+                }
+            }
+            if (sb.length() > 0) {
+                failWithMessage("%s", sb);
+            }
+            return this;
+        }
+
+    }
+
 }
@@ -0,0 +1,297 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j;
+
+import org.fuin.units4j.perf.LatencyHistogram;
+import org.fuin.units4j.perf.LoadResult;
+import org.fuin.utils4j.Utils4J;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Runs test commands with a number of concurrent workers for a given duration and records the latency of every operation. An operation
+ * creates a new command, calls {@link TestCommand#init(Object)} and {@link TestCommand#execute()} and counts as failed if the command
+ * was not successful or threw an exception.<br>
+ * <br>
+ * Without a rate (closed loop) every worker starts the next operation as soon as the previous one finished and the recorded latency is
+ * the service time only. A stalled operation then also delays all operations that should have been started in the meantime, but this
+ * waiting time is not visible in the results ("coordinated omission"). With a {@link #ratePerSecond(double) fixed rate} every operation
+ * has an intended start time and the latency is measured from that time, so the time an operation waited for a stalled worker is
+ * included.
+ * 
+ * <pre>
+ * final LoadResult result = new LoadRunner&lt;&gt;(MyCommand::new, ctx).workers(4).ratePerSecond(1000).duration(Duration.ofSeconds(5)).run();
+ * LoadResultAssert.assertThat(result).hasNoFailures().p99IsAtMost(Duration.ofMillis(10));
+ * </pre>
+ * 
+ * @param <CONTEXT>
+ *            Type of the test context.
+ */
+@SuppressWarnings("deprecation")
+public final class LoadRunner<CONTEXT> {
+
+    private final Supplier<? extends TestCommand<CONTEXT>> commandFactory;
+
+    private final CONTEXT context;
+
+    private int workers;
+
+    private Duration duration;
+
+    private Duration warmup;
+
+    private double ratePerSecond;
+
+    /**
+     * Constructor with command factory and context. Defaults to a single worker running for one second without warmup and rate.
+     * 
+     * @param commandFactory
+     *            Creates a new command for every operation.
+     * @param context
+     *            Context used to initialize the commands.
+     */
+    public LoadRunner(final Supplier<? extends TestCommand<CONTEXT>> commandFactory, final CONTEXT context) {
+        super();
+        Utils4J.checkNotNull("commandFactory", commandFactory);
+        this.commandFactory = commandFactory;
+        this.context = context;
+        this.workers = 1;
+        this.duration = Duration.ofSeconds(1);
+        this.warmup = Duration.ZERO;
+        this.ratePerSecond = 0.0;
+    }
+
+    /**
+     * Sets the number of concurrent workers.
+     * 
+     * @param workers
+     *            Number of threads executing commands.
+     * 
+     * @return Self.
+     */
+    public final LoadRunner<CONTEXT> workers(final int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Expected at least one worker, but was: " + workers);
+        }
+        this.workers = workers;
+        return this;
+    }
+
+    /**
+     * Sets the duration of the measurement (without warmup).
+     * 
+     * @param duration
+     *            Time to measure.
+     * 
+     * @return Self.
+     */
+    public final LoadRunner<CONTEXT> duration(final Duration duration) {
+        Utils4J.checkNotNull("duration", duration);
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Expected a positive duration, but was: " + duration);
+        }
+        this.duration = duration;
+        return this;
+    }
+
+    /**
+     * Sets the warmup time. Operations started during warmup are executed, but not recorded.
+     * 
+     * @param warmup
+     *            Time before the measurement starts.
+     * 
+     * @return Self.
+     */
+    public final LoadRunner<CONTEXT> warmup(final Duration warmup) {
+        Utils4J.checkNotNull("warmup", warmup);
+        if (warmup.isNegative()) {
+            throw new IllegalArgumentException("Expected a warmup that is not negative, but was: " + warmup);
+        }
+        this.warmup = warmup;
+        return this;
+    }
+
+    /**
+     * Sets a fixed rate for starting operations. All workers together start operations at this rate and latencies are measured from the
+     * intended start time of the operation.
+     * 
+     * @param ratePerSecond
+     *            Operations per second or <code>0</code> to run as fast as possible (closed loop).
+     * 
+     * @return Self.
+     */
+    public final LoadRunner<CONTEXT> ratePerSecond(final double ratePerSecond) {
+        if (ratePerSecond < 0.0) {
+            throw new IllegalArgumentException("Expected a rate that is not negative, but was: " + ratePerSecond);
+        }
+        this.ratePerSecond = ratePerSecond;
+        return this;
+    }
+
+    /**
+     * Runs the load test and blocks until all workers finished.
+     * 
+     * @return Result of the measurement.
+     */
+    public final LoadResult run() {
+        final long begin = System.nanoTime();
+        final long measureStart = begin + warmup.toNanos();
+        final long end = measureStart + duration.toNanos();
+        final AtomicLong sequence = new AtomicLong();
+        final AtomicReference<String> firstFailure = new AtomicReference<>();
+
+        final List<Worker> list = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            final Worker worker = new Worker(begin, measureStart, end, sequence, firstFailure);
+            worker.setName(LoadRunner.class.getSimpleName() + "-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            list.add(worker);
+        }
+
+        final LatencyHistogram histogram = new LatencyHistogram();
+        long operations = 0;
+        long failures = 0;
+        long finished = end;
+        for (final Worker worker : list) {
+            try {
+                worker.join();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for " + worker.getName(), ex);
+            }
+            histogram.add(worker.histogram);
+            operations += worker.operations;
+            failures += worker.failures;
+            if (worker.operations > 0 && worker.finished - finished > 0) {
+                finished = worker.finished;
+            }
+        }
+        return new LoadResult(histogram, operations, failures, finished - measureStart, firstFailure.get());
+    }
+
+    private boolean execute(final AtomicReference<String> firstFailure) {
+        try {
+            final TestCommand<CONTEXT> cmd = commandFactory.get();
+            cmd.init(context);
+            cmd.execute();
+            if (cmd.isSuccessful()) {
+                return true;
+            }
+            firstFailure.compareAndSet(null, cmd.getFailureDescription());
+        } catch (final Exception | AssertionError ex) {
+            firstFailure.compareAndSet(null, ex.toString());
+        }
+        return false;
+    }
+
+    /**
+     * Thread executing operations and recording them in its own histogram.
+     */
+    private final class Worker extends Thread {
+
+        private final long begin;
+
+        private final long measureStart;
+
+        private final long end;
+
+        private final AtomicLong sequence;
+
+        private final AtomicReference<String> firstFailure;
+
+        private final LatencyHistogram histogram;
+
+        private long operations;
+
+        private long failures;
+
+        private long finished;
+
+        /**
+         * Constructor with all data.
+         * 
+         * @param begin
+         *            Start of the warmup.
+         * @param measureStart
+         *            Start of the measurement.
+         * @param end
+         *            No operations are started at or after this time.
+         * @param sequence
+         *            Sequence shared by all workers for the fixed rate.
+         * @param firstFailure
+         *            Reference to set to the first failure.
+         */
+        public Worker(final long begin, final long measureStart, final long end, final AtomicLong sequence,
+                final AtomicReference<String> firstFailure) {
+            super();
+            this.begin = begin;
+            this.measureStart = measureStart;
+            this.end = end;
+            this.sequence = sequence;
+            this.firstFailure = firstFailure;
+            this.histogram = new LatencyHistogram();
+        }
+
+        @Override
+        public final void run() {
+            final double periodNanos = ratePerSecond > 0.0 ? 1_000_000_000.0 / ratePerSecond : 0.0;
+            while (true) {
+                final long start;
+                if (periodNanos > 0.0) {
+                    start = begin + (long) (sequence.getAndIncrement() * periodNanos);
+                    if (start - end >= 0) {
+                        break;
+                    }
+                    parkUntil(start);
+                } else {
+                    start = System.nanoTime();
+                    if (start - end >= 0) {
+                        break;
+                    }
+                }
+                final boolean ok = execute(firstFailure);
+                final long now = System.nanoTime();
+                if (start - measureStart >= 0) {
+                    histogram.record(now - start);
+                    operations++;
+                    if (!ok) {
+                        failures++;
+                    }
+                    finished = now;
+                }
+            }
+        }
+
+        private void parkUntil(final long time) {
+            long remaining = time - System.nanoTime();
+            while (remaining > 0) {
+                LockSupport.parkNanos(remaining);
+                remaining = time - System.nanoTime();
+            }
+        }
+
+    }
+
+}
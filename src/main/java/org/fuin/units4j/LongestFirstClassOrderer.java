@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j;
+
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Orders the test classes longest first using the durations recorded by the {@link TestDurationRecorder}. With JUnit 5 parallel
+ * execution this is a longest processing time first (LPT) schedule: The long running classes start immediately and the short ones fill
+ * the gaps at the end, so the wall-clock time approaches the total time divided by the number of workers. Classes without a recorded
+ * duration run first. Activate it in "junit-platform.properties":
+ * 
+ * <pre>
+ * junit.jupiter.testclass.order.default=org.fuin.units4j.LongestFirstClassOrderer
+ * junit.jupiter.extensions.autodetection.enabled=true (or &#64;ExtendWith(TestDurationRecorder.class) on the test classes)
+ * </pre>
+ */
+public final class LongestFirstClassOrderer implements ClassOrderer {
+
+    @Override
+    public final void orderClasses(final ClassOrdererContext context) {
+        final File file = new File(context.getConfigurationParameter(TestDurationRecorder.FILE).orElse(TestDurationRecorder.DEFAULT_FILE));
+        final TestDurationHistory history;
+        try {
+            history = TestDurationHistory.read(file);
+        } catch (final IOException ex) {
+            throw new RuntimeException("Failed to read test durations: " + file, ex);
+        }
+        order(context.getClassDescriptors(), history);
+    }
+
+    /**
+     * Sorts the class descriptors longest first.
+     * 
+     * @param descriptors
+     *            Descriptors to sort.
+     * @param history
+     *            Durations of previous runs.
+     */
+    static void order(final List<? extends ClassDescriptor> descriptors, final TestDurationHistory history) {
+        final List<String> names = history.longestFirst(
+                descriptors.stream().map(descriptor -> descriptor.getTestClass().getName()).collect(Collectors.toList()));
+        final Map<String, Integer> position = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            position.put(names.get(i), i);
+        }
+        descriptors.sort(Comparator.comparingInt(descriptor -> position.get(descriptor.getTestClass().getName())));
+    }
+
+}
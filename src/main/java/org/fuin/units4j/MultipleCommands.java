@@ -23,9 +23,15 @@ import org.fuin.utils4j.Utils4J;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 /**
- * Combines multiple test commands into one.
+ * Combines multiple test commands into one. By default the commands are initialized and executed one after another. If the commands are
+ * independent of each other, an executor can be set to run {@link #init(Object)} and {@link #execute()} concurrently. The failure
+ * description is always created in the order the commands were added.
  * 
  * @param <CONTEXT>
  *            Type of the test context.
@@ -37,6 +43,8 @@ public final class MultipleCommands<CONTEXT> implements TestCommand<CONTEXT> {
 
     private final List<TestCommand<CONTEXT>> commands;
 
+    private Executor executor;
+
     /**
      * Default constructor.
      */
@@ -78,17 +86,62 @@ public final class MultipleCommands<CONTEXT> implements TestCommand<CONTEXT> {
         this.commands.add(command);
     }
 
+    /**
+     * Sets the executor used to run the commands concurrently. The executor is not shut down by this class. On Java 21 or later
+     * <code>Executors.newVirtualThreadPerTaskExecutor()</code> can be used for commands that mostly wait for I/O.
+     * 
+     * @param executor
+     *            Executor for parallel mode or <code>null</code> to run the commands sequentially.
+     */
+    public final void setExecutor(final Executor executor) {
+        this.executor = executor;
+    }
+
     @Override
     public void init(final CONTEXT context) {
-        for (final TestCommand<CONTEXT> command : commands) {
-            command.init(context);
-        }
+        run("initialize", command -> command.init(context));
     }
 
     @Override
     public final void execute() {
+        run("execute", TestCommand::execute);
+    }
+
+    /**
+     * Runs an action for all commands. In parallel mode all actions are awaited, even if some of them failed. All exceptions are reported
+     * with one runtime exception that has the first exception (in command order) as cause and the others as suppressed exceptions.
+     * 
+     * @param phase
+     *            Name of the phase for the error message.
+     * @param action
+     *            Action to run.
+     */
+    private void run(final String phase, final Consumer<TestCommand<CONTEXT>> action) {
+        if (executor == null) {
+            for (final TestCommand<CONTEXT> command : commands) {
+                action.accept(command);
+            }
+            return;
+        }
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(commands.size());
         for (final TestCommand<CONTEXT> command : commands) {
-            command.execute();
+            futures.add(CompletableFuture.runAsync(() -> action.accept(command), executor));
+        }
+        final List<Throwable> failures = new ArrayList<>();
+        for (final CompletableFuture<Void> future : futures) {
+            try {
+                future.join();
+            } catch (final CompletionException ex) {
+                failures.add(ex.getCause() == null ? ex : ex.getCause());
+            }
+        }
+        if (!failures.isEmpty()) {
+            final RuntimeException ex = new RuntimeException(
+                    "Failed to " + phase + " " + failures.size() + " of " + commands.size() + " command(s)", failures.get(0));
+            for (int i = 1; i < failures.size(); i++) {
+                ex.addSuppressed(failures.get(i));
+            }
+            throw ex;
         }
     }
 
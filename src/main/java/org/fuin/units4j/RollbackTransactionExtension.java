@@ -0,0 +1,157 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+/**
+ * Opt-in JUnit 5 extension for subclasses of {@link AbstractPersistenceTest} or {@link AbstractParallelPersistenceTest} that wraps
+ * every test method in a transaction and rolls it back afterwards. The persistence context is cleared after the rollback, so every test
+ * starts with the same database state without recreating tables or the entity manager factory.<br>
+ * <br>
+ * If a transaction is already active when the test method starts (for example because it was opened in a <code>@BeforeEach</code>
+ * method), a JDBC savepoint is set instead and the test's changes are rolled back to that savepoint. The outer transaction stays active
+ * and has to be finished by the test class itself.<br>
+ * <br>
+ * Tests running with this extension must not commit the transaction - committed data cannot be rolled back.
+ *
+ * <pre>
+ * &#64;ExtendWith(RollbackTransactionExtension.class)
+ * public class MyEntityTest extends AbstractPersistenceTest {
+ *     ...
+ * }
+ * </pre>
+ */
+public final class RollbackTransactionExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final Namespace NAMESPACE = Namespace.create(RollbackTransactionExtension.class);
+
+    private static final String KEY = "state";
+
+    @Override
+    public final void beforeTestExecution(final ExtensionContext context) throws Exception {
+        final EntityManager em = entityManager(context);
+        final EntityTransaction tx = em.getTransaction();
+        final State state;
+        if (tx.isActive()) {
+            em.flush();
+            final Connection connection = em.unwrap(Connection.class);
+            state = new State(connection, connection.setSavepoint());
+        } else {
+            tx.begin();
+            state = new State(null, null);
+        }
+        context.getStore(NAMESPACE).put(KEY, state);
+    }
+
+    @Override
+    public final void afterTestExecution(final ExtensionContext context) throws Exception {
+        final State state = context.getStore(NAMESPACE).remove(KEY, State.class);
+        if (state == null) {
+            return;
+        }
+        final EntityManager em = entityManager(context);
+        try {
+            if (state.getSavepoint() == null) {
+                final EntityTransaction tx = em.getTransaction();
+                if (tx.isActive()) {
+                    tx.rollback();
+                }
+            } else {
+                rollback(state);
+            }
+        } finally {
+            em.clear();
+        }
+    }
+
+    private static void rollback(final State state) {
+        try {
+            state.getConnection().rollback(state.getSavepoint());
+        } catch (final SQLException ex) {
+            throw new RuntimeException("Failed to roll back to savepoint", ex);
+        }
+    }
+
+    private static EntityManager entityManager(final ExtensionContext context) {
+        final Object testInstance = context.getRequiredTestInstance();
+        if (testInstance instanceof AbstractParallelPersistenceTest) {
+            return ((AbstractParallelPersistenceTest) testInstance).getEm();
+        }
+        if (!(testInstance instanceof AbstractPersistenceTest)) {
+            throw new ExtensionConfigurationException(RollbackTransactionExtension.class.getSimpleName()
+                    + " can only be used with subclasses of " + AbstractPersistenceTest.class.getName() + " or "
+                    + AbstractParallelPersistenceTest.class.getName() + ", but was: " + testInstance.getClass().getName());
+        }
+        return AbstractPersistenceTest.getEm();
+    }
+
+    /**
+     * Information what has to be rolled back after the test.
+     */
+    private static final class State {
+
+        private final Connection connection;
+
+        private final Savepoint savepoint;
+
+        /**
+         * Constructor with all data.
+         *
+         * @param connection
+         *            Connection the savepoint belongs to or <code>null</code> if a new transaction was started.
+         * @param savepoint
+         *            Savepoint to roll back to or <code>null</code> if a new transaction was started.
+         */
+        public State(final Connection connection, final Savepoint savepoint) {
+            super();
+            this.connection = connection;
+            this.savepoint = savepoint;
+        }
+
+        /**
+         * Returns the connection the savepoint belongs to.
+         *
+         * @return Connection or <code>null</code>.
+         */
+        public final Connection getConnection() {
+            return connection;
+        }
+
+        /**
+         * Returns the savepoint to roll back to.
+         *
+         * @return Savepoint or <code>null</code>.
+         */
+        public final Savepoint getSavepoint() {
+            return savepoint;
+        }
+
+    }
+
+}
@@ -0,0 +1,221 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j;
+
+import org.fuin.utils4j.Utils4J;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Durations of test classes and methods from previous runs. A new duration is averaged with the previous one, so a single slow run does
+ * not change the order completely. The history is stored as text with one "microseconds name" pair per line.
+ */
+public final class TestDurationHistory {
+
+    /** First line of every history file. */
+    public static final String HEADER = "# units4j test durations v1";
+
+    private final Map<String, Long> micros;
+
+    /**
+     * Default constructor.
+     */
+    public TestDurationHistory() {
+        super();
+        this.micros = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Reads a history file.
+     * 
+     * @param file
+     *            File to read.
+     * 
+     * @return History or an empty history if the file does not exist.
+     * 
+     * @throws IOException
+     *             Error reading the file or the file has the wrong format.
+     */
+    public static TestDurationHistory read(final File file) throws IOException {
+        Utils4J.checkNotNull("file", file);
+        final TestDurationHistory history = new TestDurationHistory();
+        if (!file.exists()) {
+            return history;
+        }
+        try (final BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            final String header = reader.readLine();
+            if (!HEADER.equals(header)) {
+                throw new IOException("Expected '" + HEADER + "' as first line, but was: " + header);
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                final int sep = line.indexOf(' ');
+                if (sep < 1) {
+                    throw new IOException("Expected 'microseconds name', but was: " + line);
+                }
+                try {
+                    history.micros.put(line.substring(sep + 1), Long.parseLong(line.substring(0, sep)));
+                } catch (final NumberFormatException ex) {
+                    throw new IOException("Expected 'microseconds name', but was: " + line, ex);
+                }
+            }
+        }
+        return history;
+    }
+
+    /**
+     * Writes the history to a file. Missing parent directories are created.
+     * 
+     * @param file
+     *            File to create or overwrite.
+     * 
+     * @throws IOException
+     *             Error writing the file.
+     */
+    public final void write(final File file) throws IOException {
+        Utils4J.checkNotNull("file", file);
+        final File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null) {
+            Files.createDirectories(dir.toPath());
+        }
+        try (final Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.write('\n');
+            for (final Map.Entry<String, Long> entry : new TreeMap<>(micros).entrySet()) {
+                writer.write(entry.getValue() + " " + entry.getKey() + "\n");
+            }
+        }
+    }
+
+    /**
+     * Records the duration of a test class or method. If there is already a duration, the average of both is stored.
+     * 
+     * @param name
+     *            Class name or "className#methodName(parameterTypes)".
+     * @param nanos
+     *            Duration in nanoseconds.
+     */
+    public final void record(final String name, final long nanos) {
+        Utils4J.checkNotNull("name", name);
+        final long value = nanos / 1000;
+        micros.merge(name, value, (previous, current) -> (previous + current) / 2);
+    }
+
+    /**
+     * Returns the duration of a test class or method.
+     * 
+     * @param name
+     *            Class name or "className#methodName(parameterTypes)".
+     * 
+     * @return Duration in microseconds or <code>-1</code> if unknown.
+     */
+    public final long getMicros(final String name) {
+        final Long value = micros.get(name);
+        return value == null ? -1 : value;
+    }
+
+    /**
+     * Returns the number of recorded classes and methods.
+     * 
+     * @return Number of entries.
+     */
+    public final int size() {
+        return micros.size();
+    }
+
+    /**
+     * Returns the names sorted longest first. Names without a recorded duration are sorted first (they may be long) in their original
+     * order.
+     * 
+     * @param names
+     *            Class or method names to sort.
+     * 
+     * @return New sorted list.
+     */
+    public final List<String> longestFirst(final Collection<String> names) {
+        Utils4J.checkNotNull("names", names);
+        final List<String> list = new ArrayList<>(names);
+        list.sort(Comparator.comparingLong((String name) -> {
+            final long value = getMicros(name);
+            return value < 0 ? Long.MAX_VALUE : value;
+        }).reversed());
+        return list;
+    }
+
+    /**
+     * Distributes the names on a number of partitions using longest processing time first (LPT) scheduling: Every name is assigned to the
+     * partition with the lowest total duration so far. This can be used to split the test classes on several CI jobs. Names without a
+     * recorded duration count with the average duration of the known names.
+     * 
+     * @param names
+     *            Class names to distribute.
+     * @param partitions
+     *            Number of partitions.
+     * 
+     * @return List with <code>partitions</code> lists of names.
+     */
+    public final List<List<String>> partition(final Collection<String> names, final int partitions) {
+        Utils4J.checkNotNull("names", names);
+        if (partitions < 1) {
+            throw new IllegalArgumentException("Expected at least one partition, but was: " + partitions);
+        }
+        long sum = 0;
+        int count = 0;
+        for (final String name : names) {
+            final long value = getMicros(name);
+            if (value >= 0) {
+                sum += value;
+                count++;
+            }
+        }
+        final long average = count == 0 ? 1 : sum / count;
+        final List<List<String>> result = new ArrayList<>(partitions);
+        final long[] totals = new long[partitions];
+        for (int i = 0; i < partitions; i++) {
+            result.add(new ArrayList<>());
+        }
+        for (final String name : longestFirst(names)) {
+            int min = 0;
+            for (int i = 1; i < partitions; i++) {
+                if (totals[i] < totals[min]) {
+                    min = i;
+                }
+            }
+            final long value = getMicros(name);
+            totals[min] += value < 0 ? average : value;
+            result.get(min).add(name);
+        }
+        return result;
+    }
+
+}
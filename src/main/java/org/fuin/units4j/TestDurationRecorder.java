@@ -0,0 +1,162 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * JUnit 5 extension that records the duration of every test class and test method in a {@link TestDurationHistory} file. The file is
+ * written once at the end of the test run and is used by the {@link LongestFirstClassOrderer} on subsequent runs. The file name is set
+ * with the configuration parameter or system property "units4j.durations.file" (default "target/units4j-test-durations.txt"). Choose a
+ * file outside "target" to keep the history after a "mvn clean".
+ * 
+ * <pre>
+ * &#64;ExtendWith(TestDurationRecorder.class)
+ * public abstract class AbstractMyPersistenceTest extends AbstractPersistenceTest {
+ * }
+ * </pre>
+ */
+public final class TestDurationRecorder
+        implements BeforeAllCallback, AfterAllCallback, BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    /** Configuration parameter with the history file. */
+    public static final String FILE = "units4j.durations.file";
+
+    /** History file used if the configuration parameter is not set. */
+    public static final String DEFAULT_FILE = "target/units4j-test-durations.txt";
+
+    private static final Namespace NAMESPACE = Namespace.create(TestDurationRecorder.class);
+
+    private static final String SESSION = "session";
+
+    private static final String START = "start";
+
+    @Override
+    public final void beforeAll(final ExtensionContext context) {
+        session(context);
+        context.getStore(NAMESPACE).put(START, System.nanoTime());
+    }
+
+    @Override
+    public final void afterAll(final ExtensionContext context) {
+        final Long start = context.getStore(NAMESPACE).remove(START, Long.class);
+        if (start != null) {
+            session(context).getHistory().record(context.getRequiredTestClass().getName(), System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public final void beforeTestExecution(final ExtensionContext context) {
+        context.getStore(NAMESPACE).put(START, System.nanoTime());
+    }
+
+    @Override
+    public final void afterTestExecution(final ExtensionContext context) {
+        final Long start = context.getStore(NAMESPACE).remove(START, Long.class);
+        if (start != null) {
+            session(context).getHistory().record(methodName(context.getRequiredTestClass(), context.getRequiredTestMethod()),
+                    System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Returns the name used for a test method in the history.
+     * 
+     * @param testClass
+     *            Test class.
+     * @param method
+     *            Test method.
+     * 
+     * @return Name like "a.b.MyTest#testIt(java.lang.String)".
+     */
+    static String methodName(final Class<?> testClass, final Method method) {
+        return testClass.getName() + "#" + method.getName() + "("
+                + Arrays.stream(method.getParameterTypes()).map(Class::getName).collect(Collectors.joining(",")) + ")";
+    }
+
+    /**
+     * Returns the history file.
+     * 
+     * @param context
+     *            Context to read the configuration from.
+     * 
+     * @return File to read and write.
+     */
+    static File file(final ExtensionContext context) {
+        return new File(context.getConfigurationParameter(FILE).orElse(DEFAULT_FILE));
+    }
+
+    private static Session session(final ExtensionContext context) {
+        return context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(SESSION, key -> new Session(file(context)),
+                Session.class);
+    }
+
+    /**
+     * History of one test run that is written when the run has finished.
+     */
+    private static final class Session implements CloseableResource {
+
+        private final File file;
+
+        private final TestDurationHistory history;
+
+        /**
+         * Constructor with history file.
+         * 
+         * @param file
+         *            File with the durations of the previous runs.
+         */
+        public Session(final File file) {
+            super();
+            this.file = file;
+            try {
+                this.history = TestDurationHistory.read(file);
+            } catch (final IOException ex) {
+                throw new RuntimeException("Failed to read test durations: " + file, ex);
+            }
+        }
+
+        /**
+         * Returns the history.
+         * 
+         * @return Durations of previous runs and this run.
+         */
+        public final TestDurationHistory getHistory() {
+            return history;
+        }
+
+        @Override
+        public final void close() throws IOException {
+            history.write(file);
+        }
+
+    }
+
+}
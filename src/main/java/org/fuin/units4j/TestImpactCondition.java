@@ -0,0 +1,157 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j;
+
+import org.fuin.units4j.dependency.ClassFingerprints;
+import org.fuin.units4j.dependency.TestImpactAnalyzer;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * JUnit 5 condition that only runs the test classes affected by changed classes. The affected classes are selected by a
+ * {@link TestImpactAnalyzer} that is created once per test run. The condition is configured with JUnit configuration parameters (for
+ * example in "junit-platform.properties") or system properties:
+ * <ul>
+ * <li>units4j.impact.changed - Comma separated list of fully qualified names of changed classes.</li>
+ * <li>units4j.impact.baseline - Fingerprints file of a previous build (see {@link ClassFingerprints#write(File)}). Used if no changed
+ * classes are given.</li>
+ * <li>units4j.impact.classes - Production classes directory (default "target/classes").</li>
+ * <li>units4j.impact.test-classes - Test classes directory (default "target/test-classes").</li>
+ * </ul>
+ * Without "units4j.impact.changed" and "units4j.impact.baseline" all tests are executed. The condition can be registered with
+ * <code>&#64;ExtendWith(TestImpactCondition.class)</code> on a (base) test class or for all tests using JUnit's extension
+ * auto-detection.
+ */
+public final class TestImpactCondition implements ExecutionCondition {
+
+    /** Configuration parameter with the changed classes. */
+    public static final String CHANGED = "units4j.impact.changed";
+
+    /** Configuration parameter with the fingerprints file of a previous build. */
+    public static final String BASELINE = "units4j.impact.baseline";
+
+    /** Configuration parameter with the production classes directory. */
+    public static final String CLASSES = "units4j.impact.classes";
+
+    /** Configuration parameter with the test classes directory. */
+    public static final String TEST_CLASSES = "units4j.impact.test-classes";
+
+    private static final Namespace NAMESPACE = Namespace.create(TestImpactCondition.class);
+
+    private static final String KEY = "affectedTests";
+
+    @Override
+    public final ConditionEvaluationResult evaluateExecutionCondition(final ExtensionContext context) {
+        final Optional<Class<?>> testClass = context.getTestClass();
+        if (testClass.isEmpty() || context.getTestMethod().isPresent()) {
+            return ConditionEvaluationResult.enabled("Only test classes are selected");
+        }
+        final AffectedTests affectedTests = context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(KEY,
+                key -> affectedTests(context), AffectedTests.class);
+        return evaluate(testClass.get(), affectedTests.getTests());
+    }
+
+    /**
+     * Determines if a test class is affected.
+     * 
+     * @param testClass
+     *            Test class to evaluate.
+     * @param affectedTests
+     *            Names of the affected test classes or <code>null</code> if the analysis is not configured.
+     * 
+     * @return Enabled if the class, one of it's enclosing classes or one of it's nested classes is affected.
+     */
+    static ConditionEvaluationResult evaluate(final Class<?> testClass, final Set<String> affectedTests) {
+        if (affectedTests == null) {
+            return ConditionEvaluationResult.enabled("Test impact analysis is not configured");
+        }
+        Class<?> clasz = testClass;
+        while (clasz != null) {
+            if (affectedTests.contains(clasz.getName())) {
+                return ConditionEvaluationResult.enabled("Affected by changed classes");
+            }
+            clasz = clasz.getEnclosingClass();
+        }
+        final String prefix = testClass.getName() + "$";
+        for (final String name : affectedTests) {
+            if (name.startsWith(prefix)) {
+                return ConditionEvaluationResult.enabled("Contains affected nested classes");
+            }
+        }
+        return ConditionEvaluationResult.disabled("Not affected by changed classes");
+    }
+
+    private static AffectedTests affectedTests(final ExtensionContext context) {
+        final Optional<String> changed = context.getConfigurationParameter(CHANGED).filter(value -> !value.isBlank());
+        final Optional<String> baseline = context.getConfigurationParameter(BASELINE).filter(value -> !value.isBlank());
+        if (changed.isEmpty() && baseline.isEmpty()) {
+            return new AffectedTests(null);
+        }
+        final TestImpactAnalyzer analyzer = new TestImpactAnalyzer(
+                new File(context.getConfigurationParameter(CLASSES).orElse("target/classes")),
+                new File(context.getConfigurationParameter(TEST_CLASSES).orElse("target/test-classes")));
+        if (changed.isPresent()) {
+            return new AffectedTests(analyzer.getAffectedTests(
+                    Arrays.stream(changed.get().split(",")).map(String::trim).filter(name -> !name.isEmpty()).collect(Collectors.toList())));
+        }
+        try {
+            return new AffectedTests(analyzer.getAffectedTests(ClassFingerprints.read(new File(baseline.get()))));
+        } catch (final IOException ex) {
+            throw new RuntimeException("Failed to read test impact baseline: " + baseline.get(), ex);
+        }
+    }
+
+    /**
+     * Result of the analysis stored once per test run.
+     */
+    private static final class AffectedTests {
+
+        private final Set<String> tests;
+
+        /**
+         * Constructor with affected tests.
+         * 
+         * @param tests
+         *            Names of the affected test classes or <code>null</code> if the analysis is not configured.
+         */
+        public AffectedTests(final Set<String> tests) {
+            super();
+            this.tests = tests;
+        }
+
+        /**
+         * Returns the affected tests.
+         * 
+         * @return Names of the affected test classes or <code>null</code> if the analysis is not configured.
+         */
+        public final Set<String> getTests() {
+            return tests;
+        }
+
+    }
+
+}
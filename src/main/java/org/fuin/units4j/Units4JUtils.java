@@ -26,20 +26,26 @@ import jakarta.validation.groups.Default;
 import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.annotation.adapters.XmlAdapter;
 import org.apache.commons.lang3.StringUtils;
+import org.fuin.units4j.jfr.ClassParseEvent;
+import org.fuin.units4j.jfr.IndexBuildEvent;
+import org.fuin.units4j.scan.ScanListener;
 import org.fuin.utils4j.Utils4J;
 import org.fuin.utils4j.fileprocessor.FileHandlerResult;
 import org.fuin.utils4j.fileprocessor.FileProcessor;
 import org.fuin.utils4j.jaxb.JaxbUtils;
 import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.ClassSummary;
 import org.jboss.jandex.DotName;
 import org.jboss.jandex.Index;
 import org.jboss.jandex.Indexer;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -414,8 +420,22 @@ public final class Units4JUtils {
      * @return Index.
      */
     public static final Index indexAllClasses(final List<File> classFiles) {
+        return indexAllClasses(classFiles, ScanListener.NONE);
+    }
+
+    /**
+     * Creates an index for all class files in the given list and informs a listener about the files read and classes indexed.
+     * 
+     * @param classFiles
+     *            List of ".class" files.
+     * @param listener
+     *            Listener to inform.
+     * 
+     * @return Index.
+     */
+    public static final Index indexAllClasses(final List<File> classFiles, @NotNull final ScanListener listener) {
         final Indexer indexer = new Indexer();
-        indexAllClasses(indexer, classFiles);
+        indexAllClasses(indexer, classFiles, listener);
         return indexer.complete();
     }
 
@@ -428,15 +448,63 @@ public final class Units4JUtils {
      *            List of ".class" files.
      */
     public static final void indexAllClasses(final Indexer indexer, final List<File> classFiles) {
+        indexAllClasses(indexer, classFiles, ScanListener.NONE);
+    }
+
+    /**
+     * Index all class files in the given list and informs a listener about the files read and classes indexed.
+     * 
+     * @param indexer
+     *            Indexer to use.
+     * @param classFiles
+     *            List of ".class" files.
+     * @param listener
+     *            Listener to inform.
+     */
+    public static final void indexAllClasses(final Indexer indexer, final List<File> classFiles, @NotNull final ScanListener listener) {
+        Utils4J.checkNotNull("listener", listener);
+        final IndexBuildEvent indexEvent = new IndexBuildEvent();
+        indexEvent.begin();
         classFiles.forEach(file -> {
+            final String source = file.getPath();
+            listener.fileDiscovered(source);
+            final long readStart = System.nanoTime();
+            final byte[] data;
             try {
-                try (final InputStream in = new FileInputStream(file)) {
-                    indexer.index(in);
-                }
+                data = Files.readAllBytes(file.toPath());
+            } catch (final IOException ex) {
+                throw new RuntimeException(ex);
+            }
+            listener.bytesRead(source, data.length, System.nanoTime() - readStart);
+            final ClassParseEvent parseEvent = new ClassParseEvent();
+            parseEvent.begin();
+            final long parseStart = System.nanoTime();
+            final ClassSummary summary;
+            try {
+                summary = indexer.indexWithSummary(new ByteArrayInputStream(data));
             } catch (final IOException ex) {
                 throw new RuntimeException(ex);
             }
+            listener.classParsed(summary.name().toString(), System.nanoTime() - parseStart);
+            parseEvent.end("Indexer", summary.name().toString(), data.length);
+            indexEvent.addClass(data.length);
         });
+        indexEvent.end(commonDirectory(classFiles));
+    }
+
+    private static String commonDirectory(final List<File> files) {
+        Path common = null;
+        for (final File file : files) {
+            final Path dir = file.getAbsoluteFile().toPath().getParent();
+            if (common == null) {
+                common = dir;
+            } else {
+                while (common != null && (dir == null || !dir.startsWith(common))) {
+                    common = common.getParent();
+                }
+            }
+        }
+        return common == null ? "" : common.toString();
     }
 
     /**
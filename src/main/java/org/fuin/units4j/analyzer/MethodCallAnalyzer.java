@@ -17,11 +17,16 @@
  */
 package org.fuin.units4j.analyzer;
 
+import org.fuin.units4j.jfr.ClassParseEvent;
+import org.fuin.units4j.jfr.DirectoryScanEvent;
+import org.fuin.units4j.scan.ScanListener;
+import org.fuin.utils4j.Utils4J;
 import org.fuin.utils4j.fileprocessor.FileHandlerResult;
 import org.fuin.utils4j.fileprocessor.FileProcessor;
 import org.objectweb.asm.ClassReader;
 
 import java.io.*;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.List;
@@ -33,8 +38,12 @@ import java.util.jar.JarFile;
  */
 public final class MethodCallAnalyzer {
 
+    private static final String ANALYZER = MethodCallAnalyzer.class.getSimpleName();
+
     private MCAClassVisitor cv;
 
+    private ScanListener listener = ScanListener.NONE;
+
     /**
      * Constructor with open array.
      * 
@@ -66,6 +75,17 @@ public final class MethodCallAnalyzer {
         this.cv = new MCAClassVisitor(methodsToFind);
     }
 
+    /**
+     * Sets the listener that is informed about the files read and classes parsed.
+     * 
+     * @param listener
+     *            Listener to use - Cannot be <code>null</code>.
+     */
+    public final void setScanListener(final ScanListener listener) {
+        Utils4J.checkNotNull("listener", listener);
+        this.listener = listener;
+    }
+
     /**
      * Locate method calls in classes of a JAR file.
      * 
@@ -77,6 +97,8 @@ public final class MethodCallAnalyzer {
      */
     public final void findCallingMethodsInJar(final File file) throws IOException {
 
+        final DirectoryScanEvent scanEvent = new DirectoryScanEvent();
+        scanEvent.begin();
         try (final JarFile jarFile = new JarFile(file)) {
 
             final Enumeration<JarEntry> entries = jarFile.entries();
@@ -85,26 +107,47 @@ public final class MethodCallAnalyzer {
                 final JarEntry entry = entries.nextElement();
 
                 if (entry.getName().endsWith(".class")) {
-                    try (final InputStream in = new BufferedInputStream(jarFile.getInputStream(entry), 1024)) {
-                        new ClassReader(in).accept(cv, 0);
+                    final String source = file.getPath() + "!" + entry.getName();
+                    listener.fileDiscovered(source);
+                    final long start = System.nanoTime();
+                    final byte[] data;
+                    try (final InputStream in = jarFile.getInputStream(entry)) {
+                        data = in.readAllBytes();
                     }
+                    listener.bytesRead(source, data.length, System.nanoTime() - start);
+                    parse(data);
+                    scanEvent.addClass(data.length);
                 }
             }
 
         }
+        scanEvent.end(ANALYZER, file.getPath());
     }
 
-    private void handleClass(final File classFile) {
+    private void handleClass(final File classFile, final DirectoryScanEvent scanEvent) {
+        final String source = classFile.getPath();
+        listener.fileDiscovered(source);
+        final long start = System.nanoTime();
+        final byte[] data;
         try {
-            final InputStream in = new BufferedInputStream(new FileInputStream(classFile), 1024);
-            try {
-                new ClassReader(in).accept(cv, 0);
-            } finally {
-                in.close();
-            }
+            data = Files.readAllBytes(classFile.toPath());
         } catch (final IOException ex) {
             throw new RuntimeException("Error reading: " + classFile, ex);
         }
+        listener.bytesRead(source, data.length, System.nanoTime() - start);
+        parse(data);
+        scanEvent.addClass(data.length);
+    }
+
+    private void parse(final byte[] data) {
+        final ClassParseEvent parseEvent = new ClassParseEvent();
+        parseEvent.begin();
+        final long start = System.nanoTime();
+        final ClassReader reader = new ClassReader(data);
+        reader.accept(cv, 0);
+        final String className = reader.getClassName().replace('/', '.');
+        listener.classParsed(className, System.nanoTime() - start);
+        parseEvent.end(ANALYZER, className, data.length);
     }
 
     /**
@@ -127,16 +170,19 @@ public final class MethodCallAnalyzer {
      */
     public final void findCallingMethodsInDir(final File dir, final FileFilter filter) {
 
+        final DirectoryScanEvent scanEvent = new DirectoryScanEvent();
+        scanEvent.begin();
         final FileProcessor fileProcessor = new FileProcessor(file -> {
             if (file.isDirectory()) {
                 return FileHandlerResult.CONTINUE;
             }
             if (file.getName().endsWith(".class") && (filter == null || filter.accept(file))) {
-                handleClass(file);
+                handleClass(file, scanEvent);
             }
             return FileHandlerResult.CONTINUE;
         });
         fileProcessor.process(dir);
+        scanEvent.end(ANALYZER, dir.getPath());
 
     }
 
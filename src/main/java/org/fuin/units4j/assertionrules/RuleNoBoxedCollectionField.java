@@ -0,0 +1,165 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.assertionrules;
+
+import jakarta.validation.constraints.NotNull;
+import org.fuin.units4j.AssertionResult;
+import org.fuin.units4j.AssertionRule;
+import org.fuin.utils4j.Utils4J;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.FieldInfo;
+import org.jboss.jandex.Type;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Checks that a field with a collection or map type has no boxed primitive type argument like <code>List&lt;Integer&gt;</code>,
+ * <code>Map&lt;Long, String&gt;</code> or <code>Set&lt;Double&gt;</code>. Every element of such a collection is a separate object, so
+ * a primitive-specialized collection uses considerably less memory and avoids the boxing. Nested type arguments (for example
+ * <code>Map&lt;String, List&lt;Integer&gt;&gt;</code>) and upper bounds of wildcards are checked as well. Synthetic fields are
+ * ignored.<br>
+ * <br>
+ * The collection types are the interfaces and implementations from <code>java.util</code> and <code>java.util.concurrent</code>.
+ * Only the declared field type is checked, a field with a custom subclass of a collection is not detected.
+ */
+public final class RuleNoBoxedCollectionField implements AssertionRule<FieldInfo> {
+
+    private static final int SYNTHETIC = 0x1000;
+
+    private static final Set<DotName> COLLECTION_TYPES = dotNames("java.util.Collection", "java.util.List", "java.util.Set",
+            "java.util.SortedSet", "java.util.NavigableSet", "java.util.Queue", "java.util.Deque", "java.util.Map", "java.util.SortedMap",
+            "java.util.NavigableMap", "java.util.ArrayList", "java.util.LinkedList", "java.util.Vector", "java.util.Stack",
+            "java.util.HashSet", "java.util.LinkedHashSet", "java.util.TreeSet", "java.util.ArrayDeque", "java.util.PriorityQueue",
+            "java.util.HashMap", "java.util.LinkedHashMap", "java.util.TreeMap", "java.util.WeakHashMap", "java.util.IdentityHashMap",
+            "java.util.Hashtable", "java.util.concurrent.ConcurrentMap", "java.util.concurrent.ConcurrentNavigableMap",
+            "java.util.concurrent.ConcurrentHashMap", "java.util.concurrent.ConcurrentSkipListMap",
+            "java.util.concurrent.ConcurrentSkipListSet", "java.util.concurrent.CopyOnWriteArrayList",
+            "java.util.concurrent.CopyOnWriteArraySet", "java.util.concurrent.BlockingQueue", "java.util.concurrent.BlockingDeque",
+            "java.util.concurrent.ConcurrentLinkedQueue", "java.util.concurrent.ConcurrentLinkedDeque",
+            "java.util.concurrent.ArrayBlockingQueue", "java.util.concurrent.LinkedBlockingQueue",
+            "java.util.concurrent.LinkedBlockingDeque", "java.util.concurrent.PriorityBlockingQueue");
+
+    private static final Set<DotName> BOXED_TYPES = dotNames(Boolean.class.getName(), Byte.class.getName(),
+            Character.class.getName(), Short.class.getName(), Integer.class.getName(), Long.class.getName(), Float.class.getName(),
+            Double.class.getName());
+
+    private final List<String> includedPackages;
+
+    private final List<String> excludedPackages;
+
+    /**
+     * Creates a rule that checks the fields of all packages.
+     */
+    public RuleNoBoxedCollectionField() {
+        this(Collections.emptyList(), Collections.emptyList());
+    }
+
+    /**
+     * Creates a rule that only checks the fields of classes in some packages.
+     * 
+     * @param includedPackages
+     *            Packages (including sub packages) of the classes to check - An empty list checks all packages.
+     * @param excludedPackages
+     *            Packages (including sub packages) of the classes to ignore. Takes precedence over the included packages.
+     */
+    public RuleNoBoxedCollectionField(@NotNull final List<String> includedPackages, @NotNull final List<String> excludedPackages) {
+        super();
+        Utils4J.checkNotNull("includedPackages", includedPackages);
+        Utils4J.checkNotNull("excludedPackages", excludedPackages);
+        this.includedPackages = List.copyOf(includedPackages);
+        this.excludedPackages = List.copyOf(excludedPackages);
+    }
+
+    @Override
+    public final AssertionResult verify(@NotNull final FieldInfo field) {
+        Utils4J.checkNotNull("field", field);
+
+        if ((field.flags() & SYNTHETIC) != 0 || !isChecked(packageName(field.declaringClass().name()))) {
+            return AssertionResult.OK;
+        }
+        if (hasBoxedTypeArgument(field.type())) {
+            return new AssertionResult(
+                    "Collection field with boxed primitive type argument: " + field.declaringClass().name() + "." + field.name() + " ("
+                            + field.type() + ")");
+        }
+        return AssertionResult.OK;
+    }
+
+    /**
+     * Determines if the fields of the given package are checked.
+     * 
+     * @param packageName
+     *            Name of the package (empty string for the default package).
+     * 
+     * @return TRUE if the package is included and not excluded.
+     */
+    public final boolean isChecked(@NotNull final String packageName) {
+        Utils4J.checkNotNull("packageName", packageName);
+        if (matches(excludedPackages, packageName)) {
+            return false;
+        }
+        return includedPackages.isEmpty() || matches(includedPackages, packageName);
+    }
+
+    private static boolean hasBoxedTypeArgument(final Type type) {
+        if (type.kind() != Type.Kind.PARAMETERIZED_TYPE) {
+            return false;
+        }
+        final boolean collection = COLLECTION_TYPES.contains(type.name());
+        for (final Type argument : type.asParameterizedType().arguments()) {
+            final Type bound = argument.kind() == Type.Kind.WILDCARD_TYPE ? argument.asWildcardType().extendsBound() : argument;
+            if (collection && BOXED_TYPES.contains(bound.name())) {
+                return true;
+            }
+            if (hasBoxedTypeArgument(bound)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(final List<String> packages, final String packageName) {
+        for (final String pkg : packages) {
+            if (packageName.equals(pkg) || packageName.startsWith(pkg + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String packageName(final DotName className) {
+        final String name = className.toString();
+        final int p = name.lastIndexOf('.');
+        if (p < 0) {
+            return "";
+        }
+        return name.substring(0, p);
+    }
+
+    private static Set<DotName> dotNames(final String... names) {
+        final Set<DotName> set = new HashSet<>();
+        for (final String name : names) {
+            set.add(DotName.createSimple(name));
+        }
+        return set;
+    }
+
+}
@@ -0,0 +1,156 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.assertionrules;
+
+import org.fuin.units4j.AssertionResult;
+import org.fuin.units4j.AssertionRule;
+import org.fuin.utils4j.Utils4J;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.FieldInfo;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.Type;
+
+import java.lang.reflect.Modifier;
+
+/**
+ * Checks if the estimated shallow size of an instance of a class is at most a given number of bytes. The size is calculated from the
+ * instance fields of the class and its superclasses without loading the classes: Object header, primitive field widths, reference size
+ * and padding to the object alignment. The defaults are the HotSpot 64-bit values with compressed oops and class pointers (12 byte
+ * header, 4 byte references, 8 byte alignment). Fields of superclasses that are not part of the index are not counted, so the result
+ * is a lower bound in that case.
+ */
+public final class RuleShallowSizeAtMost implements AssertionRule<ClassInfo> {
+
+    private static final DotName OBJECT = DotName.createSimple(Object.class.getName());
+
+    private final IndexView index;
+
+    private final long maxBytes;
+
+    private final int headerSize;
+
+    private final int referenceSize;
+
+    private final int alignment;
+
+    /**
+     * Creates the rule with the default layout.
+     * 
+     * @param index
+     *            Index used to find the superclasses.
+     * @param maxBytes
+     *            Maximum allowed shallow size.
+     */
+    public RuleShallowSizeAtMost(final IndexView index, final long maxBytes) {
+        this(index, maxBytes, true, true, 8);
+    }
+
+    /**
+     * Creates the rule with an explicit layout.
+     * 
+     * @param index
+     *            Index used to find the superclasses.
+     * @param maxBytes
+     *            Maximum allowed shallow size.
+     * @param compressedOops
+     *            TRUE if references use 4 bytes instead of 8.
+     * @param compressedClassPointers
+     *            TRUE if the object header has 12 bytes instead of 16.
+     * @param alignment
+     *            Object alignment in bytes (power of two, at least 8).
+     */
+    public RuleShallowSizeAtMost(final IndexView index, final long maxBytes, final boolean compressedOops,
+            final boolean compressedClassPointers, final int alignment) {
+        super();
+        Utils4J.checkNotNull("index", index);
+        if (alignment < 8 || Integer.bitCount(alignment) != 1) {
+            throw new IllegalArgumentException("Expected a power of two of at least 8 as alignment, but was: " + alignment);
+        }
+        this.index = index;
+        this.maxBytes = maxBytes;
+        this.headerSize = compressedClassPointers ? 12 : 16;
+        this.referenceSize = compressedOops ? 4 : 8;
+        this.alignment = alignment;
+    }
+
+    @Override
+    public final AssertionResult verify(final ClassInfo info) {
+
+        final long fields = fieldBytes(info);
+        final long size = align(headerSize + fields);
+        if (size > maxBytes) {
+            return new AssertionResult("Estimated shallow size of " + info.name() + " is " + size + " bytes (header " + headerSize
+                    + ", fields " + fields + ", padding " + (size - headerSize - fields) + "), but at most " + maxBytes
+                    + " bytes are allowed");
+        }
+        return AssertionResult.OK;
+
+    }
+
+    /**
+     * Returns the estimated shallow size of an instance of the class.
+     * 
+     * @param info
+     *            Class to estimate the size for.
+     * 
+     * @return Aligned size in bytes.
+     */
+    public final long estimate(final ClassInfo info) {
+        return align(headerSize + fieldBytes(info));
+    }
+
+    private long fieldBytes(final ClassInfo info) {
+        long bytes = 0;
+        ClassInfo current = info;
+        while (current != null) {
+            for (final FieldInfo field : current.fields()) {
+                if (!Modifier.isStatic(field.flags())) {
+                    bytes += size(field.type());
+                }
+            }
+            final DotName superName = current.superName();
+            current = (superName == null || superName.equals(OBJECT)) ? null : index.getClassByName(superName);
+        }
+        return bytes;
+    }
+
+    private int size(final Type type) {
+        if (type.kind() != Type.Kind.PRIMITIVE) {
+            return referenceSize;
+        }
+        switch (type.asPrimitiveType().primitive()) {
+        case LONG:
+        case DOUBLE:
+            return 8;
+        case INT:
+        case FLOAT:
+            return 4;
+        case SHORT:
+        case CHAR:
+            return 2;
+        default:
+            return 1;
+        }
+    }
+
+    private long align(final long size) {
+        return (size + alignment - 1) & -alignment;
+    }
+
+}
@@ -0,0 +1,228 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.dependency;
+
+import org.fuin.utils4j.Utils4J;
+import org.objectweb.asm.ClassReader;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * SHA-256 fingerprints of class files used to find the classes that changed since a previous build. The fingerprints are stored as
+ * sorted text with one "className fingerprint" pair per line.
+ */
+public final class ClassFingerprints {
+
+    /** First line of every fingerprints file. */
+    public static final String HEADER = "# units4j class fingerprints v1";
+
+    private final SortedMap<String, String> fingerprints;
+
+    /**
+     * Constructor with all data.
+     * 
+     * @param fingerprints
+     *            Fingerprint by fully qualified class name.
+     */
+    public ClassFingerprints(final Map<String, String> fingerprints) {
+        super();
+        Utils4J.checkNotNull("fingerprints", fingerprints);
+        this.fingerprints = Collections.unmodifiableSortedMap(new TreeMap<>(fingerprints));
+    }
+
+    /**
+     * Creates the fingerprints of all ".class" files in the given directories.
+     * 
+     * @param classesDirs
+     *            Directories like "target/classes" and "target/test-classes".
+     * 
+     * @return New fingerprints.
+     */
+    public static ClassFingerprints create(final File... classesDirs) {
+        Utils4J.checkNotNull("classesDirs", classesDirs);
+        final Map<String, String> map = new TreeMap<>();
+        for (final File dir : classesDirs) {
+            forEachClass(dir, (className, classFile) -> map.put(className, fingerprint(classFile)));
+        }
+        return new ClassFingerprints(map);
+    }
+
+    /**
+     * Reads fingerprints from a file created with {@link #write(File)}.
+     * 
+     * @param file
+     *            File to read.
+     * 
+     * @return Fingerprints.
+     * 
+     * @throws IOException
+     *             Error reading the file or the file has the wrong format.
+     */
+    public static ClassFingerprints read(final File file) throws IOException {
+        Utils4J.checkNotNull("file", file);
+        try (final BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            final String header = reader.readLine();
+            if (!HEADER.equals(header)) {
+                throw new IOException("Expected '" + HEADER + "' as first line, but was: " + header);
+            }
+            final Map<String, String> map = new TreeMap<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                final int sep = line.indexOf(' ');
+                if (sep < 1) {
+                    throw new IOException("Expected 'className fingerprint', but was: " + line);
+                }
+                map.put(line.substring(0, sep), line.substring(sep + 1));
+            }
+            return new ClassFingerprints(map);
+        }
+    }
+
+    /**
+     * Writes the fingerprints to a file.
+     * 
+     * @param file
+     *            File to create or overwrite.
+     * 
+     * @throws IOException
+     *             Error writing the file.
+     */
+    public final void write(final File file) throws IOException {
+        Utils4J.checkNotNull("file", file);
+        try (final Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.write('\n');
+            for (final Map.Entry<String, String> entry : fingerprints.entrySet()) {
+                writer.write(entry.getKey());
+                writer.write(' ');
+                writer.write(entry.getValue());
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Returns the fingerprints.
+     * 
+     * @return Unmodifiable fingerprint by fully qualified class name.
+     */
+    public final SortedMap<String, String> getFingerprints() {
+        return fingerprints;
+    }
+
+    /**
+     * Returns the classes that were added, removed or changed compared to a previous build.
+     * 
+     * @param baseline
+     *            Fingerprints of the previous build.
+     * 
+     * @return Sorted class names.
+     */
+    public final Set<String> changedClasses(final ClassFingerprints baseline) {
+        Utils4J.checkNotNull("baseline", baseline);
+        final Set<String> changed = new TreeSet<>();
+        for (final Map.Entry<String, String> entry : fingerprints.entrySet()) {
+            if (!entry.getValue().equals(baseline.fingerprints.get(entry.getKey()))) {
+                changed.add(entry.getKey());
+            }
+        }
+        for (final String className : baseline.fingerprints.keySet()) {
+            if (!fingerprints.containsKey(className)) {
+                changed.add(className);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Returns the fingerprint of a class file.
+     * 
+     * @param classFile
+     *            Content of the ".class" file.
+     * 
+     * @return Hex encoded SHA-256 hash.
+     */
+    public static String fingerprint(final byte[] classFile) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(classFile));
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Every Java platform is required to support SHA-256", ex);
+        }
+    }
+
+    /**
+     * Reads all ".class" files in a directory and it's sub directories.
+     * 
+     * @param classesDir
+     *            Directory to scan.
+     * @param handler
+     *            Handler called with class name and content of every class file.
+     */
+    static void forEachClass(final File classesDir, final ClassFileHandler handler) {
+        Utils4J.checkValidDir(classesDir);
+        try (final Stream<Path> paths = Files.walk(classesDir.toPath())) {
+            paths.filter(path -> path.toString().endsWith(".class")).sorted().forEach(path -> {
+                try {
+                    final byte[] classFile = Files.readAllBytes(path);
+                    handler.handle(new ClassReader(classFile).getClassName().replace('/', '.'), classFile);
+                } catch (final IOException ex) {
+                    throw new RuntimeException("Error handling file: " + path, ex);
+                }
+            });
+        } catch (final IOException ex) {
+            throw new RuntimeException("Error scanning directory: " + classesDir, ex);
+        }
+    }
+
+    /**
+     * Handles the content of a single class file.
+     */
+    interface ClassFileHandler {
+
+        /**
+         * Handles a class.
+         * 
+         * @param className
+         *            Fully qualified class name.
+         * @param classFile
+         *            Content of the ".class" file.
+         */
+        void handle(String className, byte[] classFile);
+
+    }
+
+}
@@ -0,0 +1,150 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.dependency;
+
+import org.fuin.utils4j.Utils4J;
+
+import java.util.Locale;
+
+/**
+ * Coupling metrics of a single package or class as defined by Robert C. Martin. For a class the class count is one and the
+ * abstractness is either zero or one.
+ */
+public final class CouplingMetric {
+
+    private final String name;
+
+    private final int classCount;
+
+    private final int abstractClassCount;
+
+    private final int afferentCoupling;
+
+    private final int efferentCoupling;
+
+    /**
+     * Constructor with all data.
+     * 
+     * @param name
+     *            Fully qualified package or class name.
+     * @param classCount
+     *            Number of classes.
+     * @param abstractClassCount
+     *            Number of abstract classes and interfaces.
+     * @param afferentCoupling
+     *            Number of other packages (classes) that depend on this one.
+     * @param efferentCoupling
+     *            Number of other packages (classes) this one depends on.
+     */
+    public CouplingMetric(final String name, final int classCount, final int abstractClassCount, final int afferentCoupling,
+            final int efferentCoupling) {
+        super();
+        Utils4J.checkNotNull("name", name);
+        this.name = name;
+        this.classCount = classCount;
+        this.abstractClassCount = abstractClassCount;
+        this.afferentCoupling = afferentCoupling;
+        this.efferentCoupling = efferentCoupling;
+    }
+
+    /**
+     * Returns the name.
+     * 
+     * @return Fully qualified package or class name.
+     */
+    public final String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of classes.
+     * 
+     * @return Class count.
+     */
+    public final int getClassCount() {
+        return classCount;
+    }
+
+    /**
+     * Returns the number of abstract classes and interfaces.
+     * 
+     * @return Abstract class count.
+     */
+    public final int getAbstractClassCount() {
+        return abstractClassCount;
+    }
+
+    /**
+     * Returns the afferent coupling (Ca).
+     * 
+     * @return Number of other packages (classes) that depend on this one.
+     */
+    public final int getAfferentCoupling() {
+        return afferentCoupling;
+    }
+
+    /**
+     * Returns the efferent coupling (Ce).
+     * 
+     * @return Number of other packages (classes) this one depends on.
+     */
+    public final int getEfferentCoupling() {
+        return efferentCoupling;
+    }
+
+    /**
+     * Returns the instability I = Ce / (Ca + Ce).
+     * 
+     * @return Value between 0 (maximally stable) and 1 (maximally unstable). Zero if there is no coupling at all.
+     */
+    public final double getInstability() {
+        final int total = afferentCoupling + efferentCoupling;
+        if (total == 0) {
+            return 0.0;
+        }
+        return (double) efferentCoupling / total;
+    }
+
+    /**
+     * Returns the abstractness A = abstract classes / classes.
+     * 
+     * @return Value between 0 (concrete) and 1 (abstract).
+     */
+    public final double getAbstractness() {
+        if (classCount == 0) {
+            return 0.0;
+        }
+        return (double) abstractClassCount / classCount;
+    }
+
+    /**
+     * Returns the distance from the main sequence D = |A + I - 1|.
+     * 
+     * @return Value between 0 (on the main sequence) and 1 (zone of pain or zone of uselessness).
+     */
+    public final double getDistance() {
+        return Math.abs(getAbstractness() + getInstability() - 1.0);
+    }
+
+    @Override
+    public final String toString() {
+        return String.format(Locale.ROOT, "%s [Ca=%d, Ce=%d, I=%.3f, A=%.3f, D=%.3f]", name, afferentCoupling,
+                efferentCoupling, getInstability(), getAbstractness(), getDistance());
+    }
+
+}
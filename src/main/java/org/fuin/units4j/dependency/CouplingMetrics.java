@@ -0,0 +1,299 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.dependency;
+
+import org.fuin.utils4j.Utils4J;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Afferent/efferent coupling, instability, abstractness and distance from the main sequence per package and per class. The values are
+ * computed from a single scan of a classes directory or JAR file. Only dependencies between the scanned classes are counted - references
+ * to the JDK or other libraries are ignored.
+ * 
+ * <pre>
+ * final CouplingMetrics metrics = CouplingMetrics.create(new File("target/classes"));
+ * CouplingMetricsAssert.assertThat(metrics).pkg("org.example.core").instabilityIsAtMost(0.3);
+ * Files.writeString(Path.of("target/coupling.csv"), metrics.toCsv());
+ * </pre>
+ */
+public final class CouplingMetrics {
+
+    private static final Comparator<CouplingMetric> BY_NAME = Comparator.comparing(CouplingMetric::getName);
+
+    private final List<CouplingMetric> packages;
+
+    private final List<CouplingMetric> classes;
+
+    private final Map<String, CouplingMetric> packageMap;
+
+    private final Map<String, CouplingMetric> classMap;
+
+    /**
+     * Constructor with all data.
+     * 
+     * @param packages
+     *            Metrics per package.
+     * @param classes
+     *            Metrics per class.
+     */
+    public CouplingMetrics(final List<CouplingMetric> packages, final List<CouplingMetric> classes) {
+        super();
+        Utils4J.checkNotNull("packages", packages);
+        Utils4J.checkNotNull("classes", classes);
+        this.packages = sorted(packages);
+        this.classes = sorted(classes);
+        this.packageMap = index(this.packages);
+        this.classMap = index(this.classes);
+    }
+
+    /**
+     * Scans a classes directory or JAR file and computes the metrics.
+     * 
+     * @param dirOrJar
+     *            Directory with ".class" files or JAR file.
+     * 
+     * @return New metrics.
+     * 
+     * @throws IOException
+     *             Error reading the JAR file.
+     */
+    public static CouplingMetrics create(final File dirOrJar) throws IOException {
+        Utils4J.checkNotNull("dirOrJar", dirOrJar);
+        final DependencyGraphBuilder builder = new DependencyGraphBuilder();
+        if (dirOrJar.isDirectory()) {
+            builder.scan(dirOrJar);
+        } else {
+            builder.scanJar(dirOrJar);
+        }
+        return create(builder);
+    }
+
+    /**
+     * Computes the metrics for all classes added to the builder.
+     * 
+     * @param builder
+     *            Builder that already scanned the classes.
+     * 
+     * @return New metrics.
+     */
+    public static CouplingMetrics create(final DependencyGraphBuilder builder) {
+        Utils4J.checkNotNull("builder", builder);
+        final DependencyGraph graph = builder.buildClassGraph();
+        final int n = graph.getNodeCount();
+
+        // Assign a package id to every scanned class (-1 for referenced only)
+        final Map<String, Integer> packageIds = new HashMap<>();
+        final List<String> packageNames = new ArrayList<>();
+        final int[] packageOf = new int[n];
+        for (int i = 0; i < n; i++) {
+            if (builder.isScanned(i)) {
+                final String name = graph.getName(i);
+                final int p = name.lastIndexOf('.');
+                final String packageName = p < 0 ? "" : name.substring(0, p);
+                packageOf[i] = packageIds.computeIfAbsent(packageName, key -> {
+                    packageNames.add(key);
+                    return packageNames.size() - 1;
+                });
+            } else {
+                packageOf[i] = -1;
+            }
+        }
+
+        // Class metrics and distinct package edges packed as "from << 32 | to"
+        final int[] classCount = new int[packageNames.size()];
+        final int[] abstractCount = new int[packageNames.size()];
+        final List<CouplingMetric> classes = new ArrayList<>();
+        long[] packageEdges = new long[64];
+        int packageEdgeCount = 0;
+        for (int i = 0; i < n; i++) {
+            final int pkg = packageOf[i];
+            if (pkg < 0) {
+                continue;
+            }
+            final boolean abstr = builder.isAbstract(i);
+            classCount[pkg]++;
+            if (abstr) {
+                abstractCount[pkg]++;
+            }
+            int ce = 0;
+            for (int j = 0; j < graph.getSuccessorCount(i); j++) {
+                final int succ = graph.getSuccessor(i, j);
+                if (succ != i && packageOf[succ] >= 0) {
+                    ce++;
+                    if (packageOf[succ] != pkg) {
+                        if (packageEdgeCount == packageEdges.length) {
+                            packageEdges = Arrays.copyOf(packageEdges, packageEdgeCount * 2);
+                        }
+                        packageEdges[packageEdgeCount++] = ((long) pkg << 32) | packageOf[succ];
+                    }
+                }
+            }
+            int ca = 0;
+            for (int j = 0; j < graph.getPredecessorCount(i); j++) {
+                final int pred = graph.getPredecessor(i, j);
+                if (pred != i && packageOf[pred] >= 0) {
+                    ca++;
+                }
+            }
+            classes.add(new CouplingMetric(graph.getName(i), 1, abstr ? 1 : 0, ca, ce));
+        }
+
+        // Package metrics from the distinct package edges
+        Arrays.sort(packageEdges, 0, packageEdgeCount);
+        final int[] packageCa = new int[packageNames.size()];
+        final int[] packageCe = new int[packageNames.size()];
+        for (int e = 0; e < packageEdgeCount; e++) {
+            if (e > 0 && packageEdges[e] == packageEdges[e - 1]) {
+                continue;
+            }
+            packageCe[(int) (packageEdges[e] >>> 32)]++;
+            packageCa[(int) packageEdges[e]]++;
+        }
+        final List<CouplingMetric> packages = new ArrayList<>();
+        for (int p = 0; p < packageNames.size(); p++) {
+            packages.add(new CouplingMetric(packageNames.get(p), classCount[p], abstractCount[p], packageCa[p], packageCe[p]));
+        }
+
+        return new CouplingMetrics(packages, classes);
+    }
+
+    /**
+     * Returns the metrics of all packages.
+     * 
+     * @return Unmodifiable list sorted by package name.
+     */
+    public final List<CouplingMetric> getPackages() {
+        return packages;
+    }
+
+    /**
+     * Returns the metrics of all classes.
+     * 
+     * @return Unmodifiable list sorted by class name.
+     */
+    public final List<CouplingMetric> getClasses() {
+        return classes;
+    }
+
+    /**
+     * Returns the metrics of a package.
+     * 
+     * @param packageName
+     *            Fully qualified package name.
+     * 
+     * @return Metrics or <code>null</code> if the package was not scanned.
+     */
+    public final CouplingMetric findPackage(final String packageName) {
+        return packageMap.get(packageName);
+    }
+
+    /**
+     * Returns the metrics of a class.
+     * 
+     * @param className
+     *            Fully qualified class name.
+     * 
+     * @return Metrics or <code>null</code> if the class was not scanned.
+     */
+    public final CouplingMetric findClass(final String className) {
+        return classMap.get(className);
+    }
+
+    /**
+     * Returns all metrics as CSV with a header line. The first column is the type ("package" or "class").
+     * 
+     * @return CSV text.
+     */
+    public final String toCsv() {
+        final StringBuilder sb = new StringBuilder("type,name,classes,abstractClasses,ca,ce,instability,abstractness,distance\n");
+        appendCsv(sb, "package", packages);
+        appendCsv(sb, "class", classes);
+        return sb.toString();
+    }
+
+    /**
+     * Returns all metrics as JSON object with a "packages" and a "classes" array.
+     * 
+     * @return JSON text.
+     */
+    public final String toJson() {
+        final StringBuilder sb = new StringBuilder("{\n");
+        appendJson(sb, "packages", packages);
+        sb.append(",\n");
+        appendJson(sb, "classes", classes);
+        sb.append("\n}\n");
+        return sb.toString();
+    }
+
+    private static void appendCsv(final StringBuilder sb, final String type, final List<CouplingMetric> metrics) {
+        for (final CouplingMetric metric : metrics) {
+            sb.append(type).append(',').append(metric.getName()).append(',').append(metric.getClassCount()).append(',')
+                    .append(metric.getAbstractClassCount()).append(',').append(metric.getAfferentCoupling()).append(',')
+                    .append(metric.getEfferentCoupling()).append(',').append(format(metric.getInstability())).append(',')
+                    .append(format(metric.getAbstractness())).append(',').append(format(metric.getDistance())).append('\n');
+        }
+    }
+
+    private static void appendJson(final StringBuilder sb, final String key, final List<CouplingMetric> metrics) {
+        sb.append("  \"").append(key).append("\": [");
+        for (int i = 0; i < metrics.size(); i++) {
+            final CouplingMetric metric = metrics.get(i);
+            sb.append(i == 0 ? "\n" : ",\n");
+            sb.append("    {\"name\": \"").append(escape(metric.getName())).append("\", \"classes\": ").append(metric.getClassCount())
+                    .append(", \"abstractClasses\": ").append(metric.getAbstractClassCount()).append(", \"ca\": ")
+                    .append(metric.getAfferentCoupling()).append(", \"ce\": ").append(metric.getEfferentCoupling())
+                    .append(", \"instability\": ").append(format(metric.getInstability())).append(", \"abstractness\": ")
+                    .append(format(metric.getAbstractness())).append(", \"distance\": ").append(format(metric.getDistance()))
+                    .append('}');
+        }
+        sb.append(metrics.isEmpty() ? "]" : "\n  ]");
+    }
+
+    private static String format(final double value) {
+        return String.format(Locale.ROOT, "%.4f", value);
+    }
+
+    private static String escape(final String str) {
+        return str.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static List<CouplingMetric> sorted(final List<CouplingMetric> metrics) {
+        final List<CouplingMetric> list = new ArrayList<>(metrics);
+        list.sort(BY_NAME);
+        return Collections.unmodifiableList(list);
+    }
+
+    private static Map<String, CouplingMetric> index(final List<CouplingMetric> metrics) {
+        final Map<String, CouplingMetric> map = new HashMap<>();
+        for (final CouplingMetric metric : metrics) {
+            map.put(metric.getName(), metric);
+        }
+        return map;
+    }
+
+}
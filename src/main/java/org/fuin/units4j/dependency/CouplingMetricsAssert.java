@@ -0,0 +1,246 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.dependency;
+
+import org.assertj.core.api.AbstractAssert;
+
+import java.util.Locale;
+
+/**
+ * Assertions on {@link CouplingMetrics}. As <code>package</code> is a reserved word, the package metrics are selected with
+ * {@link #pkg(String)}.
+ * 
+ * <pre>
+ * final CouplingMetrics metrics = CouplingMetrics.create(new File("target/classes"));
+ * assertThat(metrics).pkg("org.example.core").instabilityIsAtMost(0.3);
+ * assertThat(metrics).clazz("org.example.core.Service").efferentCouplingIsAtMost(5);
+ * assertThat(metrics).allPackagesHaveDistanceAtMost(0.7);
+ * </pre>
+ */
+public final class CouplingMetricsAssert extends AbstractAssert<CouplingMetricsAssert, CouplingMetrics> {
+
+    /**
+     * Constructor to build assertion class with the object we want to make assertions on.
+     * 
+     * @param actual
+     *            Metrics to use.
+     */
+    public CouplingMetricsAssert(final CouplingMetrics actual) {
+        super(actual, CouplingMetricsAssert.class);
+    }
+
+    /**
+     * Fluent entry point to assertion class, use it with static import.
+     * 
+     * @param actual
+     *            Metrics to use.
+     * 
+     * @return New assertion instance.
+     */
+    public static CouplingMetricsAssert assertThat(final CouplingMetrics actual) {
+        return new CouplingMetricsAssert(actual);
+    }
+
+    /**
+     * Returns an assertion on the metrics of a package. Fails if the package was not scanned.
+     * 
+     * @param packageName
+     *            Fully qualified package name.
+     * 
+     * @return Metric assertion.
+     */
+    public MetricAssert pkg(final String packageName) {
+        isNotNull();
+        final CouplingMetric metric = actual.findPackage(packageName);
+        if (metric == null) {
+            failWithMessage("Expected package '%s' to be scanned, but it was not found", packageName);
+        }
+        return new MetricAssert(metric, "package");
+    }
+
+    /**
+     * Returns an assertion on the metrics of a class. Fails if the class was not scanned.
+     * 
+     * @param className
+     *            Fully qualified class name.
+     * 
+     * @return Metric assertion.
+     */
+    public MetricAssert clazz(final String className) {
+        isNotNull();
+        final CouplingMetric metric = actual.findClass(className);
+        if (metric == null) {
+            failWithMessage("Expected class '%s' to be scanned, but it was not found", className);
+        }
+        return new MetricAssert(metric, "class");
+    }
+
+    /**
+     * Verifies that no package is further away from the main sequence than the given value.
+     * 
+     * @param max
+     *            Maximum distance (0..1).
+     * 
+     * @return Self.
+     */
+    public CouplingMetricsAssert allPackagesHaveDistanceAtMost(final double max) {
+        isNotNull();
+        final StringBuilder sb = new StringBuilder();
+        int count = 0;
+        for (final CouplingMetric metric : actual.getPackages()) {
+            if (metric.getDistance() > max) {
+                sb.append("\n    ").append(metric);
+                count++;
+            }
+        }
+        if (count > 0) {
+            failWithMessage("Expected all packages to have a distance from the main sequence of at most %s, but %s did not:%s",
+                    format(max), count, sb);
+        }
+        return this;
+    }
+
+    private static String format(final double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    /**
+     * Assertions on the metrics of a single package or class.
+     */
+    public static final class MetricAssert extends AbstractAssert<MetricAssert, CouplingMetric> {
+
+        private final String type;
+
+        /**
+         * Constructor with metric and type.
+         * 
+         * @param actual
+         *            Metric to use.
+         * @param type
+         *            Type of the metric ("package" or "class") used for error messages.
+         */
+        public MetricAssert(final CouplingMetric actual, final String type) {
+            super(actual, MetricAssert.class);
+            this.type = type;
+        }
+
+        /**
+         * Verifies that the instability is less than or equal to the given value.
+         * 
+         * @param max
+         *            Maximum instability (0..1).
+         * 
+         * @return Self.
+         */
+        public MetricAssert instabilityIsAtMost(final double max) {
+            isNotNull();
+            if (actual.getInstability() > max) {
+                failWithMessage("Expected instability of %s '%s' to be at most %s, but was %s", type, actual.getName(), format(max),
+                        format(actual.getInstability()));
+            }
+            return this;
+        }
+
+        /**
+         * Verifies that the instability is greater than or equal to the given value.
+         * 
+         * @param min
+         *            Minimum instability (0..1).
+         * 
+         * @return Self.
+         */
+        public MetricAssert instabilityIsAtLeast(final double min) {
+            isNotNull();
+            if (actual.getInstability() < min) {
+                failWithMessage("Expected instability of %s '%s' to be at least %s, but was %s", type, actual.getName(), format(min),
+                        format(actual.getInstability()));
+            }
+            return this;
+        }
+
+        /**
+         * Verifies that the abstractness is greater than or equal to the given value.
+         * 
+         * @param min
+         *            Minimum abstractness (0..1).
+         * 
+         * @return Self.
+         */
+        public MetricAssert abstractnessIsAtLeast(final double min) {
+            isNotNull();
+            if (actual.getAbstractness() < min) {
+                failWithMessage("Expected abstractness of %s '%s' to be at least %s, but was %s", type, actual.getName(), format(min),
+                        format(actual.getAbstractness()));
+            }
+            return this;
+        }
+
+        /**
+         * Verifies that the distance from the main sequence is less than or equal to the given value.
+         * 
+         * @param max
+         *            Maximum distance (0..1).
+         * 
+         * @return Self.
+         */
+        public MetricAssert distanceIsAtMost(final double max) {
+            isNotNull();
+            if (actual.getDistance() > max) {
+                failWithMessage("Expected distance from the main sequence of %s '%s' to be at most %s, but was %s", type,
+                        actual.getName(), format(max), format(actual.getDistance()));
+            }
+            return this;
+        }
+
+        /**
+         * Verifies that the afferent coupling (Ca) is less than or equal to the given value.
+         * 
+         * @param max
+         *            Maximum number of dependents.
+         * 
+         * @return Self.
+         */
+        public MetricAssert afferentCouplingIsAtMost(final int max) {
+            isNotNull();
+            if (actual.getAfferentCoupling() > max) {
+                failWithMessage("Expected afferent coupling of %s '%s' to be at most %s, but was %s", type, actual.getName(), max,
+                        actual.getAfferentCoupling());
+            }
+            return this;
+        }
+
+        /**
+         * Verifies that the efferent coupling (Ce) is less than or equal to the given value.
+         * 
+         * @param max
+         *            Maximum number of dependencies.
+         * 
+         * @return Self.
+         */
+        public MetricAssert efferentCouplingIsAtMost(final int max) {
+            isNotNull();
+            if (actual.getEfferentCoupling() > max) {
+                failWithMessage("Expected efferent coupling of %s '%s' to be at most %s, but was %s", type, actual.getName(), max,
+                        actual.getEfferentCoupling());
+            }
+            return this;
+        }
+
+    }
+
+}
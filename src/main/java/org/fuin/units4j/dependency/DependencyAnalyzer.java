@@ -20,9 +20,14 @@ package org.fuin.units4j.dependency;
 import org.fuin.utils4j.Utils4J;
 import org.fuin.utils4j.fileprocessor.FileHandlerResult;
 import org.fuin.utils4j.fileprocessor.FileProcessor;
+import org.fuin.units4j.jfr.ClassParseEvent;
+import org.fuin.units4j.jfr.DirectoryScanEvent;
+import org.fuin.units4j.jfr.RuleCheckEvent;
+import org.fuin.units4j.scan.ScanListener;
 import org.objectweb.asm.ClassReader;
 
 import java.io.*;
+import java.nio.file.Files;
 import java.util.*;
 
 /**
@@ -30,10 +35,14 @@ import java.util.*;
  */
 public final class DependencyAnalyzer {
 
+    private static final String ANALYZER = DependencyAnalyzer.class.getSimpleName();
+
     private final List<DependencyError> dependencyErrors;
 
     private final Dependencies dependencies;
 
+    private ScanListener listener = ScanListener.NONE;
+
     /**
      * Constructor with XML file.
      * 
@@ -80,6 +89,17 @@ public final class DependencyAnalyzer {
         dependencyErrors = new ArrayList<>();
     }
 
+    /**
+     * Sets the listener that is informed about the files read, classes parsed and dependency rules evaluated.
+     * 
+     * @param listener
+     *            Listener to use - Cannot be <code>null</code>.
+     */
+    public final void setScanListener(final ScanListener listener) {
+        Utils4J.checkNotNull("listener", listener);
+        this.listener = listener;
+    }
+
     /**
      * Checks the dependencies for a package from the "allowed" section.
      * 
@@ -186,24 +206,49 @@ public final class DependencyAnalyzer {
      */
     public final void analyze(final File classesDir) {
 
+        final DirectoryScanEvent scanEvent = new DirectoryScanEvent();
+        scanEvent.begin();
         final FileProcessor fileProcessor = new FileProcessor(classFile -> {
             if (!classFile.getName().endsWith(".class")) {
                 return FileHandlerResult.CONTINUE;
             }
             try {
-                final ClassInfo classInfo = new ClassInfo(classFile);
-
+                final String source = classFile.getPath();
+                listener.fileDiscovered(source);
+                long start = System.nanoTime();
+                final byte[] data = Files.readAllBytes(classFile.toPath());
+                listener.bytesRead(source, data.length, System.nanoTime() - start);
+
+                final ClassParseEvent parseEvent = new ClassParseEvent();
+                parseEvent.begin();
+                start = System.nanoTime();
+                final ClassInfo classInfo = new ClassInfo(data, classFile.getName());
+                listener.classParsed(classInfo.getName(), System.nanoTime() - start);
+                parseEvent.end(ANALYZER, classInfo.getName(), data.length);
+                scanEvent.addClass(data.length);
+
+                final RuleCheckEvent ruleEvent = new RuleCheckEvent();
+                ruleEvent.begin();
+                start = System.nanoTime();
+                final String rule;
+                final List<DependencyError> errors;
                 final Package<DependsOn> allowedPkg = dependencies.findAllowedByName(classInfo.getPackageName());
                 if (allowedPkg == null) {
                     final Package<NotDependsOn> forbiddenPkg = dependencies.findForbiddenByName(classInfo.getPackageName());
                     if (forbiddenPkg == null) {
-                        dependencyErrors.addAll(checkAlwaysForbiddenSection(dependencies, classInfo));
+                        rule = "alwaysForbidden";
+                        errors = checkAlwaysForbiddenSection(dependencies, classInfo);
                     } else {
-                        dependencyErrors.addAll(checkForbiddenSection(dependencies, forbiddenPkg, classInfo));
+                        rule = "forbidden " + forbiddenPkg.getName();
+                        errors = checkForbiddenSection(dependencies, forbiddenPkg, classInfo);
                     }
                 } else {
-                    dependencyErrors.addAll(checkAllowedSection(dependencies, allowedPkg, classInfo));
+                    rule = "allowed " + allowedPkg.getName();
+                    errors = checkAllowedSection(dependencies, allowedPkg, classInfo);
                 }
+                listener.ruleEvaluated(rule, classInfo.getName(), errors.isEmpty(), System.nanoTime() - start);
+                ruleEvent.end(rule, classInfo.getName(), errors.isEmpty());
+                dependencyErrors.addAll(errors);
             } catch (final IOException ex) {
                 throw new RuntimeException("Error handling file: " + classFile, ex);
             }
@@ -213,6 +258,7 @@ public final class DependencyAnalyzer {
 
         dependencyErrors.clear();
         fileProcessor.process(classesDir);
+        scanEvent.end(ANALYZER, classesDir.getPath());
 
     }
 
@@ -246,27 +292,24 @@ public final class DependencyAnalyzer {
         private final Set<String> imports;
 
         /**
-         * Constructor with class file to load.
-         * 
-         * @param classFile
-         *            Java ".class" file.
+         * Constructor with class file content.
          * 
-         * @throws IOException
-         *             Error reading the file.
+         * @param data
+         *            Content of the Java ".class" file.
+         * @param filename
+         *            Name of the ".class" file without path.
          */
-        public ClassInfo(final File classFile) throws IOException {
-            try (final InputStream in = new BufferedInputStream(new FileInputStream(classFile))) {
-                final DependencyVisitor visitor = new DependencyVisitor();
-                new ClassReader(in).accept(visitor, 0);
-                final Map<String, Map<String, Integer>> globals = visitor.getGlobals();
-                final Set<String> jarPackages = globals.keySet();
-                packageName = jarPackages.iterator().next().replace('/', '.');
-                simpleName = nameOnly(classFile.getName());
-                imports = new HashSet<>();
-                final Iterator<String> it = visitor.getPackages().iterator();
-                while (it.hasNext()) {
-                    imports.add(it.next().replace('/', '.'));
-                }
+        public ClassInfo(final byte[] data, final String filename) {
+            final DependencyVisitor visitor = new DependencyVisitor();
+            new ClassReader(data).accept(visitor, 0);
+            final Map<String, Map<String, Integer>> globals = visitor.getGlobals();
+            final Set<String> jarPackages = globals.keySet();
+            packageName = jarPackages.iterator().next().replace('/', '.');
+            simpleName = nameOnly(filename);
+            imports = new HashSet<>();
+            final Iterator<String> it = visitor.getPackages().iterator();
+            while (it.hasNext()) {
+                imports.add(it.next().replace('/', '.'));
             }
         }
 
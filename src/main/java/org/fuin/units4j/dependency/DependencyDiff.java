@@ -0,0 +1,138 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.dependency;
+
+import org.fuin.utils4j.Utils4J;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Added and removed package and class dependencies between two {@link DependencySnapshot}s. All edges have the form "from -&gt; to".
+ */
+public final class DependencyDiff {
+
+    private final List<String> addedPackageEdges;
+
+    private final List<String> removedPackageEdges;
+
+    private final List<String> addedClassEdges;
+
+    private final List<String> removedClassEdges;
+
+    /**
+     * Constructor with all data.
+     * 
+     * @param addedPackageEdges
+     *            Package dependencies only found in the new snapshot.
+     * @param removedPackageEdges
+     *            Package dependencies only found in the old snapshot.
+     * @param addedClassEdges
+     *            Class dependencies only found in the new snapshot.
+     * @param removedClassEdges
+     *            Class dependencies only found in the old snapshot.
+     */
+    public DependencyDiff(final List<String> addedPackageEdges, final List<String> removedPackageEdges, final List<String> addedClassEdges,
+            final List<String> removedClassEdges) {
+        super();
+        Utils4J.checkNotNull("addedPackageEdges", addedPackageEdges);
+        Utils4J.checkNotNull("removedPackageEdges", removedPackageEdges);
+        Utils4J.checkNotNull("addedClassEdges", addedClassEdges);
+        Utils4J.checkNotNull("removedClassEdges", removedClassEdges);
+        this.addedPackageEdges = Collections.unmodifiableList(addedPackageEdges);
+        this.removedPackageEdges = Collections.unmodifiableList(removedPackageEdges);
+        this.addedClassEdges = Collections.unmodifiableList(addedClassEdges);
+        this.removedClassEdges = Collections.unmodifiableList(removedClassEdges);
+    }
+
+    /**
+     * Returns the new package dependencies.
+     * 
+     * @return Sorted edges.
+     */
+    public final List<String> getAddedPackageEdges() {
+        return addedPackageEdges;
+    }
+
+    /**
+     * Returns the package dependencies that no longer exist.
+     * 
+     * @return Sorted edges.
+     */
+    public final List<String> getRemovedPackageEdges() {
+        return removedPackageEdges;
+    }
+
+    /**
+     * Returns the new class dependencies.
+     * 
+     * @return Sorted edges.
+     */
+    public final List<String> getAddedClassEdges() {
+        return addedClassEdges;
+    }
+
+    /**
+     * Returns the class dependencies that no longer exist.
+     * 
+     * @return Sorted edges.
+     */
+    public final List<String> getRemovedClassEdges() {
+        return removedClassEdges;
+    }
+
+    /**
+     * Determines if there is any difference.
+     * 
+     * @return <code>true</code> if both snapshots have the same class dependencies.
+     */
+    public final boolean isEmpty() {
+        return addedClassEdges.isEmpty() && removedClassEdges.isEmpty();
+    }
+
+    /**
+     * Returns a human readable report of the differences.
+     * 
+     * @return Report listing the added (+) and removed (-) package and class dependencies.
+     */
+    public final String report() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("Package dependencies: ").append(addedPackageEdges.size()).append(" added, ").append(removedPackageEdges.size())
+                .append(" removed\n");
+        append(sb, addedPackageEdges, removedPackageEdges);
+        sb.append("Class dependencies: ").append(addedClassEdges.size()).append(" added, ").append(removedClassEdges.size())
+                .append(" removed\n");
+        append(sb, addedClassEdges, removedClassEdges);
+        return sb.toString();
+    }
+
+    private static void append(final StringBuilder sb, final List<String> added, final List<String> removed) {
+        for (final String edge : added) {
+            sb.append("  + ").append(edge).append('\n');
+        }
+        for (final String edge : removed) {
+            sb.append("  - ").append(edge).append('\n');
+        }
+    }
+
+    @Override
+    public final String toString() {
+        return report();
+    }
+
+}
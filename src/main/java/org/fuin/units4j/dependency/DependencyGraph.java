@@ -0,0 +1,346 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.dependency;
+
+import org.fuin.utils4j.Utils4J;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable dependency graph with nodes identified by an int. The edges are stored in compressed sparse row (CSR) format: For every node
+ * the successors and predecessors are a range in a shared <code>int[]</code> array with a parallel weight array. None of the query
+ * methods allocates memory per edge, so the graph can be used for classpaths with millions of dependencies. Use the
+ * {@link DependencyGraphBuilder} to create a graph from class files.
+ * 
+ * <pre>
+ * final int node = graph.getId("a.b.MyClass");
+ * for (int i = 0; i &lt; graph.getSuccessorCount(node); i++) {
+ *     System.out.println(graph.getName(graph.getSuccessor(node, i)) + " (" + graph.getSuccessorWeight(node, i) + ")");
+ * }
+ * </pre>
+ */
+public final class DependencyGraph {
+
+    private final String[] names;
+
+    private final Map<String, Integer> ids;
+
+    private final int[] outOffsets;
+
+    private final int[] outTargets;
+
+    private final int[] outWeights;
+
+    private final int[] inOffsets;
+
+    private final int[] inSources;
+
+    private final int[] inWeights;
+
+    /**
+     * Creates a graph from a list of edges. Duplicate edges are merged by summing up their weights.
+     * 
+     * @param names
+     *            Node names - The index is the node id.
+     * @param from
+     *            Source node of every edge.
+     * @param to
+     *            Target node of every edge.
+     * @param weight
+     *            Weight of every edge.
+     * @param edgeCount
+     *            Number of used entries in the edge arrays.
+     */
+    public DependencyGraph(final String[] names, final int[] from, final int[] to, final int[] weight, final int edgeCount) {
+        super();
+        Utils4J.checkNotNull("names", names);
+        Utils4J.checkNotNull("from", from);
+        Utils4J.checkNotNull("to", to);
+        Utils4J.checkNotNull("weight", weight);
+        final int n = names.length;
+        this.names = names.clone();
+        this.ids = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            ids.put(names[i], i);
+        }
+
+        // Rows sorted by source with packed "target << 32 | weight" entries
+        final int[] rowStart = new int[n + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            rowStart[from[e] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            rowStart[i + 1] += rowStart[i];
+        }
+        final int[] fill = Arrays.copyOf(rowStart, n);
+        final long[] packed = new long[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            packed[fill[from[e]]++] = ((long) to[e] << 32) | (weight[e] & 0xFFFFFFFFL);
+        }
+
+        // Sort every row and merge duplicate targets
+        outOffsets = new int[n + 1];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            Arrays.sort(packed, rowStart[i], rowStart[i + 1]);
+            outOffsets[i] = count;
+            for (int p = rowStart[i]; p < rowStart[i + 1]; p++) {
+                if (count > outOffsets[i] && (packed[count - 1] >>> 32) == (packed[p] >>> 32)) {
+                    packed[count - 1] += (int) packed[p];
+                } else {
+                    packed[count++] = packed[p];
+                }
+            }
+        }
+        outOffsets[n] = count;
+        outTargets = new int[count];
+        outWeights = new int[count];
+        for (int p = 0; p < count; p++) {
+            outTargets[p] = (int) (packed[p] >>> 32);
+            outWeights[p] = (int) packed[p];
+        }
+
+        // Reverse direction (rows are automatically sorted by source)
+        inOffsets = new int[n + 1];
+        for (int p = 0; p < count; p++) {
+            inOffsets[outTargets[p] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            inOffsets[i + 1] += inOffsets[i];
+        }
+        final int[] inFill = Arrays.copyOf(inOffsets, n);
+        inSources = new int[count];
+        inWeights = new int[count];
+        for (int i = 0; i < n; i++) {
+            for (int p = outOffsets[i]; p < outOffsets[i + 1]; p++) {
+                final int q = inFill[outTargets[p]]++;
+                inSources[q] = i;
+                inWeights[q] = outWeights[p];
+            }
+        }
+    }
+
+    /**
+     * Returns the number of nodes.
+     * 
+     * @return Node count.
+     */
+    public final int getNodeCount() {
+        return names.length;
+    }
+
+    /**
+     * Returns the number of distinct edges.
+     * 
+     * @return Edge count.
+     */
+    public final int getEdgeCount() {
+        return outTargets.length;
+    }
+
+    /**
+     * Returns the name of a node.
+     * 
+     * @param node
+     *            Node id.
+     * 
+     * @return Full qualified class or package name.
+     */
+    public final String getName(final int node) {
+        return names[node];
+    }
+
+    /**
+     * Returns the id of a node.
+     * 
+     * @param name
+     *            Full qualified class or package name.
+     * 
+     * @return Node id or <code>-1</code> if there is no node with that name.
+     */
+    public final int getId(final String name) {
+        final Integer id = ids.get(name);
+        if (id == null) {
+            return -1;
+        }
+        return id;
+    }
+
+    /**
+     * Returns the number of nodes a node depends on.
+     * 
+     * @param node
+     *            Node id.
+     * 
+     * @return Number of successors.
+     */
+    public final int getSuccessorCount(final int node) {
+        return outOffsets[node + 1] - outOffsets[node];
+    }
+
+    /**
+     * Returns a node the given node depends on.
+     * 
+     * @param node
+     *            Node id.
+     * @param index
+     *            Index of the successor (0..successorCount-1). Successors are sorted by their id.
+     * 
+     * @return Id of the successor.
+     */
+    public final int getSuccessor(final int node, final int index) {
+        return outTargets[outOffsets[node] + index];
+    }
+
+    /**
+     * Returns the weight (number of references) of an outgoing edge.
+     * 
+     * @param node
+     *            Node id.
+     * @param index
+     *            Index of the successor (0..successorCount-1).
+     * 
+     * @return Weight of the edge.
+     */
+    public final int getSuccessorWeight(final int node, final int index) {
+        return outWeights[outOffsets[node] + index];
+    }
+
+    /**
+     * Returns the number of nodes that depend on a node.
+     * 
+     * @param node
+     *            Node id.
+     * 
+     * @return Number of predecessors.
+     */
+    public final int getPredecessorCount(final int node) {
+        return inOffsets[node + 1] - inOffsets[node];
+    }
+
+    /**
+     * Returns a node that depends on the given node.
+     * 
+     * @param node
+     *            Node id.
+     * @param index
+     *            Index of the predecessor (0..predecessorCount-1). Predecessors are sorted by their id.
+     * 
+     * @return Id of the predecessor.
+     */
+    public final int getPredecessor(final int node, final int index) {
+        return inSources[inOffsets[node] + index];
+    }
+
+    /**
+     * Returns the weight (number of references) of an incoming edge.
+     * 
+     * @param node
+     *            Node id.
+     * @param index
+     *            Index of the predecessor (0..predecessorCount-1).
+     * 
+     * @return Weight of the edge.
+     */
+    public final int getPredecessorWeight(final int node, final int index) {
+        return inWeights[inOffsets[node] + index];
+    }
+
+    /**
+     * Returns the weight of the edge between two nodes.
+     * 
+     * @param from
+     *            Source node id.
+     * @param to
+     *            Target node id.
+     * 
+     * @return Weight of the edge or <code>0</code> if the nodes are not connected directly.
+     */
+    public final int getWeight(final int from, final int to) {
+        final int p = Arrays.binarySearch(outTargets, outOffsets[from], outOffsets[from + 1], to);
+        if (p < 0) {
+            return 0;
+        }
+        return outWeights[p];
+    }
+
+    /**
+     * Returns all nodes that can be reached from a node following the dependencies. The node itself is only included if it is part of a
+     * cycle.
+     * 
+     * @param node
+     *            Start node id.
+     * 
+     * @return Reachable node ids.
+     */
+    public final BitSet getTransitiveSuccessors(final int node) {
+        return traverse(node, -1, outOffsets, outTargets);
+    }
+
+    /**
+     * Returns all nodes that directly or indirectly depend on a node. The node itself is only included if it is part of a cycle.
+     * 
+     * @param node
+     *            Start node id.
+     * 
+     * @return Ids of depending nodes.
+     */
+    public final BitSet getTransitivePredecessors(final int node) {
+        return traverse(node, -1, inOffsets, inSources);
+    }
+
+    /**
+     * Determines if a node directly or indirectly depends on another one.
+     * 
+     * @param from
+     *            Source node id.
+     * @param to
+     *            Target node id.
+     * 
+     * @return <code>true</code> if there is a path from source to target.
+     */
+    public final boolean isReachable(final int from, final int to) {
+        return traverse(from, to, outOffsets, outTargets).get(to);
+    }
+
+    private BitSet traverse(final int start, final int stopAt, final int[] offsets, final int[] targets) {
+        final BitSet visited = new BitSet(names.length);
+        final int[] queue = new int[names.length + 1];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        while (head < tail) {
+            final int v = queue[head++];
+            for (int p = offsets[v]; p < offsets[v + 1]; p++) {
+                final int w = targets[p];
+                if (!visited.get(w)) {
+                    visited.set(w);
+                    if (w == stopAt) {
+                        return visited;
+                    }
+                    queue[tail++] = w;
+                }
+            }
+        }
+        return visited;
+    }
+
+}
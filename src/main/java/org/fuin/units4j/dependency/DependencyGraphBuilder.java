@@ -0,0 +1,301 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.dependency;
+
+import org.fuin.utils4j.Utils4J;
+import org.fuin.utils4j.fileprocessor.FileHandlerResult;
+import org.fuin.utils4j.fileprocessor.FileProcessor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Collects class dependencies in a single scan and creates a compact class or package {@link DependencyGraph}. Class names are interned
+ * and mapped to an int id. References are collected in growable <code>int[]</code> arrays, so there are no objects per edge.
+ * 
+ * <pre>
+ * final DependencyGraphBuilder builder = new DependencyGraphBuilder().scan(new File("target/classes"));
+ * final DependencyGraph classes = builder.buildClassGraph();
+ * final DependencyGraph packages = builder.buildPackageGraph();
+ * </pre>
+ */
+public final class DependencyGraphBuilder {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Map<String, Integer> ids;
+
+    private final List<String> names;
+
+    private int[] from;
+
+    private int[] to;
+
+    private int[] weight;
+
+    private int edgeCount;
+
+    private int[] refs;
+
+    private int refCount;
+
+    private final BitSet scanned;
+
+    private final BitSet abstractClasses;
+
+    /**
+     * Default constructor.
+     */
+    public DependencyGraphBuilder() {
+        super();
+        this.ids = new HashMap<>();
+        this.names = new ArrayList<>();
+        this.from = new int[INITIAL_CAPACITY];
+        this.to = new int[INITIAL_CAPACITY];
+        this.weight = new int[INITIAL_CAPACITY];
+        this.refs = new int[INITIAL_CAPACITY];
+        this.scanned = new BitSet();
+        this.abstractClasses = new BitSet();
+    }
+
+    /**
+     * Adds all classes in the directory and it's sub directories.
+     * 
+     * @param classesDir
+     *            Directory where the "*.class" files are located (something like "bin" or "classes").
+     * 
+     * @return Self.
+     */
+    public final DependencyGraphBuilder scan(final File classesDir) {
+        Utils4J.checkNotNull("classesDir", classesDir);
+        final FileProcessor fileProcessor = new FileProcessor(classFile -> {
+            if (!classFile.getName().endsWith(".class")) {
+                return FileHandlerResult.CONTINUE;
+            }
+            try {
+                addClass(Files.readAllBytes(classFile.toPath()));
+            } catch (final IOException ex) {
+                throw new RuntimeException("Error handling file: " + classFile, ex);
+            }
+            return FileHandlerResult.CONTINUE;
+        });
+        fileProcessor.process(classesDir);
+        return this;
+    }
+
+    /**
+     * Adds all classes of a JAR file.
+     * 
+     * @param jarFile
+     *            JAR file to scan.
+     * 
+     * @return Self.
+     * 
+     * @throws IOException
+     *             Error reading the file.
+     */
+    public final DependencyGraphBuilder scanJar(final File jarFile) throws IOException {
+        Utils4J.checkNotNull("jarFile", jarFile);
+        try (final JarFile jar = new JarFile(jarFile)) {
+            final Enumeration<JarEntry> entries = jar.entries();
+            while (entries.hasMoreElements()) {
+                final JarEntry entry = entries.nextElement();
+                if (entry.getName().endsWith(".class")) {
+                    try (final InputStream in = jar.getInputStream(entry)) {
+                        addClass(in.readAllBytes());
+                    }
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Adds a class and all classes it references. "package-info" and "module-info" classes are ignored.
+     * 
+     * @param classFile
+     *            Content of the ".class" file.
+     * 
+     * @return Self.
+     */
+    public final DependencyGraphBuilder addClass(final byte[] classFile) {
+        final ClassReader reader = new ClassReader(classFile);
+        final String className = reader.getClassName();
+        if (className.endsWith("package-info") || className.equals("module-info")) {
+            return this;
+        }
+        final int self = intern(className);
+        scanned.set(self);
+        if ((reader.getAccess() & (Opcodes.ACC_ABSTRACT | Opcodes.ACC_INTERFACE)) != 0) {
+            abstractClasses.set(self);
+        }
+        refCount = 0;
+        reader.accept(new ClassRefVisitor(), 0);
+
+        // Sort the references and add one weighted edge per referenced class
+        Arrays.sort(refs, 0, refCount);
+        int i = 0;
+        while (i < refCount) {
+            final int target = refs[i];
+            int j = i + 1;
+            while (j < refCount && refs[j] == target) {
+                j++;
+            }
+            if (target != self) {
+                addEdge(self, target, j - i);
+            }
+            i = j;
+        }
+        return this;
+    }
+
+    /**
+     * Returns the number of distinct class names seen so far.
+     * 
+     * @return Number of classes (scanned and referenced).
+     */
+    public final int getClassCount() {
+        return names.size();
+    }
+
+    /**
+     * Creates a graph with one node per class. The edge weight is the number of references from one class to the other.
+     * 
+     * @return New class graph.
+     */
+    public final DependencyGraph buildClassGraph() {
+        final String[] classNames = new String[names.size()];
+        for (int i = 0; i < classNames.length; i++) {
+            classNames[i] = names.get(i).replace('/', '.');
+        }
+        return new DependencyGraph(classNames, from, to, weight, edgeCount);
+    }
+
+    /**
+     * Creates a graph with one node per package. The edge weight is the sum of all class references between the two packages. References
+     * inside a package are ignored.
+     * 
+     * @return New package graph.
+     */
+    public final DependencyGraph buildPackageGraph() {
+        final Map<String, Integer> packageIds = new HashMap<>();
+        final List<String> packageNames = new ArrayList<>();
+        final int[] packageOf = new int[names.size()];
+        for (int i = 0; i < packageOf.length; i++) {
+            final String name = names.get(i);
+            final int p = name.lastIndexOf('/');
+            final String packageName = p < 0 ? "" : name.substring(0, p).replace('/', '.');
+            packageOf[i] = packageIds.computeIfAbsent(packageName, key -> {
+                packageNames.add(key);
+                return packageNames.size() - 1;
+            });
+        }
+        final int[] pkgFrom = new int[edgeCount];
+        final int[] pkgTo = new int[edgeCount];
+        final int[] pkgWeight = new int[edgeCount];
+        int count = 0;
+        for (int e = 0; e < edgeCount; e++) {
+            final int a = packageOf[from[e]];
+            final int b = packageOf[to[e]];
+            if (a != b) {
+                pkgFrom[count] = a;
+                pkgTo[count] = b;
+                pkgWeight[count] = weight[e];
+                count++;
+            }
+        }
+        return new DependencyGraph(packageNames.toArray(new String[0]), pkgFrom, pkgTo, pkgWeight, count);
+    }
+
+    /**
+     * Determines if a class was scanned or only referenced by a scanned class.
+     * 
+     * @param id
+     *            Id of the class in the class graph.
+     * 
+     * @return <code>true</code> if the class file was added, <code>false</code> if it is only referenced.
+     */
+    final boolean isScanned(final int id) {
+        return scanned.get(id);
+    }
+
+    /**
+     * Determines if a scanned class is abstract or an interface.
+     * 
+     * @param id
+     *            Id of the class in the class graph.
+     * 
+     * @return <code>true</code> if the class is abstract or an interface.
+     */
+    final boolean isAbstract(final int id) {
+        return abstractClasses.get(id);
+    }
+
+    private int intern(final String internalName) {
+        final Integer id = ids.get(internalName);
+        if (id != null) {
+            return id;
+        }
+        final int newId = names.size();
+        names.add(internalName);
+        ids.put(internalName, newId);
+        return newId;
+    }
+
+    private void addEdge(final int source, final int target, final int count) {
+        if (edgeCount == from.length) {
+            final int capacity = from.length * 2;
+            from = Arrays.copyOf(from, capacity);
+            to = Arrays.copyOf(to, capacity);
+            weight = Arrays.copyOf(weight, capacity);
+        }
+        from[edgeCount] = source;
+        to[edgeCount] = target;
+        weight[edgeCount] = count;
+        edgeCount++;
+    }
+
+    /**
+     * Collects the ids of all referenced classes.
+     */
+    private final class ClassRefVisitor extends DependencyVisitor {
+
+        @Override
+        protected void addClass(final String internalName) {
+            if (refCount == refs.length) {
+                refs = Arrays.copyOf(refs, refCount * 2);
+            }
+            refs[refCount++] = intern(internalName);
+        }
+
+    }
+
+}
@@ -0,0 +1,300 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.dependency;
+
+import org.fuin.utils4j.Utils4J;
+import org.fuin.utils4j.fileprocessor.FileHandlerResult;
+import org.fuin.utils4j.fileprocessor.FileProcessor;
+import org.objectweb.asm.ClassReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Writes the class or package dependency graph while scanning, without building the graph in memory first. On class level the edges of
+ * a class are written directly after the class was parsed. On package level only the aggregated package edges are kept until
+ * {@link #finish()} is called - there are usually only a few hundred of them, even for large systems. The package names can be
+ * collapsed to their first N segments.
+ * 
+ * <pre>
+ * try (final Writer writer = Files.newBufferedWriter(Path.of("target/dependencies.dot"))) {
+ *     new DependencyGraphExporter(writer, GraphFormat.DOT, 3).include("org.example").scan(new File("target/classes")).finish();
+ * }
+ * </pre>
+ */
+public final class DependencyGraphExporter {
+
+    /** Depth value for exporting one node per class. */
+    public static final int CLASS_LEVEL = -1;
+
+    /** Depth value for exporting one node per package without collapsing it. */
+    public static final int PACKAGE_LEVEL = 0;
+
+    private final Writer writer;
+
+    private final GraphFormat format;
+
+    private final int depth;
+
+    private final List<String> includes;
+
+    private final Set<String> nodes;
+
+    private final Map<String, Map<String, int[]>> packageEdges;
+
+    private final Map<String, int[]> refs;
+
+    private boolean started;
+
+    /**
+     * Constructor with all data.
+     * 
+     * @param writer
+     *            Writer to write the graph to. It is not closed by the exporter.
+     * @param format
+     *            Output format.
+     * @param depth
+     *            {@link #CLASS_LEVEL}, {@link #PACKAGE_LEVEL} or the number of leading package name segments to collapse the packages
+     *            to.
+     */
+    public DependencyGraphExporter(final Writer writer, final GraphFormat format, final int depth) {
+        super();
+        Utils4J.checkNotNull("writer", writer);
+        Utils4J.checkNotNull("format", format);
+        if (depth < CLASS_LEVEL) {
+            throw new IllegalArgumentException("Expected a depth of " + CLASS_LEVEL + " or more, but was: " + depth);
+        }
+        this.writer = writer;
+        this.format = format;
+        this.depth = depth;
+        this.includes = new ArrayList<>();
+        this.nodes = new HashSet<>();
+        this.packageEdges = new TreeMap<>();
+        this.refs = new TreeMap<>();
+    }
+
+    /**
+     * Restricts the graph to classes starting with the given prefix. If this method is called multiple times, a class has to match only
+     * one of the prefixes. Without any prefix all classes (including the JDK) are exported.
+     * 
+     * @param prefix
+     *            Package or class name prefix like "org.example".
+     * 
+     * @return Self.
+     */
+    public final DependencyGraphExporter include(final String prefix) {
+        Utils4J.checkNotNull("prefix", prefix);
+        includes.add(prefix);
+        return this;
+    }
+
+    /**
+     * Exports all classes in the directory and it's sub directories.
+     * 
+     * @param classesDir
+     *            Directory where the "*.class" files are located (something like "bin" or "classes").
+     * 
+     * @return Self.
+     */
+    public final DependencyGraphExporter scan(final File classesDir) {
+        Utils4J.checkNotNull("classesDir", classesDir);
+        final FileProcessor fileProcessor = new FileProcessor(classFile -> {
+            if (!classFile.getName().endsWith(".class")) {
+                return FileHandlerResult.CONTINUE;
+            }
+            try {
+                addClass(Files.readAllBytes(classFile.toPath()));
+            } catch (final IOException ex) {
+                throw new RuntimeException("Error handling file: " + classFile, ex);
+            }
+            return FileHandlerResult.CONTINUE;
+        });
+        fileProcessor.process(classesDir);
+        return this;
+    }
+
+    /**
+     * Exports all classes of a JAR file.
+     * 
+     * @param jarFile
+     *            JAR file to scan.
+     * 
+     * @return Self.
+     * 
+     * @throws IOException
+     *             Error reading the file or writing the graph.
+     */
+    public final DependencyGraphExporter scanJar(final File jarFile) throws IOException {
+        Utils4J.checkNotNull("jarFile", jarFile);
+        try (final JarFile jar = new JarFile(jarFile)) {
+            final Enumeration<JarEntry> entries = jar.entries();
+            while (entries.hasMoreElements()) {
+                final JarEntry entry = entries.nextElement();
+                if (entry.getName().endsWith(".class")) {
+                    try (final InputStream in = jar.getInputStream(entry)) {
+                        addClass(in.readAllBytes());
+                    }
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Exports a class and it's dependencies. "package-info" and "module-info" classes are ignored.
+     * 
+     * @param classFile
+     *            Content of the ".class" file.
+     * 
+     * @return Self.
+     * 
+     * @throws IOException
+     *             Error writing the graph.
+     */
+    public final DependencyGraphExporter addClass(final byte[] classFile) throws IOException {
+        final ClassReader reader = new ClassReader(classFile);
+        final String className = reader.getClassName();
+        if (className.endsWith("package-info") || className.equals("module-info")) {
+            return this;
+        }
+        final String self = nodeName(className);
+        if (self == null) {
+            return this;
+        }
+        start();
+        node(self);
+        refs.clear();
+        reader.accept(new ExportVisitor(), 0);
+        refs.remove(self);
+        if (depth == CLASS_LEVEL) {
+            for (final Map.Entry<String, int[]> ref : refs.entrySet()) {
+                node(ref.getKey());
+                format.edge(writer, self, ref.getKey(), ref.getValue()[0]);
+            }
+        } else {
+            final Map<String, int[]> targets = packageEdges.computeIfAbsent(self, key -> new TreeMap<>());
+            for (final Map.Entry<String, int[]> ref : refs.entrySet()) {
+                node(ref.getKey());
+                targets.computeIfAbsent(ref.getKey(), key -> new int[1])[0] += ref.getValue()[0];
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes the package edges (if any) and the end of the document. The writer is flushed, but not closed.
+     * 
+     * @throws IOException
+     *             Error writing the graph.
+     */
+    public final void finish() throws IOException {
+        start();
+        for (final Map.Entry<String, Map<String, int[]>> from : packageEdges.entrySet()) {
+            for (final Map.Entry<String, int[]> to : from.getValue().entrySet()) {
+                format.edge(writer, from.getKey(), to.getKey(), to.getValue()[0]);
+            }
+        }
+        packageEdges.clear();
+        format.end(writer);
+        writer.flush();
+    }
+
+    private void start() throws IOException {
+        if (!started) {
+            started = true;
+            format.begin(writer);
+        }
+    }
+
+    private void node(final String name) throws IOException {
+        if (nodes.add(name)) {
+            format.node(writer, name);
+        }
+    }
+
+    /**
+     * Returns the node name for a class.
+     * 
+     * @param internalName
+     *            Internal class name like "a/b/C".
+     * 
+     * @return Class name, (collapsed) package name or <code>null</code> if the class is not included.
+     */
+    final String nodeName(final String internalName) {
+        final String className = internalName.replace('/', '.');
+        if (!included(className)) {
+            return null;
+        }
+        if (depth == CLASS_LEVEL) {
+            return className;
+        }
+        final int p = className.lastIndexOf('.');
+        final String packageName = p < 0 ? "" : className.substring(0, p);
+        if (depth == PACKAGE_LEVEL) {
+            return packageName;
+        }
+        int end = -1;
+        for (int i = 0; i < depth; i++) {
+            end = packageName.indexOf('.', end + 1);
+            if (end < 0) {
+                return packageName;
+            }
+        }
+        return packageName.substring(0, end);
+    }
+
+    private boolean included(final String className) {
+        if (includes.isEmpty()) {
+            return true;
+        }
+        for (final String prefix : includes) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Counts the references to included classes.
+     */
+    private final class ExportVisitor extends DependencyVisitor {
+
+        @Override
+        protected void addClass(final String internalName) {
+            final String name = nodeName(internalName);
+            if (name != null) {
+                refs.computeIfAbsent(name, key -> new int[1])[0]++;
+            }
+        }
+
+    }
+
+}
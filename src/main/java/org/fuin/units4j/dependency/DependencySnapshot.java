@@ -0,0 +1,538 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.dependency;
+
+import org.fuin.utils4j.Utils4J;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persistent snapshot of the class dependencies of a build. A snapshot file uses a compact binary format that can be read fast even for
+ * large projects. The text format with one sorted "from to" class edge per line ({@link #write(Writer)}) can be used for reviews and
+ * standard tools. In memory the class and package names are kept in sorted tables and the edges as packed <code>long</code> ids, so
+ * {@link #diff(DependencySnapshot, DependencySnapshot)} is a linear merge without string comparisons. Package edges are derived from the
+ * class edges.
+ * 
+ * <pre>
+ * DependencySnapshot.create(new File("target/classes")).write(new File("target/dependencies.bin"));
+ * ...
+ * final DependencyDiff diff = DependencySnapshot.diff(DependencySnapshot.read(baseline), DependencySnapshot.read(current));
+ * System.out.println(diff.getAddedPackageEdges());
+ * </pre>
+ */
+public final class DependencySnapshot {
+
+    /** First line of every snapshot in text format. */
+    public static final String HEADER = "# units4j dependency snapshot v1";
+
+    /** Magic number of the binary format ("U4JD"). */
+    private static final int MAGIC = 0x55344A44;
+
+    private static final int VERSION = 1;
+
+    private final String[] classNames;
+
+    private final long[] classEdges;
+
+    private final String[] packageNames;
+
+    private final long[] packageEdges;
+
+    /**
+     * Constructor with class edges.
+     * 
+     * @param classEdges
+     *            Class edges in the form "from to" - Duplicates are ignored.
+     */
+    public DependencySnapshot(final List<String> classEdges) {
+        this(parse(classEdges));
+    }
+
+    private DependencySnapshot(final Table classes) {
+        super();
+        classes.sort();
+        this.classNames = classes.names;
+        this.classEdges = classes.edges;
+
+        // Derive the package edges
+        final Table packages = new Table(classNames.length, classEdges.length);
+        final int[] packageOf = new int[classNames.length];
+        for (int i = 0; i < classNames.length; i++) {
+            packageOf[i] = packages.intern(packageOf(classNames[i]));
+        }
+        for (final long edge : classEdges) {
+            final int from = packageOf[from(edge)];
+            final int to = packageOf[to(edge)];
+            if (from != to) {
+                packages.add(from, to);
+            }
+        }
+        packages.sort();
+        this.packageNames = packages.names;
+        this.packageEdges = packages.edges;
+    }
+
+    /**
+     * Scans a classes directory or JAR file and creates a snapshot.
+     * 
+     * @param dirOrJar
+     *            Directory with ".class" files or JAR file.
+     * 
+     * @return New snapshot.
+     * 
+     * @throws IOException
+     *             Error reading the JAR file.
+     */
+    public static DependencySnapshot create(final File dirOrJar) throws IOException {
+        Utils4J.checkNotNull("dirOrJar", dirOrJar);
+        final DependencyGraphBuilder builder = new DependencyGraphBuilder();
+        if (dirOrJar.isDirectory()) {
+            builder.scan(dirOrJar);
+        } else {
+            builder.scanJar(dirOrJar);
+        }
+        return create(builder);
+    }
+
+    /**
+     * Creates a snapshot of all classes added to the builder.
+     * 
+     * @param builder
+     *            Builder that already scanned the classes.
+     * 
+     * @return New snapshot.
+     */
+    public static DependencySnapshot create(final DependencyGraphBuilder builder) {
+        Utils4J.checkNotNull("builder", builder);
+        final DependencyGraph graph = builder.buildClassGraph();
+        final Table table = new Table(graph.getNodeCount(), graph.getEdgeCount());
+        for (int i = 0; i < graph.getNodeCount(); i++) {
+            table.intern(graph.getName(i));
+        }
+        for (int i = 0; i < graph.getNodeCount(); i++) {
+            for (int j = 0; j < graph.getSuccessorCount(i); j++) {
+                table.add(i, graph.getSuccessor(i, j));
+            }
+        }
+        return new DependencySnapshot(table);
+    }
+
+    /**
+     * Reads a snapshot file in binary or text format.
+     * 
+     * @param file
+     *            File created with {@link #write(File)} or {@link #write(Writer)}.
+     * 
+     * @return Snapshot.
+     * 
+     * @throws IOException
+     *             Error reading the file or the file is not a snapshot.
+     */
+    public static DependencySnapshot read(final File file) throws IOException {
+        Utils4J.checkNotNull("file", file);
+        try (final InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            in.mark(4);
+            final byte[] magic = in.readNBytes(4);
+            in.reset();
+            if (magic.length == 4 && ByteBuffer.wrap(magic).getInt() == MAGIC) {
+                return read(in);
+            }
+            return read(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Reads a snapshot in binary format. The stream is not closed.
+     * 
+     * @param in
+     *            Stream with content created by {@link #write(OutputStream)}.
+     * 
+     * @return Snapshot.
+     * 
+     * @throws IOException
+     *             Error reading or the content is not a binary snapshot.
+     */
+    public static DependencySnapshot read(final InputStream in) throws IOException {
+        Utils4J.checkNotNull("in", in);
+        final DataInputStream data = new DataInputStream(in instanceof BufferedInputStream ? in : new BufferedInputStream(in));
+        final int magic = data.readInt();
+        if (magic != MAGIC) {
+            throw new IOException("Expected binary dependency snapshot, but magic number was: " + Integer.toHexString(magic));
+        }
+        final int version = data.readInt();
+        if (version != VERSION) {
+            throw new IOException("Expected binary dependency snapshot version " + VERSION + ", but was: " + version);
+        }
+        final int nameCount = data.readInt();
+        final int edgeCount = data.readInt();
+        final Table table = new Table(nameCount, edgeCount);
+        for (int i = 0; i < nameCount; i++) {
+            table.intern(data.readUTF());
+        }
+        for (int i = 0; i < edgeCount; i++) {
+            final int from = data.readInt();
+            final int to = data.readInt();
+            if (from < 0 || from >= nameCount || to < 0 || to >= nameCount) {
+                throw new IOException("Invalid edge #" + i + ": " + from + " -> " + to);
+            }
+            table.add(from, to);
+        }
+        return new DependencySnapshot(table);
+    }
+
+    /**
+     * Reads a snapshot in text format. The reader is not closed.
+     * 
+     * @param reader
+     *            Reader with content created by {@link #write(Writer)}.
+     * 
+     * @return Snapshot.
+     * 
+     * @throws IOException
+     *             Error reading or the content is not a snapshot.
+     */
+    public static DependencySnapshot read(final Reader reader) throws IOException {
+        Utils4J.checkNotNull("reader", reader);
+        final BufferedReader in = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        final String header = in.readLine();
+        if (!HEADER.equals(header)) {
+            throw new IOException("Expected '" + HEADER + "' as first line, but was: " + header);
+        }
+        final Table table = new Table(1024, 1024);
+        String lastFrom = "";
+        int lastFromId = -1;
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            final int sep = line.indexOf(' ');
+            if (sep < 1) {
+                throw new IOException("Expected 'from to' edge, but was: " + line);
+            }
+            // Lines are sorted, so the source class is usually the same as in the previous line
+            if (sep != lastFrom.length() || !line.startsWith(lastFrom)) {
+                lastFrom = line.substring(0, sep);
+                lastFromId = table.intern(lastFrom);
+            }
+            table.add(lastFromId, table.intern(line.substring(sep + 1)));
+        }
+        return new DependencySnapshot(table);
+    }
+
+    /**
+     * Writes the snapshot to a file in binary format.
+     * 
+     * @param file
+     *            File to create or overwrite.
+     * 
+     * @throws IOException
+     *             Error writing the file.
+     */
+    public final void write(final File file) throws IOException {
+        Utils4J.checkNotNull("file", file);
+        try (final OutputStream out = new FileOutputStream(file)) {
+            write(out);
+        }
+    }
+
+    /**
+     * Writes the snapshot in binary format: Magic number, version, name count, edge count, the sorted names (modified UTF-8) and the
+     * edges as pairs of name indexes. The stream is flushed, but not closed.
+     * 
+     * @param out
+     *            Stream to use.
+     * 
+     * @throws IOException
+     *             Error writing.
+     */
+    public final void write(final OutputStream out) throws IOException {
+        Utils4J.checkNotNull("out", out);
+        final DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(classNames.length);
+        data.writeInt(classEdges.length);
+        for (final String name : classNames) {
+            data.writeUTF(name);
+        }
+        for (final long edge : classEdges) {
+            data.writeInt(from(edge));
+            data.writeInt(to(edge));
+        }
+        data.flush();
+    }
+
+    /**
+     * Writes the snapshot in sorted text format with one "from to" class edge per line. The writer is flushed, but not closed.
+     * 
+     * @param writer
+     *            Writer to use.
+     * 
+     * @throws IOException
+     *             Error writing.
+     */
+    public final void write(final Writer writer) throws IOException {
+        Utils4J.checkNotNull("writer", writer);
+        final Writer out = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer);
+        out.write(HEADER);
+        out.write('\n');
+        for (final long edge : classEdges) {
+            out.write(classNames[from(edge)]);
+            out.write(' ');
+            out.write(classNames[to(edge)]);
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    /**
+     * Returns the class edges.
+     * 
+     * @return Sorted edges in the form "from to".
+     */
+    public final List<String> getClassEdges() {
+        return toStrings(classNames, classEdges, " ");
+    }
+
+    /**
+     * Returns the package edges derived from the class edges. Dependencies inside a package are not included.
+     * 
+     * @return Sorted edges in the form "from to".
+     */
+    public final List<String> getPackageEdges() {
+        return toStrings(packageNames, packageEdges, " ");
+    }
+
+    /**
+     * Compares two snapshots.
+     * 
+     * @param oldSnapshot
+     *            Snapshot of the previous build.
+     * @param newSnapshot
+     *            Snapshot of the current build.
+     * 
+     * @return Added and removed edges.
+     */
+    public static DependencyDiff diff(final DependencySnapshot oldSnapshot, final DependencySnapshot newSnapshot) {
+        Utils4J.checkNotNull("oldSnapshot", oldSnapshot);
+        Utils4J.checkNotNull("newSnapshot", newSnapshot);
+        final List<String> addedClassEdges = new ArrayList<>();
+        final List<String> removedClassEdges = new ArrayList<>();
+        merge(oldSnapshot.classNames, oldSnapshot.classEdges, newSnapshot.classNames, newSnapshot.classEdges, addedClassEdges,
+                removedClassEdges);
+        final List<String> addedPackageEdges = new ArrayList<>();
+        final List<String> removedPackageEdges = new ArrayList<>();
+        merge(oldSnapshot.packageNames, oldSnapshot.packageEdges, newSnapshot.packageNames, newSnapshot.packageEdges, addedPackageEdges,
+                removedPackageEdges);
+        return new DependencyDiff(addedPackageEdges, removedPackageEdges, addedClassEdges, removedClassEdges);
+    }
+
+    private static void merge(final String[] oldNames, final long[] oldEdges, final String[] newNames, final long[] newEdges,
+            final List<String> added, final List<String> removed) {
+
+        // Both name tables are sorted, so the old to new id mapping keeps the edge order
+        final int[] oldToNew = new int[oldNames.length];
+        int n = 0;
+        for (int o = 0; o < oldNames.length; o++) {
+            while (n < newNames.length && newNames[n].compareTo(oldNames[o]) < 0) {
+                n++;
+            }
+            oldToNew[o] = n < newNames.length && newNames[n].equals(oldNames[o]) ? n : -1;
+        }
+
+        int i = 0;
+        int j = 0;
+        while (i < oldEdges.length || j < newEdges.length) {
+            if (i < oldEdges.length) {
+                final int from = oldToNew[from(oldEdges[i])];
+                final int to = oldToNew[to(oldEdges[i])];
+                if (from < 0 || to < 0) {
+                    removed.add(arrow(oldNames, oldEdges[i++]));
+                    continue;
+                }
+                final long mapped = edge(from, to);
+                if (j < newEdges.length && mapped == newEdges[j]) {
+                    i++;
+                    j++;
+                } else if (j == newEdges.length || mapped < newEdges[j]) {
+                    removed.add(arrow(oldNames, oldEdges[i++]));
+                } else {
+                    added.add(arrow(newNames, newEdges[j++]));
+                }
+            } else {
+                added.add(arrow(newNames, newEdges[j++]));
+            }
+        }
+    }
+
+    private static List<String> toStrings(final String[] names, final long[] edges, final String separator) {
+        final List<String> list = new ArrayList<>(edges.length);
+        for (final long edge : edges) {
+            list.add(names[from(edge)] + separator + names[to(edge)]);
+        }
+        return list;
+    }
+
+    private static String arrow(final String[] names, final long edge) {
+        return names[from(edge)] + " -> " + names[to(edge)];
+    }
+
+    private static Table parse(final List<String> classEdges) {
+        Utils4J.checkNotNull("classEdges", classEdges);
+        final Table table = new Table(classEdges.size(), classEdges.size());
+        for (final String edge : classEdges) {
+            final int sep = edge.indexOf(' ');
+            if (sep < 1) {
+                throw new IllegalArgumentException("Expected 'from to' edge, but was: " + edge);
+            }
+            table.add(table.intern(edge.substring(0, sep)), table.intern(edge.substring(sep + 1)));
+        }
+        return table;
+    }
+
+    private static String packageOf(final String className) {
+        final int p = className.lastIndexOf('.');
+        return p < 0 ? "" : className.substring(0, p);
+    }
+
+    private static long edge(final int from, final int to) {
+        return ((long) from << 32) | to;
+    }
+
+    private static int from(final long edge) {
+        return (int) (edge >>> 32);
+    }
+
+    private static int to(final long edge) {
+        return (int) edge;
+    }
+
+    /**
+     * Interned names and packed edges that are finally sorted by name.
+     */
+    private static final class Table {
+
+        private final Map<String, Integer> ids;
+
+        private String[] names;
+
+        private int nameCount;
+
+        private long[] edges;
+
+        private int edgeCount;
+
+        /**
+         * Constructor with initial capacities.
+         * 
+         * @param names
+         *            Expected number of names.
+         * @param edges
+         *            Expected number of edges.
+         */
+        Table(final int names, final int edges) {
+            this.ids = new HashMap<>(Math.max(16, names * 2));
+            this.names = new String[Math.max(16, names)];
+            this.edges = new long[Math.max(16, edges)];
+        }
+
+        int intern(final String name) {
+            final Integer id = ids.get(name);
+            if (id != null) {
+                return id;
+            }
+            if (nameCount == names.length) {
+                names = Arrays.copyOf(names, nameCount * 2);
+            }
+            names[nameCount] = name;
+            ids.put(name, nameCount);
+            return nameCount++;
+        }
+
+        void add(final int from, final int to) {
+            if (edgeCount == edges.length) {
+                edges = Arrays.copyOf(edges, edgeCount * 2);
+            }
+            edges[edgeCount++] = edge(from, to);
+        }
+
+        /**
+         * Renumbers the names in sorted order and sorts the edges and removes duplicates.
+         */
+        void sort() {
+            final String[] sorted = Arrays.copyOf(names, nameCount);
+            final long[] renumbered;
+            if (isSorted(sorted)) {
+                // Names of a binary snapshot are already sorted
+                renumbered = Arrays.copyOf(edges, edgeCount);
+            } else {
+                Arrays.sort(sorted);
+                final int[] newId = new int[nameCount];
+                for (int i = 0; i < nameCount; i++) {
+                    newId[ids.get(sorted[i])] = i;
+                }
+                renumbered = new long[edgeCount];
+                for (int e = 0; e < edgeCount; e++) {
+                    renumbered[e] = edge(newId[from(edges[e])], newId[to(edges[e])]);
+                }
+            }
+            Arrays.sort(renumbered);
+            int count = 0;
+            for (int e = 0; e < renumbered.length; e++) {
+                if (count == 0 || renumbered[e] != renumbered[count - 1]) {
+                    renumbered[count++] = renumbered[e];
+                }
+            }
+            names = sorted;
+            edges = count == renumbered.length ? renumbered : Arrays.copyOf(renumbered, count);
+        }
+
+        private static boolean isSorted(final String[] names) {
+            for (int i = 1; i < names.length; i++) {
+                if (names[i - 1].compareTo(names[i]) >= 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
+}
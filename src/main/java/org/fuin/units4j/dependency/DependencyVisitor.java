@@ -147,10 +147,21 @@ public class DependencyVisitor extends ClassVisitor {
         return name;
     }
 
+    /**
+     * Called for every referenced class. Does nothing by default - Overwrite this method to track class level dependencies.
+     * 
+     * @param internalName
+     *            Internal name of the referenced class like "java/lang/String".
+     */
+    protected void addClass(final String internalName) {
+        // Package level only
+    }
+
     private void addName(final String name) {
         if (name == null) {
             return;
         }
+        addClass(name);
         String p = getGroupKey(name);
         if (current.containsKey(p)) {
             current.put(p, current.get(p) + 1);
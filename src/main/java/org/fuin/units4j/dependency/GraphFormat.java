@@ -0,0 +1,170 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.dependency;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Output format of the {@link DependencyGraphExporter}. Every format is written incrementally: A node is written the first time it's
+ * name appears and an edge as soon as it is known.
+ */
+public enum GraphFormat {
+
+    /** Graphviz DOT. */
+    DOT {
+
+        @Override
+        void begin(final Writer writer) throws IOException {
+            writer.write("digraph \"dependencies\" {\n");
+        }
+
+        @Override
+        void node(final Writer writer, final String name) throws IOException {
+            writer.write("  \"" + escapeQuoted(name) + "\";\n");
+        }
+
+        @Override
+        void edge(final Writer writer, final String from, final String to, final int weight) throws IOException {
+            writer.write("  \"" + escapeQuoted(from) + "\" -> \"" + escapeQuoted(to) + "\" [weight=" + weight + "];\n");
+        }
+
+        @Override
+        void end(final Writer writer) throws IOException {
+            writer.write("}\n");
+        }
+
+    },
+
+    /** GraphML XML with the edge weight as "weight" data. */
+    GRAPHML {
+
+        @Override
+        void begin(final Writer writer) throws IOException {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            writer.write("<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">\n");
+            writer.write("  <key id=\"weight\" for=\"edge\" attr.name=\"weight\" attr.type=\"int\"/>\n");
+            writer.write("  <graph id=\"dependencies\" edgedefault=\"directed\">\n");
+        }
+
+        @Override
+        void node(final Writer writer, final String name) throws IOException {
+            writer.write("    <node id=\"" + escapeXml(name) + "\"/>\n");
+        }
+
+        @Override
+        void edge(final Writer writer, final String from, final String to, final int weight) throws IOException {
+            writer.write("    <edge source=\"" + escapeXml(from) + "\" target=\"" + escapeXml(to) + "\"><data key=\"weight\">" + weight
+                    + "</data></edge>\n");
+        }
+
+        @Override
+        void end(final Writer writer) throws IOException {
+            writer.write("  </graph>\n");
+            writer.write("</graphml>\n");
+        }
+
+    },
+
+    /** JSON Lines with one "node" or "edge" object per line. */
+    JSONL {
+
+        @Override
+        void begin(final Writer writer) {
+            // No header
+        }
+
+        @Override
+        void node(final Writer writer, final String name) throws IOException {
+            writer.write("{\"type\":\"node\",\"id\":\"" + escapeQuoted(name) + "\"}\n");
+        }
+
+        @Override
+        void edge(final Writer writer, final String from, final String to, final int weight) throws IOException {
+            writer.write("{\"type\":\"edge\",\"source\":\"" + escapeQuoted(from) + "\",\"target\":\"" + escapeQuoted(to)
+                    + "\",\"weight\":" + weight + "}\n");
+        }
+
+        @Override
+        void end(final Writer writer) {
+            // No footer
+        }
+
+    };
+
+    /**
+     * Writes the start of the document.
+     * 
+     * @param writer
+     *            Writer to use.
+     * 
+     * @throws IOException
+     *             Error writing.
+     */
+    abstract void begin(Writer writer) throws IOException;
+
+    /**
+     * Writes a node.
+     * 
+     * @param writer
+     *            Writer to use.
+     * @param name
+     *            Name of the package or class.
+     * 
+     * @throws IOException
+     *             Error writing.
+     */
+    abstract void node(Writer writer, String name) throws IOException;
+
+    /**
+     * Writes an edge.
+     * 
+     * @param writer
+     *            Writer to use.
+     * @param from
+     *            Name of the depending package or class.
+     * @param to
+     *            Name of the package or class depended upon.
+     * @param weight
+     *            Number of references.
+     * 
+     * @throws IOException
+     *             Error writing.
+     */
+    abstract void edge(Writer writer, String from, String to, int weight) throws IOException;
+
+    /**
+     * Writes the end of the document.
+     * 
+     * @param writer
+     *            Writer to use.
+     * 
+     * @throws IOException
+     *             Error writing.
+     */
+    abstract void end(Writer writer) throws IOException;
+
+    private static String escapeQuoted(final String str) {
+        return str.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static String escapeXml(final String str) {
+        return str.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.dependency;
+
+import org.fuin.utils4j.Utils4J;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Packages that depend on each other directly or indirectly (strongly connected component of a {@link PackageGraph}).
+ */
+public final class PackageCycle {
+
+    private final PackageGraph graph;
+
+    private final List<String> packages;
+
+    /**
+     * Constructor with all data.
+     * 
+     * @param graph
+     *            Graph the cycle belongs to.
+     * @param packages
+     *            Packages of the cycle.
+     */
+    public PackageCycle(final PackageGraph graph, final List<String> packages) {
+        super();
+        Utils4J.checkNotNull("graph", graph);
+        Utils4J.checkNotNull("packages", packages);
+        this.graph = graph;
+        final List<String> sorted = new ArrayList<>(packages);
+        Collections.sort(sorted);
+        this.packages = Collections.unmodifiableList(sorted);
+    }
+
+    /**
+     * Returns the packages of the cycle.
+     * 
+     * @return Sorted package names.
+     */
+    public final List<String> getPackages() {
+        return packages;
+    }
+
+    /**
+     * Returns the dependencies between the packages of this cycle as text. Every line has the format "from -> to: class1, class2".
+     * 
+     * @return Dependencies and the classes that create them.
+     */
+    public final List<String> getDependencies() {
+        final Set<String> members = new HashSet<>(packages);
+        final List<String> list = new ArrayList<>();
+        for (final String from : packages) {
+            for (final String to : new TreeSet<>(graph.getDependencies(from))) {
+                if (members.contains(to)) {
+                    list.add(from + " -> " + to + ": " + String.join(", ", graph.getClasses(from, to)));
+                }
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public final String toString() {
+        final StringBuilder sb = new StringBuilder("Cycle between packages ").append(packages);
+        for (final String dependency : getDependencies()) {
+            sb.append("\n    ").append(dependency);
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,279 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.dependency;
+
+import org.fuin.utils4j.Utils4J;
+import org.fuin.utils4j.fileprocessor.FileHandlerResult;
+import org.fuin.utils4j.fileprocessor.FileProcessor;
+import org.objectweb.asm.ClassReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Directed graph of package dependencies. Every edge knows the classes that create it.
+ */
+public final class PackageGraph {
+
+    private final Map<String, Map<String, Set<String>>> edges;
+
+    private int edgeCount;
+
+    /**
+     * Default constructor.
+     */
+    public PackageGraph() {
+        super();
+        this.edges = new LinkedHashMap<>();
+    }
+
+    /**
+     * Creates a graph for all classes in the directory and it's sub directories.
+     * 
+     * @param classesDir
+     *            Directory where the "*.class" files are located (something like "bin" or "classes").
+     * 
+     * @return New graph.
+     */
+    public static PackageGraph create(final File classesDir) {
+        Utils4J.checkNotNull("classesDir", classesDir);
+        final PackageGraph graph = new PackageGraph();
+        final FileProcessor fileProcessor = new FileProcessor(classFile -> {
+            if (!classFile.getName().endsWith(".class")) {
+                return FileHandlerResult.CONTINUE;
+            }
+            try {
+                graph.addClass(Files.readAllBytes(classFile.toPath()));
+            } catch (final IOException ex) {
+                throw new RuntimeException("Error handling file: " + classFile, ex);
+            }
+            return FileHandlerResult.CONTINUE;
+        });
+        fileProcessor.process(classesDir);
+        return graph;
+    }
+
+    /**
+     * Adds the package of a class and all it's package dependencies to the graph.
+     * 
+     * @param classFile
+     *            Content of the ".class" file.
+     */
+    public final void addClass(final byte[] classFile) {
+        final ClassReader reader = new ClassReader(classFile);
+        final DependencyVisitor visitor = new DependencyVisitor();
+        reader.accept(visitor, 0);
+        final String className = reader.getClassName().replace('/', '.');
+        final String packageName = visitor.getGlobals().keySet().iterator().next().replace('/', '.');
+        addPackage(packageName);
+        for (final String imported : visitor.getPackages()) {
+            addDependency(packageName, imported.replace('/', '.'), className);
+        }
+    }
+
+    /**
+     * Adds a package without dependencies. Nothing happens if the package already exists.
+     * 
+     * @param packageName
+     *            Name of the package.
+     */
+    public final void addPackage(final String packageName) {
+        Utils4J.checkNotNull("packageName", packageName);
+        edges.computeIfAbsent(packageName, key -> new LinkedHashMap<>());
+    }
+
+    /**
+     * Adds a dependency between two packages. Dependencies of a package to itself are ignored.
+     * 
+     * @param fromPackage
+     *            Package that depends on the other one.
+     * @param toPackage
+     *            Package that is used.
+     * @param className
+     *            Full qualified name of the class in the "from" package that creates the dependency.
+     */
+    public final void addDependency(final String fromPackage, final String toPackage, final String className) {
+        Utils4J.checkNotNull("fromPackage", fromPackage);
+        Utils4J.checkNotNull("toPackage", toPackage);
+        Utils4J.checkNotNull("className", className);
+        if (fromPackage.equals(toPackage)) {
+            return;
+        }
+        addPackage(toPackage);
+        final Set<String> classes = edges.computeIfAbsent(fromPackage, key -> new LinkedHashMap<>()).computeIfAbsent(toPackage, key -> {
+            edgeCount++;
+            return new TreeSet<>();
+        });
+        classes.add(className);
+    }
+
+    /**
+     * Returns all packages of the graph.
+     * 
+     * @return Package names - Never <code>null</code>.
+     */
+    public final Set<String> getPackages() {
+        return Collections.unmodifiableSet(edges.keySet());
+    }
+
+    /**
+     * Returns the packages a package depends on.
+     * 
+     * @param packageName
+     *            Name of the package.
+     * 
+     * @return Used packages - Never <code>null</code>, but may be empty.
+     */
+    public final Set<String> getDependencies(final String packageName) {
+        final Map<String, Set<String>> targets = edges.get(packageName);
+        if (targets == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(targets.keySet());
+    }
+
+    /**
+     * Returns the classes that create a dependency between two packages.
+     * 
+     * @param fromPackage
+     *            Package that depends on the other one.
+     * @param toPackage
+     *            Package that is used.
+     * 
+     * @return Sorted class names - Never <code>null</code>, but empty if there is no such dependency.
+     */
+    public final Set<String> getClasses(final String fromPackage, final String toPackage) {
+        final Map<String, Set<String>> targets = edges.get(fromPackage);
+        if (targets == null) {
+            return Collections.emptySet();
+        }
+        final Set<String> classes = targets.get(toPackage);
+        if (classes == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(classes);
+    }
+
+    /**
+     * Returns the number of package dependencies.
+     * 
+     * @return Number of edges.
+     */
+    public final int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Finds all package cycles. Every strongly connected component with more than one package is a cycle. The search uses an iterative
+     * version of Tarjan's algorithm, so it runs in linear time and does not depend on the stack size.
+     * 
+     * @return Cycles sorted by their first package name - Never <code>null</code>, but may be empty.
+     */
+    public final List<PackageCycle> findCycles() {
+
+        // Map package names to numbers and create adjacency arrays
+        final String[] names = edges.keySet().toArray(new String[0]);
+        final Map<String, Integer> ids = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            ids.put(names[i], i);
+        }
+        final int[][] adjacent = new int[names.length][];
+        for (int i = 0; i < names.length; i++) {
+            final Set<String> targets = edges.get(names[i]).keySet();
+            final int[] list = new int[targets.size()];
+            int j = 0;
+            for (final String target : targets) {
+                list[j++] = ids.get(target);
+            }
+            adjacent[i] = list;
+        }
+
+        final List<PackageCycle> cycles = new ArrayList<>();
+        final int n = names.length;
+        final int[] index = new int[n];
+        Arrays.fill(index, -1);
+        final int[] low = new int[n];
+        final boolean[] onStack = new boolean[n];
+        final int[] stack = new int[n];
+        final int[] callStack = new int[n];
+        final int[] nextEdge = new int[n];
+        int sp = 0;
+        int counter = 0;
+
+        for (int start = 0; start < n; start++) {
+            if (index[start] != -1) {
+                continue;
+            }
+            int csp = 0;
+            index[start] = counter;
+            low[start] = counter;
+            counter++;
+            stack[sp++] = start;
+            onStack[start] = true;
+            callStack[csp++] = start;
+            while (csp > 0) {
+                final int v = callStack[csp - 1];
+                if (nextEdge[v] < adjacent[v].length) {
+                    final int w = adjacent[v][nextEdge[v]++];
+                    if (index[w] == -1) {
+                        index[w] = counter;
+                        low[w] = counter;
+                        counter++;
+                        stack[sp++] = w;
+                        onStack[w] = true;
+                        callStack[csp++] = w;
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                } else {
+                    csp--;
+                    if (low[v] == index[v]) {
+                        final List<String> component = new ArrayList<>();
+                        int w;
+                        do {
+                            w = stack[--sp];
+                            onStack[w] = false;
+                            component.add(names[w]);
+                        } while (w != v);
+                        if (component.size() > 1) {
+                            cycles.add(new PackageCycle(this, component));
+                        }
+                    }
+                    if (csp > 0) {
+                        final int u = callStack[csp - 1];
+                        low[u] = Math.min(low[u], low[v]);
+                    }
+                }
+            }
+        }
+
+        cycles.sort((a, b) -> a.getPackages().get(0).compareTo(b.getPackages().get(0)));
+        return cycles;
+    }
+
+}
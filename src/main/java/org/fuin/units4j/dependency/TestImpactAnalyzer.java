@@ -0,0 +1,165 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.dependency;
+
+import org.fuin.utils4j.Utils4J;
+
+import java.io.File;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Selects the test classes that are affected by a set of changed classes. The class dependency graph of the production and test
+ * classes is built once. Every test class that directly or transitively depends on a changed class (or is a changed class itself) is
+ * affected. Changes to resources or reflection-only dependencies are not visible in the class files and are not detected.
+ * 
+ * <pre>
+ * final TestImpactAnalyzer analyzer = new TestImpactAnalyzer(new File("target/classes"), new File("target/test-classes"));
+ * final Set&lt;String&gt; tests = analyzer.getAffectedTests(ClassFingerprints.read(new File("fingerprints.txt")));
+ * </pre>
+ */
+public final class TestImpactAnalyzer {
+
+    private final DependencyGraph graph;
+
+    private final Set<String> testClasses;
+
+    private final ClassFingerprints fingerprints;
+
+    /**
+     * Constructor with class directories.
+     * 
+     * @param classesDir
+     *            Directory with the production classes like "target/classes".
+     * @param testClassesDir
+     *            Directory with the test classes like "target/test-classes".
+     */
+    public TestImpactAnalyzer(final File classesDir, final File testClassesDir) {
+        super();
+        Utils4J.checkNotNull("classesDir", classesDir);
+        Utils4J.checkNotNull("testClassesDir", testClassesDir);
+        final DependencyGraphBuilder builder = new DependencyGraphBuilder();
+        final Map<String, String> map = new TreeMap<>();
+        final Set<String> tests = new TreeSet<>();
+        ClassFingerprints.forEachClass(classesDir, (className, classFile) -> {
+            builder.addClass(classFile);
+            map.put(className, ClassFingerprints.fingerprint(classFile));
+        });
+        ClassFingerprints.forEachClass(testClassesDir, (className, classFile) -> {
+            builder.addClass(classFile);
+            map.put(className, ClassFingerprints.fingerprint(classFile));
+            tests.add(className);
+        });
+        this.graph = builder.buildClassGraph();
+        this.testClasses = Collections.unmodifiableSet(tests);
+        this.fingerprints = new ClassFingerprints(map);
+    }
+
+    /**
+     * Returns all classes found in the test classes directory.
+     * 
+     * @return Sorted class names.
+     */
+    public final Set<String> getTestClasses() {
+        return testClasses;
+    }
+
+    /**
+     * Returns the fingerprints of the scanned production and test classes. They can be saved after a successful test run and used as
+     * baseline for the next run.
+     * 
+     * @return Current fingerprints.
+     */
+    public final ClassFingerprints getFingerprints() {
+        return fingerprints;
+    }
+
+    /**
+     * Returns the test classes affected by the changes since a previous build.
+     * 
+     * @param baseline
+     *            Fingerprints of the previous build.
+     * 
+     * @return Sorted names of the affected test classes.
+     */
+    public final Set<String> getAffectedTests(final ClassFingerprints baseline) {
+        Utils4J.checkNotNull("baseline", baseline);
+        return getAffectedTests(fingerprints.changedClasses(baseline));
+    }
+
+    /**
+     * Returns the test classes affected by the given changed classes. Unknown (for example deleted) classes are ignored - the classes
+     * that used them have changed as well. The enclosing classes of an affected nested class (for example a JUnit <code>@Nested</code>
+     * test) are always included, as the nested tests cannot run without them.
+     * 
+     * @param changedClasses
+     *            Fully qualified names of the changed classes.
+     * 
+     * @return Sorted names of the affected test classes.
+     */
+    public final Set<String> getAffectedTests(final Collection<String> changedClasses) {
+        Utils4J.checkNotNull("changedClasses", changedClasses);
+        // Breadth first search along the reverse edges starting at all changed classes at once
+        final BitSet affected = new BitSet(graph.getNodeCount());
+        final int[] queue = new int[graph.getNodeCount()];
+        int tail = 0;
+        for (final String className : changedClasses) {
+            final int node = graph.getId(className);
+            if (node >= 0 && !affected.get(node)) {
+                affected.set(node);
+                queue[tail++] = node;
+            }
+        }
+        for (int head = 0; head < tail; head++) {
+            final int node = queue[head];
+            for (int i = 0; i < graph.getPredecessorCount(node); i++) {
+                final int pred = graph.getPredecessor(node, i);
+                if (!affected.get(pred)) {
+                    affected.set(pred);
+                    queue[tail++] = pred;
+                }
+            }
+        }
+        final Set<String> tests = new TreeSet<>();
+        for (int node = affected.nextSetBit(0); node >= 0; node = affected.nextSetBit(node + 1)) {
+            final String name = graph.getName(node);
+            if (testClasses.contains(name)) {
+                tests.add(name);
+                addEnclosingTests(tests, name);
+            }
+        }
+        return Collections.unmodifiableSet(tests);
+    }
+
+    private void addEnclosingTests(final Set<String> tests, final String name) {
+        int p = name.lastIndexOf('$');
+        while (p > 0) {
+            final String enclosing = name.substring(0, p);
+            if (testClasses.contains(enclosing)) {
+                tests.add(enclosing);
+            }
+            p = enclosing.lastIndexOf('$');
+        }
+    }
+
+}
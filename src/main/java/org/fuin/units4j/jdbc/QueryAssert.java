@@ -0,0 +1,266 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.jdbc;
+
+import org.assertj.core.api.AbstractAssert;
+import org.assertj.core.api.AbstractIntegerAssert;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Assertions on the SQL statements recorded by the {@link StatementRecorder}.
+ * 
+ * <pre>
+ * assertThatQueries().selectCount().isAtMost(2);
+ * assertThatQueries().hasNoRepeatedSelects(1);
+ * assertThatQueries().hasNoStatementSlowerThan(Duration.ofMillis(50));
+ * assertThatQueries().totalTimeIsAtMost(Duration.ofMillis(200));
+ * </pre>
+ */
+public final class QueryAssert extends AbstractAssert<QueryAssert, List<RecordedStatement>> {
+
+    /** Number of slowest statements listed if the total time budget is exceeded. */
+    private static final int MAX_REPORTED = 10;
+
+    /**
+     * Constructor to build assertion class with the object we want to make assertions on.
+     * 
+     * @param actual
+     *            Recorded statements to use.
+     */
+    public QueryAssert(final List<RecordedStatement> actual) {
+        super(actual, QueryAssert.class);
+    }
+
+    /**
+     * Fluent entry point to assertion class, use it with static import.
+     * 
+     * @param actual
+     *            Recorded statements to use.
+     * 
+     * @return New assertion instance.
+     */
+    public static QueryAssert assertThat(final List<RecordedStatement> actual) {
+        return new QueryAssert(actual);
+    }
+
+    /**
+     * Fluent entry point to assertion class for all statements currently recorded by the {@link StatementRecorder}.
+     * 
+     * @return New assertion instance.
+     */
+    public static QueryAssert assertThatQueries() {
+        return new QueryAssert(StatementRecorder.getStatements());
+    }
+
+    /**
+     * Returns an assertion on the total number of statements.
+     * 
+     * @return Integer assertion.
+     */
+    public CountAssert count() {
+        isNotNull();
+        return countAssert(null);
+    }
+
+    /**
+     * Returns an assertion on the number of SELECT statements.
+     * 
+     * @return Integer assertion.
+     */
+    public CountAssert selectCount() {
+        isNotNull();
+        return countAssert(StatementType.SELECT);
+    }
+
+    /**
+     * Returns an assertion on the number of INSERT statements.
+     * 
+     * @return Integer assertion.
+     */
+    public CountAssert insertCount() {
+        isNotNull();
+        return countAssert(StatementType.INSERT);
+    }
+
+    /**
+     * Returns an assertion on the number of UPDATE statements.
+     * 
+     * @return Integer assertion.
+     */
+    public CountAssert updateCount() {
+        isNotNull();
+        return countAssert(StatementType.UPDATE);
+    }
+
+    /**
+     * Returns an assertion on the number of DELETE statements.
+     * 
+     * @return Integer assertion.
+     */
+    public CountAssert deleteCount() {
+        isNotNull();
+        return countAssert(StatementType.DELETE);
+    }
+
+    /**
+     * Verifies that no SELECT statement was executed more often than the given number of times. The same SQL executed over and over again
+     * is a typical sign for the "N+1 selects" problem (for example lazy loading a relation for every entity of a list).
+     * 
+     * @param maxExecutions
+     *            Maximum number of executions of the same SELECT.
+     * 
+     * @return Self.
+     */
+    public QueryAssert hasNoRepeatedSelects(final int maxExecutions) {
+        isNotNull();
+        final Map<String, Integer> counts = new LinkedHashMap<>();
+        for (final RecordedStatement statement : actual) {
+            if (statement.getType() == StatementType.SELECT) {
+                counts.merge(statement.getSql(), 1, Integer::sum);
+            }
+        }
+        final StringBuilder sb = new StringBuilder();
+        for (final Map.Entry<String, Integer> entry : counts.entrySet()) {
+            if (entry.getValue() > maxExecutions) {
+                sb.append("\n").append(entry.getValue()).append("x ").append(entry.getKey());
+            }
+        }
+        if (sb.length() > 0) {
+            failWithMessage("Expected every SELECT to be executed at most %s time(s) (N+1 problem?), but was:%s", maxExecutions,
+                    sb.toString());
+        }
+        return this;
+    }
+
+    /**
+     * Verifies that no single statement took longer than the given time to execute.
+     * 
+     * @param max
+     *            Maximum execution time per statement.
+     * 
+     * @return Self.
+     */
+    public QueryAssert hasNoStatementSlowerThan(final Duration max) {
+        isNotNull();
+        final List<RecordedStatement> slow = new ArrayList<>();
+        for (final RecordedStatement statement : actual) {
+            if (statement.getDurationNanos() > max.toNanos()) {
+                slow.add(statement);
+            }
+        }
+        if (!slow.isEmpty()) {
+            failWithMessage("Expected no statement to take longer than %s ms, but %s did:%s", millis(max.toNanos()), slow.size(),
+                    describeSlowest(slow, slow.size()));
+        }
+        return this;
+    }
+
+    /**
+     * Verifies that the sum of the execution times of all statements is not longer than the given time.
+     * 
+     * @param max
+     *            Maximum total execution time.
+     * 
+     * @return Self.
+     */
+    public QueryAssert totalTimeIsAtMost(final Duration max) {
+        isNotNull();
+        long total = 0;
+        for (final RecordedStatement statement : actual) {
+            total += statement.getDurationNanos();
+        }
+        if (total > max.toNanos()) {
+            failWithMessage("Expected total statement time to be at most %s ms, but was %s ms for %s statements. Slowest were:%s",
+                    millis(max.toNanos()), millis(total), actual.size(), describeSlowest(actual, MAX_REPORTED));
+        }
+        return this;
+    }
+
+    private static String describeSlowest(final List<RecordedStatement> statements, final int max) {
+        final List<RecordedStatement> sorted = new ArrayList<>(statements);
+        sorted.sort(Comparator.comparingLong(RecordedStatement::getDurationNanos).reversed());
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < Math.min(max, sorted.size()); i++) {
+            final RecordedStatement statement = sorted.get(i);
+            sb.append("\n").append(millis(statement.getDurationNanos())).append(" ms: ").append(statement.getSql());
+            if (!statement.getParameters().isEmpty()) {
+                sb.append(" ").append(statement.getParameters());
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String millis(final long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    private CountAssert countAssert(final StatementType type) {
+        int count = 0;
+        final StringBuilder sb = new StringBuilder();
+        for (final RecordedStatement statement : actual) {
+            if (type == null || statement.getType() == type) {
+                count++;
+                sb.append("\n").append(statement.getSql());
+            }
+        }
+        final String name;
+        if (type == null) {
+            name = "statements";
+        } else {
+            name = type + " statements";
+        }
+        return new CountAssert(count).as("Number of %s:%s", name, sb.toString());
+    }
+
+    /**
+     * Assertion on a number of statements.
+     */
+    public static final class CountAssert extends AbstractIntegerAssert<CountAssert> {
+
+        /**
+         * Constructor with number of statements.
+         * 
+         * @param actual
+         *            Number of statements.
+         */
+        public CountAssert(final Integer actual) {
+            super(actual, CountAssert.class);
+        }
+
+        /**
+         * Verifies that the number of statements is less than or equal to the given value.
+         * 
+         * @param max
+         *            Maximum number of statements.
+         * 
+         * @return Self.
+         */
+        public CountAssert isAtMost(final int max) {
+            return isLessThanOrEqualTo(max);
+        }
+
+    }
+
+}
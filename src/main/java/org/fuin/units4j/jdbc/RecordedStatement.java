@@ -0,0 +1,124 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.jdbc;
+
+import jakarta.validation.constraints.NotNull;
+import org.fuin.utils4j.Utils4J;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An SQL statement that was executed by a recorded connection.
+ */
+public final class RecordedStatement {
+
+    private final String sql;
+
+    private final StatementType type;
+
+    private final List<Object> parameters;
+
+    private final long durationNanos;
+
+    /**
+     * Constructor with SQL only. The type is derived from the SQL.
+     * 
+     * @param sql
+     *            Executed SQL.
+     */
+    public RecordedStatement(@NotNull final String sql) {
+        this(sql, Collections.emptyList(), 0);
+    }
+
+    /**
+     * Constructor with all data. The type is derived from the SQL.
+     * 
+     * @param sql
+     *            Executed SQL.
+     * @param parameters
+     *            Bind parameters in the order of their index.
+     * @param durationNanos
+     *            Execution time in nanoseconds.
+     */
+    public RecordedStatement(@NotNull final String sql, @NotNull final List<Object> parameters, final long durationNanos) {
+        super();
+        Utils4J.checkNotNull("sql", sql);
+        Utils4J.checkNotNull("parameters", parameters);
+        this.sql = sql;
+        this.type = StatementType.of(sql);
+        this.parameters = Collections.unmodifiableList(parameters);
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * Returns the executed SQL.
+     * 
+     * @return SQL as passed to the JDBC driver.
+     */
+    @NotNull
+    public final String getSql() {
+        return sql;
+    }
+
+    /**
+     * Returns the type of the statement.
+     * 
+     * @return Statement type.
+     */
+    @NotNull
+    public final StatementType getType() {
+        return type;
+    }
+
+    /**
+     * Returns the bind parameters of a prepared statement. For batch executions and simple statements the list is empty.
+     * 
+     * @return Unmodifiable list of parameter values (index 0 is the first parameter).
+     */
+    @NotNull
+    public final List<Object> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Returns the time the JDBC driver needed to execute the statement. Fetching the rows of a result set is not included.
+     * 
+     * @return Execution time in nanoseconds.
+     */
+    public final long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * Returns the time the JDBC driver needed to execute the statement. Fetching the rows of a result set is not included.
+     * 
+     * @return Execution time.
+     */
+    @NotNull
+    public final Duration getDuration() {
+        return Duration.ofNanos(durationNanos);
+    }
+
+    @Override
+    public final String toString() {
+        return sql;
+    }
+
+}
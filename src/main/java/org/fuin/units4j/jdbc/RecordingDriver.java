@@ -0,0 +1,101 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.jdbc;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+/**
+ * JDBC driver that delegates to the real driver and records all executed statements with the {@link StatementRecorder}. Simply insert
+ * "units4j:" after the "jdbc:" prefix of the real URL and use this class as driver:
+ * 
+ * <pre>
+ * &lt;property name="jakarta.persistence.jdbc.driver" value="org.fuin.units4j.jdbc.RecordingDriver"/&gt;
+ * &lt;property name="jakarta.persistence.jdbc.url" value="jdbc:units4j:hsqldb:mem:unit-testing-jpa"/&gt;
+ * </pre>
+ */
+public final class RecordingDriver implements Driver {
+
+    /** Prefix of all URLs handled by this driver. */
+    public static final String URL_PREFIX = "jdbc:units4j:";
+
+    static {
+        try {
+            DriverManager.registerDriver(new RecordingDriver());
+        } catch (final SQLException ex) {
+            throw new IllegalStateException("Failed to register driver", ex);
+        }
+    }
+
+    @Override
+    public final Connection connect(final String url, final Properties info) throws SQLException {
+        if (!acceptsURL(url)) {
+            return null;
+        }
+        return StatementRecorder.wrap(DriverManager.getConnection(delegateUrl(url), info));
+    }
+
+    @Override
+    public final boolean acceptsURL(final String url) {
+        return url != null && url.startsWith(URL_PREFIX);
+    }
+
+    @Override
+    public final DriverPropertyInfo[] getPropertyInfo(final String url, final Properties info) throws SQLException {
+        return DriverManager.getDriver(delegateUrl(url)).getPropertyInfo(delegateUrl(url), info);
+    }
+
+    @Override
+    public final int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public final int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public final boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public final Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    /**
+     * Returns the URL of the real driver.
+     * 
+     * @param url
+     *            URL starting with {@link #URL_PREFIX}.
+     * 
+     * @return URL without "units4j:".
+     */
+    static String delegateUrl(final String url) {
+        return "jdbc:" + url.substring(URL_PREFIX.length());
+    }
+
+}
@@ -0,0 +1,251 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.jdbc;
+
+import jakarta.validation.constraints.NotNull;
+import org.fuin.utils4j.Utils4J;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Records all SQL statements executed by connections wrapped with {@link #wrap(Connection)} together with their bind parameters and
+ * execution time. Connections created by the {@link RecordingDriver} are wrapped automatically.<br>
+ * <br>
+ * Statements are only recorded between {@link #start()} and {@link #stop()} and only if they are executed by the same thread. This
+ * way tests running in parallel (each on it's own thread) only see their own statements. Statements executed by other threads (for
+ * example by an executor started in the test) are not recorded. The {@link StatementRecorderExtension} starts and stops the recording
+ * for every test method.
+ */
+public final class StatementRecorder {
+
+    private static final ThreadLocal<List<RecordedStatement>> STATEMENTS = new ThreadLocal<>();
+
+    /**
+     * Private default constructor.
+     */
+    private StatementRecorder() {
+        throw new UnsupportedOperationException("It's not allowed to create an instance of a utility class");
+    }
+
+    /**
+     * Starts a new recording for the current thread. Statements recorded before by the thread are discarded.
+     */
+    public static void start() {
+        STATEMENTS.set(new ArrayList<>());
+    }
+
+    /**
+     * Stops the recording of the current thread and discards the recorded statements.
+     */
+    public static void stop() {
+        STATEMENTS.remove();
+    }
+
+    /**
+     * Determines if statements executed by the current thread are recorded.
+     * 
+     * @return TRUE if {@link #start()} was called by the thread and {@link #stop()} not yet.
+     */
+    public static boolean isRecording() {
+        return STATEMENTS.get() != null;
+    }
+
+    /**
+     * Removes all statements recorded by the current thread. The recording continues.
+     */
+    public static void reset() {
+        final List<RecordedStatement> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.clear();
+        }
+    }
+
+    /**
+     * Returns a copy of all statements recorded by the current thread since the last {@link #start()} or {@link #reset()}.
+     * 
+     * @return Statements in the order of their execution - Empty if the thread is not recording.
+     */
+    @NotNull
+    public static List<RecordedStatement> getStatements() {
+        final List<RecordedStatement> statements = STATEMENTS.get();
+        if (statements == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(statements);
+    }
+
+    /**
+     * Adds a statement to the statements recorded by the current thread. The statement is ignored if the thread is not recording.
+     * 
+     * @param statement
+     *            Statement to add.
+     */
+    public static void record(@NotNull final RecordedStatement statement) {
+        Utils4J.checkNotNull("statement", statement);
+        final List<RecordedStatement> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(statement);
+        }
+    }
+
+    /**
+     * Wraps a connection so that all statements executed with it are recorded.
+     * 
+     * @param connection
+     *            Connection to wrap.
+     * 
+     * @return Recording connection.
+     */
+    @NotNull
+    public static Connection wrap(@NotNull final Connection connection) {
+        Utils4J.checkNotNull("connection", connection);
+        return (Connection) Proxy.newProxyInstance(StatementRecorder.class.getClassLoader(), new Class<?>[] { Connection.class },
+                new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (final InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Creates recording statements.
+     */
+    private static final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+
+        public ConnectionHandler(final Connection connection) {
+            super();
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final Object result = StatementRecorder.invoke(connection, method, args);
+            final String name = method.getName();
+            if (name.equals("createStatement")) {
+                return statementProxy(Statement.class, (Statement) result, (Connection) proxy, null);
+            }
+            if (name.equals("prepareStatement")) {
+                return statementProxy(PreparedStatement.class, (Statement) result, (Connection) proxy, (String) args[0]);
+            }
+            if (name.equals("prepareCall")) {
+                return statementProxy(CallableStatement.class, (Statement) result, (Connection) proxy, (String) args[0]);
+            }
+            return result;
+        }
+
+        private static Object statementProxy(final Class<? extends Statement> intf, final Statement statement,
+                final Connection connection, final String sql) {
+            return Proxy.newProxyInstance(StatementRecorder.class.getClassLoader(), new Class<?>[] { intf },
+                    new StatementHandler(statement, connection, sql));
+        }
+
+    }
+
+    /**
+     * Records executed statements.
+     */
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+
+        private final Connection connection;
+
+        private final String preparedSql;
+
+        private final List<String> batch;
+
+        private final List<List<Object>> batchParameters;
+
+        private final Map<Integer, Object> parameters;
+
+        public StatementHandler(final Statement statement, final Connection connection, final String preparedSql) {
+            super();
+            this.statement = statement;
+            this.connection = connection;
+            this.preparedSql = preparedSql;
+            this.batch = new ArrayList<>();
+            this.batchParameters = new ArrayList<>();
+            this.parameters = new TreeMap<>();
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final String name = method.getName();
+            if (name.equals("getConnection")) {
+                return connection;
+            }
+            if (name.equals("addBatch") && args != null && args.length == 1) {
+                batch.add((String) args[0]);
+            } else if (name.equals("addBatch")) {
+                batchParameters.add(new ArrayList<>(parameters.values()));
+            } else if (name.equals("clearBatch")) {
+                batch.clear();
+                batchParameters.clear();
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                parameters.put((Integer) args[0], name.equals("setNull") ? null : args[1]);
+            }
+            if (!name.startsWith("execute")) {
+                return StatementRecorder.invoke(statement, method, args);
+            }
+            final long start = System.nanoTime();
+            try {
+                return StatementRecorder.invoke(statement, method, args);
+            } finally {
+                final long duration = System.nanoTime() - start;
+                if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                    // One entry per batched row, the duration is shared equally
+                    final int rows = batchParameters.size() + batch.size();
+                    for (final List<Object> rowParameters : batchParameters) {
+                        record(new RecordedStatement(preparedSql, rowParameters, duration / rows));
+                    }
+                    for (final String sql : batch) {
+                        record(new RecordedStatement(sql, Collections.emptyList(), duration / rows));
+                    }
+                    batch.clear();
+                    batchParameters.clear();
+                } else if (args != null && args.length > 0 && args[0] instanceof String) {
+                    record(new RecordedStatement((String) args[0], Collections.emptyList(), duration));
+                } else if (preparedSql != null) {
+                    record(new RecordedStatement(preparedSql, new ArrayList<>(parameters.values()), duration));
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,41 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.jdbc;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * JUnit 5 extension that starts a new recording of the {@link StatementRecorder} right before every test method is executed and stops it
+ * afterwards. Statements executed in <code>@BeforeEach</code> methods are therefore not counted. The recording is bound to the thread
+ * executing the test method, so tests running in parallel only count their own statements.
+ */
+public final class StatementRecorderExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public final void beforeTestExecution(final ExtensionContext context) {
+        StatementRecorder.start();
+    }
+
+    @Override
+    public final void afterTestExecution(final ExtensionContext context) {
+        StatementRecorder.stop();
+    }
+
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.jdbc;
+
+import java.util.Locale;
+
+/**
+ * Type of an SQL statement.
+ */
+public enum StatementType {
+
+    /** Query. */
+    SELECT,
+
+    /** Insert rows. */
+    INSERT,
+
+    /** Update rows. */
+    UPDATE,
+
+    /** Delete rows. */
+    DELETE,
+
+    /** Anything else like DDL, procedure calls or merge statements. */
+    OTHER;
+
+    /**
+     * Determines the type of an SQL statement by it's first keyword.
+     * 
+     * @param sql
+     *            SQL statement or <code>null</code>.
+     * 
+     * @return Type - Never <code>null</code>.
+     */
+    public static StatementType of(final String sql) {
+        if (sql == null) {
+            return OTHER;
+        }
+        final String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        final String keyword = trimmed.substring(0, end).toUpperCase(Locale.ROOT);
+        switch (keyword) {
+        case "SELECT":
+        case "WITH":
+            return SELECT;
+        case "INSERT":
+            return INSERT;
+        case "UPDATE":
+            return UPDATE;
+        case "DELETE":
+            return DELETE;
+        default:
+            return OTHER;
+        }
+    }
+
+}
@@ -0,0 +1,7 @@
+// CHECKSTYLE:OFF
+/**
+ * Records the SQL statements executed by JDBC connections to make assertions on the number of queries a test executes.
+ */
+package org.fuin.units4j.jdbc;
+
+// CHECKSTYLE:OFF
@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Parsing of a single class file. Disabled by default as it creates one event per class.
+ * 
+ * <pre>
+ * final ClassParseEvent event = new ClassParseEvent();
+ * event.begin();
+ * // parse the class
+ * event.end("MyAnalyzer", className, data.length);
+ * </pre>
+ */
+@Name("org.fuin.units4j.ClassParse")
+@Label("Class Parse")
+@Description("Parsing of a single class file")
+@Category("units4j")
+@StackTrace(false)
+@Enabled(false)
+public final class ClassParseEvent extends jdk.jfr.Event {
+
+    @Label("Analyzer")
+    private String analyzer;
+
+    @Label("Class Name")
+    private String className;
+
+    @Label("Bytes")
+    @DataAmount(DataAmount.BYTES)
+    private long byteCount;
+
+    /**
+     * Ends the event and commits it if it is enabled.
+     * 
+     * @param analyzerName
+     *            Name of the analyzer.
+     * @param name
+     *            Full qualified name of the parsed class.
+     * @param bytes
+     *            Size of the class file.
+     */
+    public void end(final String analyzerName, final String name, final long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.analyzer = analyzerName;
+            this.className = name;
+            this.byteCount = bytes;
+            commit();
+        }
+    }
+
+}
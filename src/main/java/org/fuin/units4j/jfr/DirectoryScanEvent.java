@@ -0,0 +1,86 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Scan of all classes in a directory or JAR file by one of the analyzers.
+ * 
+ * <pre>
+ * final DirectoryScanEvent event = new DirectoryScanEvent();
+ * event.begin();
+ * // for every class: event.addClass(bytes);
+ * event.end("MyAnalyzer", dir.getPath());
+ * </pre>
+ */
+@Name("org.fuin.units4j.DirectoryScan")
+@Label("Directory Scan")
+@Description("Scan of all classes in a directory or JAR file")
+@Category("units4j")
+@StackTrace(false)
+public final class DirectoryScanEvent extends jdk.jfr.Event {
+
+    @Label("Analyzer")
+    private String analyzer;
+
+    @Label("Source")
+    @Description("Directory or JAR file")
+    private String source;
+
+    @Label("Class Count")
+    private int classCount;
+
+    @Label("Bytes")
+    @DataAmount(DataAmount.BYTES)
+    private long byteCount;
+
+    /**
+     * Counts a scanned class.
+     * 
+     * @param bytes
+     *            Size of the class file.
+     */
+    public void addClass(final long bytes) {
+        classCount++;
+        byteCount += bytes;
+    }
+
+    /**
+     * Ends the event and commits it if it is enabled.
+     * 
+     * @param analyzerName
+     *            Name of the analyzer.
+     * @param sourceName
+     *            Directory or JAR file.
+     */
+    public void end(final String analyzerName, final String sourceName) {
+        end();
+        if (shouldCommit()) {
+            this.analyzer = analyzerName;
+            this.source = sourceName;
+            commit();
+        }
+    }
+
+}
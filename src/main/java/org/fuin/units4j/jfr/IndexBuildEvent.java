@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Indexing a list of class files with Jandex.
+ * 
+ * <pre>
+ * final IndexBuildEvent event = new IndexBuildEvent();
+ * event.begin();
+ * // for every class: event.addClass(bytes);
+ * event.end("target/classes");
+ * </pre>
+ */
+@Name("org.fuin.units4j.IndexBuild")
+@Label("Index Build")
+@Description("Indexing a list of class files with Jandex")
+@Category("units4j")
+@StackTrace(false)
+public final class IndexBuildEvent extends jdk.jfr.Event {
+
+    @Label("Source")
+    @Description("Common directory of the indexed class files")
+    private String source;
+
+    @Label("Class Count")
+    private int classCount;
+
+    @Label("Bytes")
+    @DataAmount(DataAmount.BYTES)
+    private long byteCount;
+
+    /**
+     * Counts an indexed class.
+     * 
+     * @param bytes
+     *            Size of the class file.
+     */
+    public void addClass(final long bytes) {
+        classCount++;
+        byteCount += bytes;
+    }
+
+    /**
+     * Ends the event and commits it if it is enabled.
+     * 
+     * @param sourceName
+     *            Common directory of the indexed class files.
+     */
+    public void end(final String sourceName) {
+        end();
+        if (shouldCommit()) {
+            this.source = sourceName;
+            commit();
+        }
+    }
+
+}
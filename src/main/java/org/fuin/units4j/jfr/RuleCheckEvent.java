@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evaluation of a rule for a class, method or field. Disabled by default as it creates one event per evaluation.
+ * 
+ * <pre>
+ * final RuleCheckEvent event = new RuleCheckEvent();
+ * event.begin();
+ * final AssertionResult result = rule.verify(target);
+ * event.end("MyRule", target, result.isValid());
+ * </pre>
+ */
+@Name("org.fuin.units4j.RuleCheck")
+@Label("Rule Check")
+@Description("Evaluation of a rule for a class, method or field")
+@Category("units4j")
+@StackTrace(false)
+@Enabled(false)
+public final class RuleCheckEvent extends jdk.jfr.Event {
+
+    @Label("Rule")
+    private String rule;
+
+    @Label("Target")
+    @Description("Class, method or field the rule was evaluated for")
+    private String target;
+
+    @Label("Valid")
+    private boolean valid;
+
+    /**
+     * Ends the event and commits it if it is enabled. The target is only converted into a string if the event is committed.
+     * 
+     * @param ruleName
+     *            Name of the rule.
+     * @param checked
+     *            Class, method or field the rule was evaluated for.
+     * @param ok
+     *            <code>true</code> if the target observes the rule, else <code>false</code>.
+     */
+    public void end(final String ruleName, final Object checked, final boolean ok) {
+        end();
+        if (shouldCommit()) {
+            this.rule = ruleName;
+            this.target = String.valueOf(checked);
+            this.valid = ok;
+            commit();
+        }
+    }
+
+}
@@ -0,0 +1,7 @@
+// CHECKSTYLE:OFF
+/**
+ * Java Flight Recorder events emitted by the analyzers and assertions. All events belong to the category "units4j".
+ */
+package org.fuin.units4j.jfr;
+
+// CHECKSTYLE:OFF
@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.fuin.utils4j.Utils4J;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the heap memory allocated by the current thread using the HotSpot specific
+ * {@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()}.
+ */
+public final class AllocationMeter {
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = threadMXBean();
+
+    /**
+     * Private utility class constructor.
+     */
+    private AllocationMeter() {
+        throw new UnsupportedOperationException("It's not allowed to create an instance of a utility class");
+    }
+
+    /**
+     * Returns if the JVM is able to measure the allocated memory per thread.
+     * 
+     * @return TRUE if the allocation can be measured, else FALSE.
+     */
+    public static boolean isSupported() {
+        return THREAD_MX_BEAN != null && THREAD_MX_BEAN.isThreadAllocatedMemorySupported();
+    }
+
+    /**
+     * Returns the number of bytes allocated by the current thread since it was started.
+     * 
+     * @return Allocated bytes.
+     */
+    public static long currentThreadAllocatedBytes() {
+        if (!isSupported()) {
+            throw new IllegalStateException("The JVM does not support measuring the allocated memory per thread");
+        }
+        if (!THREAD_MX_BEAN.isThreadAllocatedMemoryEnabled()) {
+            THREAD_MX_BEAN.setThreadAllocatedMemoryEnabled(true);
+        }
+        return THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Runs the code a number of times without measuring to let the JIT compile it and load all classes. Then the code is executed again
+     * and the memory allocated by the current thread is measured.
+     * 
+     * @param code
+     *            Code to measure.
+     * @param warmupIterations
+     *            Number of invocations before the measurement starts.
+     * @param iterations
+     *            Number of measured invocations.
+     * 
+     * @return Allocated bytes per invocation.
+     */
+    public static double bytesPerInvocation(final Runnable code, final int warmupIterations, final int iterations) {
+        Utils4J.checkNotNull("code", code);
+        if (warmupIterations < 0) {
+            throw new IllegalArgumentException("Expected warmup iterations that are not negative, but was: " + warmupIterations);
+        }
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Expected at least one iteration, but was: " + iterations);
+        }
+        for (int i = 0; i < warmupIterations; i++) {
+            code.run();
+        }
+        // The measurement itself may allocate - Subtract it
+        final long calibration = currentThreadAllocatedBytes();
+        final long start = currentThreadAllocatedBytes();
+        final long overhead = start - calibration;
+        for (int i = 0; i < iterations; i++) {
+            code.run();
+        }
+        final long bytes = currentThreadAllocatedBytes() - start - overhead;
+        return Math.max(0, bytes) / (double) iterations;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return (com.sun.management.ThreadMXBean) bean;
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,261 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.fuin.utils4j.Utils4J;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmark scores of a previous run that are checked into the repository. The baseline is stored as JSON object with the benchmark names
+ * as keys, sorted by name to keep diffs small:
+ * 
+ * <pre>
+ * {
+ *   "org.example.ParserBenchmark.parse": { "score": 125432.7, "unit": "ops/s" }
+ * }
+ * </pre>
+ */
+public final class BenchmarkBaseline {
+
+    private static final String STRING = "\"((?:[^\"\\\\]|\\\\.)*)\"";
+
+    private static final Pattern ENTRY = Pattern.compile(STRING + "\\s*:\\s*\\{\\s*\"score\"\\s*:\\s*([-+0-9.eE]+|NaN)\\s*,\\s*\"unit\"\\s*:\\s*"
+            + STRING + "\\s*\\}");
+
+    private final Map<String, Score> scores;
+
+    /**
+     * Default constructor.
+     */
+    public BenchmarkBaseline() {
+        super();
+        this.scores = new TreeMap<>();
+    }
+
+    /**
+     * Reads a baseline file.
+     * 
+     * @param file
+     *            File to read.
+     * 
+     * @return Baseline or an empty baseline if the file does not exist.
+     * 
+     * @throws IOException
+     *             Error reading the file or the file has the wrong format.
+     */
+    public static BenchmarkBaseline read(final File file) throws IOException {
+        Utils4J.checkNotNull("file", file);
+        if (!file.exists()) {
+            return new BenchmarkBaseline();
+        }
+        return parse(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a baseline in JSON format.
+     * 
+     * @param json
+     *            JSON to parse.
+     * 
+     * @return Baseline.
+     * 
+     * @throws IOException
+     *             The JSON has the wrong format.
+     */
+    public static BenchmarkBaseline parse(final String json) throws IOException {
+        Utils4J.checkNotNull("json", json);
+        final BenchmarkBaseline baseline = new BenchmarkBaseline();
+        final Matcher matcher = ENTRY.matcher(json);
+        final StringBuilder rest = new StringBuilder();
+        int pos = 0;
+        while (matcher.find()) {
+            rest.append(json, pos, matcher.start());
+            pos = matcher.end();
+            try {
+                baseline.put(unescape(matcher.group(1)), Double.parseDouble(matcher.group(2)), unescape(matcher.group(3)));
+            } catch (final NumberFormatException ex) {
+                throw new IOException("Expected a number as score, but was: " + matcher.group(), ex);
+            }
+        }
+        rest.append(json.substring(pos));
+        final String remaining = rest.toString().replaceAll("[\\s,]", "");
+        if (!remaining.equals("{}")) {
+            throw new IOException("Expected a JSON object with '\"name\": { \"score\": 1.0, \"unit\": \"ops/s\" }' entries, but found: "
+                    + remaining);
+        }
+        return baseline;
+    }
+
+    /**
+     * Writes the baseline to a file. Missing parent directories are created.
+     * 
+     * @param file
+     *            File to create or overwrite.
+     * 
+     * @throws IOException
+     *             Error writing the file.
+     */
+    public final void write(final File file) throws IOException {
+        Utils4J.checkNotNull("file", file);
+        final File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null) {
+            Files.createDirectories(dir.toPath());
+        }
+        try (final Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(toJson());
+        }
+    }
+
+    /**
+     * Returns the baseline in JSON format.
+     * 
+     * @return JSON object sorted by benchmark name.
+     */
+    public final String toJson() {
+        final StringBuilder sb = new StringBuilder("{\n");
+        int count = 0;
+        for (final Map.Entry<String, Score> entry : scores.entrySet()) {
+            sb.append("  \"").append(escape(entry.getKey())).append("\": { \"score\": ").append(entry.getValue().getValue())
+                    .append(", \"unit\": \"").append(escape(entry.getValue().getUnit())).append("\" }");
+            if (++count < scores.size()) {
+                sb.append(',');
+            }
+            sb.append('\n');
+        }
+        return sb.append("}\n").toString();
+    }
+
+    /**
+     * Sets the score of a benchmark.
+     * 
+     * @param name
+     *            Benchmark name.
+     * @param score
+     *            Score.
+     * @param unit
+     *            Unit of the score like "ops/s".
+     */
+    public final void put(final String name, final double score, final String unit) {
+        Utils4J.checkNotNull("name", name);
+        Utils4J.checkNotNull("unit", unit);
+        scores.put(name, new Score(score, unit));
+    }
+
+    /**
+     * Returns the score of a benchmark.
+     * 
+     * @param name
+     *            Benchmark name.
+     * 
+     * @return Score or <code>null</code> if the benchmark is unknown.
+     */
+    public final Score get(final String name) {
+        return scores.get(name);
+    }
+
+    /**
+     * Returns the names of all benchmarks.
+     * 
+     * @return Unmodifiable sorted set.
+     */
+    public final Set<String> getNames() {
+        return Collections.unmodifiableSet(scores.keySet());
+    }
+
+    /**
+     * Returns the number of benchmarks.
+     * 
+     * @return Number of scores.
+     */
+    public final int size() {
+        return scores.size();
+    }
+
+    @Override
+    public final String toString() {
+        return toJson();
+    }
+
+    private static String escape(final String str) {
+        return str.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static String unescape(final String str) {
+        return str.replaceAll("\\\\(.)", "$1");
+    }
+
+    /**
+     * Score of a benchmark with unit.
+     */
+    public static final class Score {
+
+        private final double value;
+
+        private final String unit;
+
+        /**
+         * Constructor with all data.
+         * 
+         * @param value
+         *            Score.
+         * @param unit
+         *            Unit like "ops/s".
+         */
+        public Score(final double value, final String unit) {
+            super();
+            this.value = value;
+            this.unit = unit;
+        }
+
+        /**
+         * Returns the score.
+         * 
+         * @return Value.
+         */
+        public final double getValue() {
+            return value;
+        }
+
+        /**
+         * Returns the unit.
+         * 
+         * @return Unit like "ops/s".
+         */
+        public final String getUnit() {
+            return unit;
+        }
+
+        @Override
+        public final String toString() {
+            return value + " " + unit;
+        }
+
+    }
+
+}
@@ -0,0 +1,244 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.fuin.utils4j.Utils4J;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Comparison of benchmark scores (higher is better) with a {@link BenchmarkBaseline}. A benchmark has regressed if its score is lower
+ * than the baseline score minus the tolerance.
+ */
+public final class BenchmarkComparison {
+
+    private final List<Entry> entries;
+
+    private final double tolerance;
+
+    private final boolean baselineUpdated;
+
+    /**
+     * Constructor with all data.
+     * 
+     * @param baseline
+     *            Scores of the previous run.
+     * @param scores
+     *            Current scores by benchmark name.
+     * @param tolerance
+     *            Accepted relative decrease of the score like 0.2 for 20 percent.
+     * @param baselineUpdated
+     *            TRUE if the baseline was replaced with the current scores.
+     */
+    public BenchmarkComparison(final BenchmarkBaseline baseline, final Map<String, BenchmarkBaseline.Score> scores, final double tolerance,
+            final boolean baselineUpdated) {
+        super();
+        Utils4J.checkNotNull("baseline", baseline);
+        Utils4J.checkNotNull("scores", scores);
+        final List<Entry> list = new ArrayList<>(scores.size());
+        for (final Map.Entry<String, BenchmarkBaseline.Score> score : scores.entrySet()) {
+            list.add(new Entry(score.getKey(), baseline.get(score.getKey()), score.getValue(), tolerance));
+        }
+        list.sort((a, b) -> a.getName().compareTo(b.getName()));
+        this.entries = Collections.unmodifiableList(list);
+        this.tolerance = tolerance;
+        this.baselineUpdated = baselineUpdated;
+    }
+
+    /**
+     * Returns all compared benchmarks.
+     * 
+     * @return Unmodifiable list sorted by name.
+     */
+    public final List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Returns the benchmarks that regressed.
+     * 
+     * @return Entries with a score below the accepted minimum.
+     */
+    public final List<Entry> getRegressions() {
+        final List<Entry> regressions = new ArrayList<>();
+        for (final Entry entry : entries) {
+            if (entry.isRegression()) {
+                regressions.add(entry);
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * Returns the benchmarks without baseline score.
+     * 
+     * @return Entries that are not part of the baseline or have a different unit.
+     */
+    public final List<Entry> getMissingBaselines() {
+        final List<Entry> missing = new ArrayList<>();
+        for (final Entry entry : entries) {
+            if (!entry.hasBaseline()) {
+                missing.add(entry);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Returns the tolerance.
+     * 
+     * @return Accepted relative decrease of the score.
+     */
+    public final double getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * Returns if the baseline was replaced with the current scores.
+     * 
+     * @return TRUE if the baseline was updated.
+     */
+    public final boolean isBaselineUpdated() {
+        return baselineUpdated;
+    }
+
+    /**
+     * Returns a report with one line per benchmark.
+     * 
+     * @return Human readable comparison.
+     */
+    public final String report() {
+        final StringBuilder sb = new StringBuilder();
+        for (final Entry entry : entries) {
+            sb.append("    ").append(entry).append('\n');
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public final String toString() {
+        return report();
+    }
+
+    /**
+     * Comparison of a single benchmark.
+     */
+    public static final class Entry {
+
+        private final String name;
+
+        private final BenchmarkBaseline.Score baseline;
+
+        private final BenchmarkBaseline.Score score;
+
+        private final boolean regression;
+
+        /**
+         * Constructor with all data.
+         * 
+         * @param name
+         *            Benchmark name.
+         * @param baseline
+         *            Baseline score or <code>null</code>.
+         * @param score
+         *            Current score.
+         * @param tolerance
+         *            Accepted relative decrease of the score.
+         */
+        public Entry(final String name, final BenchmarkBaseline.Score baseline, final BenchmarkBaseline.Score score,
+                final double tolerance) {
+            super();
+            this.name = name;
+            this.baseline = baseline;
+            this.score = score;
+            this.regression = hasBaseline() && score.getValue() < baseline.getValue() * (1.0 - tolerance);
+        }
+
+        /**
+         * Returns the benchmark name.
+         * 
+         * @return Name.
+         */
+        public final String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the baseline score.
+         * 
+         * @return Score or <code>null</code> if there is no baseline.
+         */
+        public final BenchmarkBaseline.Score getBaseline() {
+            return baseline;
+        }
+
+        /**
+         * Returns the current score.
+         * 
+         * @return Score.
+         */
+        public final BenchmarkBaseline.Score getScore() {
+            return score;
+        }
+
+        /**
+         * Returns if a comparable baseline score exists.
+         * 
+         * @return TRUE if there is a baseline with the same unit.
+         */
+        public final boolean hasBaseline() {
+            return baseline != null && baseline.getUnit().equals(score.getUnit());
+        }
+
+        /**
+         * Returns the relative change of the score.
+         * 
+         * @return Change like -0.25 for a 25 percent lower score or NaN if there is no baseline.
+         */
+        public final double getChange() {
+            if (!hasBaseline()) {
+                return Double.NaN;
+            }
+            return score.getValue() / baseline.getValue() - 1.0;
+        }
+
+        /**
+         * Returns if the score is below the accepted minimum.
+         * 
+         * @return TRUE if the benchmark regressed.
+         */
+        public final boolean isRegression() {
+            return regression;
+        }
+
+        @Override
+        public final String toString() {
+            if (!hasBaseline()) {
+                return String.format(Locale.ROOT, "%s: %.3f %s (no baseline)", name, score.getValue(), score.getUnit());
+            }
+            return String.format(Locale.ROOT, "%s: %.3f %s (baseline %.3f, %+.1f%%)%s", name, score.getValue(), score.getUnit(),
+                    baseline.getValue(), getChange() * 100.0, regression ? " REGRESSION" : "");
+        }
+
+    }
+
+}
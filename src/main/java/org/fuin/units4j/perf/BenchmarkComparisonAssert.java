@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.assertj.core.api.AbstractAssert;
+
+import java.util.List;
+
+/**
+ * Assertions on the {@link BenchmarkComparison} of a {@link BenchmarkGate} run.
+ */
+public final class BenchmarkComparisonAssert extends AbstractAssert<BenchmarkComparisonAssert, BenchmarkComparison> {
+
+    /**
+     * Constructor to build assertion class with the object we want to make assertions on.
+     * 
+     * @param actual
+     *            Comparison to use.
+     */
+    public BenchmarkComparisonAssert(final BenchmarkComparison actual) {
+        super(actual, BenchmarkComparisonAssert.class);
+    }
+
+    /**
+     * Fluent entry point to assertion class, use it with static import.
+     * 
+     * @param actual
+     *            Comparison to use.
+     * 
+     * @return New assertion instance.
+     */
+    public static BenchmarkComparisonAssert assertThat(final BenchmarkComparison actual) {
+        return new BenchmarkComparisonAssert(actual);
+    }
+
+    /**
+     * Verifies that no benchmark score is lower than the baseline score minus the tolerance. Nothing is checked if the baseline was
+     * updated with the current scores.
+     * 
+     * @return Self.
+     */
+    public BenchmarkComparisonAssert hasNoRegressions() {
+        isNotNull();
+        final List<BenchmarkComparison.Entry> regressions = actual.getRegressions();
+        if (!actual.isBaselineUpdated() && !regressions.isEmpty()) {
+            failWithMessage("Expected no benchmark to be more than %s%% slower than the baseline, but %s regressed:%n%s",
+                    Math.round(actual.getTolerance() * 100), regressions.size(), actual.report());
+        }
+        return this;
+    }
+
+    /**
+     * Verifies that there is a baseline score for every benchmark. Nothing is checked if the baseline was updated with the current scores.
+     * 
+     * @return Self.
+     */
+    public BenchmarkComparisonAssert hasBaselineForAll() {
+        isNotNull();
+        final List<BenchmarkComparison.Entry> missing = actual.getMissingBaselines();
+        if (!actual.isBaselineUpdated() && !missing.isEmpty()) {
+            failWithMessage("Expected a baseline for every benchmark, but %s have none (run with -D%s=true to create it):%n%s",
+                    missing.size(), BenchmarkGate.UPDATE_BASELINE, actual.report());
+        }
+        return this;
+    }
+
+}
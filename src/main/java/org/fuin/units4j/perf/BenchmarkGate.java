@@ -0,0 +1,276 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.fuin.utils4j.Utils4J;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs selected <a href="https://github.com/openjdk/jmh">JMH</a> benchmarks inside the JUnit JVM with reduced iteration counts and
+ * compares their throughput with a {@link BenchmarkBaseline} file checked into the repository. Requires "org.openjdk.jmh:jmh-core" on the
+ * test classpath and the benchmarks compiled with the JMH annotation processor.
+ * 
+ * <pre>
+ * &#64;Test
+ * public void testNoRegression() {
+ *     final BenchmarkComparison result = new BenchmarkGate(new File("src/test/resources/benchmark-baseline.json"))
+ *             .include(ParserBenchmark.class.getName()).run();
+ *     BenchmarkComparisonAssert.assertThat(result).hasNoRegressions();
+ * }
+ * </pre>
+ * 
+ * The baseline is replaced with the current scores if the system property {@link #UPDATE_BASELINE} is "true":
+ * 
+ * <pre>
+ * mvn test -Dtest=MyBenchmarkGateTest -Dunits4j.benchmark.update-baseline=true
+ * </pre>
+ */
+public final class BenchmarkGate {
+
+    /** System property that causes the baseline to be updated with the current scores. */
+    public static final String UPDATE_BASELINE = "units4j.benchmark.update-baseline";
+
+    /** Default accepted relative decrease of the score. */
+    public static final double DEFAULT_TOLERANCE = 0.2;
+
+    private final File baselineFile;
+
+    private final List<String> includes;
+
+    private double tolerance;
+
+    private int warmupIterations;
+
+    private int iterations;
+
+    private Duration iterationTime;
+
+    private boolean updateBaseline;
+
+    /**
+     * Constructor with baseline file.
+     * 
+     * @param baselineFile
+     *            File with the scores of a previous run - If it does not exist, all benchmarks are reported without baseline.
+     */
+    public BenchmarkGate(final File baselineFile) {
+        super();
+        Utils4J.checkNotNull("baselineFile", baselineFile);
+        this.baselineFile = baselineFile;
+        this.includes = new ArrayList<>();
+        this.tolerance = DEFAULT_TOLERANCE;
+        this.warmupIterations = 1;
+        this.iterations = 3;
+        this.iterationTime = Duration.ofMillis(500);
+        this.updateBaseline = Boolean.getBoolean(UPDATE_BASELINE);
+    }
+
+    /**
+     * Adds a regular expression selecting benchmarks to run. Without includes all benchmarks on the classpath are executed.
+     * 
+     * @param regExp
+     *            Pattern matched against "package.Class.method" of the benchmarks.
+     * 
+     * @return Self.
+     */
+    public final BenchmarkGate include(final String regExp) {
+        Utils4J.checkNotNull("regExp", regExp);
+        includes.add(regExp);
+        return this;
+    }
+
+    /**
+     * Sets the accepted relative decrease of the score.
+     * 
+     * @param tolerance
+     *            Value between 0 and 1 like 0.1 for 10 percent.
+     * 
+     * @return Self.
+     */
+    public final BenchmarkGate tolerance(final double tolerance) {
+        if (tolerance < 0.0 || tolerance >= 1.0) {
+            throw new IllegalArgumentException("Expected a tolerance between 0 (inclusive) and 1 (exclusive), but was: " + tolerance);
+        }
+        this.tolerance = tolerance;
+        return this;
+    }
+
+    /**
+     * Sets the number of warmup iterations.
+     * 
+     * @param warmupIterations
+     *            Number of unmeasured iterations.
+     * 
+     * @return Self.
+     */
+    public final BenchmarkGate warmupIterations(final int warmupIterations) {
+        if (warmupIterations < 0) {
+            throw new IllegalArgumentException("Expected warmup iterations that are not negative, but was: " + warmupIterations);
+        }
+        this.warmupIterations = warmupIterations;
+        return this;
+    }
+
+    /**
+     * Sets the number of measured iterations.
+     * 
+     * @param iterations
+     *            Number of measured iterations.
+     * 
+     * @return Self.
+     */
+    public final BenchmarkGate iterations(final int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Expected at least one iteration, but was: " + iterations);
+        }
+        this.iterations = iterations;
+        return this;
+    }
+
+    /**
+     * Sets the duration of a single warmup or measured iteration.
+     * 
+     * @param iterationTime
+     *            Time per iteration.
+     * 
+     * @return Self.
+     */
+    public final BenchmarkGate iterationTime(final Duration iterationTime) {
+        Utils4J.checkNotNull("iterationTime", iterationTime);
+        if (iterationTime.isNegative() || iterationTime.isZero()) {
+            throw new IllegalArgumentException("Expected a positive iteration time, but was: " + iterationTime);
+        }
+        this.iterationTime = iterationTime;
+        return this;
+    }
+
+    /**
+     * Sets if the baseline should be replaced with the current scores. Defaults to the value of the system property
+     * {@link #UPDATE_BASELINE}.
+     * 
+     * @param updateBaseline
+     *            TRUE to write the current scores to the baseline file.
+     * 
+     * @return Self.
+     */
+    public final BenchmarkGate updateBaseline(final boolean updateBaseline) {
+        this.updateBaseline = updateBaseline;
+        return this;
+    }
+
+    /**
+     * Runs the benchmarks in throughput mode, compares the scores with the baseline and updates the baseline if requested.
+     * 
+     * @return Comparison with the baseline.
+     */
+    public final BenchmarkComparison run() {
+        final Collection<RunResult> results;
+        try {
+            results = new Runner(options()).run();
+        } catch (final RunnerException ex) {
+            throw new RuntimeException("Failed to run benchmarks " + includes, ex);
+        }
+        final Map<String, BenchmarkBaseline.Score> scores = new LinkedHashMap<>();
+        for (final RunResult result : results) {
+            final Result<?> primary = result.getPrimaryResult();
+            scores.put(name(result.getParams()), new BenchmarkBaseline.Score(primary.getScore(), primary.getScoreUnit()));
+        }
+        return compare(scores);
+    }
+
+    /**
+     * Compares the scores with the baseline and updates the baseline if requested.
+     * 
+     * @param scores
+     *            Current scores by benchmark name.
+     * 
+     * @return Comparison with the baseline.
+     */
+    final BenchmarkComparison compare(final Map<String, BenchmarkBaseline.Score> scores) {
+        try {
+            final BenchmarkBaseline baseline = BenchmarkBaseline.read(baselineFile);
+            final BenchmarkComparison comparison = new BenchmarkComparison(baseline, scores, tolerance, updateBaseline);
+            if (updateBaseline) {
+                for (final Map.Entry<String, BenchmarkBaseline.Score> entry : scores.entrySet()) {
+                    baseline.put(entry.getKey(), entry.getValue().getValue(), entry.getValue().getUnit());
+                }
+                baseline.write(baselineFile);
+            }
+            return comparison;
+        } catch (final IOException ex) {
+            throw new RuntimeException("Failed to read or write benchmark baseline: " + baselineFile, ex);
+        }
+    }
+
+    private Options options() {
+        final long millis = iterationTime.toMillis();
+        final ChainedOptionsBuilder builder = new OptionsBuilder().forks(0).threads(1).mode(Mode.Throughput)
+                .timeUnit(TimeUnit.SECONDS).warmupIterations(warmupIterations).warmupTime(TimeValue.milliseconds(millis))
+                .measurementIterations(iterations).measurementTime(TimeValue.milliseconds(millis)).shouldFailOnError(true)
+                .verbosity(VerboseMode.SILENT);
+        for (final String include : includes) {
+            builder.include(include);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the name of a benchmark including its parameters.
+     * 
+     * @param params
+     *            Parameters of the benchmark run.
+     * 
+     * @return Name like "org.example.MyBenchmark.parse" or "org.example.MyBenchmark.parse(size=100)".
+     */
+    static String name(final BenchmarkParams params) {
+        final Collection<String> keys = params.getParamsKeys();
+        if (keys.isEmpty()) {
+            return params.getBenchmark();
+        }
+        final StringBuilder sb = new StringBuilder(params.getBenchmark()).append('(');
+        int count = 0;
+        for (final String key : keys) {
+            if (count++ > 0) {
+                sb.append(',');
+            }
+            sb.append(key).append('=').append(params.getParam(key));
+        }
+        return sb.append(')').toString();
+    }
+
+}
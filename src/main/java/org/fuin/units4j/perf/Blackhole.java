@@ -0,0 +1,85 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+/**
+ * Consumes results of measured code, so the JIT cannot remove the computation as dead code. Consuming a value is cheap compared to a
+ * volatile write and does not allocate.
+ */
+public final class Blackhole {
+
+    private Object sink;
+
+    private long longSink;
+
+    private int random = 1;
+
+    private int mask = 1;
+
+    /**
+     * Consumes an object.
+     * 
+     * @param obj
+     *            Object to consume.
+     */
+    public final void consume(final Object obj) {
+        // Store the reference only rarely (with growing distance) to avoid the cost of a heap write on every call
+        final int r = random * 1664525 + 1013904223;
+        random = r;
+        if ((r & mask) == 0) {
+            sink = obj;
+            mask = (mask << 1) + 1;
+        }
+    }
+
+    /**
+     * Consumes a long (or int) value.
+     * 
+     * @param value
+     *            Value to consume.
+     */
+    public final void consume(final long value) {
+        longSink ^= value;
+    }
+
+    /**
+     * Consumes a double (or float) value.
+     * 
+     * @param value
+     *            Value to consume.
+     */
+    public final void consume(final double value) {
+        longSink ^= Double.doubleToRawLongBits(value);
+    }
+
+    /**
+     * Consumes a boolean value.
+     * 
+     * @param value
+     *            Value to consume.
+     */
+    public final void consume(final boolean value) {
+        longSink ^= value ? 1 : 0;
+    }
+
+    @Override
+    public final String toString() {
+        return "Blackhole [" + (sink != null) + ", " + longSink + "]";
+    }
+
+}
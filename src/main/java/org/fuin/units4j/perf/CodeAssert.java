@@ -0,0 +1,245 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.assertj.core.api.AbstractAssert;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Assertions on the performance characteristics of a piece of code. Allocation and latency checks execute the code a number of times for
+ * warmup (JIT compilation, class loading) before it is measured. Garbage collection checks execute the code exactly once.
+ * 
+ * <pre>
+ * assertThatCode(() -&gt; parser.parse(buffer)).allocatesAtMost(0).hasP99LatencyBelow(Duration.ofNanos(50_000));
+ * </pre>
+ */
+public final class CodeAssert extends AbstractAssert<CodeAssert, Runnable> {
+
+    private int warmupIterations = TimingHarness.DEFAULT_WARMUP_ITERATIONS;
+
+    private int iterations = TimingHarness.DEFAULT_ITERATIONS;
+
+    private int rounds = TimingHarness.DEFAULT_ROUNDS;
+
+    /**
+     * Constructor to build assertion class with the object we want to make assertions on.
+     * 
+     * @param actual
+     *            Code to use.
+     */
+    public CodeAssert(final Runnable actual) {
+        super(actual, CodeAssert.class);
+    }
+
+    /**
+     * Fluent entry point to assertion class, use it with static import.
+     * 
+     * @param actual
+     *            Code to use.
+     * 
+     * @return New assertion instance.
+     */
+    public static CodeAssert assertThatCode(final Runnable actual) {
+        return new CodeAssert(actual);
+    }
+
+    /**
+     * Fluent entry point to assertion class, use it with static import. The results of the code are consumed by a {@link Blackhole}, so
+     * the JIT cannot remove the computation.
+     * 
+     * @param actual
+     *            Code to use.
+     * 
+     * @return New assertion instance.
+     */
+    public static CodeAssert assertThatCode(final Supplier<?> actual) {
+        if (actual == null) {
+            return new CodeAssert(null);
+        }
+        final Blackhole blackhole = new Blackhole();
+        return new CodeAssert(() -> blackhole.consume(actual.get()));
+    }
+
+    /**
+     * Sets the number of invocations before measuring.
+     * 
+     * @param warmupIterations
+     *            Number of unmeasured invocations.
+     * 
+     * @return Self.
+     */
+    public CodeAssert withWarmupIterations(final int warmupIterations) {
+        if (warmupIterations < 0) {
+            throw new IllegalArgumentException("Expected warmup iterations that are not negative, but was: " + warmupIterations);
+        }
+        this.warmupIterations = warmupIterations;
+        return this;
+    }
+
+    /**
+     * Sets the number of measured invocations.
+     * 
+     * @param iterations
+     *            Number of measured invocations.
+     * 
+     * @return Self.
+     */
+    public CodeAssert withIterations(final int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Expected at least one iteration, but was: " + iterations);
+        }
+        this.iterations = iterations;
+        return this;
+    }
+
+    /**
+     * Sets the number of measured rounds for the latency checks. The percentiles are the median of all rounds.
+     * 
+     * @param rounds
+     *            Number of rounds with the configured number of iterations each.
+     * 
+     * @return Self.
+     */
+    public CodeAssert withRounds(final int rounds) {
+        if (rounds < 1) {
+            throw new IllegalArgumentException("Expected at least one round, but was: " + rounds);
+        }
+        this.rounds = rounds;
+        return this;
+    }
+
+    /**
+     * Verifies that the code allocates at most the given number of heap bytes per invocation (on average). Only allocations of the
+     * current thread are measured.
+     * 
+     * @param bytes
+     *            Maximum number of bytes per invocation.
+     * 
+     * @return Self.
+     */
+    public CodeAssert allocatesAtMost(final long bytes) {
+        isNotNull();
+        final double perInvocation = AllocationMeter.bytesPerInvocation(actual, warmupIterations, iterations);
+        if (perInvocation > bytes) {
+            failWithMessage("Expected code to allocate at most %s bytes per invocation, but allocated %s bytes (%s invocations after %s warmup)",
+                    bytes, String.format(Locale.ROOT, "%.1f", perInvocation), iterations, warmupIterations);
+        }
+        return this;
+    }
+
+    /**
+     * Verifies that the latency of a single invocation at the given percentile is below a limit. A single disturbed round does not fail
+     * the check, because the median of all rounds is used.
+     * 
+     * @param percentile
+     *            Percentile between 0 and 100 like 99.9.
+     * @param limit
+     *            Exclusive maximum latency.
+     * 
+     * @return Self.
+     */
+    public CodeAssert hasPercentileLatencyBelow(final double percentile, final Duration limit) {
+        isNotNull();
+        final TimingResult result = new TimingHarness().warmupIterations(warmupIterations).iterations(iterations).rounds(rounds)
+                .measure(actual);
+        final long nanos = result.getValueAtPercentile(percentile);
+        if (nanos >= limit.toNanos()) {
+            failWithMessage("Expected p%s latency below %s us, but was %s us (%s)", String.format(Locale.ROOT, "%.1f", percentile),
+                    micros(limit.toNanos()), micros(nanos), result);
+        }
+        return this;
+    }
+
+    /**
+     * Verifies that the median latency of a single invocation is below a limit.
+     * 
+     * @param limit
+     *            Exclusive maximum latency.
+     * 
+     * @return Self.
+     */
+    public CodeAssert hasP50LatencyBelow(final Duration limit) {
+        return hasPercentileLatencyBelow(50.0, limit);
+    }
+
+    /**
+     * Verifies that the 99th percentile latency of a single invocation is below a limit.
+     * 
+     * @param limit
+     *            Exclusive maximum latency.
+     * 
+     * @return Self.
+     */
+    public CodeAssert hasP99LatencyBelow(final Duration limit) {
+        return hasPercentileLatencyBelow(99.0, limit);
+    }
+
+    /**
+     * Executes the code once and verifies that no full (old generation) garbage collection happened in the meantime.
+     * 
+     * @return Self.
+     */
+    public CodeAssert causesNoFullGc() {
+        isNotNull();
+        final GcActivity activity = GcActivity.measure(actual);
+        if (activity.getFullCollections() > 0) {
+            failWithMessage("Expected no full garbage collection, but there were %s (%s)", activity.getFullCollections(), activity);
+        }
+        return this;
+    }
+
+    /**
+     * Executes the code once and verifies that no old generation memory was collected in the meantime. In addition to
+     * {@link #causesNoFullGc()} this detects incremental collections of the old generation like the mixed collections of G1.
+     * 
+     * @return Self.
+     */
+    public CodeAssert causesNoOldGenCollection() {
+        isNotNull();
+        final GcActivity activity = GcActivity.measure(actual);
+        if (activity.isOldGenCollected()) {
+            failWithMessage("Expected no old generation collection, but there was at least one (%s)", activity);
+        }
+        return this;
+    }
+
+    /**
+     * Executes the code once and verifies that the accumulated garbage collection time in the meantime is below a limit.
+     * 
+     * @param millis
+     *            Exclusive maximum collection time in milliseconds.
+     * 
+     * @return Self.
+     */
+    public CodeAssert gcTimeBelow(final long millis) {
+        isNotNull();
+        final GcActivity activity = GcActivity.measure(actual);
+        if (activity.getTimeMillis() >= millis) {
+            failWithMessage("Expected garbage collection time below %s ms, but was %s ms (%s)", millis, activity.getTimeMillis(), activity);
+        }
+        return this;
+    }
+
+    private static String micros(final long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1000.0);
+    }
+
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Retained size of an object graph calculated by the {@link DeepSizeCalculator}.
+ */
+public final class DeepSize {
+
+    private static final int MAX_CLASSES_IN_REPORT = 5;
+
+    private final long bytes;
+
+    private final long objects;
+
+    private final Map<Class<?>, long[]> classes;
+
+    private final long inaccessible;
+
+    /**
+     * Constructor with all data.
+     * 
+     * @param classes
+     *            Number of instances and bytes by class.
+     * @param inaccessible
+     *            Number of objects with reference fields that could not be read.
+     */
+    public DeepSize(final Map<Class<?>, long[]> classes, final long inaccessible) {
+        super();
+        long b = 0;
+        long o = 0;
+        for (final long[] values : classes.values()) {
+            o += values[0];
+            b += values[1];
+        }
+        this.bytes = b;
+        this.objects = o;
+        this.classes = Collections.unmodifiableMap(new IdentityHashMap<>(classes));
+        this.inaccessible = inaccessible;
+    }
+
+    /**
+     * Returns the number of objects with reference fields that could not be read. The objects referenced by them are missing in the
+     * result (except the content of collections and maps).
+     * 
+     * @return Objects of classes in modules that are not open for reflection.
+     */
+    public final long getInaccessible() {
+        return inaccessible;
+    }
+
+    /**
+     * Returns the size of all reachable objects.
+     * 
+     * @return Bytes.
+     */
+    public final long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Returns the number of reachable objects.
+     * 
+     * @return Objects (including arrays).
+     */
+    public final long getObjects() {
+        return objects;
+    }
+
+    /**
+     * Returns the number of bytes used by instances of a class.
+     * 
+     * @param clasz
+     *            Class to return the bytes for.
+     * 
+     * @return Bytes of all instances of exactly this class.
+     */
+    public final long getBytes(final Class<?> clasz) {
+        final long[] values = classes.get(clasz);
+        return values == null ? 0 : values[1];
+    }
+
+    /**
+     * Returns the number of instances of a class.
+     * 
+     * @param clasz
+     *            Class to return the number of instances for.
+     * 
+     * @return Instances of exactly this class.
+     */
+    public final long getObjects(final Class<?> clasz) {
+        final long[] values = classes.get(clasz);
+        return values == null ? 0 : values[0];
+    }
+
+    @Override
+    public final String toString() {
+        final List<Map.Entry<Class<?>, long[]>> list = new ArrayList<>(classes.entrySet());
+        list.sort((a, b) -> {
+            final int result = Long.compare(b.getValue()[1], a.getValue()[1]);
+            return result != 0 ? result : a.getKey().getName().compareTo(b.getKey().getName());
+        });
+        final StringBuilder sb = new StringBuilder().append(bytes).append(" bytes in ").append(objects).append(" objects");
+        for (int i = 0; i < list.size() && i < MAX_CLASSES_IN_REPORT; i++) {
+            final Map.Entry<Class<?>, long[]> entry = list.get(i);
+            sb.append(i == 0 ? " [" : ", ").append(entry.getKey().getTypeName()).append(": ").append(entry.getValue()[0]).append(" / ")
+                    .append(entry.getValue()[1]).append(" bytes");
+        }
+        if (!list.isEmpty()) {
+            sb.append(list.size() > MAX_CLASSES_IN_REPORT ? String.format(Locale.ROOT, ", ... %d more]", list.size() - MAX_CLASSES_IN_REPORT)
+                    : "]");
+        }
+        if (inaccessible > 0) {
+            sb.append(", ").append(inaccessible).append(" inaccessible");
+        }
+        return sb.toString();
+    }
+
+}
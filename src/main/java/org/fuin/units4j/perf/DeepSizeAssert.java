@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.assertj.core.api.AbstractAssert;
+import org.fuin.utils4j.Utils4J;
+
+/**
+ * Assertions on the retained memory of an object graph.
+ * 
+ * <pre>
+ * assertThat(cache).usingCalculator(new DeepSizeCalculator().stopAtInstances(Config.INSTANCE)).deepSizeIsAtMost(4096);
+ * </pre>
+ */
+public final class DeepSizeAssert extends AbstractAssert<DeepSizeAssert, Object> {
+
+    private DeepSizeCalculator calculator;
+
+    /**
+     * Constructor to build assertion class with the object we want to make assertions on.
+     * 
+     * @param actual
+     *            Root of the object graph.
+     */
+    public DeepSizeAssert(final Object actual) {
+        super(actual, DeepSizeAssert.class);
+    }
+
+    /**
+     * Fluent entry point to assertion class, use it with static import.
+     * 
+     * @param actual
+     *            Root of the object graph.
+     * 
+     * @return New assertion instance.
+     */
+    public static DeepSizeAssert assertThat(final Object actual) {
+        return new DeepSizeAssert(actual);
+    }
+
+    /**
+     * Sets the calculator to use, for example to stop at shared singletons.
+     * 
+     * @param calculator
+     *            Calculator to use - Cannot be <code>null</code>.
+     * 
+     * @return Self.
+     */
+    public DeepSizeAssert usingCalculator(final DeepSizeCalculator calculator) {
+        Utils4J.checkNotNull("calculator", calculator);
+        this.calculator = calculator;
+        return this;
+    }
+
+    /**
+     * Verifies that the retained size of all objects reachable from the actual object is at most the given number of bytes.
+     * 
+     * @param bytes
+     *            Maximum size.
+     * 
+     * @return Self.
+     */
+    public DeepSizeAssert deepSizeIsAtMost(final long bytes) {
+        isNotNull();
+        if (calculator == null) {
+            calculator = new DeepSizeCalculator();
+        }
+        final DeepSize size = calculator.calculate(actual);
+        if (size.getBytes() > bytes) {
+            failWithMessage("Expected deep size of %s to be at most %s bytes, but was %s", actual.getClass().getTypeName(), bytes, size);
+        }
+        return this;
+    }
+
+}
@@ -0,0 +1,355 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import org.fuin.utils4j.Utils4J;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Calculates the retained size of an object graph by walking all non-static reference fields and array elements. Every object is counted
+ * once (identity based). The size of an object is estimated from the HotSpot layout: Object header, field sizes, reference size
+ * (compressed oops) and object alignment.<br>
+ * <br>
+ * Shared objects that don't belong to the measured graph are not followed: Classes, class loaders, threads, enum constants and all
+ * objects matched by {@link #stopAt(Predicate)}.<br>
+ * <br>
+ * Private fields of JDK classes cannot be read without "--add-opens" (for example <code>--add-opens java.base/java.util=ALL-UNNAMED</code>).
+ * Such objects are counted with their shallow size and reported as {@link DeepSize#getInaccessible() inaccessible}. For collections and
+ * maps the elements, keys and values are followed using the public API, but the internal arrays and nodes are missing in the result. The
+ * character array of strings is estimated from the length and the characters (compact strings).
+ * Instances of this class are not thread-safe.
+ */
+public final class DeepSizeCalculator {
+
+    private final int headerSize;
+
+    private final int arrayHeaderSize;
+
+    private final int referenceSize;
+
+    private final int alignment;
+
+    private final Map<Class<?>, ClassLayout> layouts;
+
+    private final List<Predicate<Object>> stops;
+
+    /**
+     * Constructor with the layout of the current JVM.
+     */
+    public DeepSizeCalculator() {
+        this(vmOption("UseCompressedOops", true), vmOption("UseCompressedClassPointers", true), vmOption("ObjectAlignmentInBytes", 8));
+    }
+
+    /**
+     * Constructor with an explicit layout.
+     * 
+     * @param compressedOops
+     *            TRUE if references use 4 bytes instead of 8.
+     * @param compressedClassPointers
+     *            TRUE if the object header has 12 bytes instead of 16.
+     * @param alignment
+     *            Object alignment in bytes (power of two, at least 8).
+     */
+    public DeepSizeCalculator(final boolean compressedOops, final boolean compressedClassPointers, final int alignment) {
+        super();
+        if (alignment < 8 || Integer.bitCount(alignment) != 1) {
+            throw new IllegalArgumentException("Expected a power of two of at least 8 as alignment, but was: " + alignment);
+        }
+        this.headerSize = compressedClassPointers ? 12 : 16;
+        this.arrayHeaderSize = (int) align(headerSize + 4, 8);
+        this.referenceSize = compressedOops ? 4 : 8;
+        this.alignment = alignment;
+        this.layouts = new HashMap<>();
+        this.stops = new ArrayList<>();
+        stops.add(obj -> obj instanceof Class || obj instanceof ClassLoader || obj instanceof Thread || obj instanceof Enum);
+    }
+
+    /**
+     * Stops at all objects matching the predicate: They are neither counted nor followed.
+     * 
+     * @param predicate
+     *            Returns TRUE for shared objects that don't belong to the measured graph.
+     * 
+     * @return Self.
+     */
+    public final DeepSizeCalculator stopAt(final Predicate<Object> predicate) {
+        Utils4J.checkNotNull("predicate", predicate);
+        stops.add(predicate);
+        return this;
+    }
+
+    /**
+     * Stops at the given (singleton) instances.
+     * 
+     * @param instances
+     *            Shared objects that don't belong to the measured graph.
+     * 
+     * @return Self.
+     */
+    public final DeepSizeCalculator stopAtInstances(final Object... instances) {
+        final Set<Object> set = Collections.newSetFromMap(new IdentityHashMap<>());
+        Collections.addAll(set, instances);
+        return stopAt(set::contains);
+    }
+
+    /**
+     * Stops at all instances of the given classes (including subclasses).
+     * 
+     * @param classes
+     *            Types of shared objects that don't belong to the measured graph.
+     * 
+     * @return Self.
+     */
+    public final DeepSizeCalculator stopAtClasses(final Class<?>... classes) {
+        final Class<?>[] copy = classes.clone();
+        return stopAt(obj -> {
+            for (final Class<?> clasz : copy) {
+                if (clasz.isInstance(obj)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Calculates the retained size of all objects reachable from the root.
+     * 
+     * @param root
+     *            Start of the object graph.
+     * 
+     * @return Size and number of objects.
+     */
+    public final DeepSize calculate(final Object root) {
+        final Map<Class<?>, long[]> classes = new IdentityHashMap<>();
+        final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Deque<Object> stack = new ArrayDeque<>();
+        long inaccessible = 0;
+        push(root, visited, stack);
+        while (!stack.isEmpty()) {
+            final Object obj = stack.pop();
+            final Class<?> clasz = obj.getClass();
+            final long size;
+            if (clasz.isArray()) {
+                size = arraySize(obj);
+                if (!clasz.getComponentType().isPrimitive()) {
+                    for (final Object element : (Object[]) obj) {
+                        push(element, visited, stack);
+                    }
+                }
+            } else {
+                final ClassLayout layout = layout(clasz);
+                size = layout.size;
+                if (obj instanceof String) {
+                    addStringValue((String) obj, classes);
+                } else if (layout.fields == null) {
+                    inaccessible++;
+                    pushPublicContent(obj, visited, stack);
+                } else {
+                    for (final Field field : layout.fields) {
+                        push(read(field, obj), visited, stack);
+                    }
+                }
+            }
+            final long[] values = classes.computeIfAbsent(clasz, c -> new long[2]);
+            values[0]++;
+            values[1] += size;
+        }
+        return new DeepSize(classes, inaccessible);
+    }
+
+    /**
+     * Returns the estimated size of a single object without the referenced objects.
+     * 
+     * @param obj
+     *            Object or array.
+     * 
+     * @return Bytes.
+     */
+    public final long shallowSize(final Object obj) {
+        Utils4J.checkNotNull("obj", obj);
+        if (obj.getClass().isArray()) {
+            return arraySize(obj);
+        }
+        return layout(obj.getClass()).size;
+    }
+
+    private void push(final Object obj, final Set<Object> visited, final Deque<Object> stack) {
+        if (obj == null || visited.contains(obj)) {
+            return;
+        }
+        for (final Predicate<Object> stop : stops) {
+            if (stop.test(obj)) {
+                return;
+            }
+        }
+        visited.add(obj);
+        stack.push(obj);
+    }
+
+    private void addStringValue(final String str, final Map<Class<?>, long[]> classes) {
+        // Compact strings use one byte per character if all characters are Latin-1
+        int bytesPerChar = 1;
+        for (int i = 0; i < str.length() && bytesPerChar == 1; i++) {
+            if (str.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+            }
+        }
+        final long[] values = classes.computeIfAbsent(byte[].class, c -> new long[2]);
+        values[0]++;
+        values[1] += align(arrayHeaderSize + (long) str.length() * bytesPerChar, alignment);
+    }
+
+    private void pushPublicContent(final Object obj, final Set<Object> visited, final Deque<Object> stack) {
+        if (obj instanceof Collection) {
+            for (final Object element : (Collection<?>) obj) {
+                push(element, visited, stack);
+            }
+        } else if (obj instanceof Map) {
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) obj).entrySet()) {
+                push(entry.getKey(), visited, stack);
+                push(entry.getValue(), visited, stack);
+            }
+        }
+    }
+
+    private static Object read(final Field field, final Object obj) {
+        try {
+            return field.get(obj);
+        } catch (final IllegalAccessException ex) {
+            throw new RuntimeException("Failed to read field: " + field, ex);
+        }
+    }
+
+    private long arraySize(final Object array) {
+        final Class<?> type = array.getClass().getComponentType();
+        return align(arrayHeaderSize + (long) Array.getLength(array) * size(type), alignment);
+    }
+
+    private ClassLayout layout(final Class<?> clasz) {
+        ClassLayout layout = layouts.get(clasz);
+        if (layout == null) {
+            long size = headerSize;
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = clasz; c != null; c = c.getSuperclass()) {
+                for (final Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        size += size(field.getType());
+                        if (!field.getType().isPrimitive() && fields != null) {
+                            fields = field.trySetAccessible() ? fields : null;
+                            if (fields != null) {
+                                fields.add(field);
+                            }
+                        }
+                    }
+                }
+            }
+            layout = new ClassLayout(align(size, alignment), fields == null ? null : fields.toArray(new Field[0]));
+            layouts.put(clasz, layout);
+        }
+        return layout;
+    }
+
+    private int size(final Class<?> type) {
+        if (!type.isPrimitive()) {
+            return referenceSize;
+        }
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    /**
+     * Rounds a size up to the next multiple of the alignment.
+     * 
+     * @param size
+     *            Size to align.
+     * @param alignment
+     *            Power of two.
+     * 
+     * @return Aligned size.
+     */
+    static long align(final long size, final int alignment) {
+        return (size + alignment - 1) & -alignment;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T vmOption(final String name, final T defaultValue) {
+        try {
+            final HotSpotDiagnosticMXBean bean = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            final String value = bean.getVMOption(name).getValue();
+            if (defaultValue instanceof Boolean) {
+                return (T) Boolean.valueOf(value);
+            }
+            return (T) Integer.valueOf(value);
+        } catch (final RuntimeException ex) {
+            // Not a HotSpot JVM or unknown option
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Size and reference fields of a class.
+     */
+    private static final class ClassLayout {
+
+        private final long size;
+
+        private final Field[] fields;
+
+        /**
+         * Constructor with all data.
+         * 
+         * @param size
+         *            Aligned instance size.
+         * @param fields
+         *            Accessible non-static reference fields of the class and its superclasses or <code>null</code> if at least one
+         *            reference field cannot be read.
+         */
+        public ClassLayout(final long size, final Field[] fields) {
+            super();
+            this.size = size;
+            this.fields = fields;
+        }
+
+    }
+
+}
@@ -0,0 +1,258 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.fuin.utils4j.Utils4J;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Garbage collector activity while a piece of code was executed, based on the collection counts and times of the
+ * {@link GarbageCollectorMXBean}s and the usage of the old generation memory pools. The MX beans are JVM wide, so collections caused by
+ * other threads running at the same time are included.<br>
+ * <br>
+ * The full collectors are the HotSpot collectors that collect the whole heap: "MarkSweepCompact" (Serial), "PS MarkSweep" (Parallel),
+ * "G1 Old Generation", "ConcurrentMarkSweep", "ZGC Cycles" (non-generational ZGC), "ZGC Major Cycles" (generational ZGC) and
+ * "Shenandoah Cycles". The "... Pauses" beans of ZGC and Shenandoah report the pauses of the same cycles and are ignored, so every
+ * collection is counted only once.<br>
+ * <br>
+ * Old generation regions are also collected without a full collection, for example by the mixed collections of G1 that are reported by
+ * the "G1 Young Generation" bean. They are detected with the old generation pools: The collection usage of a pool (see
+ * {@link MemoryPoolMXBean#getCollectionUsage()}) only changes if a collection recycled the pool and the used memory of the pool only
+ * drops if objects in the pool were collected.
+ */
+public final class GcActivity {
+
+    private static final Set<String> FULL_COLLECTORS = Set.of("MarkSweepCompact", "PS MarkSweep", "G1 Old Generation",
+            "ConcurrentMarkSweep", "ZGC Cycles", "ZGC Major Cycles", "Shenandoah Cycles");
+
+    private static final String PAUSES_SUFFIX = " Pauses";
+
+    private static final Pattern OLD_POOL = Pattern.compile(".*(Old|Tenured).*");
+
+    private final Map<String, long[]> collectors;
+
+    private final long oldGenUsedBefore;
+
+    private final long oldGenUsedAfter;
+
+    private final boolean oldGenCollected;
+
+    /**
+     * Constructor with all data.
+     * 
+     * @param collectors
+     *            Number of collections and time in milliseconds by collector name.
+     * @param oldGenUsedBefore
+     *            Used old generation bytes before the code was executed.
+     * @param oldGenUsedAfter
+     *            Used old generation bytes after the code was executed.
+     * @param oldGenCollected
+     *            TRUE if a collection recycled an old generation pool while the code was executed.
+     */
+    public GcActivity(final Map<String, long[]> collectors, final long oldGenUsedBefore, final long oldGenUsedAfter,
+            final boolean oldGenCollected) {
+        super();
+        Utils4J.checkNotNull("collectors", collectors);
+        this.collectors = Collections.unmodifiableMap(new LinkedHashMap<>(collectors));
+        this.oldGenUsedBefore = oldGenUsedBefore;
+        this.oldGenUsedAfter = oldGenUsedAfter;
+        this.oldGenCollected = oldGenCollected;
+    }
+
+    /**
+     * Executes the code once and returns the garbage collector activity in the meantime.
+     * 
+     * @param code
+     *            Code to execute.
+     * 
+     * @return Collections and old generation usage.
+     */
+    public static GcActivity measure(final Runnable code) {
+        Utils4J.checkNotNull("code", code);
+        final Map<String, long[]> before = collectors();
+        final List<Long> collectionUsageBefore = oldGenCollectionUsage();
+        final long oldBefore = oldGenUsed();
+        code.run();
+        final long oldAfter = oldGenUsed();
+        final boolean oldCollected = !collectionUsageBefore.equals(oldGenCollectionUsage()) || oldAfter < oldBefore;
+        final Map<String, long[]> delta = new LinkedHashMap<>();
+        for (final Map.Entry<String, long[]> entry : collectors().entrySet()) {
+            final long[] start = before.getOrDefault(entry.getKey(), new long[2]);
+            final long count = entry.getValue()[0] - start[0];
+            if (count > 0) {
+                delta.put(entry.getKey(), new long[] { count, entry.getValue()[1] - start[1] });
+            }
+        }
+        return new GcActivity(delta, oldBefore, oldAfter, oldCollected);
+    }
+
+    /**
+     * Returns the number of collections.
+     * 
+     * @return Collections of all collectors.
+     */
+    public final long getCollections() {
+        long count = 0;
+        for (final long[] values : collectors.values()) {
+            count += values[0];
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of full (old generation) collections.
+     * 
+     * @return Collections of full collectors.
+     */
+    public final long getFullCollections() {
+        long count = 0;
+        for (final Map.Entry<String, long[]> entry : collectors.entrySet()) {
+            if (isFullCollector(entry.getKey())) {
+                count += entry.getValue()[0];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the accumulated collection time.
+     * 
+     * @return Time of all collectors in milliseconds.
+     */
+    public final long getTimeMillis() {
+        long time = 0;
+        for (final long[] values : collectors.values()) {
+            time += values[1];
+        }
+        return time;
+    }
+
+    /**
+     * Returns the used old generation memory before the code was executed.
+     * 
+     * @return Bytes or <code>-1</code> if the JVM has no old generation pool.
+     */
+    public final long getOldGenUsedBefore() {
+        return oldGenUsedBefore;
+    }
+
+    /**
+     * Returns the used old generation memory after the code was executed.
+     * 
+     * @return Bytes or <code>-1</code> if the JVM has no old generation pool.
+     */
+    public final long getOldGenUsedAfter() {
+        return oldGenUsedAfter;
+    }
+
+    /**
+     * Returns if old generation memory was collected. This is the case for every full collection and for incremental collections of
+     * old generation regions like the mixed collections of G1.
+     * 
+     * @return TRUE if a full collection happened or a collection recycled an old generation pool.
+     */
+    public final boolean isOldGenCollected() {
+        return oldGenCollected || getFullCollections() > 0;
+    }
+
+    @Override
+    public final String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(getCollections()).append(" collections (").append(getFullCollections()).append(" full) in ").append(getTimeMillis())
+                .append(" ms");
+        if (!collectors.isEmpty()) {
+            sb.append(" [");
+            int count = 0;
+            for (final Map.Entry<String, long[]> entry : collectors.entrySet()) {
+                if (count++ > 0) {
+                    sb.append(", ");
+                }
+                sb.append(entry.getKey()).append(": ").append(entry.getValue()[0]).append(" / ").append(entry.getValue()[1]).append(" ms");
+            }
+            sb.append(']');
+        }
+        if (oldGenUsedBefore >= 0) {
+            sb.append(String.format(Locale.ROOT, ", old gen %.1f -> %.1f MB", oldGenUsedBefore / 1048576.0, oldGenUsedAfter / 1048576.0));
+        }
+        if (oldGenCollected) {
+            sb.append(", old gen collected");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns if the collector with the given name collects the old generation.
+     * 
+     * @param name
+     *            Name of the garbage collector MX bean.
+     * 
+     * @return TRUE if it's a full collector.
+     */
+    static boolean isFullCollector(final String name) {
+        return FULL_COLLECTORS.contains(name);
+    }
+
+    private static Map<String, long[]> collectors() {
+        final Map<String, long[]> map = new LinkedHashMap<>();
+        for (final GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (bean.getName().endsWith(PAUSES_SUFFIX)) {
+                continue;
+            }
+            map.put(bean.getName(), new long[] { Math.max(0, bean.getCollectionCount()), Math.max(0, bean.getCollectionTime()) });
+        }
+        return map;
+    }
+
+    private static List<Long> oldGenCollectionUsage() {
+        final List<Long> list = new ArrayList<>();
+        for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && OLD_POOL.matcher(pool.getName()).matches()) {
+                final MemoryUsage usage = pool.getCollectionUsage();
+                if (usage != null) {
+                    list.add(usage.getUsed());
+                    list.add(usage.getCommitted());
+                }
+            }
+        }
+        return list;
+    }
+
+    private static long oldGenUsed() {
+        long used = -1;
+        for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && OLD_POOL.matcher(pool.getName()).matches()) {
+                used = Math.max(0, used) + pool.getUsage().getUsed();
+            }
+        }
+        return used;
+    }
+
+}
@@ -0,0 +1,242 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.fuin.utils4j.Utils4J;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Histogram of latencies in nanoseconds with a fixed relative precision of better than 1.6% and constant memory (about 30 KB). Values
+ * below 128 ns are stored exactly. Larger values are stored in 64 linear sub-buckets per power of two, so recording is a few shifts and
+ * an array increment. Percentiles are reported as the highest value of the bucket (never optimistic). The class is not thread-safe - use
+ * one histogram per thread and {@link #add(LatencyHistogram)} them.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 7;
+
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    private static final int HALF_COUNT = SUB_COUNT / 2;
+
+    private static final int BUCKET_COUNT = SUB_COUNT + (Long.SIZE - SUB_BITS) * HALF_COUNT;
+
+    private final long[] counts;
+
+    private long count;
+
+    private long min;
+
+    private long max;
+
+    private double sum;
+
+    /**
+     * Default constructor.
+     */
+    public LatencyHistogram() {
+        super();
+        this.counts = new long[BUCKET_COUNT];
+        this.min = Long.MAX_VALUE;
+        this.max = 0;
+    }
+
+    /**
+     * Records a latency.
+     * 
+     * @param nanos
+     *            Latency in nanoseconds - Negative values are recorded as zero.
+     */
+    public final void record(final long nanos) {
+        final long value = Math.max(0, nanos);
+        counts[bucket(value)]++;
+        count++;
+        sum += value;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * Records a latency and corrects for coordinated omission: If the latency is larger than the expected interval between two
+     * operations, the operations that would have been started in the meantime (and had to wait) are recorded as well with their
+     * decreasing latencies.
+     * 
+     * @param nanos
+     *            Latency in nanoseconds.
+     * @param expectedIntervalNanos
+     *            Expected time between the start of two operations in nanoseconds - Zero or less disables the correction.
+     */
+    public final void recordWithExpectedInterval(final long nanos, final long expectedIntervalNanos) {
+        record(nanos);
+        if (expectedIntervalNanos <= 0) {
+            return;
+        }
+        for (long missing = nanos - expectedIntervalNanos; missing >= expectedIntervalNanos; missing -= expectedIntervalNanos) {
+            record(missing);
+        }
+    }
+
+    /**
+     * Adds all values of another histogram.
+     * 
+     * @param other
+     *            Histogram to add.
+     */
+    public final void add(final LatencyHistogram other) {
+        Utils4J.checkNotNull("other", other);
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Returns the number of recorded values.
+     * 
+     * @return Count.
+     */
+    public final long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the smallest recorded value.
+     * 
+     * @return Minimum in nanoseconds or zero if nothing was recorded.
+     */
+    public final long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    /**
+     * Returns the largest recorded value.
+     * 
+     * @return Maximum in nanoseconds.
+     */
+    public final long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the arithmetic mean of all recorded values.
+     * 
+     * @return Mean in nanoseconds or zero if nothing was recorded.
+     */
+    public final double getMean() {
+        return count == 0 ? 0.0 : sum / count;
+    }
+
+    /**
+     * Returns the value at a given percentile.
+     * 
+     * @param percentile
+     *            Percentile between 0 and 100 like 99.9.
+     * 
+     * @return Value in nanoseconds that is larger or equal than the given percentage of all values or zero if nothing was recorded.
+     */
+    public final long getValueAtPercentile(final double percentile) {
+        if (percentile < 0.0 || percentile > 100.0) {
+            throw new IllegalArgumentException("Expected a percentile between 0 and 100, but was: " + percentile);
+        }
+        if (count == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(max, highestValue(i));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the value at a given percentile as duration.
+     * 
+     * @param percentile
+     *            Percentile between 0 and 100 like 99.9.
+     * 
+     * @return Duration.
+     */
+    public final Duration getDurationAtPercentile(final double percentile) {
+        return Duration.ofNanos(getValueAtPercentile(percentile));
+    }
+
+    /**
+     * Returns a short summary with count, mean, the typical percentiles and the maximum in microseconds.
+     * 
+     * @return Summary.
+     */
+    public final String summary() {
+        return String.format(Locale.ROOT, "count=%d, mean=%.1f us, p50=%.1f us, p99=%.1f us, p999=%.1f us, max=%.1f us", count,
+                getMean() / 1000.0, getValueAtPercentile(50) / 1000.0, getValueAtPercentile(99) / 1000.0,
+                getValueAtPercentile(99.9) / 1000.0, max / 1000.0);
+    }
+
+    @Override
+    public final String toString() {
+        return summary();
+    }
+
+    /**
+     * Returns the bucket for a value.
+     * 
+     * @param value
+     *            Non-negative value.
+     * 
+     * @return Bucket index.
+     */
+    static int bucket(final long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        final int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - (SUB_BITS - 1);
+        return SUB_COUNT + (shift - 1) * HALF_COUNT + (int) ((value >>> shift) - HALF_COUNT);
+    }
+
+    /**
+     * Returns the highest value that is stored in a bucket.
+     * 
+     * @param bucket
+     *            Bucket index.
+     * 
+     * @return Highest value.
+     */
+    static long highestValue(final int bucket) {
+        if (bucket < SUB_COUNT) {
+            return bucket;
+        }
+        final int k = bucket - SUB_COUNT;
+        final int shift = k / HALF_COUNT + 1;
+        final long mantissa = k % HALF_COUNT + HALF_COUNT;
+        final long high = ((mantissa + 1) << shift) - 1;
+        return high < 0 ? Long.MAX_VALUE : high;
+    }
+
+}
@@ -0,0 +1,139 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.fuin.utils4j.Utils4J;
+
+import java.util.Locale;
+
+/**
+ * Result of a load test: Number of operations and failures, elapsed time and the latency histogram.
+ */
+public final class LoadResult {
+
+    private final LatencyHistogram histogram;
+
+    private final long operations;
+
+    private final long failures;
+
+    private final long elapsedNanos;
+
+    private final String firstFailure;
+
+    /**
+     * Constructor with all data.
+     * 
+     * @param histogram
+     *            Latencies of all measured operations.
+     * @param operations
+     *            Number of measured operations.
+     * @param failures
+     *            Number of operations that were not successful or threw an exception.
+     * @param elapsedNanos
+     *            Duration of the measurement in nanoseconds.
+     * @param firstFailure
+     *            Description of the first failure or <code>null</code> if there was no failure.
+     */
+    public LoadResult(final LatencyHistogram histogram, final long operations, final long failures, final long elapsedNanos,
+            final String firstFailure) {
+        super();
+        Utils4J.checkNotNull("histogram", histogram);
+        this.histogram = histogram;
+        this.operations = operations;
+        this.failures = failures;
+        this.elapsedNanos = elapsedNanos;
+        this.firstFailure = firstFailure;
+    }
+
+    /**
+     * Returns the latency histogram.
+     * 
+     * @return Latencies of all measured operations.
+     */
+    public final LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    /**
+     * Returns the number of measured operations.
+     * 
+     * @return Operations without warmup.
+     */
+    public final long getOperations() {
+        return operations;
+    }
+
+    /**
+     * Returns the number of failed operations.
+     * 
+     * @return Operations that were not successful or threw an exception.
+     */
+    public final long getFailures() {
+        return failures;
+    }
+
+    /**
+     * Returns the duration of the measurement.
+     * 
+     * @return Elapsed time without warmup in nanoseconds.
+     */
+    public final long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the description of the first failure.
+     * 
+     * @return Failure description, exception or <code>null</code> if there was no failure.
+     */
+    public final String getFirstFailure() {
+        return firstFailure;
+    }
+
+    /**
+     * Returns the throughput.
+     * 
+     * @return Operations per second.
+     */
+    public final double getThroughput() {
+        if (elapsedNanos <= 0) {
+            return 0.0;
+        }
+        return operations * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Returns the failure rate.
+     * 
+     * @return Failed operations divided by all operations (0..1).
+     */
+    public final double getFailureRate() {
+        if (operations == 0) {
+            return 0.0;
+        }
+        return (double) failures / operations;
+    }
+
+    @Override
+    public final String toString() {
+        return String.format(Locale.ROOT, "%d operations in %.3f s (%.1f ops/s), %d failures - %s", operations,
+                elapsedNanos / 1_000_000_000.0, getThroughput(), failures, histogram.summary());
+    }
+
+}
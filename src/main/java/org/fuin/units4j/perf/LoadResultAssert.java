@@ -0,0 +1,184 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.assertj.core.api.AbstractAssert;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Assertions on the {@link LoadResult} of a load test.
+ * 
+ * <pre>
+ * assertThat(result).hasNoFailures().throughputIsAtLeast(900).p99IsAtMost(Duration.ofMillis(5));
+ * </pre>
+ */
+public final class LoadResultAssert extends AbstractAssert<LoadResultAssert, LoadResult> {
+
+    /**
+     * Constructor to build assertion class with the object we want to make assertions on.
+     * 
+     * @param actual
+     *            Result to use.
+     */
+    public LoadResultAssert(final LoadResult actual) {
+        super(actual, LoadResultAssert.class);
+    }
+
+    /**
+     * Fluent entry point to assertion class, use it with static import.
+     * 
+     * @param actual
+     *            Result to use.
+     * 
+     * @return New assertion instance.
+     */
+    public static LoadResultAssert assertThat(final LoadResult actual) {
+        return new LoadResultAssert(actual);
+    }
+
+    /**
+     * Verifies that the throughput is at least the given number of operations per second.
+     * 
+     * @param opsPerSecond
+     *            Minimum throughput.
+     * 
+     * @return Self.
+     */
+    public LoadResultAssert throughputIsAtLeast(final double opsPerSecond) {
+        isNotNull();
+        if (actual.getThroughput() < opsPerSecond) {
+            failWithMessage("Expected a throughput of at least %s ops/s, but was %s ops/s (%s)", format(opsPerSecond),
+                    format(actual.getThroughput()), actual);
+        }
+        return this;
+    }
+
+    /**
+     * Verifies that no operation failed.
+     * 
+     * @return Self.
+     */
+    public LoadResultAssert hasNoFailures() {
+        isNotNull();
+        if (actual.getFailures() > 0) {
+            failWithMessage("Expected no failures, but %s of %s operations failed. First failure: %s", actual.getFailures(),
+                    actual.getOperations(), actual.getFirstFailure());
+        }
+        return this;
+    }
+
+    /**
+     * Verifies that the failure rate is at most the given value.
+     * 
+     * @param rate
+     *            Maximum failure rate (0..1).
+     * 
+     * @return Self.
+     */
+    public LoadResultAssert failureRateIsAtMost(final double rate) {
+        isNotNull();
+        if (actual.getFailureRate() > rate) {
+            failWithMessage("Expected a failure rate of at most %s, but was %s. First failure: %s", percent(rate),
+                    percent(actual.getFailureRate()), actual.getFirstFailure());
+        }
+        return this;
+    }
+
+    /**
+     * Verifies that the latency at a given percentile is at most the given duration.
+     * 
+     * @param percentile
+     *            Percentile between 0 and 100 like 99.9.
+     * @param max
+     *            Maximum latency.
+     * 
+     * @return Self.
+     */
+    public LoadResultAssert percentileIsAtMost(final double percentile, final Duration max) {
+        isNotNull();
+        final long nanos = actual.getHistogram().getValueAtPercentile(percentile);
+        if (nanos > max.toNanos()) {
+            failWithMessage("Expected p%s latency to be at most %s us, but was %s us (%s)", format(percentile), micros(max.toNanos()),
+                    micros(nanos), actual);
+        }
+        return this;
+    }
+
+    /**
+     * Verifies that the median latency is at most the given duration.
+     * 
+     * @param max
+     *            Maximum latency.
+     * 
+     * @return Self.
+     */
+    public LoadResultAssert p50IsAtMost(final Duration max) {
+        return percentileIsAtMost(50.0, max);
+    }
+
+    /**
+     * Verifies that the 99th percentile latency is at most the given duration.
+     * 
+     * @param max
+     *            Maximum latency.
+     * 
+     * @return Self.
+     */
+    public LoadResultAssert p99IsAtMost(final Duration max) {
+        return percentileIsAtMost(99.0, max);
+    }
+
+    /**
+     * Verifies that the 99.9th percentile latency is at most the given duration.
+     * 
+     * @param max
+     *            Maximum latency.
+     * 
+     * @return Self.
+     */
+    public LoadResultAssert p999IsAtMost(final Duration max) {
+        return percentileIsAtMost(99.9, max);
+    }
+
+    /**
+     * Verifies that the maximum latency is at most the given duration.
+     * 
+     * @param max
+     *            Maximum latency.
+     * 
+     * @return Self.
+     */
+    public LoadResultAssert maxIsAtMost(final Duration max) {
+        return percentileIsAtMost(100.0, max);
+    }
+
+    private static String format(final double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    private static String percent(final double rate) {
+        return String.format(Locale.ROOT, "%.3f%%", rate * 100.0);
+    }
+
+    private static String micros(final long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1000.0);
+    }
+
+}
@@ -0,0 +1,187 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.fuin.utils4j.Utils4J;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Lightweight in-process timing of a piece of code for regression checks in ordinary unit tests. This is not a replacement for
+ * <a href="https://github.com/openjdk/jmh">JMH</a>: All rounds run in the same JVM and every invocation is timed with
+ * {@link System#nanoTime()}, so only code that runs at least some hundred nanoseconds can be measured meaningfully.<br>
+ * <br>
+ * The code is first executed for warmup (JIT compilation, class loading). Then a number of rounds is measured, each with the given number
+ * of timed invocations. Results of a {@link #measure(Supplier) supplier} are consumed by a {@link Blackhole}.
+ */
+public final class TimingHarness {
+
+    /** Default number of invocations before measuring. */
+    public static final int DEFAULT_WARMUP_ITERATIONS = 10_000;
+
+    /** Default number of measured invocations per round. */
+    public static final int DEFAULT_ITERATIONS = 1_000;
+
+    /** Default number of measured rounds. */
+    public static final int DEFAULT_ROUNDS = 5;
+
+    private final Blackhole blackhole;
+
+    private int warmupIterations;
+
+    private int iterations;
+
+    private int rounds;
+
+    /**
+     * Default constructor.
+     */
+    public TimingHarness() {
+        super();
+        this.blackhole = new Blackhole();
+        this.warmupIterations = DEFAULT_WARMUP_ITERATIONS;
+        this.iterations = DEFAULT_ITERATIONS;
+        this.rounds = DEFAULT_ROUNDS;
+    }
+
+    /**
+     * Sets the number of invocations before measuring.
+     * 
+     * @param warmupIterations
+     *            Number of unmeasured invocations.
+     * 
+     * @return Self.
+     */
+    public final TimingHarness warmupIterations(final int warmupIterations) {
+        if (warmupIterations < 0) {
+            throw new IllegalArgumentException("Expected warmup iterations that are not negative, but was: " + warmupIterations);
+        }
+        this.warmupIterations = warmupIterations;
+        return this;
+    }
+
+    /**
+     * Sets the number of measured invocations per round.
+     * 
+     * @param iterations
+     *            Number of measured invocations.
+     * 
+     * @return Self.
+     */
+    public final TimingHarness iterations(final int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Expected at least one iteration, but was: " + iterations);
+        }
+        this.iterations = iterations;
+        return this;
+    }
+
+    /**
+     * Sets the number of measured rounds.
+     * 
+     * @param rounds
+     *            Number of rounds.
+     * 
+     * @return Self.
+     */
+    public final TimingHarness rounds(final int rounds) {
+        if (rounds < 1) {
+            throw new IllegalArgumentException("Expected at least one round, but was: " + rounds);
+        }
+        this.rounds = rounds;
+        return this;
+    }
+
+    /**
+     * Returns the blackhole that consumes the results.
+     * 
+     * @return Blackhole used by this harness.
+     */
+    public final Blackhole getBlackhole() {
+        return blackhole;
+    }
+
+    /**
+     * Measures the code and consumes every result.
+     * 
+     * @param code
+     *            Code to measure.
+     * 
+     * @return Result.
+     */
+    public final TimingResult measure(final Supplier<?> code) {
+        Utils4J.checkNotNull("code", code);
+        return measure(() -> blackhole.consume(code.get()));
+    }
+
+    /**
+     * Measures the code.
+     * 
+     * @param code
+     *            Code to measure.
+     * 
+     * @return Result.
+     */
+    public final TimingResult measure(final Runnable code) {
+        Utils4J.checkNotNull("code", code);
+        for (int i = 0; i < warmupIterations; i++) {
+            code.run();
+        }
+        final List<LatencyHistogram> histograms = new ArrayList<>(rounds);
+        final long[] samples = new long[iterations];
+        long outliers = 0;
+        for (int round = 0; round < rounds; round++) {
+            for (int i = 0; i < iterations; i++) {
+                final long start = System.nanoTime();
+                code.run();
+                samples[i] = System.nanoTime() - start;
+            }
+            final LatencyHistogram histogram = new LatencyHistogram();
+            for (final long sample : samples) {
+                histogram.record(sample);
+            }
+            histograms.add(histogram);
+            outliers += countOutliers(samples);
+        }
+        return new TimingResult(histograms, outliers);
+    }
+
+    /**
+     * Counts the samples above the Tukey "far out" fence Q3 + 3 * IQR. The array is sorted by this method.
+     * 
+     * @param samples
+     *            Samples to check.
+     * 
+     * @return Number of outliers.
+     */
+    static int countOutliers(final long[] samples) {
+        Arrays.sort(samples);
+        final long q1 = samples[(samples.length - 1) / 4];
+        final long q3 = samples[(samples.length - 1) * 3 / 4];
+        final long fence = q3 + 3 * (q3 - q1);
+        int count = 0;
+        for (int i = samples.length - 1; i >= 0 && samples[i] > fence; i--) {
+            count++;
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.fuin.utils4j.Utils4J;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Result of a {@link TimingHarness} measurement with one latency histogram per round.<br>
+ * <br>
+ * A single round disturbed by a garbage collection or a noisy neighbour on the build machine should not fail a test. Therefore the
+ * percentiles are the median of the percentiles of all rounds. Samples above the Tukey "far out" fence (Q3 + 3 * IQR) of their round are
+ * counted as outliers for the report.
+ */
+public final class TimingResult {
+
+    private final List<LatencyHistogram> rounds;
+
+    private final long outliers;
+
+    /**
+     * Constructor with all data.
+     * 
+     * @param rounds
+     *            Latencies of every round - Cannot be empty.
+     * @param outliers
+     *            Number of samples above the Tukey fence of their round.
+     */
+    public TimingResult(final List<LatencyHistogram> rounds, final long outliers) {
+        super();
+        Utils4J.checkNotNull("rounds", rounds);
+        if (rounds.isEmpty()) {
+            throw new IllegalArgumentException("Expected at least one round");
+        }
+        this.rounds = Collections.unmodifiableList(rounds);
+        this.outliers = outliers;
+    }
+
+    /**
+     * Returns the latency histograms of the rounds.
+     * 
+     * @return Unmodifiable list with one histogram per round.
+     */
+    public final List<LatencyHistogram> getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Returns the number of outliers.
+     * 
+     * @return Samples above the Tukey fence of their round.
+     */
+    public final long getOutliers() {
+        return outliers;
+    }
+
+    /**
+     * Returns the total number of samples.
+     * 
+     * @return Samples of all rounds.
+     */
+    public final long getCount() {
+        long count = 0;
+        for (final LatencyHistogram round : rounds) {
+            count += round.getCount();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the median of the given percentile over all rounds.
+     * 
+     * @param percentile
+     *            Percentile between 0 and 100 like 99.9.
+     * 
+     * @return Latency in nanoseconds.
+     */
+    public final long getValueAtPercentile(final double percentile) {
+        final long[] values = new long[rounds.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = rounds.get(i).getValueAtPercentile(percentile);
+        }
+        Arrays.sort(values);
+        final int middle = values.length / 2;
+        if (values.length % 2 == 1) {
+            return values[middle];
+        }
+        return (values[middle - 1] + values[middle]) / 2;
+    }
+
+    /**
+     * Returns a short description of the result.
+     * 
+     * @return Percentiles, rounds and outliers.
+     */
+    public final String summary() {
+        return String.format(Locale.ROOT, "p50=%.3f us, p99=%.3f us, p999=%.3f us, rounds=%d, samples=%d, outliers=%d",
+                getValueAtPercentile(50.0) / 1000.0, getValueAtPercentile(99.0) / 1000.0, getValueAtPercentile(99.9) / 1000.0,
+                rounds.size(), getCount(), outliers);
+    }
+
+    @Override
+    public final String toString() {
+        return summary();
+    }
+
+}
@@ -0,0 +1,7 @@
+// CHECKSTYLE:OFF
+/**
+ * Measuring and asserting performance characteristics like latency, throughput and memory usage inside ordinary unit tests.
+ */
+package org.fuin.units4j.perf;
+
+// CHECKSTYLE:OFF
@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.scan;
+
+/**
+ * Receives notifications while class files are scanned by one of the analyzers or assertions. All methods have an empty default
+ * implementation, so an implementation only needs to override the events it is interested in. Implementations must be thread safe if the
+ * same instance is used by concurrently running scans.
+ */
+public interface ScanListener {
+
+    /** Listener that ignores all events. */
+    ScanListener NONE = new ScanListener() {
+    };
+
+    /**
+     * A file or JAR entry to scan was found.
+     * 
+     * @param source
+     *            Path of the file or "jar-path!entry-name" for an entry in a JAR file.
+     */
+    default void fileDiscovered(final String source) {
+    }
+
+    /**
+     * The content of a file or JAR entry was read.
+     * 
+     * @param source
+     *            Path of the file or "jar-path!entry-name" for an entry in a JAR file.
+     * @param bytes
+     *            Number of bytes read.
+     * @param nanos
+     *            Time it took to read the content in nanoseconds.
+     */
+    default void bytesRead(final String source, final long bytes, final long nanos) {
+    }
+
+    /**
+     * A class was parsed.
+     * 
+     * @param className
+     *            Full qualified name of the class.
+     * @param nanos
+     *            Time it took to parse the class in nanoseconds.
+     */
+    default void classParsed(final String className, final long nanos) {
+    }
+
+    /**
+     * A rule was evaluated.
+     * 
+     * @param rule
+     *            Name of the rule.
+     * @param target
+     *            Name of the class, method or field the rule was evaluated for.
+     * @param valid
+     *            <code>true</code> if the target observes the rule, else <code>false</code>.
+     * @param nanos
+     *            Time it took to evaluate the rule in nanoseconds.
+     */
+    default void ruleEvaluated(final String rule, final String target, final boolean valid, final long nanos) {
+    }
+
+}
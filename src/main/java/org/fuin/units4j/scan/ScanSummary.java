@@ -0,0 +1,378 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.scan;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread safe listener that sums up all events and keeps track of the slowest classes and rules. Only the configured number of slowest
+ * classes is kept in memory, so the summary can also be used for very large scans.
+ * 
+ * <pre>
+ * final ScanSummary summary = new ScanSummary();
+ * final DependencyAnalyzer analyzer = new DependencyAnalyzer(file);
+ * analyzer.setScanListener(summary);
+ * analyzer.analyze(classesDir);
+ * System.out.println(summary.report());
+ * </pre>
+ */
+public final class ScanSummary implements ScanListener {
+
+    /** Default number of slowest classes and rules to keep. */
+    public static final int DEFAULT_LIMIT = 10;
+
+    private static final Comparator<ClassTiming> CLASS_ORDER = Comparator.comparingLong(ClassTiming::getNanos);
+
+    private final int limit;
+
+    private final LongAdder files;
+
+    private final LongAdder bytes;
+
+    private final LongAdder readNanos;
+
+    private final LongAdder classes;
+
+    private final LongAdder parseNanos;
+
+    private final PriorityQueue<ClassTiming> slowestClasses;
+
+    private final ConcurrentMap<String, RuleStats> rules;
+
+    /**
+     * Default constructor that keeps the {@link #DEFAULT_LIMIT} slowest classes and rules.
+     */
+    public ScanSummary() {
+        this(DEFAULT_LIMIT);
+    }
+
+    /**
+     * Constructor with the number of slowest classes and rules to keep.
+     * 
+     * @param limit
+     *            Maximum number of slowest classes and rules to report.
+     */
+    public ScanSummary(final int limit) {
+        super();
+        if (limit < 1) {
+            throw new IllegalArgumentException("Argument 'limit' must be greater than zero, but was: " + limit);
+        }
+        this.limit = limit;
+        this.files = new LongAdder();
+        this.bytes = new LongAdder();
+        this.readNanos = new LongAdder();
+        this.classes = new LongAdder();
+        this.parseNanos = new LongAdder();
+        this.slowestClasses = new PriorityQueue<>(CLASS_ORDER);
+        this.rules = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public final void fileDiscovered(final String source) {
+        files.increment();
+    }
+
+    @Override
+    public final void bytesRead(final String source, final long count, final long nanos) {
+        bytes.add(count);
+        readNanos.add(nanos);
+    }
+
+    @Override
+    public final void classParsed(final String className, final long nanos) {
+        classes.increment();
+        parseNanos.add(nanos);
+        synchronized (slowestClasses) {
+            if (slowestClasses.size() < limit) {
+                slowestClasses.add(new ClassTiming(className, nanos));
+            } else if (slowestClasses.peek().getNanos() < nanos) {
+                slowestClasses.poll();
+                slowestClasses.add(new ClassTiming(className, nanos));
+            }
+        }
+    }
+
+    @Override
+    public final void ruleEvaluated(final String rule, final String target, final boolean valid, final long nanos) {
+        final RuleStats stats = rules.computeIfAbsent(rule, key -> new RuleStats());
+        stats.count.increment();
+        stats.nanos.add(nanos);
+        if (!valid) {
+            stats.failures.increment();
+        }
+    }
+
+    /**
+     * Returns the number of discovered files and JAR entries.
+     * 
+     * @return Number of files.
+     */
+    public final long getFiles() {
+        return files.sum();
+    }
+
+    /**
+     * Returns the number of bytes read.
+     * 
+     * @return Total bytes.
+     */
+    public final long getBytes() {
+        return bytes.sum();
+    }
+
+    /**
+     * Returns the time spent reading files.
+     * 
+     * @return Total read time in nanoseconds.
+     */
+    public final long getReadNanos() {
+        return readNanos.sum();
+    }
+
+    /**
+     * Returns the number of parsed classes.
+     * 
+     * @return Number of classes.
+     */
+    public final long getClasses() {
+        return classes.sum();
+    }
+
+    /**
+     * Returns the time spent parsing classes.
+     * 
+     * @return Total parse time in nanoseconds.
+     */
+    public final long getParseNanos() {
+        return parseNanos.sum();
+    }
+
+    /**
+     * Returns the slowest classes.
+     * 
+     * @return Classes ordered by parse time (slowest first) - Never <code>null</code>.
+     */
+    @NotNull
+    public final List<ClassTiming> getSlowestClasses() {
+        final List<ClassTiming> list;
+        synchronized (slowestClasses) {
+            list = new ArrayList<>(slowestClasses);
+        }
+        list.sort(CLASS_ORDER.reversed());
+        return list;
+    }
+
+    /**
+     * Returns the slowest rules.
+     * 
+     * @return Rules ordered by the total evaluation time (slowest first) - Never <code>null</code>.
+     */
+    @NotNull
+    public final List<RuleTiming> getSlowestRules() {
+        final List<RuleTiming> list = new ArrayList<>();
+        rules.forEach((name, stats) -> list.add(new RuleTiming(name, stats.count.sum(), stats.failures.sum(), stats.nanos.sum())));
+        list.sort(Comparator.comparingLong(RuleTiming::getNanos).reversed());
+        return list.size() > limit ? new ArrayList<>(list.subList(0, limit)) : list;
+    }
+
+    /**
+     * Creates a human readable report with the totals and the slowest classes and rules.
+     * 
+     * @return Multi line report.
+     */
+    @NotNull
+    public final String report() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("Scanned ").append(getFiles()).append(" files (").append(getBytes()).append(" bytes) - read ").append(ms(getReadNanos()))
+                .append(" ms, parsed ").append(getClasses()).append(" classes in ").append(ms(getParseNanos())).append(" ms\n");
+        final List<ClassTiming> slowClasses = getSlowestClasses();
+        if (!slowClasses.isEmpty()) {
+            sb.append("Slowest classes:\n");
+            for (final ClassTiming timing : slowClasses) {
+                sb.append(String.format(Locale.ROOT, "%12s ms  %s\n", ms(timing.getNanos()), timing.getClassName()));
+            }
+        }
+        final List<RuleTiming> slowRules = getSlowestRules();
+        if (!slowRules.isEmpty()) {
+            sb.append("Slowest rules:\n");
+            for (final RuleTiming timing : slowRules) {
+                sb.append(String.format(Locale.ROOT, "%12s ms  %s (%d evaluations, %d failed)\n", ms(timing.getNanos()), timing.getRule(),
+                        timing.getCount(), timing.getFailures()));
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public final String toString() {
+        return report();
+    }
+
+    private static String ms(final long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Counters for a single rule.
+     */
+    private static final class RuleStats {
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder failures = new LongAdder();
+
+        private final LongAdder nanos = new LongAdder();
+
+    }
+
+    /**
+     * Time it took to parse a class.
+     */
+    public static final class ClassTiming {
+
+        private final String className;
+
+        private final long nanos;
+
+        /**
+         * Constructor with all data.
+         * 
+         * @param className
+         *            Full qualified name of the class.
+         * @param nanos
+         *            Parse time in nanoseconds.
+         */
+        public ClassTiming(@NotNull final String className, final long nanos) {
+            super();
+            this.className = className;
+            this.nanos = nanos;
+        }
+
+        /**
+         * Returns the name of the class.
+         * 
+         * @return Full qualified name.
+         */
+        @NotNull
+        public final String getClassName() {
+            return className;
+        }
+
+        /**
+         * Returns the parse time.
+         * 
+         * @return Time in nanoseconds.
+         */
+        public final long getNanos() {
+            return nanos;
+        }
+
+        @Override
+        public final String toString() {
+            return className + "=" + ms(nanos) + " ms";
+        }
+
+    }
+
+    /**
+     * Summed up evaluation times of a rule.
+     */
+    public static final class RuleTiming {
+
+        private final String rule;
+
+        private final long count;
+
+        private final long failures;
+
+        private final long nanos;
+
+        /**
+         * Constructor with all data.
+         * 
+         * @param rule
+         *            Name of the rule.
+         * @param count
+         *            Number of evaluations.
+         * @param failures
+         *            Number of evaluations with an invalid result.
+         * @param nanos
+         *            Total evaluation time in nanoseconds.
+         */
+        public RuleTiming(@NotNull final String rule, final long count, final long failures, final long nanos) {
+            super();
+            this.rule = rule;
+            this.count = count;
+            this.failures = failures;
+            this.nanos = nanos;
+        }
+
+        /**
+         * Returns the name of the rule.
+         * 
+         * @return Rule name.
+         */
+        @NotNull
+        public final String getRule() {
+            return rule;
+        }
+
+        /**
+         * Returns the number of evaluations.
+         * 
+         * @return Evaluation count.
+         */
+        public final long getCount() {
+            return count;
+        }
+
+        /**
+         * Returns the number of failed evaluations.
+         * 
+         * @return Number of invalid results.
+         */
+        public final long getFailures() {
+            return failures;
+        }
+
+        /**
+         * Returns the total evaluation time.
+         * 
+         * @return Time in nanoseconds.
+         */
+        public final long getNanos() {
+            return nanos;
+        }
+
+        @Override
+        public final String toString() {
+            return rule + "=" + ms(nanos) + " ms";
+        }
+
+    }
+
+}
@@ -0,0 +1,7 @@
+// CHECKSTYLE:OFF
+/**
+ * Instrumentation of the class scanning done by the analyzers and assertions to find out where the time is spent.
+ */
+package org.fuin.units4j.scan;
+
+// CHECKSTYLE:OFF
@@ -0,0 +1,11 @@
+// CHECKSTYLE:OFF
+package dummy.cycle.a;
+
+public class CycleA {
+
+    public dummy.cycle.b.CycleB b() {
+        return new dummy.cycle.b.CycleB();
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,11 @@
+// CHECKSTYLE:OFF
+package dummy.cycle.b;
+
+public class CycleB {
+
+    public dummy.cycle.a.CycleA a() {
+        return new dummy.cycle.a.CycleA();
+    }
+
+}
+// CHECKSTYLE:ON
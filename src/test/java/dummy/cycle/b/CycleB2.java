@@ -0,0 +1,11 @@
+// CHECKSTYLE:OFF
+package dummy.cycle.b;
+
+public class CycleB2 {
+
+    public void doNothing(final dummy.cycle.a.CycleA a) {
+        // Do nothing
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,11 @@
+// CHECKSTYLE:OFF
+package dummy.cycle.c;
+
+public class CycleC {
+
+    public dummy.cycle.a.CycleA a() {
+        return new dummy.cycle.a.CycleA();
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,9 @@
+// CHECKSTYLE:OFF
+package dummy.cycle.d;
+
+public class CycleD {
+
+    private dummy.cycle.e.CycleE e;
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,9 @@
+// CHECKSTYLE:OFF
+package dummy.cycle.e;
+
+public class CycleE {
+
+    private dummy.cycle.f.CycleF f;
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,9 @@
+// CHECKSTYLE:OFF
+package dummy.cycle.f;
+
+public class CycleF {
+
+    private dummy.cycle.d.CycleD d;
+
+}
+// CHECKSTYLE:ON
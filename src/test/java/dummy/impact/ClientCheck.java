@@ -0,0 +1,13 @@
+// CHECKSTYLE:OFF
+package dummy.impact;
+
+import dummy.metrics.client.Client;
+
+public class ClientCheck {
+
+    public void check() {
+        new Client(null).run();
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,13 @@
+// CHECKSTYLE:OFF
+package dummy.impact;
+
+import dummy.metrics.util.Helper;
+
+public class HelperCheck {
+
+    public void check() {
+        Helper.help("x");
+    }
+
+}
+// CHECKSTYLE:ON
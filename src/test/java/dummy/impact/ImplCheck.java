@@ -0,0 +1,13 @@
+// CHECKSTYLE:OFF
+package dummy.impact;
+
+import dummy.metrics.impl.ServiceImpl;
+
+public class ImplCheck {
+
+    public void check() {
+        new ServiceImpl().execute();
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,17 @@
+// CHECKSTYLE:OFF
+package dummy.impact;
+
+import dummy.metrics.client.Client;
+
+public class NestedCheck {
+
+    public class Inner {
+
+        public void check() {
+            new Client(null).run();
+        }
+
+    }
+
+}
+// CHECKSTYLE:ON
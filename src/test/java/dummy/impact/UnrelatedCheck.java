@@ -0,0 +1,11 @@
+// CHECKSTYLE:OFF
+package dummy.impact;
+
+public class UnrelatedCheck {
+
+    public void check() {
+        System.out.println("unrelated");
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,9 @@
+// CHECKSTYLE:OFF
+package dummy.metrics.api;
+
+public abstract class AbstractService implements Service {
+
+    protected abstract String name();
+
+}
+// CHECKSTYLE:ON
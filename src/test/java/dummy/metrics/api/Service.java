@@ -0,0 +1,9 @@
+// CHECKSTYLE:OFF
+package dummy.metrics.api;
+
+public interface Service {
+
+    void execute();
+
+}
+// CHECKSTYLE:ON
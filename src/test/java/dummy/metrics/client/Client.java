@@ -0,0 +1,19 @@
+// CHECKSTYLE:OFF
+package dummy.metrics.client;
+
+import dummy.metrics.api.Service;
+
+public class Client {
+
+    private final Service service;
+
+    public Client(Service service) {
+        this.service = service;
+    }
+
+    public void run() {
+        service.execute();
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,20 @@
+// CHECKSTYLE:OFF
+package dummy.metrics.impl;
+
+import dummy.metrics.api.AbstractService;
+import dummy.metrics.util.Helper;
+
+public class ServiceImpl extends AbstractService {
+
+    @Override
+    public void execute() {
+        Helper.help(name());
+    }
+
+    @Override
+    protected String name() {
+        return "impl";
+    }
+
+}
+// CHECKSTYLE:ON
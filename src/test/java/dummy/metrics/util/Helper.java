@@ -0,0 +1,11 @@
+// CHECKSTYLE:OFF
+package dummy.metrics.util;
+
+public class Helper {
+
+    public static String help(String name) {
+        return name;
+    }
+
+}
+// CHECKSTYLE:ON
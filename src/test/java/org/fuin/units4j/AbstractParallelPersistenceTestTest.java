@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// CHECKSTYLE:OFF Test code
+public class AbstractParallelPersistenceTestTest extends AbstractParallelPersistenceTest {
+
+    @Override
+    protected String getPersistenceUnitName() {
+        return "parallelPU";
+    }
+
+    @Test
+    public final void testPersistence() {
+
+        // PREPARE
+        beginTransaction();
+        getEm().persist(new MyTestClass(1, "John Doe"));
+        commitTransaction();
+
+        // TEST
+        getEm().clear();
+        final MyTestClass john = getEm().find(MyTestClass.class, 1);
+
+        // VERIFY
+        assertThat(john).isNotNull();
+        assertThat(john.getName()).isEqualTo("John Doe");
+
+        // CLEANUP
+        beginTransaction();
+        getEm().remove(john);
+        commitTransaction();
+
+    }
+
+    @Test
+    public final void testDatabasePerThread() throws Exception {
+
+        // PREPARE
+        beginTransaction();
+        getEm().persist(new MyTestClass(10, "Own"));
+        commitTransaction();
+        final EntityManagerFactory own = entityManagerFactory(getPersistenceUnitName());
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+
+            // TEST
+            final Future<String> other = executor.submit(() -> {
+                final EntityManagerFactory emf = entityManagerFactory(getPersistenceUnitName());
+                try {
+                    assertThat(entityManagerFactory(getPersistenceUnitName())).isSameAs(emf);
+                    assertThat(emf).isNotSameAs(own);
+                    assertThat(emf.getProperties().get(JDBC_URL)).isNotEqualTo(own.getProperties().get(JDBC_URL));
+                    final EntityManager em = emf.createEntityManager();
+                    try {
+                        // Entity of the other worker is not visible
+                        assertThat(em.find(MyTestClass.class, 10)).isNull();
+                        em.getTransaction().begin();
+                        em.persist(new MyTestClass(11, "Other"));
+                        em.getTransaction().commit();
+                        return em.find(MyTestClass.class, 11).getName();
+                    } finally {
+                        em.close();
+                    }
+                } finally {
+                    emf.close();
+                }
+            });
+
+            // VERIFY
+            assertThat(other.get()).isEqualTo("Other");
+            assertThat(entityManagerFactory(getPersistenceUnitName())).isSameAs(own);
+            assertThat("" + own.getProperties().get(JDBC_URL)).startsWith("jdbc:hsqldb:mem:unit-testing-jpa-parallel-");
+            getEm().clear();
+            assertThat(getEm().find(MyTestClass.class, 11)).isNull();
+            assertThat(getEm().find(MyTestClass.class, 10)).isNotNull();
+
+        } finally {
+            executor.shutdown();
+            beginTransaction();
+            getEm().remove(getEm().find(MyTestClass.class, 10));
+            commitTransaction();
+        }
+
+    }
+
+}
+// CHECKSTYLE:ON
@@ -18,12 +18,19 @@
 package org.fuin.units4j;
 
 import org.fuin.units4j.dependency.Dependencies;
+import org.fuin.units4j.dependency.DependencySnapshot;
 import org.fuin.units4j.dependency.Utils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 // CHECKSTYLE:OFF Test code
 public final class AssertDependenciesTest {
@@ -60,5 +67,53 @@ public final class AssertDependenciesTest {
         AssertDependencies.assertRules(this.getClass(), "/units4j.xml", classesDir);
     }
 
+    @Test
+    public final void testAssertNoCycles() {
+        AssertDependencies.assertNoCycles(new File("target/test-classes/dummy/test"));
+    }
+
+    @Test
+    public final void testAssertNoCyclesFailure() {
+        assertThatThrownBy(() -> AssertDependencies.assertNoCycles(new File("target/test-classes/dummy/cycle")))
+                .isInstanceOf(AssertionError.class)
+                .hasMessage("Found 2 package cycle(s):\n" + "Cycle between packages [dummy.cycle.a, dummy.cycle.b]\n"
+                        + "    dummy.cycle.a -> dummy.cycle.b: dummy.cycle.a.CycleA\n"
+                        + "    dummy.cycle.b -> dummy.cycle.a: dummy.cycle.b.CycleB, dummy.cycle.b.CycleB2\n"
+                        + "Cycle between packages [dummy.cycle.d, dummy.cycle.e, dummy.cycle.f]\n"
+                        + "    dummy.cycle.d -> dummy.cycle.e: dummy.cycle.d.CycleD\n"
+                        + "    dummy.cycle.e -> dummy.cycle.f: dummy.cycle.e.CycleE\n"
+                        + "    dummy.cycle.f -> dummy.cycle.d: dummy.cycle.f.CycleF");
+    }
+
+    @Test
+    public final void testAssertNoNewPackageDependencies(@TempDir final Path tempDir) throws Exception {
+
+        // PREPARE
+        final File classesDir = new File("target/test-classes/dummy/metrics");
+        final File snapshotFile = tempDir.resolve("snapshot.bin").toFile();
+        DependencySnapshot.create(classesDir).write(snapshotFile);
+
+        // TEST + VERIFY
+        AssertDependencies.assertNoNewPackageDependencies(snapshotFile, classesDir);
+
+    }
+
+    @Test
+    public final void testAssertNoNewPackageDependenciesFailure(@TempDir final Path tempDir) throws Exception {
+
+        // PREPARE
+        final File classesDir = new File("target/test-classes/dummy/metrics");
+        final File snapshotFile = tempDir.resolve("snapshot.bin").toFile();
+        final List<String> edges = DependencySnapshot.create(classesDir).getClassEdges().stream()
+                .filter(edge -> !edge.startsWith("dummy.metrics.impl.ServiceImpl dummy.metrics.util")).collect(Collectors.toList());
+        new DependencySnapshot(edges).write(snapshotFile);
+
+        // TEST + VERIFY
+        assertThatThrownBy(() -> AssertDependencies.assertNoNewPackageDependencies(snapshotFile, classesDir))
+                .isInstanceOf(AssertionError.class)
+                .hasMessage("Found 1 new package dependencies:\n    dummy.metrics.impl -> dummy.metrics.util");
+
+    }
+
 }
 // CHECKSTYLE:ON
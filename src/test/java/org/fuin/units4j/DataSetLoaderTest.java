@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the {@link DataSetLoader} class.
+ */
+// CHECKSTYLE:OFF Test code
+public class DataSetLoaderTest extends AbstractPersistenceTest {
+
+    @AfterEach
+    public void afterEach() throws Exception {
+        try (final Statement stmt = getConnection().createStatement()) {
+            stmt.executeUpdate("DELETE FROM MY_TEST_TABLE");
+        }
+        getEm().clear();
+        getEm().getEntityManagerFactory().getCache().evictAll();
+    }
+
+    @Test
+    public void testExecuteScript() {
+
+        // TEST
+        final int count = getDataSetLoader().executeScript(getClass(), "/dataset/my-test-table.sql");
+
+        // VERIFY
+        assertThat(count).isEqualTo(2);
+        assertThat(getEm().find(MyTestClass.class, 1).getName()).isEqualTo("John Doe");
+        assertThat(getEm().find(MyTestClass.class, 2).getName()).isEqualTo("Jane Doe");
+
+    }
+
+    @Test
+    public void testLoadCsv() {
+
+        // TEST
+        final int count = new DataSetLoader(getConnection(), 2).loadCsv("MY_TEST_TABLE", getClass(), "/dataset/my-test-table.csv");
+
+        // VERIFY
+        assertThat(count).isEqualTo(3);
+        assertThat(getEm().find(MyTestClass.class, 10).getName()).isEqualTo("Peter Parker");
+        assertThat(getEm().find(MyTestClass.class, 11).getName()).isEqualTo("Doe, \"Johnny\"");
+        assertThat(getEm().find(MyTestClass.class, 12).getName()).isEqualTo("Mary Jane");
+
+    }
+
+    @Test
+    public void testLoadCsvWrongNumberOfValues() {
+
+        // TEST + VERIFY
+        assertThatThrownBy(() -> getDataSetLoader().loadCsv("MY_TEST_TABLE", new StringReader("ID,NAME\n1\n")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Expected 2 values, but was 1");
+
+    }
+
+    @Test
+    public void testSnapshotRestore() throws Exception {
+
+        // PREPARE
+        final DataSetLoader testee = getDataSetLoader();
+        testee.loadCsv("MY_TEST_TABLE", new StringReader("ID,NAME\n1,One\n2,Two\n"));
+
+        // TEST
+        final DataSetLoader.Snapshot snapshot = testee.snapshot();
+        try (final Statement stmt = getConnection().createStatement()) {
+            stmt.executeUpdate("DELETE FROM MY_TEST_TABLE WHERE ID=1");
+            stmt.executeUpdate("INSERT INTO MY_TEST_TABLE (ID, NAME) VALUES (3, 'Three')");
+        }
+        testee.restore(snapshot);
+
+        // VERIFY
+        assertThat(snapshot.getTableNames()).anyMatch(name -> name.contains("MY_TEST_TABLE"));
+        assertThat(snapshot.getRowCount()).isEqualTo(2);
+        final List<MyTestClass> list = getEm().createQuery("select t from MyTestClass t order by t.id", MyTestClass.class)
+                .getResultList();
+        assertThat(list).extracting(MyTestClass::getName).containsExactly("One", "Two");
+
+    }
+
+}
+// CHECKSTYLE:ON
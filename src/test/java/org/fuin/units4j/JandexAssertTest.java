@@ -24,13 +24,20 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import org.fuin.units4j.assertionrules.RuleNoBoxedCollectionField;
+import org.fuin.units4j.scan.ScanSummary;
 import org.jboss.jandex.Index;
 import org.jboss.jandex.Indexer;
 import org.junit.jupiter.api.Test;
 
 import java.io.Serializable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.fuin.units4j.JandexAssert.assertThat;
 import static org.fuin.units4j.Units4JUtils.index;
 
@@ -79,6 +86,24 @@ public class JandexAssertTest {
 		}
 	}
 
+	@Test
+	public void testWithScanListener() {
+
+		// PREPARE
+		final Index index = index(getClass().getClassLoader(), MyTestClass.class.getName());
+		final ScanSummary summary = new ScanSummary();
+
+		// TEST
+		assertThat(index).withScanListener(summary).hasOnlyValidJpaEntities();
+
+		// VERIFY
+		assertThat(summary.getSlowestRules()).extracting(ScanSummary.RuleTiming::getRule).containsOnly(
+				"RulePublicOrProtectedNoArgConstructor", "RuleClassNotFinal", "RuleClassHasNoFinalMethods",
+				"RulePersistentInstanceFieldVisibility");
+		assertThat(summary.getSlowestRules()).allMatch(timing -> timing.getCount() == 1 && timing.getFailures() == 0);
+
+	}
+
 	@Test
 	public void testHasNullabilityInfoOnAllMethodsTrue() {
 
@@ -137,6 +162,95 @@ public class JandexAssertTest {
 		}
 	}
 
+	@Test
+	public void testClassesAnnotatedWithHaveShallowSizeAtMost() {
+
+		// PREPARE
+		final Indexer indexer = new Indexer();
+		index(indexer, getClass().getClassLoader(), SmallCompactClass.class.getName());
+		index(indexer, getClass().getClassLoader(), LargeCompactClass.class.getName());
+		index(indexer, getClass().getClassLoader(), LargeOtherClass.class.getName());
+		final Index index = indexer.complete();
+
+		// TEST + VERIFY
+		assertThat(index).classesAnnotatedWith(Compact.class).haveShallowSizeAtMost(40);
+		assertThatThrownBy(() -> assertThat(index).classesAnnotatedWith(Compact.class).haveShallowSizeAtMost(32))
+				.isInstanceOf(AssertionError.class)
+				.hasMessage("Estimated shallow size of org.fuin.units4j.JandexAssertTest$LargeCompactClass is 40 bytes "
+						+ "(header 12, fields 28, padding 0), but at most 32 bytes are allowed\n");
+
+	}
+
+	@Test
+	public void testHasNoBoxedCollectionFields() {
+
+		// PREPARE
+		final Index valid = index(getClass().getClassLoader(), ClassWithoutBoxedCollections.class.getName());
+		final Index invalid = index(getClass().getClassLoader(), ClassWithBoxedCollections.class.getName());
+
+		// TEST + VERIFY
+		assertThat(valid).hasNoBoxedCollectionFields();
+		assertThat(invalid).hasNoBoxedCollectionFields(new RuleNoBoxedCollectionField(List.of(), List.of("org.fuin.units4j")));
+		assertThatThrownBy(() -> assertThat(invalid).hasNoBoxedCollectionFields())
+				.isInstanceOf(AssertionError.class)
+				.hasMessage("At least one collection field has a boxed primitive type argument:\n"
+						+ "Collection field with boxed primitive type argument: org.fuin.units4j.JandexAssertTest$ClassWithBoxedCollections.ids "
+						+ "(java.util.List<java.lang.Integer>)\n");
+
+	}
+
+	public static class ClassWithoutBoxedCollections {
+
+		List<String> names;
+
+		int[] ids;
+
+	}
+
+	public static class ClassWithBoxedCollections {
+
+		List<Integer> ids;
+
+		Map<String, String> names;
+
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	public static @interface Compact {
+	}
+
+	@Compact
+	public static class SmallCompactClass {
+
+		int a;
+
+	}
+
+	@Compact
+	public static class LargeCompactClass {
+
+		long a;
+
+		long b;
+
+		long c;
+
+		Object d;
+
+	}
+
+	public static class LargeOtherClass {
+
+		long a;
+
+		long b;
+
+		long c;
+
+		long d;
+
+	}
+
 	@Entity
 	@Table(name = "INVALID_TABLE")
 	public static class MyInvalidEntity implements Serializable {
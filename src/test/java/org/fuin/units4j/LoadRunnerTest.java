@@ -0,0 +1,218 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j;
+
+import org.fuin.units4j.perf.LoadResult;
+import org.fuin.units4j.perf.LoadResultAssert;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// CHECKSTYLE:OFF Test code
+@SuppressWarnings("deprecation")
+public class LoadRunnerTest {
+
+    @Test
+    public void testClosedLoop() {
+
+        // PREPARE
+        final AtomicInteger counter = new AtomicInteger();
+        final LoadRunner<AtomicInteger> testee = new LoadRunner<>(SleepCmd::new, counter).workers(2).warmup(Duration.ofMillis(50))
+                .duration(Duration.ofMillis(200));
+
+        // TEST
+        final LoadResult result = testee.run();
+
+        // VERIFY
+        assertThat(result.getOperations()).isGreaterThan(0).isLessThan(counter.get());
+        assertThat(result.getElapsedNanos()).isGreaterThanOrEqualTo(Duration.ofMillis(200).toNanos());
+        assertThat(result.getHistogram().getMin()).isGreaterThanOrEqualTo(Duration.ofMillis(1).toNanos());
+        LoadResultAssert.assertThat(result).hasNoFailures();
+
+    }
+
+    @Test
+    public void testFixedRate() {
+
+        // PREPARE
+        final LoadRunner<AtomicInteger> testee = new LoadRunner<>(SleepCmd::new, new AtomicInteger()).workers(3).ratePerSecond(500)
+                .duration(Duration.ofMillis(300));
+
+        // TEST
+        final LoadResult result = testee.run();
+
+        // VERIFY
+        assertThat(result.getOperations()).isEqualTo(150);
+        LoadResultAssert.assertThat(result).hasNoFailures();
+
+    }
+
+    @Test
+    public void testCoordinatedOmission() {
+
+        // PREPARE
+        final AtomicInteger counter = new AtomicInteger();
+        final LoadRunner<AtomicInteger> testee = new LoadRunner<>(StallCmd::new, counter).ratePerSecond(100)
+                .duration(Duration.ofMillis(500));
+
+        // TEST
+        final LoadResult result = testee.run();
+
+        // VERIFY
+        assertThat(result.getOperations()).isEqualTo(50);
+        assertThat(result.getHistogram().getMax()).isGreaterThanOrEqualTo(Duration.ofMillis(50).toNanos());
+        // Operations queued behind the stall are reported with the time they waited
+        assertThat(result.getHistogram().getValueAtPercentile(95.0)).isGreaterThanOrEqualTo(Duration.ofMillis(25).toNanos());
+
+    }
+
+    @Test
+    public void testFailures() {
+
+        // PREPARE
+        final AtomicInteger counter = new AtomicInteger();
+        final LoadRunner<AtomicInteger> testee = new LoadRunner<>(FailCmd::new, counter).ratePerSecond(1000)
+                .duration(Duration.ofMillis(100));
+
+        // TEST
+        final LoadResult result = testee.run();
+
+        // VERIFY
+        assertThat(result.getOperations()).isEqualTo(100);
+        assertThat(result.getFailures()).isEqualTo(50);
+        assertThat(result.getFirstFailure()).isIn("Odd", "java.lang.IllegalStateException: Even");
+        assertThatThrownBy(() -> LoadResultAssert.assertThat(result).hasNoFailures()).isInstanceOf(AssertionError.class);
+        LoadResultAssert.assertThat(result).failureRateIsAtMost(0.5);
+
+    }
+
+    @Test
+    public void testAssertionErrors() {
+
+        // PREPARE
+        final LoadRunner<AtomicInteger> testee = new LoadRunner<>(AssertCmd::new, new AtomicInteger()).workers(2).ratePerSecond(1000)
+                .duration(Duration.ofMillis(100));
+
+        // TEST
+        final LoadResult result = testee.run();
+
+        // VERIFY
+        assertThat(result.getOperations()).isEqualTo(100);
+        assertThat(result.getFailures()).isEqualTo(100);
+        assertThat(result.getFirstFailure()).isEqualTo("java.lang.AssertionError: Failed");
+        assertThatThrownBy(() -> LoadResultAssert.assertThat(result).hasNoFailures()).isInstanceOf(AssertionError.class);
+
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        final LoadRunner<AtomicInteger> testee = new LoadRunner<>(SleepCmd::new, new AtomicInteger());
+        assertThatThrownBy(() -> testee.workers(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> testee.duration(Duration.ZERO)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> testee.warmup(Duration.ofMillis(-1))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> testee.ratePerSecond(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static class SleepCmd implements TestCommand<AtomicInteger> {
+
+        protected int number;
+
+        private boolean executed;
+
+        @Override
+        public void init(final AtomicInteger context) {
+            number = context.incrementAndGet();
+        }
+
+        @Override
+        public void execute() {
+            pause(1);
+            executed = true;
+        }
+
+        @Override
+        public boolean isSuccessful() {
+            return executed;
+        }
+
+        @Override
+        public String getFailureDescription() {
+            return executed ? "" : "Not executed";
+        }
+
+        @Override
+        public void verify() {
+            if (!isSuccessful()) {
+                throw new IllegalStateException(getFailureDescription());
+            }
+        }
+
+        protected static void pause(final long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+    }
+
+    private static final class StallCmd extends SleepCmd {
+
+        @Override
+        public void execute() {
+            pause(number == 1 ? 50 : 0);
+            super.execute();
+        }
+
+    }
+
+    private static final class AssertCmd extends SleepCmd {
+
+        @Override
+        public void execute() {
+            throw new AssertionError("Failed");
+        }
+
+    }
+
+    private static final class FailCmd extends SleepCmd {
+
+        @Override
+        public void execute() {
+            if (number % 4 == 0) {
+                throw new IllegalStateException("Even");
+            }
+            if (number % 4 != 2) {
+                super.execute();
+            }
+        }
+
+        @Override
+        public String getFailureDescription() {
+            return "Odd";
+        }
+
+    }
+
+}
+// CHECKSTYLE:ON
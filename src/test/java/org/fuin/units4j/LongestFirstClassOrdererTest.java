@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j;
+
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the {@link LongestFirstClassOrderer} class.
+ */
+// CHECKSTYLE:OFF Test code
+public class LongestFirstClassOrdererTest {
+
+    @Test
+    public void testOrder() {
+
+        // PREPARE
+        final TestDurationHistory history = new TestDurationHistory();
+        history.record(String.class.getName(), 1000000);
+        history.record(Integer.class.getName(), 5000000);
+        final List<Descriptor> descriptors = new ArrayList<>(
+                List.of(new Descriptor(String.class), new Descriptor(Long.class), new Descriptor(Integer.class)));
+
+        // TEST
+        LongestFirstClassOrderer.order(descriptors, history);
+
+        // VERIFY
+        assertThat(descriptors).extracting(Descriptor::getTestClass).containsExactly(Long.class, Integer.class, String.class);
+
+    }
+
+    private static final class Descriptor implements ClassDescriptor {
+
+        private final Class<?> testClass;
+
+        Descriptor(final Class<?> testClass) {
+            this.testClass = testClass;
+        }
+
+        @Override
+        public Class<?> getTestClass() {
+            return testClass;
+        }
+
+        @Override
+        public String getDisplayName() {
+            return testClass.getSimpleName();
+        }
+
+        @Override
+        public boolean isAnnotated(final Class<? extends Annotation> annotationType) {
+            return false;
+        }
+
+        @Override
+        public <A extends Annotation> Optional<A> findAnnotation(final Class<A> annotationType) {
+            return Optional.empty();
+        }
+
+        @Override
+        public <A extends Annotation> List<A> findRepeatableAnnotations(final Class<A> annotationType) {
+            return List.of();
+        }
+
+    }
+
+}
+// CHECKSTYLE:ON
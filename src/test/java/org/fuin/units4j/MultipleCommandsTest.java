@@ -20,7 +20,13 @@ package org.fuin.units4j;
 import jakarta.validation.constraints.NotNull;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 //CHECKSTYLE:OFF Test code
 public class MultipleCommandsTest {
@@ -52,6 +58,148 @@ public class MultipleCommandsTest {
 
     }
 
+    @Test
+    public void testParallel() {
+
+        // PREPARE
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final CountDownLatch latch = new CountDownLatch(3);
+            final LatchCmd cmd1 = new LatchCmd(latch, null);
+            final LatchCmd cmd2 = new LatchCmd(latch, "Second failed");
+            final LatchCmd cmd3 = new LatchCmd(latch, "Third failed");
+            final MultipleCommands<String> testee = new MultipleCommands<>(cmd1, cmd2, cmd3);
+            testee.setExecutor(executor);
+
+            // TEST
+            testee.init("Hello");
+            testee.execute();
+
+            // VERIFY (commands only succeed if all of them run at the same time)
+            assertThat(cmd1.getContext()).isEqualTo("Hello");
+            assertThat(cmd3.getContext()).isEqualTo("Hello");
+            assertThat(cmd1.isSuccessful()).isTrue();
+            assertThat(testee.isSuccessful()).isFalse();
+            assertThat(testee.getFailureDescription()).isEqualTo("Second failed\nThird failed\n");
+
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+    @Test
+    public void testParallelExceptions() {
+
+        // PREPARE
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final MyCmd ok = new MyCmd(true, null);
+            final ThrowingCmd first = new ThrowingCmd(new IllegalStateException("first"));
+            final ThrowingCmd second = new ThrowingCmd(new IllegalArgumentException("second"));
+            final MultipleCommands<String> testee = new MultipleCommands<>(first, ok, second);
+            testee.setExecutor(executor);
+
+            // TEST + VERIFY
+            assertThatThrownBy(testee::execute).isInstanceOf(RuntimeException.class)
+                    .hasMessage("Failed to execute 2 of 3 command(s)").hasCauseInstanceOf(IllegalStateException.class)
+                    .satisfies(ex -> assertThat(ex.getSuppressed()).singleElement().isInstanceOf(IllegalArgumentException.class));
+            assertThat(ok.isExecuted()).isTrue();
+
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+    public static final class LatchCmd implements TestCommand<String> {
+
+        private final CountDownLatch latch;
+
+        private final String failure;
+
+        private String context;
+
+        private volatile boolean successful;
+
+        public LatchCmd(final CountDownLatch latch, final String failure) {
+            super();
+            this.latch = latch;
+            this.failure = failure;
+        }
+
+        @Override
+        public void init(@NotNull String context) {
+            this.context = context;
+        }
+
+        @Override
+        public void execute() {
+            latch.countDown();
+            try {
+                successful = latch.await(10, TimeUnit.SECONDS) && failure == null;
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public boolean isSuccessful() {
+            return successful;
+        }
+
+        @Override
+        public String getFailureDescription() {
+            return failure;
+        }
+
+        public String getContext() {
+            return context;
+        }
+
+        @Override
+        public void verify() {
+            // DO nothing
+        }
+
+    }
+
+    public static final class ThrowingCmd implements TestCommand<String> {
+
+        private final RuntimeException exception;
+
+        public ThrowingCmd(final RuntimeException exception) {
+            super();
+            this.exception = exception;
+        }
+
+        @Override
+        public void init(@NotNull String context) {
+            // DO nothing
+        }
+
+        @Override
+        public void execute() {
+            throw exception;
+        }
+
+        @Override
+        public boolean isSuccessful() {
+            return false;
+        }
+
+        @Override
+        public String getFailureDescription() {
+            return exception.getMessage();
+        }
+
+        @Override
+        public void verify() {
+            // DO nothing
+        }
+
+    }
+
     public static final class MyCmd implements TestCommand<String> {
 
         private String context;
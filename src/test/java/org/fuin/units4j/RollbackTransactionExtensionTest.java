@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the {@link RollbackTransactionExtension} class.
+ */
+// CHECKSTYLE:OFF Test code
+@ExtendWith(RollbackTransactionExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class RollbackTransactionExtensionTest extends AbstractPersistenceTest {
+
+    private static final String SAVEPOINT = "savepoint";
+
+    @BeforeEach
+    public void beforeEach(final TestInfo testInfo) {
+        if (testInfo.getTags().contains(SAVEPOINT)) {
+            beginTransaction();
+            getEm().persist(new MyTestClass(200, "Outer"));
+        }
+    }
+
+    @AfterEach
+    public void afterEach(final TestInfo testInfo) {
+        if (testInfo.getTags().contains(SAVEPOINT)) {
+            // Outer transaction survived, only the test's changes are gone
+            assertThat(getEm().getTransaction().isActive()).isTrue();
+            assertThat(getEm().find(MyTestClass.class, 200)).isNotNull();
+            assertThat(getEm().find(MyTestClass.class, 201)).isNull();
+            rollbackTransaction();
+        }
+    }
+
+    @Test
+    @Order(1)
+    public void testPersistInsideTransaction() {
+
+        // TEST
+        assertThat(getEm().getTransaction().isActive()).isTrue();
+        getEm().persist(new MyTestClass(100, "John Doe"));
+        getEm().flush();
+
+        // VERIFY
+        assertThat(getEm().createQuery("select t from MyTestClass t", MyTestClass.class).getResultList()).hasSize(1);
+
+    }
+
+    @Test
+    @Order(2)
+    public void testPreviousTestWasRolledBack() {
+
+        // TEST + VERIFY
+        assertThat(getEm().find(MyTestClass.class, 100)).isNull();
+        assertThat(getEm().createQuery("select t from MyTestClass t", MyTestClass.class).getResultList()).isEmpty();
+
+    }
+
+    @Test
+    @Order(3)
+    @Tag(SAVEPOINT)
+    public void testSavepointInsideActiveTransaction() {
+
+        // TEST
+        getEm().persist(new MyTestClass(201, "Inner"));
+        getEm().flush();
+
+        // VERIFY
+        assertThat(getEm().createQuery("select t from MyTestClass t", MyTestClass.class).getResultList()).hasSize(2);
+
+    }
+
+    @Test
+    @Order(4)
+    public void testOuterTransactionWasRolledBack() {
+
+        // TEST + VERIFY
+        assertThat(getEm().createQuery("select t from MyTestClass t", MyTestClass.class).getResultList()).isEmpty();
+
+    }
+
+}
+// CHECKSTYLE:ON
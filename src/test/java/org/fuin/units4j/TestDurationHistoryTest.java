@@ -0,0 +1,116 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the {@link TestDurationHistory} class.
+ */
+// CHECKSTYLE:OFF Test code
+public class TestDurationHistoryTest {
+
+    private static TestDurationHistory history(final long... millis) {
+        final TestDurationHistory history = new TestDurationHistory();
+        for (int i = 0; i < millis.length; i++) {
+            history.record(String.valueOf((char) ('a' + i)), millis[i] * 1000000);
+        }
+        return history;
+    }
+
+    @Test
+    public void testRecord() {
+
+        // PREPARE
+        final TestDurationHistory testee = new TestDurationHistory();
+
+        // TEST
+        testee.record("a.MyTest", 10000000);
+        testee.record("a.MyTest", 20000000);
+
+        // VERIFY
+        assertThat(testee.getMicros("a.MyTest")).isEqualTo(15000);
+        assertThat(testee.getMicros("a.Unknown")).isEqualTo(-1);
+        assertThat(testee.size()).isEqualTo(1);
+
+    }
+
+    @Test
+    public void testWriteRead(@TempDir final Path tempDir) throws Exception {
+
+        // PREPARE
+        final TestDurationHistory testee = history(2, 1);
+        testee.record("a.MyTest#test(java.lang.String, int)", 3000000);
+        final File file = tempDir.resolve("sub/durations.txt").toFile();
+
+        // TEST
+        testee.write(file);
+        final TestDurationHistory copy = TestDurationHistory.read(file);
+
+        // VERIFY
+        assertThat(Files.readString(file.toPath()))
+                .isEqualTo(TestDurationHistory.HEADER + "\n2000 a\n3000 a.MyTest#test(java.lang.String, int)\n1000 b\n");
+        assertThat(copy.getMicros("a.MyTest#test(java.lang.String, int)")).isEqualTo(3000);
+        assertThat(copy.size()).isEqualTo(3);
+        assertThat(TestDurationHistory.read(tempDir.resolve("missing.txt").toFile()).size()).isZero();
+
+    }
+
+    @Test
+    public void testReadInvalid(@TempDir final Path tempDir) throws Exception {
+
+        // PREPARE
+        final File file = tempDir.resolve("durations.txt").toFile();
+        Files.writeString(file.toPath(), TestDurationHistory.HEADER + "\nx a.MyTest\n");
+
+        // TEST + VERIFY
+        assertThatThrownBy(() -> TestDurationHistory.read(file)).isInstanceOf(IOException.class)
+                .hasMessage("Expected 'microseconds name', but was: x a.MyTest");
+
+    }
+
+    @Test
+    public void testLongestFirst() {
+        assertThat(history(1, 3, 2).longestFirst(List.of("a", "b", "x", "c", "y"))).containsExactly("x", "y", "b", "c", "a");
+    }
+
+    @Test
+    public void testPartition() {
+
+        // PREPARE
+        final TestDurationHistory testee = history(8, 7, 6, 5, 4);
+
+        // TEST + VERIFY
+        assertThat(testee.partition(List.of("e", "d", "c", "b", "a"), 2)).containsExactly(List.of("a", "d", "e"), List.of("b", "c"));
+        assertThat(testee.partition(List.of("a", "x"), 3)).containsExactly(List.of("x"), List.of("a"), List.of());
+        assertThatThrownBy(() -> testee.partition(List.of("a"), 0)).isInstanceOf(IllegalArgumentException.class);
+
+    }
+
+}
+// CHECKSTYLE:ON
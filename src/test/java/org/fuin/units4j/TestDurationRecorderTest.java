@@ -0,0 +1,41 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the {@link TestDurationRecorder} class.
+ */
+// CHECKSTYLE:OFF Test code
+@ExtendWith(TestDurationRecorder.class)
+public class TestDurationRecorderTest {
+
+    @Test
+    public void testMethodName() throws Exception {
+        assertThat(TestDurationRecorder.methodName(String.class, String.class.getMethod("indexOf", String.class, int.class)))
+                .isEqualTo("java.lang.String#indexOf(java.lang.String,int)");
+        assertThat(TestDurationRecorder.methodName(getClass(), getClass().getMethod("testMethodName")))
+                .isEqualTo(getClass().getName() + "#testMethodName()");
+    }
+
+}
+// CHECKSTYLE:ON
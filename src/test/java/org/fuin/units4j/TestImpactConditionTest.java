@@ -0,0 +1,63 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the {@link TestImpactCondition} class.
+ */
+// CHECKSTYLE:OFF Test code
+@ExtendWith(TestImpactCondition.class)
+public class TestImpactConditionTest {
+
+    @Test
+    public void testNotConfigured() {
+        // Runs because the condition is registered, but no changed classes are configured
+        assertThat(TestImpactCondition.evaluate(getClass(), null).isDisabled()).isFalse();
+    }
+
+    @Test
+    public void testEvaluate() {
+        assertThat(TestImpactCondition.evaluate(String.class, Set.of("java.lang.String")).isDisabled()).isFalse();
+        assertThat(TestImpactCondition.evaluate(String.class, Set.of("java.lang.Integer")).isDisabled()).isTrue();
+        assertThat(TestImpactCondition.evaluate(Inner.class, Set.of(TestImpactConditionTest.class.getName())).isDisabled()).isFalse();
+        assertThat(TestImpactCondition.evaluate(Inner.class, Set.of()).getReason()).contains("Not affected by changed classes");
+        assertThat(TestImpactCondition.evaluate(TestImpactConditionTest.class, Set.of(Inner.class.getName())).isDisabled()).isFalse();
+        assertThat(TestImpactCondition.evaluate(TestImpactConditionTest.class, Set.of(TestImpactConditionTest.class.getName() + "X$Inner"))
+                .isDisabled()).isTrue();
+    }
+
+    @Nested
+    public class Inner {
+
+        @Test
+        public void testNested() {
+            assertThat(TestImpactCondition.evaluate(Inner.class, Set.of(TestImpactConditionTest.class.getName())).isDisabled()).isFalse();
+        }
+
+    }
+
+}
+// CHECKSTYLE:ON
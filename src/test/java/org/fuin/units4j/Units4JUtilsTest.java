@@ -19,11 +19,15 @@ package org.fuin.units4j;
 
 import jakarta.validation.ConstraintViolation;
 import org.fuin.units4j.Units4JUtils.KV;
+import org.fuin.units4j.scan.ScanSummary;
 import org.fuin.utils4j.Utils4J;
 import org.fuin.utils4j.jaxb.JaxbUtils;
+import org.jboss.jandex.Index;
 import org.junit.jupiter.api.Test;
 import org.opentest4j.AssertionFailedError;
 
+import java.io.File;
+import java.util.List;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -186,5 +190,25 @@ public final class Units4JUtilsTest {
 
     }
 
+
+    @Test
+    public final void testIndexAllClassesWithScanListener() {
+
+        // PREPARE
+        final List<File> classFiles = Units4JUtils.findAllClasses(new File("target/test-classes/dummy"));
+        final ScanSummary summary = new ScanSummary();
+
+        // TEST
+        final Index index = Units4JUtils.indexAllClasses(classFiles, summary);
+
+        // VERIFY
+        assertThat(index.getKnownClasses()).hasSize(classFiles.size());
+        assertThat(summary.getFiles()).isEqualTo(classFiles.size());
+        assertThat(summary.getClasses()).isEqualTo(classFiles.size());
+        assertThat(summary.getSlowestClasses()).isNotEmpty().extracting(ScanSummary.ClassTiming::getClassName)
+                .allMatch(name -> index.getClassByName(name) != null);
+
+    }
+
 }
 // CHECKSTYLE:ON
@@ -17,6 +17,7 @@
  */
 package org.fuin.units4j.analyzer;
 
+import org.fuin.units4j.scan.ScanSummary;
 import org.fuin.utils4j.Utils4J;
 import org.junit.jupiter.api.Test;
 
@@ -130,5 +131,34 @@ public final class MethodCallAnalyzerTest {
 
     }
 
+
+    @Test
+    public final void testScanListener() throws IOException {
+
+        // PREPARE
+        final File dir = new File("target/test-classes/org/fuin/units4j/analyzer");
+        final File jarFile = File.createTempFile("MethodCallAnalyzerTest-", ".jar");
+        Utils4J.zipDir(dir, null, jarFile);
+        final MethodCallAnalyzer testee = new MethodCallAnalyzer(
+                new MCAMethod(BigDecimal.class.getName(), BigDecimal.class.getName() + " setScale(int)"));
+        final ScanSummary dirSummary = new ScanSummary();
+        final ScanSummary jarSummary = new ScanSummary(100);
+
+        // TEST
+        testee.setScanListener(dirSummary);
+        testee.findCallingMethodsInDir(dir);
+        testee.setScanListener(jarSummary);
+        testee.findCallingMethodsInJar(jarFile);
+
+        // VERIFY
+        assertThat(dirSummary.getFiles()).isGreaterThan(0);
+        assertThat(dirSummary.getClasses()).isEqualTo(dirSummary.getFiles());
+        assertThat(jarSummary.getClasses()).isEqualTo(dirSummary.getClasses());
+        assertThat(jarSummary.getBytes()).isEqualTo(dirSummary.getBytes());
+        assertThat(jarSummary.getSlowestClasses()).extracting(ScanSummary.ClassTiming::getClassName)
+                .contains(FindMethodCallExampleClasz.class.getName());
+
+    }
+
 }
 // CHECKSTYLE:ON
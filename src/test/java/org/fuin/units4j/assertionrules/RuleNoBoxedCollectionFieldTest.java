@@ -0,0 +1,123 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.assertionrules;
+
+import org.fuin.units4j.AssertionResult;
+import org.jboss.jandex.ClassInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.fuin.units4j.Units4JUtils.classInfo;
+
+// CHECKSTYLE:OFF Test code
+public class RuleNoBoxedCollectionFieldTest {
+
+    private static final ClassInfo CLASS_INFO = classInfo(MyClass.class);
+
+    @Test
+    public final void testValid() {
+
+        // PREPARE
+        final RuleNoBoxedCollectionField testee = new RuleNoBoxedCollectionField();
+
+        // TEST + VERIFY
+        for (final String name : new String[] { "a", "b", "c", "d", "e", "j2", "l" }) {
+            final AssertionResult result = testee.verify(CLASS_INFO.field(name));
+            assertThat(result.isValid()).as(name).isTrue();
+            assertThat(result.getErrorMessage()).isEqualTo("");
+        }
+
+    }
+
+    @Test
+    public final void testInvalid() {
+
+        // PREPARE
+        final RuleNoBoxedCollectionField testee = new RuleNoBoxedCollectionField();
+
+        // TEST + VERIFY
+        for (final String name : new String[] { "f", "g", "h", "i", "j", "k" }) {
+            assertThat(testee.verify(CLASS_INFO.field(name)).isValid()).as(name).isFalse();
+        }
+        assertThat(testee.verify(CLASS_INFO.field("f")).getErrorMessage()).isEqualTo(
+                "Collection field with boxed primitive type argument: " + MyClass.class.getName() + ".f (java.util.List<java.lang.Integer>)");
+
+    }
+
+    @Test
+    public final void testPackages() {
+
+        // PREPARE
+        final RuleNoBoxedCollectionField included = new RuleNoBoxedCollectionField(List.of("org.fuin.units4j"), List.of());
+        final RuleNoBoxedCollectionField otherIncluded = new RuleNoBoxedCollectionField(List.of("org.fuin.units4j.dependency"),
+                List.of());
+        final RuleNoBoxedCollectionField excluded = new RuleNoBoxedCollectionField(List.of("org.fuin"),
+                List.of("org.fuin.units4j.assertionrules"));
+
+        // TEST + VERIFY
+        assertThat(included.verify(CLASS_INFO.field("f")).isValid()).isFalse();
+        assertThat(otherIncluded.verify(CLASS_INFO.field("f")).isValid()).isTrue();
+        assertThat(excluded.verify(CLASS_INFO.field("f")).isValid()).isTrue();
+        assertThat(excluded.isChecked("org.fuin.units4j")).isTrue();
+        assertThat(excluded.isChecked("org.fuin.units4j.assertionrulesx")).isTrue();
+        assertThat(excluded.isChecked("org.fuin.units4j.assertionrules.sub")).isFalse();
+        assertThat(excluded.isChecked("")).isFalse();
+
+    }
+
+    @SuppressWarnings("unused")
+    public static class MyClass {
+
+        private List<String> a;
+
+        private Map<String, Object> b;
+
+        private Optional<Integer> c;
+
+        private int[] d;
+
+        private Comparable<Long> e;
+
+        private List<Integer> f;
+
+        private Map<Long, String> g;
+
+        private Set<Double> h;
+
+        private Map<String, List<Character>> i;
+
+        private Collection<? extends Number> j2;
+
+        private Collection<? extends Short> j;
+
+        private ConcurrentHashMap<String, Boolean> k;
+
+        private ArrayList<Object> l;
+
+    }
+
+}
+// CHECKSTYLE:ON
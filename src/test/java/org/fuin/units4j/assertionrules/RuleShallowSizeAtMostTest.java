@@ -0,0 +1,126 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.assertionrules;
+
+import org.fuin.units4j.AssertionResult;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.Indexer;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.fuin.units4j.Units4JUtils.index;
+
+// CHECKSTYLE:OFF Test code
+public class RuleShallowSizeAtMostTest {
+
+    private static Index indexOf(final Class<?>... classes) {
+        final Indexer indexer = new Indexer();
+        for (final Class<?> clasz : classes) {
+            index(indexer, RuleShallowSizeAtMostTest.class.getClassLoader(), clasz.getName());
+        }
+        return indexer.complete();
+    }
+
+    @Test
+    public final void testEstimate() {
+
+        // PREPARE
+        final Index index = indexOf(Empty.class, Small.class, Base.class, Sub.class);
+        final RuleShallowSizeAtMost testee = new RuleShallowSizeAtMost(index, 100);
+        final RuleShallowSizeAtMost uncompressed = new RuleShallowSizeAtMost(index, 100, false, false, 8);
+
+        // TEST + VERIFY
+        assertThat(testee.estimate(index.getClassByName(Empty.class.getName()))).isEqualTo(16);
+        assertThat(testee.estimate(index.getClassByName(Small.class.getName()))).isEqualTo(24);
+        assertThat(testee.estimate(index.getClassByName(Base.class.getName()))).isEqualTo(24);
+        assertThat(testee.estimate(index.getClassByName(Sub.class.getName()))).isEqualTo(32);
+        assertThat(uncompressed.estimate(index.getClassByName(Small.class.getName()))).isEqualTo(24);
+        assertThat(uncompressed.estimate(index.getClassByName(Sub.class.getName()))).isEqualTo(40);
+
+    }
+
+    @Test
+    public final void testMissingSuperclass() {
+
+        // PREPARE
+        final Index index = indexOf(Sub.class);
+        final RuleShallowSizeAtMost testee = new RuleShallowSizeAtMost(index, 100);
+
+        // TEST + VERIFY (Lower bound without the fields of the superclass)
+        assertThat(testee.estimate(index.getClassByName(Sub.class.getName()))).isEqualTo(24);
+
+    }
+
+    @Test
+    public final void testVerify() {
+
+        // PREPARE
+        final Index index = indexOf(Small.class, Base.class, Sub.class);
+
+        // TEST
+        final AssertionResult valid = new RuleShallowSizeAtMost(index, 24).verify(index.getClassByName(Small.class.getName()));
+        final AssertionResult invalid = new RuleShallowSizeAtMost(index, 24).verify(index.getClassByName(Sub.class.getName()));
+
+        // VERIFY
+        assertThat(valid.isValid()).isTrue();
+        assertThat(invalid.isValid()).isFalse();
+        assertThat(invalid.getErrorMessage()).isEqualTo("Estimated shallow size of " + Sub.class.getName()
+                + " is 32 bytes (header 12, fields 17, padding 3), but at most 24 bytes are allowed");
+
+    }
+
+    @Test
+    public final void testInvalidAlignment() {
+        assertThatThrownBy(() -> new RuleShallowSizeAtMost(indexOf(), 10, true, true, 4)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    public static class Empty {
+
+        static long ignored;
+
+    }
+
+    public static class Small {
+
+        int a;
+
+        boolean b;
+
+        char c;
+
+    }
+
+    public static class Base {
+
+        long a;
+
+        Object b;
+
+    }
+
+    public static class Sub extends Base {
+
+        int c;
+
+        byte d;
+
+    }
+
+}
+// CHECKSTYLE:ON
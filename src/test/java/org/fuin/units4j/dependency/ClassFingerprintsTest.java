@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.dependency;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// CHECKSTYLE:OFF Test code
+public final class ClassFingerprintsTest {
+
+    @Test
+    public final void testCreate() {
+
+        // TEST
+        final ClassFingerprints testee = ClassFingerprints.create(new File("target/test-classes/dummy/metrics"));
+
+        // VERIFY
+        assertThat(testee.getFingerprints()).containsOnlyKeys("dummy.metrics.api.AbstractService", "dummy.metrics.api.Service",
+                "dummy.metrics.client.Client", "dummy.metrics.impl.ServiceImpl", "dummy.metrics.util.Helper");
+        assertThat(testee.getFingerprints().values()).allMatch(value -> value.matches("[0-9a-f]{64}"));
+
+    }
+
+    @Test
+    public final void testFingerprint() {
+        assertThat(ClassFingerprints.fingerprint(new byte[0])).isEqualTo("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855");
+    }
+
+    @Test
+    public final void testChangedClasses() {
+
+        // PREPARE
+        final ClassFingerprints baseline = new ClassFingerprints(Map.of("a.A", "1", "a.B", "2", "a.C", "3"));
+        final ClassFingerprints current = new ClassFingerprints(Map.of("a.A", "1", "a.B", "x", "a.D", "4"));
+
+        // TEST + VERIFY
+        assertThat(current.changedClasses(baseline)).containsExactly("a.B", "a.C", "a.D");
+        assertThat(current.changedClasses(current)).isEmpty();
+
+    }
+
+    @Test
+    public final void testWriteRead(@TempDir final Path tempDir) throws Exception {
+
+        // PREPARE
+        final ClassFingerprints testee = new ClassFingerprints(Map.of("a.B", "2", "a.A", "1"));
+        final File file = tempDir.resolve("fingerprints.txt").toFile();
+
+        // TEST
+        testee.write(file);
+        final ClassFingerprints copy = ClassFingerprints.read(file);
+
+        // VERIFY
+        assertThat(Files.readString(file.toPath())).isEqualTo(ClassFingerprints.HEADER + "\na.A 1\na.B 2\n");
+        assertThat(copy.getFingerprints()).isEqualTo(testee.getFingerprints());
+
+    }
+
+    @Test
+    public final void testReadInvalid(@TempDir final Path tempDir) throws Exception {
+
+        // PREPARE
+        final File file = tempDir.resolve("fingerprints.txt").toFile();
+        Files.writeString(file.toPath(), "a.A 1\n");
+
+        // TEST + VERIFY
+        assertThatThrownBy(() -> ClassFingerprints.read(file)).isInstanceOf(IOException.class)
+                .hasMessage("Expected '" + ClassFingerprints.HEADER + "' as first line, but was: a.A 1");
+
+    }
+
+}
+// CHECKSTYLE:ON
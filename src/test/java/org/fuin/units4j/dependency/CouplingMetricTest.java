@@ -0,0 +1,61 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.dependency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+// CHECKSTYLE:OFF Test code
+public final class CouplingMetricTest {
+
+    @Test
+    public final void testCalculatedValues() {
+
+        // TEST
+        final CouplingMetric testee = new CouplingMetric("a.b", 4, 1, 3, 1);
+
+        // VERIFY
+        assertThat(testee.getName()).isEqualTo("a.b");
+        assertThat(testee.getClassCount()).isEqualTo(4);
+        assertThat(testee.getAbstractClassCount()).isEqualTo(1);
+        assertThat(testee.getAfferentCoupling()).isEqualTo(3);
+        assertThat(testee.getEfferentCoupling()).isEqualTo(1);
+        assertThat(testee.getInstability()).isCloseTo(0.25, within(0.0001));
+        assertThat(testee.getAbstractness()).isCloseTo(0.25, within(0.0001));
+        assertThat(testee.getDistance()).isCloseTo(0.5, within(0.0001));
+        assertThat(testee.toString()).isEqualTo("a.b [Ca=3, Ce=1, I=0.250, A=0.250, D=0.500]");
+
+    }
+
+    @Test
+    public final void testNoCouplingAndNoClasses() {
+
+        // TEST
+        final CouplingMetric testee = new CouplingMetric("x", 0, 0, 0, 0);
+
+        // VERIFY
+        assertThat(testee.getInstability()).isEqualTo(0.0);
+        assertThat(testee.getAbstractness()).isEqualTo(0.0);
+        assertThat(testee.getDistance()).isEqualTo(1.0);
+
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,84 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.dependency;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.fuin.units4j.dependency.CouplingMetricsAssert.assertThat;
+
+// CHECKSTYLE:OFF Test code
+public final class CouplingMetricsAssertTest {
+
+    private static CouplingMetrics metrics() throws Exception {
+        return CouplingMetrics.create(new File("target/test-classes/dummy/metrics"));
+    }
+
+    @Test
+    public final void testPackageValid() throws Exception {
+        assertThat(metrics()).pkg("dummy.metrics.api").instabilityIsAtMost(0.0).abstractnessIsAtLeast(1.0).distanceIsAtMost(0.0)
+                .afferentCouplingIsAtMost(2).efferentCouplingIsAtMost(0);
+        assertThat(metrics()).pkg("dummy.metrics.impl").instabilityIsAtLeast(1.0);
+    }
+
+    @Test
+    public final void testPackageInvalid() throws Exception {
+        final CouplingMetrics metrics = metrics();
+        assertThatThrownBy(() -> assertThat(metrics).pkg("dummy.metrics.impl").instabilityIsAtMost(0.3)).isInstanceOf(AssertionError.class)
+                .hasMessage("Expected instability of package 'dummy.metrics.impl' to be at most 0.300, but was 1.000");
+        assertThatThrownBy(() -> assertThat(metrics).pkg("dummy.metrics.api").instabilityIsAtLeast(0.5))
+                .isInstanceOf(AssertionError.class).hasMessageContaining("at least 0.500, but was 0.000");
+        assertThatThrownBy(() -> assertThat(metrics).pkg("dummy.metrics.util").abstractnessIsAtLeast(0.5))
+                .isInstanceOf(AssertionError.class).hasMessageContaining("abstractness of package 'dummy.metrics.util'");
+        assertThatThrownBy(() -> assertThat(metrics).pkg("dummy.metrics.util").distanceIsAtMost(0.5))
+                .isInstanceOf(AssertionError.class).hasMessageContaining("but was 1.000");
+        assertThatThrownBy(() -> assertThat(metrics).pkg("dummy.metrics.api").afferentCouplingIsAtMost(1))
+                .isInstanceOf(AssertionError.class).hasMessageContaining("afferent coupling of package 'dummy.metrics.api'");
+        assertThatThrownBy(() -> assertThat(metrics).pkg("dummy.metrics.impl").efferentCouplingIsAtMost(1))
+                .isInstanceOf(AssertionError.class).hasMessageContaining("efferent coupling of package 'dummy.metrics.impl'");
+    }
+
+    @Test
+    public final void testUnknownPackageAndClass() throws Exception {
+        final CouplingMetrics metrics = metrics();
+        assertThatThrownBy(() -> assertThat(metrics).pkg("dummy.unknown")).isInstanceOf(AssertionError.class)
+                .hasMessage("Expected package 'dummy.unknown' to be scanned, but it was not found");
+        assertThatThrownBy(() -> assertThat(metrics).clazz("dummy.Unknown")).isInstanceOf(AssertionError.class)
+                .hasMessage("Expected class 'dummy.Unknown' to be scanned, but it was not found");
+    }
+
+    @Test
+    public final void testClass() throws Exception {
+        final CouplingMetrics metrics = metrics();
+        assertThat(metrics).clazz("dummy.metrics.client.Client").efferentCouplingIsAtMost(1);
+        assertThatThrownBy(() -> assertThat(metrics).clazz("dummy.metrics.client.Client").efferentCouplingIsAtMost(0))
+                .isInstanceOf(AssertionError.class).hasMessageContaining("efferent coupling of class 'dummy.metrics.client.Client'");
+    }
+
+    @Test
+    public final void testAllPackagesHaveDistanceAtMost() throws Exception {
+        final CouplingMetrics metrics = metrics();
+        assertThat(metrics).allPackagesHaveDistanceAtMost(1.0);
+        assertThatThrownBy(() -> assertThat(metrics).allPackagesHaveDistanceAtMost(0.5)).isInstanceOf(AssertionError.class)
+                .hasMessageContaining("but 1 did not:\n    dummy.metrics.util [Ca=1, Ce=0, I=0.000, A=0.000, D=1.000]");
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,138 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.dependency;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// CHECKSTYLE:OFF Test code
+public final class CouplingMetricsTest {
+
+    private static final File DIR = new File("target/test-classes/dummy/metrics");
+
+    @Test
+    public final void testPackageMetrics() throws Exception {
+
+        // TEST
+        final CouplingMetrics testee = CouplingMetrics.create(DIR);
+
+        // VERIFY
+        assertThat(testee.getPackages()).extracting(CouplingMetric::getName).containsExactly("dummy.metrics.api",
+                "dummy.metrics.client", "dummy.metrics.impl", "dummy.metrics.util");
+        assertMetric(testee.findPackage("dummy.metrics.api"), 2, 2, 2, 0, 0.0, 1.0, 0.0);
+        assertMetric(testee.findPackage("dummy.metrics.client"), 1, 0, 0, 1, 1.0, 0.0, 0.0);
+        assertMetric(testee.findPackage("dummy.metrics.impl"), 1, 0, 0, 2, 1.0, 0.0, 0.0);
+        assertMetric(testee.findPackage("dummy.metrics.util"), 1, 0, 1, 0, 0.0, 0.0, 1.0);
+        assertThat(testee.findPackage("java.lang")).isNull();
+
+    }
+
+    @Test
+    public final void testClassMetrics() throws Exception {
+
+        // TEST
+        final CouplingMetrics testee = CouplingMetrics.create(DIR);
+
+        // VERIFY
+        assertThat(testee.getClasses()).hasSize(5);
+        assertMetric(testee.findClass("dummy.metrics.client.Client"), 1, 0, 0, 1, 1.0, 0.0, 0.0);
+        assertMetric(testee.findClass("dummy.metrics.util.Helper"), 1, 0, 1, 0, 0.0, 0.0, 1.0);
+        assertMetric(testee.findClass("dummy.metrics.impl.ServiceImpl"), 1, 0, 0, 2, 1.0, 0.0, 0.0);
+        assertThat(testee.findClass("dummy.metrics.api.AbstractService").getAbstractness()).isEqualTo(1.0);
+        assertThat(testee.findClass("java.lang.Object")).isNull();
+
+    }
+
+    @Test
+    public final void testCreateFromJar(@TempDir final Path tempDir) throws Exception {
+
+        // PREPARE
+        final File jarFile = tempDir.resolve("metrics.jar").toFile();
+        try (final JarOutputStream out = new JarOutputStream(new FileOutputStream(jarFile))) {
+            try (final var files = Files.walk(DIR.toPath())) {
+                for (final Path path : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                    out.putNextEntry(new JarEntry("dummy/metrics/" + DIR.toPath().relativize(path).toString().replace('\\', '/')));
+                    out.write(Files.readAllBytes(path));
+                    out.closeEntry();
+                }
+            }
+        }
+
+        // TEST
+        final CouplingMetrics testee = CouplingMetrics.create(jarFile);
+
+        // VERIFY
+        assertThat(testee.toCsv()).isEqualTo(CouplingMetrics.create(DIR).toCsv());
+
+    }
+
+    @Test
+    public final void testToCsv() throws Exception {
+
+        // TEST
+        final String csv = CouplingMetrics.create(DIR).toCsv();
+
+        // VERIFY
+        assertThat(csv).startsWith("type,name,classes,abstractClasses,ca,ce,instability,abstractness,distance\n"
+                + "package,dummy.metrics.api,2,2,2,0,0.0000,1.0000,0.0000\n");
+        assertThat(csv).contains("\nclass,dummy.metrics.util.Helper,1,0,1,0,0.0000,0.0000,1.0000\n");
+        assertThat(csv.split("\n")).hasSize(1 + 4 + 5);
+
+    }
+
+    @Test
+    public final void testToJson() {
+
+        // PREPARE
+        final CouplingMetrics testee = new CouplingMetrics(List.of(new CouplingMetric("a\"b", 2, 1, 1, 1)),
+                List.of());
+
+        // TEST
+        final String json = testee.toJson();
+
+        // VERIFY
+        assertThat(json).isEqualTo("{\n  \"packages\": [\n    {\"name\": \"a\\\"b\", \"classes\": 2, \"abstractClasses\": 1, "
+                + "\"ca\": 1, \"ce\": 1, \"instability\": 0.5000, \"abstractness\": 0.5000, \"distance\": 0.0000}\n  ],\n"
+                + "  \"classes\": []\n}\n");
+
+    }
+
+    private static void assertMetric(final CouplingMetric metric, final int classes, final int abstractClasses, final int ca,
+            final int ce, final double instability, final double abstractness, final double distance) {
+        assertThat(metric).isNotNull();
+        assertThat(metric.getClassCount()).as("classes").isEqualTo(classes);
+        assertThat(metric.getAbstractClassCount()).as("abstractClasses").isEqualTo(abstractClasses);
+        assertThat(metric.getAfferentCoupling()).as("ca").isEqualTo(ca);
+        assertThat(metric.getEfferentCoupling()).as("ce").isEqualTo(ce);
+        assertThat(metric.getInstability()).as("instability").isEqualTo(instability);
+        assertThat(metric.getAbstractness()).as("abstractness").isEqualTo(abstractness);
+        assertThat(metric.getDistance()).as("distance").isEqualTo(distance);
+    }
+
+}
+// CHECKSTYLE:ON
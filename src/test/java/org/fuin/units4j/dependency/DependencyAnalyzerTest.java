@@ -17,6 +17,7 @@
  */
 package org.fuin.units4j.dependency;
 
+import org.fuin.units4j.scan.ScanSummary;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
@@ -158,5 +159,26 @@ public final class DependencyAnalyzerTest {
 
     }
 
+
+    @Test
+    public final void testScanListener() throws InvalidDependenciesDefinitionException {
+
+        // PREPARE
+        final ScanSummary summary = new ScanSummary();
+        final DependencyAnalyzer testee = new DependencyAnalyzer(this.getClass(), "/dummy-allowed.xml");
+        testee.setScanListener(summary);
+
+        // TEST
+        testee.analyze(new File("target/test-classes/dummy/test/good"));
+
+        // VERIFY
+        assertThat(summary.getFiles()).isEqualTo(1);
+        assertThat(summary.getBytes()).isGreaterThan(0);
+        assertThat(summary.getClasses()).isEqualTo(1);
+        assertThat(summary.getSlowestClasses()).extracting(ScanSummary.ClassTiming::getClassName).containsExactly("dummy.test.good.GoodOne");
+        assertThat(summary.getSlowestRules()).extracting(ScanSummary.RuleTiming::getRule).containsExactly("allowed dummy.test.good");
+
+    }
+
 }
 // CHECKSTYLE:ON
@@ -0,0 +1,52 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.dependency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// CHECKSTYLE:OFF Test code
+public final class DependencyDiffTest {
+
+    @Test
+    public final void testReport() {
+
+        // PREPARE
+        final DependencyDiff testee = new DependencyDiff(List.of("a -> d"), List.of(), List.of("a.A -> d.D"), List.of("a.A -> a.X"));
+
+        // TEST
+        final String report = testee.report();
+
+        // VERIFY
+        assertThat(report).isEqualTo("Package dependencies: 1 added, 0 removed\n" + "  + a -> d\n"
+                + "Class dependencies: 1 added, 1 removed\n" + "  + a.A -> d.D\n" + "  - a.A -> a.X\n");
+        assertThat(testee.toString()).isEqualTo(report);
+        assertThat(testee.isEmpty()).isFalse();
+
+    }
+
+    @Test
+    public final void testEmpty() {
+        assertThat(new DependencyDiff(List.of(), List.of(), List.of(), List.of()).isEmpty()).isTrue();
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,94 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.dependency;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// CHECKSTYLE:OFF Test code
+public final class DependencyGraphBuilderTest {
+
+    @Test
+    public final void testBuildClassGraph() {
+
+        // PREPARE
+        final DependencyGraphBuilder testee = new DependencyGraphBuilder().scan(new File("target/test-classes/dummy/cycle"));
+
+        // TEST
+        final DependencyGraph graph = testee.buildClassGraph();
+
+        // VERIFY
+        assertThat(graph.getNodeCount()).isEqualTo(testee.getClassCount());
+        final int a = graph.getId("dummy.cycle.a.CycleA");
+        final int b = graph.getId("dummy.cycle.b.CycleB");
+        final int c = graph.getId("dummy.cycle.c.CycleC");
+        assertThat(graph.getWeight(a, b)).isGreaterThan(0);
+        assertThat(graph.getWeight(b, a)).isGreaterThan(0);
+        assertThat(graph.getWeight(a, a)).isZero();
+        assertThat(graph.getId("java.lang.Object")).isNotEqualTo(-1);
+        assertThat(graph.isReachable(c, b)).isTrue();
+        assertThat(graph.isReachable(a, c)).isFalse();
+
+    }
+
+    @Test
+    public final void testBuildPackageGraph() {
+
+        // PREPARE
+        final DependencyGraphBuilder testee = new DependencyGraphBuilder().scan(new File("target/test-classes/dummy/cycle"));
+
+        // TEST
+        final DependencyGraph graph = testee.buildPackageGraph();
+
+        // VERIFY
+        final int a = graph.getId("dummy.cycle.a");
+        final int b = graph.getId("dummy.cycle.b");
+        final DependencyGraph classes = testee.buildClassGraph();
+        final int cycleB = classes.getId("dummy.cycle.b.CycleB");
+        final int cycleB2 = classes.getId("dummy.cycle.b.CycleB2");
+        final int cycleA = classes.getId("dummy.cycle.a.CycleA");
+        assertThat(graph.getWeight(b, a)).isEqualTo(classes.getWeight(cycleB, cycleA) + classes.getWeight(cycleB2, cycleA));
+        assertThat(graph.getWeight(a, a)).isZero();
+        assertThat(graph.getTransitiveSuccessors(graph.getId("dummy.cycle.d")).get(graph.getId("dummy.cycle.d"))).isTrue();
+        assertThat(graph.getTransitivePredecessors(graph.getId("dummy.cycle.c")).isEmpty()).isTrue();
+        assertThat(graph.getTransitivePredecessors(a).stream().mapToObj(graph::getName)).containsExactlyInAnyOrder("dummy.cycle.a",
+                "dummy.cycle.b", "dummy.cycle.c");
+
+    }
+
+    @Test
+    public final void testScannedAndAbstract() {
+
+        // TEST
+        final DependencyGraphBuilder testee = new DependencyGraphBuilder().scan(new File("target/test-classes/dummy/metrics"));
+
+        // VERIFY
+        final DependencyGraph graph = testee.buildClassGraph();
+        assertThat(testee.isScanned(graph.getId("dummy.metrics.api.Service"))).isTrue();
+        assertThat(testee.isAbstract(graph.getId("dummy.metrics.api.Service"))).isTrue();
+        assertThat(testee.isAbstract(graph.getId("dummy.metrics.api.AbstractService"))).isTrue();
+        assertThat(testee.isAbstract(graph.getId("dummy.metrics.util.Helper"))).isFalse();
+        assertThat(testee.isScanned(graph.getId("java.lang.Object"))).isFalse();
+
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.dependency;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// CHECKSTYLE:OFF Test code
+public final class DependencyGraphExporterTest {
+
+    private static final File DIR = new File("target/test-classes/dummy/metrics");
+
+    private static String export(final GraphFormat format, final int depth) {
+        final StringWriter writer = new StringWriter();
+        try {
+            new DependencyGraphExporter(writer, format, depth).include("dummy.metrics").scan(DIR).finish();
+        } catch (final Exception ex) {
+            throw new RuntimeException(ex);
+        }
+        return writer.toString();
+    }
+
+    private static List<String> lines(final String str, final String prefix) {
+        return Arrays.stream(str.split("\n")).filter(line -> line.startsWith(prefix)).collect(Collectors.toList());
+    }
+
+    @Test
+    public final void testPackageDot() {
+
+        // TEST
+        final String dot = export(GraphFormat.DOT, DependencyGraphExporter.PACKAGE_LEVEL);
+
+        // VERIFY
+        assertThat(dot).startsWith("digraph \"dependencies\" {\n").endsWith("  \"dummy.metrics.impl\" -> \"dummy.metrics.util\" [weight=1];\n}\n");
+        assertThat(lines(dot, "  \"").stream().filter(line -> !line.contains("->"))).containsExactlyInAnyOrder("  \"dummy.metrics.api\";",
+                "  \"dummy.metrics.client\";", "  \"dummy.metrics.impl\";", "  \"dummy.metrics.util\";");
+        assertThat(lines(dot, "  \"").stream().filter(line -> line.contains("->"))).containsExactly(
+                "  \"dummy.metrics.client\" -> \"dummy.metrics.api\" [weight=5];",
+                "  \"dummy.metrics.impl\" -> \"dummy.metrics.api\" [weight=2];",
+                "  \"dummy.metrics.impl\" -> \"dummy.metrics.util\" [weight=1];");
+
+    }
+
+    @Test
+    public final void testClassGraphMl() {
+
+        // TEST
+        final String xml = export(GraphFormat.GRAPHML, DependencyGraphExporter.CLASS_LEVEL);
+
+        // VERIFY
+        assertThat(xml).startsWith("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<graphml").endsWith("  </graph>\n</graphml>\n");
+        assertThat(lines(xml, "    <node ")).hasSize(5);
+        assertThat(lines(xml, "    <edge ")).containsExactlyInAnyOrder(
+                "    <edge source=\"dummy.metrics.api.AbstractService\" target=\"dummy.metrics.api.Service\"><data key=\"weight\">1</data></edge>",
+                "    <edge source=\"dummy.metrics.impl.ServiceImpl\" target=\"dummy.metrics.api.AbstractService\"><data key=\"weight\">2</data></edge>",
+                "    <edge source=\"dummy.metrics.impl.ServiceImpl\" target=\"dummy.metrics.util.Helper\"><data key=\"weight\">1</data></edge>",
+                "    <edge source=\"dummy.metrics.client.Client\" target=\"dummy.metrics.api.Service\"><data key=\"weight\">5</data></edge>");
+        for (final String edge : lines(xml, "    <edge ")) {
+            final String source = edge.substring(edge.indexOf('"') + 1, edge.indexOf('"', edge.indexOf('"') + 1));
+            assertThat(xml.indexOf("<node id=\"" + source + "\"/>")).isLessThan(xml.indexOf(edge));
+        }
+
+    }
+
+    @Test
+    public final void testCollapsedJsonLines() {
+
+        // TEST
+        final String json = export(GraphFormat.JSONL, 2);
+
+        // VERIFY
+        assertThat(json).isEqualTo("{\"type\":\"node\",\"id\":\"dummy.metrics\"}\n");
+
+    }
+
+    @Test
+    public final void testNodeName() {
+
+        // PREPARE
+        final StringWriter writer = new StringWriter();
+
+        // TEST + VERIFY
+        assertThat(new DependencyGraphExporter(writer, GraphFormat.DOT, DependencyGraphExporter.CLASS_LEVEL).nodeName("a/b/c/D"))
+                .isEqualTo("a.b.c.D");
+        assertThat(new DependencyGraphExporter(writer, GraphFormat.DOT, DependencyGraphExporter.PACKAGE_LEVEL).nodeName("a/b/c/D"))
+                .isEqualTo("a.b.c");
+        assertThat(new DependencyGraphExporter(writer, GraphFormat.DOT, 2).nodeName("a/b/c/D")).isEqualTo("a.b");
+        assertThat(new DependencyGraphExporter(writer, GraphFormat.DOT, 5).nodeName("a/b/c/D")).isEqualTo("a.b.c");
+        assertThat(new DependencyGraphExporter(writer, GraphFormat.DOT, 1).include("x").nodeName("a/b/c/D")).isNull();
+        assertThatThrownBy(() -> new DependencyGraphExporter(writer, GraphFormat.DOT, -2)).isInstanceOf(IllegalArgumentException.class);
+
+    }
+
+    @Test
+    public final void testEmptyGraph() throws Exception {
+
+        // PREPARE
+        final StringWriter writer = new StringWriter();
+
+        // TEST
+        new DependencyGraphExporter(writer, GraphFormat.DOT, 0).finish();
+
+        // VERIFY
+        assertThat(writer.toString()).isEqualTo("digraph \"dependencies\" {\n}\n");
+
+    }
+
+}
+// CHECKSTYLE:ON
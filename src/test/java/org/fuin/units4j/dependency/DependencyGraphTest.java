@@ -0,0 +1,111 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.dependency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// CHECKSTYLE:OFF Test code
+public final class DependencyGraphTest {
+
+    private static final String[] NAMES = { "a", "b", "c", "d", "e" };
+
+    private static DependencyGraph createGraph() {
+        // a -> b (2+3), a -> c (1), b -> c (4), c -> a (1), d -> c (7), e isolated
+        final int[] from = { 0, 0, 1, 0, 2, 3 };
+        final int[] to = { 1, 2, 2, 1, 0, 2 };
+        final int[] weight = { 2, 1, 4, 3, 1, 7 };
+        return new DependencyGraph(NAMES, from, to, weight, from.length);
+    }
+
+    @Test
+    public final void testNodes() {
+
+        // TEST
+        final DependencyGraph testee = createGraph();
+
+        // VERIFY
+        assertThat(testee.getNodeCount()).isEqualTo(5);
+        assertThat(testee.getEdgeCount()).isEqualTo(5);
+        assertThat(testee.getId("c")).isEqualTo(2);
+        assertThat(testee.getId("x")).isEqualTo(-1);
+        assertThat(testee.getName(3)).isEqualTo("d");
+
+    }
+
+    @Test
+    public final void testSuccessors() {
+
+        // PREPARE
+        final DependencyGraph testee = createGraph();
+        final int a = testee.getId("a");
+
+        // TEST + VERIFY
+        assertThat(testee.getSuccessorCount(a)).isEqualTo(2);
+        assertThat(testee.getSuccessor(a, 0)).isEqualTo(testee.getId("b"));
+        assertThat(testee.getSuccessorWeight(a, 0)).isEqualTo(5);
+        assertThat(testee.getSuccessor(a, 1)).isEqualTo(testee.getId("c"));
+        assertThat(testee.getSuccessorWeight(a, 1)).isEqualTo(1);
+        assertThat(testee.getSuccessorCount(testee.getId("e"))).isZero();
+        assertThat(testee.getWeight(a, testee.getId("b"))).isEqualTo(5);
+        assertThat(testee.getWeight(a, testee.getId("d"))).isZero();
+
+    }
+
+    @Test
+    public final void testPredecessors() {
+
+        // PREPARE
+        final DependencyGraph testee = createGraph();
+        final int c = testee.getId("c");
+
+        // TEST + VERIFY
+        assertThat(testee.getPredecessorCount(c)).isEqualTo(3);
+        assertThat(testee.getPredecessor(c, 0)).isEqualTo(testee.getId("a"));
+        assertThat(testee.getPredecessorWeight(c, 0)).isEqualTo(1);
+        assertThat(testee.getPredecessor(c, 1)).isEqualTo(testee.getId("b"));
+        assertThat(testee.getPredecessorWeight(c, 1)).isEqualTo(4);
+        assertThat(testee.getPredecessor(c, 2)).isEqualTo(testee.getId("d"));
+        assertThat(testee.getPredecessorWeight(c, 2)).isEqualTo(7);
+
+    }
+
+    @Test
+    public final void testReachability() {
+
+        // PREPARE
+        final DependencyGraph testee = createGraph();
+
+        // TEST
+        final BitSet fromD = testee.getTransitiveSuccessors(testee.getId("d"));
+        final BitSet toB = testee.getTransitivePredecessors(testee.getId("b"));
+
+        // VERIFY
+        assertThat(fromD.stream().mapToObj(testee::getName)).containsExactly("a", "b", "c");
+        assertThat(toB.stream().mapToObj(testee::getName)).containsExactly("a", "b", "c", "d");
+        assertThat(testee.isReachable(testee.getId("d"), testee.getId("b"))).isTrue();
+        assertThat(testee.isReachable(testee.getId("a"), testee.getId("d"))).isFalse();
+        assertThat(testee.isReachable(testee.getId("e"), testee.getId("a"))).isFalse();
+
+    }
+
+}
+// CHECKSTYLE:ON
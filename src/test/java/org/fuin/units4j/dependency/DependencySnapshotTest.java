@@ -0,0 +1,134 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.dependency;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// CHECKSTYLE:OFF Test code
+public final class DependencySnapshotTest {
+
+    @Test
+    public final void testCreate() throws Exception {
+
+        // TEST
+        final DependencySnapshot testee = DependencySnapshot.create(new File("target/test-classes/dummy/metrics"));
+
+        // VERIFY
+        assertThat(testee.getClassEdges()).isSorted().contains("dummy.metrics.client.Client dummy.metrics.api.Service",
+                "dummy.metrics.impl.ServiceImpl dummy.metrics.util.Helper", "dummy.metrics.util.Helper java.lang.Object");
+        assertThat(testee.getPackageEdges()).isSorted().contains("dummy.metrics.client dummy.metrics.api",
+                "dummy.metrics.impl dummy.metrics.api", "dummy.metrics.impl dummy.metrics.util", "dummy.metrics.util java.lang")
+                .doesNotContain("dummy.metrics.api dummy.metrics.api");
+
+    }
+
+    @Test
+    public final void testSortedUnique() {
+
+        // TEST
+        final DependencySnapshot testee = new DependencySnapshot(List.of("b.B a.A", "a.A b.B", "b.B a.A", "a.A a.X", "C a.A"));
+
+        // VERIFY
+        assertThat(testee.getClassEdges()).containsExactly("C a.A", "a.A a.X", "a.A b.B", "b.B a.A");
+        assertThat(testee.getPackageEdges()).containsExactly(" a", "a b", "b a");
+
+    }
+
+    @Test
+    public final void testWriteReadText(@TempDir final Path tempDir) throws Exception {
+
+        // PREPARE
+        final DependencySnapshot testee = new DependencySnapshot(List.of("b.B a.A", "a.A b.B"));
+        final File file = tempDir.resolve("snapshot.txt").toFile();
+        final StringWriter writer = new StringWriter();
+
+        // TEST
+        testee.write(writer);
+        Files.writeString(file.toPath(), writer.toString());
+
+        // VERIFY
+        assertThat(writer.toString()).isEqualTo(DependencySnapshot.HEADER + "\na.A b.B\nb.B a.A\n");
+        assertThat(DependencySnapshot.read(new StringReader(writer.toString())).getClassEdges()).isEqualTo(testee.getClassEdges());
+        assertThat(DependencySnapshot.read(file).getClassEdges()).isEqualTo(testee.getClassEdges());
+
+    }
+
+    @Test
+    public final void testWriteReadBinary(@TempDir final Path tempDir) throws Exception {
+
+        // PREPARE
+        final DependencySnapshot testee = DependencySnapshot.create(new File("target/test-classes/dummy/metrics"));
+        final File file = tempDir.resolve("snapshot.bin").toFile();
+
+        // TEST
+        testee.write(file);
+        final DependencySnapshot copy = DependencySnapshot.read(file);
+
+        // VERIFY
+        assertThat(Files.readAllBytes(file.toPath())).startsWith(0x55, 0x34, 0x4A, 0x44);
+        assertThat(copy.getClassEdges()).isEqualTo(testee.getClassEdges());
+        assertThat(copy.getPackageEdges()).isEqualTo(testee.getPackageEdges());
+        assertThat(DependencySnapshot.diff(testee, copy).isEmpty()).isTrue();
+
+    }
+
+    @Test
+    public final void testReadInvalid() {
+        assertThatThrownBy(() -> DependencySnapshot.read(new StringReader("a.A b.B\n"))).isInstanceOf(IOException.class)
+                .hasMessage("Expected '" + DependencySnapshot.HEADER + "' as first line, but was: a.A b.B");
+        assertThatThrownBy(() -> DependencySnapshot.read(new StringReader(DependencySnapshot.HEADER + "\na.A\n")))
+                .isInstanceOf(IOException.class).hasMessage("Expected 'from to' edge, but was: a.A");
+        assertThatThrownBy(() -> DependencySnapshot.read(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4 })))
+                .isInstanceOf(IOException.class).hasMessage("Expected binary dependency snapshot, but magic number was: 1020304");
+    }
+
+    @Test
+    public final void testDiff() {
+
+        // PREPARE
+        final DependencySnapshot oldSnapshot = new DependencySnapshot(List.of("a.A b.B", "a.A a.X", "c.C b.B"));
+        final DependencySnapshot newSnapshot = new DependencySnapshot(List.of("a.A b.B", "a.A b.Y", "a.A d.D", "a.X a.A"));
+
+        // TEST
+        final DependencyDiff diff = DependencySnapshot.diff(oldSnapshot, newSnapshot);
+
+        // VERIFY
+        assertThat(diff.getAddedClassEdges()).containsExactly("a.A -> b.Y", "a.A -> d.D", "a.X -> a.A");
+        assertThat(diff.getRemovedClassEdges()).containsExactly("a.A -> a.X", "c.C -> b.B");
+        assertThat(diff.getAddedPackageEdges()).containsExactly("a -> d");
+        assertThat(diff.getRemovedPackageEdges()).containsExactly("c -> b");
+        assertThat(diff.isEmpty()).isFalse();
+        assertThat(DependencySnapshot.diff(newSnapshot, newSnapshot).isEmpty()).isTrue();
+
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,50 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.dependency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// CHECKSTYLE:OFF Test code
+public final class PackageCycleTest {
+
+    @Test
+    public final void testDependenciesAndToString() {
+
+        // PREPARE
+        final PackageGraph graph = new PackageGraph();
+        graph.addDependency("b", "a", "b.B1");
+        graph.addDependency("b", "a", "b.B2");
+        graph.addDependency("a", "b", "a.A");
+        graph.addDependency("a", "c", "a.A");
+
+        // TEST
+        final PackageCycle testee = new PackageCycle(graph, Arrays.asList("b", "a"));
+
+        // VERIFY
+        assertThat(testee.getPackages()).containsExactly("a", "b");
+        assertThat(testee.getDependencies()).containsExactly("a -> b: a.A", "b -> a: b.B1, b.B2");
+        assertThat(testee).hasToString("Cycle between packages [a, b]\n    a -> b: a.A\n    b -> a: b.B1, b.B2");
+
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,130 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.dependency;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// CHECKSTYLE:OFF Test code
+public final class PackageGraphTest {
+
+    @Test
+    public final void testAddDependency() {
+
+        // PREPARE
+        final PackageGraph testee = new PackageGraph();
+
+        // TEST
+        testee.addDependency("a", "b", "a.A1");
+        testee.addDependency("a", "b", "a.A2");
+        testee.addDependency("a", "a", "a.A1");
+        testee.addDependency("b", "c", "b.B");
+
+        // VERIFY
+        assertThat(testee.getPackages()).containsExactlyInAnyOrder("a", "b", "c");
+        assertThat(testee.getDependencies("a")).containsExactly("b");
+        assertThat(testee.getDependencies("c")).isEmpty();
+        assertThat(testee.getDependencies("x")).isEmpty();
+        assertThat(testee.getClasses("a", "b")).containsExactly("a.A1", "a.A2");
+        assertThat(testee.getClasses("a", "c")).isEmpty();
+        assertThat(testee.getEdgeCount()).isEqualTo(2);
+
+    }
+
+    @Test
+    public final void testFindCycles() {
+
+        // PREPARE
+        final PackageGraph testee = new PackageGraph();
+        testee.addDependency("a", "b", "a.A");
+        testee.addDependency("b", "a", "b.B");
+        testee.addDependency("c", "a", "c.C");
+        testee.addDependency("x", "y", "x.X");
+        testee.addDependency("y", "z", "y.Y");
+        testee.addDependency("z", "x", "z.Z");
+        testee.addDependency("z", "c", "z.Z");
+
+        // TEST
+        final List<PackageCycle> cycles = testee.findCycles();
+
+        // VERIFY
+        assertThat(cycles).hasSize(2);
+        assertThat(cycles.get(0).getPackages()).containsExactly("a", "b");
+        assertThat(cycles.get(1).getPackages()).containsExactly("x", "y", "z");
+
+    }
+
+    @Test
+    public final void testFindCyclesNoCycle() {
+
+        // PREPARE
+        final PackageGraph testee = new PackageGraph();
+        testee.addDependency("a", "b", "a.A");
+        testee.addDependency("b", "c", "b.B");
+        testee.addDependency("a", "c", "a.A");
+
+        // TEST + VERIFY
+        assertThat(testee.findCycles()).isEmpty();
+
+    }
+
+    @Test
+    public final void testFindCyclesLargeGraph() {
+
+        // PREPARE - Long chain with a back edge and additional cross edges (100k+ edges)
+        final int n = 100_000;
+        final PackageGraph testee = new PackageGraph();
+        for (int i = 0; i < n - 1; i++) {
+            testee.addDependency("p" + i, "p" + (i + 1), "C" + i);
+            if (i % 2 == 0) {
+                testee.addDependency("p" + i, "p" + (n - 1), "C" + i);
+            }
+        }
+        testee.addDependency("p" + (n - 1), "p0", "Back");
+
+        // TEST
+        final List<PackageCycle> cycles = testee.findCycles();
+
+        // VERIFY
+        assertThat(testee.getEdgeCount()).isGreaterThan(n);
+        assertThat(cycles).hasSize(1);
+        assertThat(cycles.get(0).getPackages()).hasSize(n);
+
+    }
+
+    @Test
+    public final void testCreate() {
+
+        // TEST
+        final PackageGraph testee = PackageGraph.create(new File("target/test-classes/dummy/cycle"));
+
+        // VERIFY
+        assertThat(testee.getClasses("dummy.cycle.b", "dummy.cycle.a")).containsExactly("dummy.cycle.b.CycleB", "dummy.cycle.b.CycleB2");
+        final List<PackageCycle> cycles = testee.findCycles();
+        assertThat(cycles).hasSize(2);
+        assertThat(cycles.get(0).getPackages()).containsExactly("dummy.cycle.a", "dummy.cycle.b");
+        assertThat(cycles.get(1).getPackages()).containsExactly("dummy.cycle.d", "dummy.cycle.e", "dummy.cycle.f");
+
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.dependency;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// CHECKSTYLE:OFF Test code
+public final class TestImpactAnalyzerTest {
+
+    private static TestImpactAnalyzer analyzer() {
+        return new TestImpactAnalyzer(new File("target/test-classes/dummy/metrics"), new File("target/test-classes/dummy/impact"));
+    }
+
+    @Test
+    public final void testGetTestClasses() {
+        assertThat(analyzer().getTestClasses()).containsExactly("dummy.impact.ClientCheck", "dummy.impact.HelperCheck",
+                "dummy.impact.ImplCheck", "dummy.impact.NestedCheck", "dummy.impact.NestedCheck$Inner", "dummy.impact.UnrelatedCheck");
+    }
+
+    @Test
+    public final void testGetAffectedTestsTransitive() {
+
+        // PREPARE
+        final TestImpactAnalyzer testee = analyzer();
+
+        // TEST + VERIFY
+        assertThat(testee.getAffectedTests(List.of("dummy.metrics.util.Helper"))).containsExactly("dummy.impact.HelperCheck",
+                "dummy.impact.ImplCheck");
+        assertThat(testee.getAffectedTests(List.of("dummy.metrics.api.Service"))).containsExactly("dummy.impact.ClientCheck",
+                "dummy.impact.ImplCheck", "dummy.impact.NestedCheck", "dummy.impact.NestedCheck$Inner");
+        assertThat(testee.getAffectedTests(List.of("dummy.impact.UnrelatedCheck"))).containsExactly("dummy.impact.UnrelatedCheck");
+        assertThat(testee.getAffectedTests(List.of("dummy.metrics.Deleted"))).isEmpty();
+        assertThat(testee.getAffectedTests(List.of())).isEmpty();
+
+    }
+
+    @Test
+    public final void testGetAffectedTestsNested() {
+
+        // PREPARE
+        final TestImpactAnalyzer testee = analyzer();
+
+        // TEST + VERIFY (Only the nested class uses the client, but the enclosing class is required to run it)
+        assertThat(testee.getAffectedTests(List.of("dummy.metrics.client.Client"))).containsExactly("dummy.impact.ClientCheck",
+                "dummy.impact.NestedCheck", "dummy.impact.NestedCheck$Inner");
+        assertThat(testee.getAffectedTests(List.of("dummy.impact.NestedCheck$Inner"))).containsExactly("dummy.impact.NestedCheck",
+                "dummy.impact.NestedCheck$Inner");
+
+    }
+
+    @Test
+    public final void testGetAffectedTestsBaseline() {
+
+        // PREPARE
+        final TestImpactAnalyzer testee = analyzer();
+        final Map<String, String> map = new TreeMap<>(testee.getFingerprints().getFingerprints());
+        map.put("dummy.metrics.client.Client", "changed");
+
+        // TEST
+        final var tests = testee.getAffectedTests(new ClassFingerprints(map));
+
+        // VERIFY
+        assertThat(tests).containsExactly("dummy.impact.ClientCheck", "dummy.impact.NestedCheck", "dummy.impact.NestedCheck$Inner");
+        assertThat(testee.getAffectedTests(testee.getFingerprints())).isEmpty();
+
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.fuin.units4j.jdbc.QueryAssert.assertThat;
+
+/**
+ * Tests the {@link QueryAssert} class.
+ */
+// CHECKSTYLE:OFF Test code
+public class QueryAssertTest {
+
+    private static final List<RecordedStatement> STATEMENTS = List.of(new RecordedStatement("SELECT * FROM A"),
+            new RecordedStatement("SELECT * FROM B WHERE A_ID=?"), new RecordedStatement("SELECT * FROM B WHERE A_ID=?"),
+            new RecordedStatement("SELECT * FROM B WHERE A_ID=?"), new RecordedStatement("INSERT INTO A VALUES (?)"),
+            new RecordedStatement("UPDATE A SET X=?"), new RecordedStatement("DELETE FROM A"), new RecordedStatement("COMMIT"));
+
+    @Test
+    public void testCounts() {
+        assertThat(STATEMENTS).count().isEqualTo(8);
+        assertThat(STATEMENTS).selectCount().isEqualTo(4);
+        assertThat(STATEMENTS).insertCount().isEqualTo(1);
+        assertThat(STATEMENTS).updateCount().isEqualTo(1);
+        assertThat(STATEMENTS).deleteCount().isEqualTo(1);
+    }
+
+    @Test
+    public void testCountFailureMessage() {
+        assertThatThrownBy(() -> assertThat(STATEMENTS).selectCount().isAtMost(2)).isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Number of SELECT statements:\nSELECT * FROM A\nSELECT * FROM B WHERE A_ID=?");
+    }
+
+    @Test
+    public void testHasNoRepeatedSelects() {
+
+        assertThat(STATEMENTS).hasNoRepeatedSelects(3);
+
+        assertThatThrownBy(() -> assertThat(STATEMENTS).hasNoRepeatedSelects(1)).isInstanceOf(AssertionError.class).hasMessage(
+                "Expected every SELECT to be executed at most 1 time(s) (N+1 problem?), but was:\n3x SELECT * FROM B WHERE A_ID=?");
+
+    }
+
+    @Test
+    public void testHasNoStatementSlowerThan() {
+
+        // PREPARE
+        final List<RecordedStatement> statements = List.of(new RecordedStatement("SELECT A", List.of(), 1_000_000),
+                new RecordedStatement("SELECT B WHERE X=?", List.of(42), 5_000_000),
+                new RecordedStatement("SELECT C", List.of(), 3_000_000));
+
+        // TEST + VERIFY
+        assertThat(statements).hasNoStatementSlowerThan(Duration.ofMillis(5));
+        assertThatThrownBy(() -> assertThat(statements).hasNoStatementSlowerThan(Duration.ofMillis(2)))
+                .isInstanceOf(AssertionError.class).hasMessage("Expected no statement to take longer than 2.000 ms, but 2 did:\n"
+                        + "5.000 ms: SELECT B WHERE X=? [42]\n" + "3.000 ms: SELECT C");
+
+    }
+
+    @Test
+    public void testTotalTimeIsAtMost() {
+
+        // PREPARE
+        final List<RecordedStatement> statements = List.of(new RecordedStatement("SELECT A", List.of(), 1_000_000),
+                new RecordedStatement("SELECT B", List.of(), 2_500_000));
+
+        // TEST + VERIFY
+        assertThat(statements).totalTimeIsAtMost(Duration.ofMillis(4));
+        assertThatThrownBy(() -> assertThat(statements).totalTimeIsAtMost(Duration.ofMillis(3))).isInstanceOf(AssertionError.class)
+                .hasMessage("Expected total statement time to be at most 3.000 ms, but was 3.500 ms for 2 statements. Slowest were:\n"
+                        + "2.500 ms: SELECT B\n" + "1.000 ms: SELECT A");
+
+    }
+
+    @Test
+    public void testAssertThatQueries() {
+        StatementRecorder.start();
+        try {
+            StatementRecorder.record(new RecordedStatement("SELECT 1"));
+            QueryAssert.assertThatQueries().count().isEqualTo(1);
+        } finally {
+            StatementRecorder.stop();
+        }
+        QueryAssert.assertThatQueries().count().isZero();
+    }
+
+}
+// CHECKSTYLE:ON
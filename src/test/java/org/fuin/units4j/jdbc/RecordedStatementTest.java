@@ -0,0 +1,74 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the {@link RecordedStatement} class.
+ */
+// CHECKSTYLE:OFF Test code
+public class RecordedStatementTest {
+
+    @Test
+    public void testCreate() {
+
+        // TEST
+        final RecordedStatement testee = new RecordedStatement("select * from x");
+
+        // VERIFY
+        assertThat(testee.getSql()).isEqualTo("select * from x");
+        assertThat(testee.getType()).isEqualTo(StatementType.SELECT);
+        assertThat(testee).hasToString("select * from x");
+        assertThat(testee.getParameters()).isEmpty();
+        assertThat(testee.getDurationNanos()).isZero();
+
+    }
+
+    @Test
+    public void testCreateWithParameters() {
+
+        // TEST
+        final RecordedStatement testee = new RecordedStatement("update x set a=? where b=?", Arrays.asList(null, 1), 2_000_000);
+
+        // VERIFY
+        assertThat(testee.getType()).isEqualTo(StatementType.UPDATE);
+        assertThat(testee.getParameters()).containsExactly(null, 1);
+        assertThat(testee.getDurationNanos()).isEqualTo(2_000_000);
+        assertThat(testee.getDuration()).isEqualTo(Duration.ofMillis(2));
+
+    }
+
+    @Test
+    public void testStatementType() {
+        assertThat(StatementType.of(null)).isEqualTo(StatementType.OTHER);
+        assertThat(StatementType.of("  SELECT 1")).isEqualTo(StatementType.SELECT);
+        assertThat(StatementType.of("with a as (select 1) select * from a")).isEqualTo(StatementType.SELECT);
+        assertThat(StatementType.of("insert into x values (1)")).isEqualTo(StatementType.INSERT);
+        assertThat(StatementType.of("Update x set a=1")).isEqualTo(StatementType.UPDATE);
+        assertThat(StatementType.of("DELETE FROM x")).isEqualTo(StatementType.DELETE);
+        assertThat(StatementType.of("CREATE TABLE x (a int)")).isEqualTo(StatementType.OTHER);
+    }
+
+}
+// CHECKSTYLE:ON
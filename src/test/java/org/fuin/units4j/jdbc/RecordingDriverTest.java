@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.jdbc;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.fuin.units4j.MyTestClass;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.fuin.units4j.jdbc.QueryAssert.assertThatQueries;
+
+/**
+ * Tests the {@link RecordingDriver} class.
+ */
+// CHECKSTYLE:OFF Test code
+public class RecordingDriverTest {
+
+    @BeforeEach
+    public void beforeEach() {
+        StatementRecorder.start();
+    }
+
+    @AfterEach
+    public void afterEach() {
+        StatementRecorder.stop();
+    }
+
+    @Test
+    public void testAcceptsUrl() {
+        final RecordingDriver testee = new RecordingDriver();
+        assertThat(testee.acceptsURL("jdbc:units4j:hsqldb:mem:x")).isTrue();
+        assertThat(testee.acceptsURL("jdbc:hsqldb:mem:x")).isFalse();
+        assertThat(testee.acceptsURL(null)).isFalse();
+        assertThat(RecordingDriver.delegateUrl("jdbc:units4j:hsqldb:mem:x")).isEqualTo("jdbc:hsqldb:mem:x");
+    }
+
+    @Test
+    public void testDriverManager() throws Exception {
+
+        // TEST
+        try (final Connection con = DriverManager.getConnection("jdbc:units4j:hsqldb:mem:recording-driver", "sa", "");
+                final Statement stmt = con.createStatement()) {
+            stmt.executeQuery("SELECT 1 FROM INFORMATION_SCHEMA.SYSTEM_USERS").close();
+        }
+
+        // VERIFY
+        assertThatQueries().selectCount().isEqualTo(1);
+
+    }
+
+    @Test
+    public void testEntityManager() {
+
+        // PREPARE
+        final Map<String, Object> props = new HashMap<>();
+        props.put("jakarta.persistence.jdbc.driver", RecordingDriver.class.getName());
+        props.put("jakarta.persistence.jdbc.url", "jdbc:units4j:hsqldb:mem:recording-driver-jpa");
+        props.put("eclipselink.cache.shared.default", "false");
+        final EntityManagerFactory emf = Persistence.createEntityManagerFactory("testPU", props);
+        try {
+            final EntityManager em = emf.createEntityManager();
+            try {
+                em.getTransaction().begin();
+                em.persist(new MyTestClass(1, "John Doe"));
+                em.persist(new MyTestClass(2, "Jane Doe"));
+                em.getTransaction().commit();
+                em.clear();
+                StatementRecorder.reset();
+
+                // TEST
+                em.find(MyTestClass.class, 1);
+                em.find(MyTestClass.class, 2);
+
+                // VERIFY
+                assertThatQueries().selectCount().isEqualTo(2);
+                assertThatQueries().insertCount().isZero();
+                assertThatQueries().hasNoRepeatedSelects(2);
+
+            } finally {
+                em.close();
+            }
+        } finally {
+            emf.close();
+        }
+
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.jdbc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the {@link StatementRecorderExtension} class.
+ */
+// CHECKSTYLE:OFF Test code
+@ExtendWith(StatementRecorderExtension.class)
+public class StatementRecorderExtensionTest {
+
+    @BeforeEach
+    public void beforeEach() {
+        StatementRecorder.record(new RecordedStatement("SELECT 1"));
+    }
+
+    @Test
+    public void testReset() {
+        assertThat(StatementRecorder.isRecording()).isTrue();
+        assertThat(StatementRecorder.getStatements()).isEmpty();
+    }
+
+    @Test
+    public void testConcurrentTests() throws Exception {
+
+        // PREPARE
+        final StatementRecorderExtension testee = new StatementRecorderExtension();
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+
+            // TEST (two tests running at the same time, each executing it's own number of statements)
+            final Future<Integer> first = executor.submit(() -> runTest(testee, barrier, "first", 3));
+            final Future<Integer> second = executor.submit(() -> runTest(testee, barrier, "second", 5));
+
+            // VERIFY
+            assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo(3);
+            assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo(5);
+
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+    private static int runTest(final StatementRecorderExtension extension, final CyclicBarrier barrier, final String name,
+            final int count) throws Exception {
+        extension.beforeTestExecution(null);
+        try (final Connection con = StatementRecorder.wrap(DriverManager.getConnection("jdbc:hsqldb:mem:recorder-" + name, "sa", ""));
+                final Statement stmt = con.createStatement()) {
+            barrier.await(10, TimeUnit.SECONDS);
+            for (int i = 0; i < count; i++) {
+                stmt.executeQuery("SELECT 1 FROM INFORMATION_SCHEMA.SYSTEM_USERS").close();
+            }
+            barrier.await(10, TimeUnit.SECONDS);
+            QueryAssert.assertThatQueries().selectCount().isEqualTo(count);
+            return StatementRecorder.getStatements().size();
+        } finally {
+            extension.afterTestExecution(null);
+            assertThat(StatementRecorder.isRecording()).isFalse();
+        }
+    }
+
+}
+// CHECKSTYLE:ON
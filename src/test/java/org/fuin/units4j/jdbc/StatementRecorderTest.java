@@ -0,0 +1,164 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the {@link StatementRecorder} class.
+ */
+// CHECKSTYLE:OFF Test code
+public class StatementRecorderTest {
+
+    @BeforeEach
+    public void beforeEach() {
+        StatementRecorder.start();
+    }
+
+    @AfterEach
+    public void afterEach() {
+        StatementRecorder.stop();
+    }
+
+    @Test
+    public void testWrap() throws Exception {
+
+        try (final Connection con = StatementRecorder.wrap(DriverManager.getConnection("jdbc:hsqldb:mem:statement-recorder", "sa", ""))) {
+
+            // TEST
+            try (final Statement stmt = con.createStatement()) {
+                stmt.execute("CREATE TABLE PERSON (ID INT PRIMARY KEY, NAME VARCHAR(50))");
+                stmt.addBatch("INSERT INTO PERSON VALUES (1, 'a')");
+                stmt.addBatch("INSERT INTO PERSON VALUES (2, 'b')");
+                stmt.executeBatch();
+                assertThat(stmt.getConnection()).isSameAs(con);
+            }
+            try (final PreparedStatement stmt = con.prepareStatement("UPDATE PERSON SET NAME=? WHERE ID=?")) {
+                stmt.setString(1, "c");
+                stmt.setInt(2, 1);
+                stmt.executeUpdate();
+            }
+            try (final PreparedStatement stmt = con.prepareStatement("SELECT NAME FROM PERSON WHERE ID=?")) {
+                stmt.setInt(1, 1);
+                try (final ResultSet rs = stmt.executeQuery()) {
+                    assertThat(rs.next()).isTrue();
+                    assertThat(rs.getString(1)).isEqualTo("c");
+                }
+            }
+            try (final Statement stmt = con.createStatement()) {
+                stmt.executeUpdate("DELETE FROM PERSON");
+                stmt.execute("DROP TABLE PERSON");
+            }
+
+        }
+
+        // VERIFY
+        assertThat(StatementRecorder.getStatements()).extracting(RecordedStatement::getType).containsExactly(StatementType.OTHER,
+                StatementType.INSERT, StatementType.INSERT, StatementType.UPDATE, StatementType.SELECT, StatementType.DELETE,
+                StatementType.OTHER);
+        final RecordedStatement update = StatementRecorder.getStatements().get(3);
+        assertThat(update.getParameters()).containsExactly("c", 1);
+        assertThat(update.getDurationNanos()).isPositive();
+
+        // TEST
+        StatementRecorder.reset();
+
+        // VERIFY
+        assertThat(StatementRecorder.getStatements()).isEmpty();
+
+    }
+
+    @Test
+    public void testPreparedBatch() throws Exception {
+
+        try (final Connection con = StatementRecorder.wrap(DriverManager.getConnection("jdbc:hsqldb:mem:statement-recorder-batch", "sa", ""))) {
+
+            // PREPARE
+            try (final Statement stmt = con.createStatement()) {
+                stmt.execute("CREATE TABLE PERSON (ID INT PRIMARY KEY, NAME VARCHAR(50))");
+            }
+            StatementRecorder.reset();
+
+            // TEST
+            try (final PreparedStatement stmt = con.prepareStatement("INSERT INTO PERSON VALUES (?, ?)")) {
+                for (int i = 1; i <= 3; i++) {
+                    stmt.setInt(1, i);
+                    stmt.setString(2, "name" + i);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                stmt.setInt(1, 4);
+                stmt.setString(2, "ignored");
+                stmt.addBatch();
+                stmt.clearBatch();
+                stmt.executeBatch();
+            }
+
+            // VERIFY
+            assertThat(StatementRecorder.getStatements()).extracting(RecordedStatement::getParameters).containsExactly(List.of(1, "name1"),
+                    List.of(2, "name2"), List.of(3, "name3"));
+            QueryAssert.assertThatQueries().insertCount().isEqualTo(3);
+
+            try (final Statement stmt = con.createStatement()) {
+                stmt.execute("DROP TABLE PERSON");
+            }
+
+        }
+
+    }
+
+    @Test
+    public void testNotRecording() {
+
+        // PREPARE
+        StatementRecorder.stop();
+
+        // TEST
+        StatementRecorder.record(new RecordedStatement("SELECT 1"));
+        StatementRecorder.reset();
+
+        // VERIFY
+        assertThat(StatementRecorder.isRecording()).isFalse();
+        assertThat(StatementRecorder.getStatements()).isEmpty();
+
+    }
+
+    @Test
+    public void testRecord() {
+
+        // TEST
+        StatementRecorder.record(new RecordedStatement("SELECT 1"));
+
+        // VERIFY
+        assertThat(StatementRecorder.getStatements()).extracting(RecordedStatement::getSql).containsExactly("SELECT 1");
+
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,59 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import org.fuin.units4j.analyzer.MCAMethod;
+import org.fuin.units4j.analyzer.MethodCallAnalyzer;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the {@link ClassParseEvent} class.
+ */
+// CHECKSTYLE:OFF Test code
+public class ClassParseEventTest {
+
+    @Test
+    public void testEmittedByMethodCallAnalyzer() throws Exception {
+
+        // PREPARE
+        final File dir = new File("target/test-classes/dummy/test/good");
+        final MethodCallAnalyzer analyzer = new MethodCallAnalyzer(
+                new MCAMethod(BigDecimal.class.getName(), BigDecimal.class.getName() + " setScale(int)"));
+
+        // TEST
+        final List<RecordedEvent> events = JfrTestUtils.record(ClassParseEvent.class, () -> analyzer.findCallingMethodsInDir(dir));
+
+        // VERIFY
+        assertThat(events).hasSize(1);
+        final RecordedEvent event = events.get(0);
+        assertThat(event.getEventType().getName()).isEqualTo("org.fuin.units4j.ClassParse");
+        assertThat(event.getString("analyzer")).isEqualTo("MethodCallAnalyzer");
+        assertThat(event.getString("className")).isEqualTo("dummy.test.good.GoodOne");
+        assertThat(event.getLong("byteCount")).isEqualTo(new File(dir, "GoodOne.class").length());
+
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,57 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import org.fuin.units4j.dependency.DependencyAnalyzer;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the {@link DirectoryScanEvent} class.
+ */
+// CHECKSTYLE:OFF Test code
+public class DirectoryScanEventTest {
+
+    @Test
+    public void testEmittedByDependencyAnalyzer() throws Exception {
+
+        // PREPARE
+        final File dir = new File("target/test-classes/dummy/test/good");
+        final DependencyAnalyzer analyzer = new DependencyAnalyzer(getClass(), "/dummy-allowed.xml");
+
+        // TEST
+        final List<RecordedEvent> events = JfrTestUtils.record(DirectoryScanEvent.class, () -> analyzer.analyze(dir));
+
+        // VERIFY
+        assertThat(events).hasSize(1);
+        final RecordedEvent event = events.get(0);
+        assertThat(event.getEventType().getName()).isEqualTo("org.fuin.units4j.DirectoryScan");
+        assertThat(event.getString("analyzer")).isEqualTo("DependencyAnalyzer");
+        assertThat(event.getString("source")).isEqualTo(dir.getPath());
+        assertThat(event.getInt("classCount")).isEqualTo(1);
+        assertThat(event.getLong("byteCount")).isEqualTo(new File(dir, "GoodOne.class").length());
+
+    }
+
+}
+// CHECKSTYLE:ON
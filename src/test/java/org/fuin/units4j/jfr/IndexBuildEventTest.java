@@ -0,0 +1,56 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import org.fuin.units4j.Units4JUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the {@link IndexBuildEvent} class.
+ */
+// CHECKSTYLE:OFF Test code
+public class IndexBuildEventTest {
+
+    @Test
+    public void testEmittedByIndexAllClasses() throws Exception {
+
+        // PREPARE
+        final List<File> classFiles = Units4JUtils.findAllClasses(new File("target/test-classes/dummy"));
+        final long bytes = classFiles.stream().mapToLong(File::length).sum();
+
+        // TEST
+        final List<RecordedEvent> events = JfrTestUtils.record(IndexBuildEvent.class, () -> Units4JUtils.indexAllClasses(classFiles));
+
+        // VERIFY
+        assertThat(events).hasSize(1);
+        final RecordedEvent event = events.get(0);
+        assertThat(event.getEventType().getName()).isEqualTo("org.fuin.units4j.IndexBuild");
+        assertThat(event.getInt("classCount")).isEqualTo(classFiles.size());
+        assertThat(event.getLong("byteCount")).isEqualTo(bytes);
+        assertThat(event.getString("source")).isEqualTo(new File("target/test-classes/dummy").getAbsolutePath());
+
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,81 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Records the events of a given type while running some code.
+ */
+// CHECKSTYLE:OFF Test code
+final class JfrTestUtils {
+
+    private JfrTestUtils() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Executes the code with an active recording for the given event type.
+     * 
+     * @param eventType
+     *            Type of events to record.
+     * @param code
+     *            Code to execute.
+     * 
+     * @return Recorded events.
+     * 
+     * @throws Exception
+     *             Error executing the code or reading the recording.
+     */
+    static List<RecordedEvent> record(final Class<? extends Event> eventType, final ThrowingRunnable code) throws Exception {
+        final Path file = Files.createTempFile("units4j-", ".jfr");
+        try (final Recording recording = new Recording()) {
+            recording.enable(eventType).withoutThreshold();
+            recording.start();
+            code.run();
+            recording.stop();
+            recording.dump(file);
+            final String name = EventType.getEventType(eventType).getName();
+            return RecordingFile.readAllEvents(file).stream().filter(event -> event.getEventType().getName().equals(name))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Code to run.
+     */
+    @FunctionalInterface
+    interface ThrowingRunnable {
+
+        void run() throws Exception;
+
+    }
+
+}
+// CHECKSTYLE:ON
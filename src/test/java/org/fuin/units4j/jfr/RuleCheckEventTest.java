@@ -0,0 +1,57 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import org.fuin.units4j.JandexAssert;
+import org.fuin.units4j.MyTestClass;
+import org.fuin.units4j.Units4JUtils;
+import org.jboss.jandex.Index;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the {@link RuleCheckEvent} class.
+ */
+// CHECKSTYLE:OFF Test code
+public class RuleCheckEventTest {
+
+    @Test
+    public void testEmittedByJandexAssert() throws Exception {
+
+        // PREPARE
+        final Index index = Units4JUtils.index(getClass().getClassLoader(), MyTestClass.class.getName());
+
+        // TEST
+        final List<RecordedEvent> events = JfrTestUtils.record(RuleCheckEvent.class,
+                () -> JandexAssert.assertThat(index).hasOnlyValidJpaEntities());
+
+        // VERIFY
+        assertThat(events).extracting(event -> event.getString("rule")).containsExactlyInAnyOrder(
+                "RulePublicOrProtectedNoArgConstructor", "RuleClassNotFinal", "RuleClassHasNoFinalMethods",
+                "RulePersistentInstanceFieldVisibility");
+        assertThat(events).allMatch(event -> event.getBoolean("valid"));
+        assertThat(events).allMatch(event -> MyTestClass.class.getName().equals(event.getString("target")));
+
+    }
+
+}
+// CHECKSTYLE:ON
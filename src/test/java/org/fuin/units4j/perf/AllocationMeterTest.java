@@ -0,0 +1,54 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// CHECKSTYLE:OFF Test code
+public final class AllocationMeterTest {
+
+    private static Object sink;
+
+    @Test
+    public final void testCurrentThreadAllocatedBytes() {
+        assertThat(AllocationMeter.isSupported()).isTrue();
+        final long before = AllocationMeter.currentThreadAllocatedBytes();
+        sink = new byte[10_000];
+        assertThat(AllocationMeter.currentThreadAllocatedBytes() - before).isGreaterThanOrEqualTo(10_000);
+    }
+
+    @Test
+    public final void testBytesPerInvocation() {
+        final int[] counter = new int[1];
+        assertThat(AllocationMeter.bytesPerInvocation(() -> counter[0]++, 1000, 1000)).isEqualTo(0.0);
+        assertThat(AllocationMeter.bytesPerInvocation(() -> sink = new byte[1024], 100, 100)).isGreaterThanOrEqualTo(1024.0);
+    }
+
+    @Test
+    public final void testInvalidArguments() {
+        assertThatThrownBy(() -> AllocationMeter.bytesPerInvocation(() -> {
+        }, -1, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AllocationMeter.bytesPerInvocation(() -> {
+        }, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
+// CHECKSTYLE:ON
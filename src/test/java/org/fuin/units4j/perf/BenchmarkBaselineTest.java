@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// CHECKSTYLE:OFF Test code
+public final class BenchmarkBaselineTest {
+
+    @TempDir
+    File dir;
+
+    @Test
+    public final void testToJsonAndParse() throws Exception {
+
+        // PREPARE
+        final BenchmarkBaseline testee = new BenchmarkBaseline();
+        testee.put("b.Bench.run", 2.5, "ops/s");
+        testee.put("a.Bench.run(name=\"x\\y\")", 1000.0, "ops/ms");
+
+        // TEST
+        final String json = testee.toJson();
+        final BenchmarkBaseline parsed = BenchmarkBaseline.parse(json);
+
+        // VERIFY
+        assertThat(json).isEqualTo("{\n" //
+                + "  \"a.Bench.run(name=\\\"x\\\\y\\\")\": { \"score\": 1000.0, \"unit\": \"ops/ms\" },\n" //
+                + "  \"b.Bench.run\": { \"score\": 2.5, \"unit\": \"ops/s\" }\n" //
+                + "}\n");
+        assertThat(parsed.size()).isEqualTo(2);
+        assertThat(parsed.getNames()).containsExactly("a.Bench.run(name=\"x\\y\")", "b.Bench.run");
+        assertThat(parsed.get("b.Bench.run").getValue()).isEqualTo(2.5);
+        assertThat(parsed.get("b.Bench.run").getUnit()).isEqualTo("ops/s");
+        assertThat(parsed.get("unknown")).isNull();
+
+    }
+
+    @Test
+    public final void testParseEmptyAndInvalid() throws Exception {
+        assertThat(BenchmarkBaseline.parse("{ }").size()).isEqualTo(0);
+        assertThatThrownBy(() -> BenchmarkBaseline.parse("{ \"a\": 1.0 }")).isInstanceOf(IOException.class)
+                .hasMessageContaining("but found: {\"a\":1.0}");
+        assertThatThrownBy(() -> BenchmarkBaseline.parse("[]")).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public final void testWriteRead() throws Exception {
+
+        // PREPARE
+        final File file = new File(dir, "sub/baseline.json");
+        final BenchmarkBaseline testee = new BenchmarkBaseline();
+        testee.put("a.Bench.run", 1.5E7, "ops/s");
+
+        // TEST
+        assertThat(BenchmarkBaseline.read(file).size()).isEqualTo(0);
+        testee.write(file);
+        final BenchmarkBaseline read = BenchmarkBaseline.read(file);
+
+        // VERIFY
+        assertThat(read.get("a.Bench.run").getValue()).isEqualTo(1.5E7);
+        assertThat(read.toString()).isEqualTo(testee.toString());
+
+    }
+
+}
+// CHECKSTYLE:ON
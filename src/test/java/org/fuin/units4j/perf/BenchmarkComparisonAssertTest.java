@@ -0,0 +1,51 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.fuin.units4j.perf.BenchmarkComparisonAssert.assertThat;
+
+// CHECKSTYLE:OFF Test code
+public final class BenchmarkComparisonAssertTest {
+
+    @Test
+    public final void testValid() {
+        final BenchmarkBaseline baseline = new BenchmarkBaseline();
+        baseline.put("a.B.c", 100.0, "ops/s");
+        assertThat(new BenchmarkComparison(baseline, Collections.singletonMap("a.B.c", new BenchmarkBaseline.Score(90.0, "ops/s")), 0.2,
+                false)).hasNoRegressions().hasBaselineForAll();
+        assertThat(BenchmarkComparisonTest.comparison(true)).hasNoRegressions().hasBaselineForAll();
+    }
+
+    @Test
+    public final void testInvalid() {
+        final BenchmarkComparison comparison = BenchmarkComparisonTest.comparison(false);
+        assertThatThrownBy(() -> assertThat(comparison).hasNoRegressions()).isInstanceOf(AssertionError.class)
+                .hasMessageStartingWith("Expected no benchmark to be more than 20% slower than the baseline, but 1 regressed:")
+                .hasMessageContaining("a.B.slow: 70.000 ops/s (baseline 100.000, -30.0%) REGRESSION");
+        assertThatThrownBy(() -> assertThat(comparison).hasBaselineForAll()).isInstanceOf(AssertionError.class)
+                .hasMessageStartingWith(
+                        "Expected a baseline for every benchmark, but 2 have none (run with -Dunits4j.benchmark.update-baseline=true to create it):");
+    }
+
+}
+// CHECKSTYLE:ON
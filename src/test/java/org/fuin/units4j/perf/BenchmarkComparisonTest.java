@@ -0,0 +1,67 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// CHECKSTYLE:OFF Test code
+public final class BenchmarkComparisonTest {
+
+    static BenchmarkComparison comparison(final boolean updated) {
+        final BenchmarkBaseline baseline = new BenchmarkBaseline();
+        baseline.put("a.B.fast", 100.0, "ops/s");
+        baseline.put("a.B.slow", 100.0, "ops/s");
+        baseline.put("a.B.unit", 100.0, "ops/ms");
+        final Map<String, BenchmarkBaseline.Score> scores = new LinkedHashMap<>();
+        scores.put("a.B.slow", new BenchmarkBaseline.Score(70.0, "ops/s"));
+        scores.put("a.B.fast", new BenchmarkBaseline.Score(125.0, "ops/s"));
+        scores.put("a.B.new", new BenchmarkBaseline.Score(1.0, "ops/s"));
+        scores.put("a.B.unit", new BenchmarkBaseline.Score(1.0, "ops/s"));
+        return new BenchmarkComparison(baseline, scores, 0.2, updated);
+    }
+
+    @Test
+    public final void testCompare() {
+
+        // TEST
+        final BenchmarkComparison testee = comparison(false);
+
+        // VERIFY
+        assertThat(testee.getTolerance()).isEqualTo(0.2);
+        assertThat(testee.isBaselineUpdated()).isFalse();
+        assertThat(testee.getEntries()).extracting(BenchmarkComparison.Entry::getName).containsExactly("a.B.fast", "a.B.new", "a.B.slow",
+                "a.B.unit");
+        assertThat(testee.getRegressions()).extracting(BenchmarkComparison.Entry::getName).containsExactly("a.B.slow");
+        assertThat(testee.getMissingBaselines()).extracting(BenchmarkComparison.Entry::getName).containsExactly("a.B.new", "a.B.unit");
+        assertThat(testee.getEntries().get(0).getChange()).isEqualTo(0.25);
+        assertThat(testee.getEntries().get(1).getChange()).isNaN();
+        assertThat(testee.report()).isEqualTo("" //
+                + "    a.B.fast: 125.000 ops/s (baseline 100.000, +25.0%)\n" //
+                + "    a.B.new: 1.000 ops/s (no baseline)\n" //
+                + "    a.B.slow: 70.000 ops/s (baseline 100.000, -30.0%) REGRESSION\n" //
+                + "    a.B.unit: 1.000 ops/s (no baseline)\n");
+
+    }
+
+}
+// CHECKSTYLE:ON
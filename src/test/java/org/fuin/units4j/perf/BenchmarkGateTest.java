@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// CHECKSTYLE:OFF Test code
+public final class BenchmarkGateTest {
+
+    private static final String NAME = SumBenchmark.class.getName() + ".sum(size=10)";
+
+    @TempDir
+    File dir;
+
+    @Test
+    public final void testRun() throws Exception {
+
+        // PREPARE
+        final File file = new File(dir, "baseline.json");
+        final BenchmarkGate testee = new BenchmarkGate(file).include(SumBenchmark.class.getName()).warmupIterations(0).iterations(1)
+                .iterationTime(Duration.ofMillis(100)).updateBaseline(true);
+
+        // TEST
+        final BenchmarkComparison result = testee.run();
+
+        // VERIFY
+        assertThat(result.isBaselineUpdated()).isTrue();
+        assertThat(result.getEntries()).hasSize(1);
+        final BenchmarkComparison.Entry entry = result.getEntries().get(0);
+        assertThat(entry.getName()).isEqualTo(NAME);
+        assertThat(entry.hasBaseline()).isFalse();
+        assertThat(entry.getScore().getValue()).isGreaterThan(0.0);
+        assertThat(entry.getScore().getUnit()).isEqualTo("ops/s");
+        assertThat(BenchmarkBaseline.read(file).getNames()).containsExactly(NAME);
+
+    }
+
+    @Test
+    public final void testCompare() throws Exception {
+
+        // PREPARE
+        final File file = new File(dir, "baseline.json");
+        final BenchmarkBaseline baseline = new BenchmarkBaseline();
+        baseline.put("a.B.c", 1000.0, "ops/s");
+        baseline.put("a.B.other", 5.0, "ops/s");
+        baseline.write(file);
+        final Map<String, BenchmarkBaseline.Score> scores = Collections.singletonMap("a.B.c", new BenchmarkBaseline.Score(850.0, "ops/s"));
+
+        // TEST
+        final BenchmarkComparison tolerated = new BenchmarkGate(file).updateBaseline(false).compare(scores);
+        final BenchmarkComparison regressed = new BenchmarkGate(file).updateBaseline(false).tolerance(0.1).compare(scores);
+        final BenchmarkComparison updated = new BenchmarkGate(file).updateBaseline(true).tolerance(0.1).compare(scores);
+
+        // VERIFY
+        assertThat(tolerated.getRegressions()).isEmpty();
+        assertThat(regressed.getRegressions()).extracting(BenchmarkComparison.Entry::getName).containsExactly("a.B.c");
+        assertThat(updated.getRegressions()).hasSize(1);
+        assertThat(updated.isBaselineUpdated()).isTrue();
+        final BenchmarkBaseline written = BenchmarkBaseline.read(file);
+        assertThat(written.get("a.B.c").getValue()).isEqualTo(850.0);
+        assertThat(written.get("a.B.other").getValue()).isEqualTo(5.0);
+
+    }
+
+    @Test
+    public final void testInvalidArguments() {
+        final BenchmarkGate testee = new BenchmarkGate(new File(dir, "baseline.json"));
+        assertThatThrownBy(() -> testee.tolerance(-0.1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> testee.tolerance(1.0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> testee.warmupIterations(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> testee.iterations(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> testee.iterationTime(Duration.ZERO)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,57 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// CHECKSTYLE:OFF Test code
+public final class BlackholeTest {
+
+    @Test
+    public final void testConsume() {
+
+        // PREPARE
+        final Blackhole testee = new Blackhole();
+
+        // TEST
+        for (int i = 0; i < 100; i++) {
+            testee.consume("x");
+        }
+        testee.consume(3L);
+        testee.consume(1.0);
+        testee.consume(true);
+
+        // VERIFY
+        assertThat(testee.toString()).isEqualTo("Blackhole [true, " + (3L ^ Double.doubleToRawLongBits(1.0) ^ 1L) + "]");
+
+    }
+
+    @Test
+    public final void testNoAllocation() {
+        final Blackhole testee = new Blackhole();
+        final Object obj = new Object();
+        assertThat(AllocationMeter.bytesPerInvocation(() -> {
+            testee.consume(obj);
+            testee.consume(42L);
+        }, 1000, 1000)).isEqualTo(0.0);
+    }
+
+}
+// CHECKSTYLE:ON
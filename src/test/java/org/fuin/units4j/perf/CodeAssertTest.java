@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.fuin.units4j.perf.CodeAssert.assertThatCode;
+
+// CHECKSTYLE:OFF Test code
+public final class CodeAssertTest {
+
+    private static Object sink;
+
+    @Test
+    public final void testAllocatesAtMostValid() {
+        final long[] values = new long[16];
+        assertThatCode(() -> {
+            for (int i = 0; i < values.length; i++) {
+                values[i] += i;
+            }
+        }).allocatesAtMost(0);
+        assertThatCode(() -> sink = new byte[100]).withWarmupIterations(10).withIterations(10).allocatesAtMost(1000);
+    }
+
+    @Test
+    public final void testAllocatesAtMostInvalid() {
+        assertThatThrownBy(() -> assertThatCode(() -> {
+            final List<Integer> list = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                list.add(i + 1000);
+            }
+            sink = list;
+        }).withWarmupIterations(100).withIterations(100).allocatesAtMost(64)).isInstanceOf(AssertionError.class)
+                .hasMessageStartingWith("Expected code to allocate at most 64 bytes per invocation, but allocated ")
+                .hasMessageEndingWith("bytes (100 invocations after 100 warmup)");
+    }
+
+    @Test
+    public final void testLatencyValid() {
+        final int[] values = new int[] { 5, 3, 1, 4, 2 };
+        assertThatCode(() -> Math.sqrt(values[0])).hasP50LatencyBelow(Duration.ofMillis(10)).hasP99LatencyBelow(Duration.ofMillis(10));
+        assertThatCode(() -> values[1]++).withRounds(3).hasPercentileLatencyBelow(90.0, Duration.ofMillis(10));
+    }
+
+    @Test
+    public final void testLatencyInvalid() {
+        assertThatThrownBy(() -> assertThatCode(() -> TimingHarnessTest.busyWait(Duration.ofNanos(200_000))).withWarmupIterations(10)
+                .withIterations(20).withRounds(3).hasP99LatencyBelow(Duration.ofNanos(50_000))).isInstanceOf(AssertionError.class)
+                .hasMessageStartingWith("Expected p99.0 latency below 50.000 us, but was ").hasMessageContaining("rounds=3, samples=60");
+    }
+
+    @Test
+    public final void testGcValid() {
+        final int[] counter = new int[1];
+        assertThatCode(() -> counter[0]++).causesNoFullGc().causesNoOldGenCollection().gcTimeBelow(10_000);
+    }
+
+    @Test
+    public final void testGcInvalid() {
+        assertThatThrownBy(() -> assertThatCode(System::gc).causesNoFullGc()).isInstanceOf(AssertionError.class)
+                .hasMessageStartingWith("Expected no full garbage collection, but there were 1 (");
+        assertThatThrownBy(() -> assertThatCode(System::gc).causesNoOldGenCollection()).isInstanceOf(AssertionError.class)
+                .hasMessageStartingWith("Expected no old generation collection, but there was at least one (");
+        assertThatThrownBy(() -> assertThatCode(System::gc).gcTimeBelow(0)).isInstanceOf(AssertionError.class)
+                .hasMessageStartingWith("Expected garbage collection time below 0 ms, but was ");
+    }
+
+    @Test
+    public final void testInvalidArguments() {
+        assertThatThrownBy(() -> assertThatCode(() -> {
+        }).withWarmupIterations(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> assertThatCode(() -> {
+        }).withIterations(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> assertThatCode(() -> {
+        }).withRounds(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
+// CHECKSTYLE:ON
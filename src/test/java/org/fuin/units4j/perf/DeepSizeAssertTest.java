@@ -0,0 +1,47 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.fuin.units4j.perf.DeepSizeAssert.assertThat;
+
+// CHECKSTYLE:OFF Test code
+public final class DeepSizeAssertTest {
+
+    @Test
+    public final void testValid() {
+        final List<String> list = new ArrayList<>();
+        list.add("a");
+        assertThat(list).deepSizeIsAtMost(4096);
+        assertThat(new byte[100]).usingCalculator(new DeepSizeCalculator(true, true, 8)).deepSizeIsAtMost(120);
+    }
+
+    @Test
+    public final void testInvalid() {
+        assertThatThrownBy(() -> assertThat(new byte[100]).usingCalculator(new DeepSizeCalculator(true, true, 8)).deepSizeIsAtMost(100))
+                .isInstanceOf(AssertionError.class)
+                .hasMessage("Expected deep size of byte[] to be at most 100 bytes, but was 120 bytes in 1 objects [byte[]: 1 / 120 bytes]");
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,167 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// CHECKSTYLE:OFF Test code
+public final class DeepSizeCalculatorTest {
+
+    private static DeepSizeCalculator compressed() {
+        return new DeepSizeCalculator(true, true, 8);
+    }
+
+    @Test
+    public final void testShallowSize() {
+
+        // PREPARE
+        final DeepSizeCalculator testee = compressed();
+        final DeepSizeCalculator uncompressed = new DeepSizeCalculator(false, false, 8);
+        final DeepSizeCalculator aligned16 = new DeepSizeCalculator(true, true, 16);
+
+        // TEST + VERIFY
+        assertThat(testee.shallowSize(new Object())).isEqualTo(16);
+        assertThat(testee.shallowSize(Integer.valueOf(1000))).isEqualTo(16);
+        assertThat(testee.shallowSize(Long.valueOf(1000))).isEqualTo(24);
+        assertThat(testee.shallowSize(new int[10])).isEqualTo(56);
+        assertThat(testee.shallowSize(new Object[3])).isEqualTo(32);
+        assertThat(testee.shallowSize(new byte[0])).isEqualTo(16);
+        assertThat(testee.shallowSize(new Node(1))).isEqualTo(24);
+        assertThat(uncompressed.shallowSize(Integer.valueOf(1000))).isEqualTo(24);
+        assertThat(uncompressed.shallowSize(new Object[3])).isEqualTo(48);
+        assertThat(uncompressed.shallowSize(new Node(1))).isEqualTo(40);
+        assertThat(aligned16.shallowSize(Long.valueOf(1000))).isEqualTo(32);
+
+    }
+
+    @Test
+    public final void testCycle() {
+
+        // PREPARE
+        final Node a = new Node(1);
+        final Node b = new Node(2);
+        a.next = b;
+        b.next = a;
+
+        // TEST
+        final DeepSize size = compressed().calculate(a);
+
+        // VERIFY
+        assertThat(size.getObjects()).isEqualTo(2);
+        assertThat(size.getBytes()).isEqualTo(48);
+        assertThat(size.getObjects(Node.class)).isEqualTo(2);
+        assertThat(size.getBytes(Node.class)).isEqualTo(48);
+
+    }
+
+    @Test
+    public final void testJdkClasses() {
+
+        // PREPARE
+        final List<Integer> list = new ArrayList<>(Arrays.asList(1000, 2000, 3000));
+
+        // TEST
+        final DeepSize size = compressed().calculate(list);
+
+        // VERIFY (Internal array of the list is not accessible without "--add-opens")
+        assertThat(size.getObjects()).isEqualTo(4);
+        assertThat(size.getInaccessible()).isEqualTo(1);
+        assertThat(size.getBytes(ArrayList.class)).isEqualTo(24);
+        assertThat(size.getBytes(Integer.class)).isEqualTo(48);
+        assertThat(size.getBytes()).isEqualTo(72);
+
+    }
+
+    @Test
+    public final void testString() {
+
+        // TEST
+        final DeepSize latin1 = compressed().calculate("abc");
+        final DeepSize utf16 = compressed().calculate("ab\u20AC");
+        final DeepSize map = compressed().calculate(Collections.singletonMap("a", "b"));
+
+        // VERIFY
+        assertThat(latin1.getObjects()).isEqualTo(2);
+        assertThat(latin1.getInaccessible()).isEqualTo(0);
+        assertThat(latin1.getBytes(String.class)).isEqualTo(24);
+        assertThat(latin1.getBytes(byte[].class)).isEqualTo(24);
+        assertThat(utf16.getBytes(byte[].class)).isEqualTo(24);
+        assertThat(map.getObjects(String.class)).isEqualTo(2);
+        assertThat(map.getInaccessible()).isEqualTo(1);
+
+    }
+
+    @Test
+    public final void testStopAt() {
+
+        // PREPARE
+        final Node shared = new Node(0);
+        final Node a = new Node(1);
+        a.next = shared;
+        a.other = TimeUnit.SECONDS;
+        final Node b = new Node(2);
+        b.other = Node.class;
+
+        // TEST + VERIFY
+        assertThat(compressed().calculate(a).getObjects()).isEqualTo(2);
+        assertThat(compressed().stopAtInstances(shared).calculate(a).getObjects()).isEqualTo(1);
+        assertThat(compressed().stopAtClasses(Node.class).calculate(a).getObjects()).isEqualTo(0);
+        assertThat(compressed().stopAt(obj -> obj == shared).calculate(a).getBytes()).isEqualTo(24);
+        assertThat(compressed().calculate(b).getObjects()).isEqualTo(1);
+        assertThat(compressed().calculate(null).getObjects()).isEqualTo(0);
+
+    }
+
+    @Test
+    public final void testCurrentJvm() {
+        assertThat(new DeepSizeCalculator().shallowSize(new Object())).isBetween(16L, 24L);
+    }
+
+    @Test
+    public final void testAlign() {
+        assertThat(DeepSizeCalculator.align(12, 8)).isEqualTo(16);
+        assertThat(DeepSizeCalculator.align(16, 8)).isEqualTo(16);
+        assertThat(DeepSizeCalculator.align(17, 16)).isEqualTo(32);
+        assertThatThrownBy(() -> new DeepSizeCalculator(true, true, 12)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    static final class Node {
+
+        final int value;
+
+        Node next;
+
+        Object other;
+
+        Node(final int value) {
+            this.value = value;
+        }
+
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// CHECKSTYLE:OFF Test code
+public final class DeepSizeTest {
+
+    @Test
+    public final void testValues() {
+
+        // PREPARE
+        final Map<Class<?>, long[]> classes = new IdentityHashMap<>();
+        classes.put(String.class, new long[] { 2, 48 });
+        classes.put(byte[].class, new long[] { 2, 64 });
+
+        // TEST
+        final DeepSize testee = new DeepSize(classes, 1);
+
+        // VERIFY
+        assertThat(testee.getBytes()).isEqualTo(112);
+        assertThat(testee.getObjects()).isEqualTo(4);
+        assertThat(testee.getBytes(String.class)).isEqualTo(48);
+        assertThat(testee.getObjects(byte[].class)).isEqualTo(2);
+        assertThat(testee.getBytes(Integer.class)).isEqualTo(0);
+        assertThat(testee.getObjects(Integer.class)).isEqualTo(0);
+        assertThat(testee.getInaccessible()).isEqualTo(1);
+        assertThat(testee.toString())
+                .isEqualTo("112 bytes in 4 objects [byte[]: 2 / 64 bytes, java.lang.String: 2 / 48 bytes], 1 inaccessible");
+
+    }
+
+    @Test
+    public final void testToStringLimited() {
+
+        // PREPARE
+        final Map<Class<?>, long[]> classes = new IdentityHashMap<>();
+        final Class<?>[] types = { Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class, Character.class };
+        for (int i = 0; i < types.length; i++) {
+            classes.put(types[i], new long[] { 1, 16 + i * 8 });
+        }
+
+        // TEST + VERIFY
+        assertThat(new DeepSize(classes, 0).toString()).startsWith("280 bytes in 7 objects [java.lang.Character: 1 / 64 bytes, ")
+                .endsWith(", ... 2 more]");
+        assertThat(new DeepSize(new IdentityHashMap<>(), 0).toString()).isEqualTo("0 bytes in 0 objects");
+
+    }
+
+}
+// CHECKSTYLE:ON
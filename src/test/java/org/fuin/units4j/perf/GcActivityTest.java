@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// CHECKSTYLE:OFF Test code
+public final class GcActivityTest {
+
+    @Test
+    public final void testValues() {
+
+        // PREPARE
+        final Map<String, long[]> collectors = new LinkedHashMap<>();
+        collectors.put("G1 Young Generation", new long[] { 3, 12 });
+        collectors.put("G1 Old Generation", new long[] { 1, 40 });
+
+        // TEST
+        final GcActivity testee = new GcActivity(collectors, 1048576, 3145728, false);
+
+        // VERIFY
+        assertThat(testee.getCollections()).isEqualTo(4);
+        assertThat(testee.getFullCollections()).isEqualTo(1);
+        assertThat(testee.getTimeMillis()).isEqualTo(52);
+        assertThat(testee.getOldGenUsedBefore()).isEqualTo(1048576);
+        assertThat(testee.getOldGenUsedAfter()).isEqualTo(3145728);
+        assertThat(testee.isOldGenCollected()).isTrue();
+        assertThat(testee.toString()).isEqualTo(
+                "4 collections (1 full) in 52 ms [G1 Young Generation: 3 / 12 ms, G1 Old Generation: 1 / 40 ms], old gen 1.0 -> 3.0 MB");
+        assertThat(new GcActivity(new LinkedHashMap<>(), -1, -1, false).toString()).isEqualTo("0 collections (0 full) in 0 ms");
+
+    }
+
+    @Test
+    public final void testOldGenCollectedWithoutFullCollection() {
+
+        // PREPARE (G1 mixed collection that is reported by the young generation bean)
+        final Map<String, long[]> collectors = new LinkedHashMap<>();
+        collectors.put("G1 Young Generation", new long[] { 1, 5 });
+
+        // TEST
+        final GcActivity mixed = new GcActivity(collectors, 3145728, 1048576, true);
+        final GcActivity young = new GcActivity(collectors, 1048576, 2097152, false);
+
+        // VERIFY
+        assertThat(mixed.getFullCollections()).isEqualTo(0);
+        assertThat(mixed.isOldGenCollected()).isTrue();
+        assertThat(mixed.toString()).endsWith("old gen 3.0 -> 1.0 MB, old gen collected");
+        assertThat(young.isOldGenCollected()).isFalse();
+
+    }
+
+    @Test
+    public final void testIsFullCollector() {
+        assertThat(GcActivity.isFullCollector("G1 Old Generation")).isTrue();
+        assertThat(GcActivity.isFullCollector("PS MarkSweep")).isTrue();
+        assertThat(GcActivity.isFullCollector("MarkSweepCompact")).isTrue();
+        assertThat(GcActivity.isFullCollector("ZGC Major Cycles")).isTrue();
+        assertThat(GcActivity.isFullCollector("ZGC Cycles")).isTrue();
+        assertThat(GcActivity.isFullCollector("Shenandoah Cycles")).isTrue();
+        assertThat(GcActivity.isFullCollector("ZGC Major Pauses")).isFalse();
+        assertThat(GcActivity.isFullCollector("ZGC Minor Cycles")).isFalse();
+        assertThat(GcActivity.isFullCollector("G1 Young Generation")).isFalse();
+        assertThat(GcActivity.isFullCollector("PS Scavenge")).isFalse();
+        assertThat(GcActivity.isFullCollector("Copy")).isFalse();
+    }
+
+    @Test
+    public final void testMeasure() {
+
+        // TEST
+        final GcActivity none = GcActivity.measure(() -> {
+        });
+        final GcActivity full = GcActivity.measure(System::gc);
+
+        // VERIFY
+        assertThat(none.getFullCollections()).isEqualTo(0);
+        assertThat(full.getFullCollections()).isGreaterThanOrEqualTo(1);
+        assertThat(full.getOldGenUsedAfter()).isGreaterThanOrEqualTo(0);
+        assertThat(full.isOldGenCollected()).isTrue();
+
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,128 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+// CHECKSTYLE:OFF Test code
+public final class LatencyHistogramTest {
+
+    @Test
+    public final void testEmpty() {
+        final LatencyHistogram testee = new LatencyHistogram();
+        assertThat(testee.getCount()).isEqualTo(0);
+        assertThat(testee.getMin()).isEqualTo(0);
+        assertThat(testee.getMax()).isEqualTo(0);
+        assertThat(testee.getMean()).isEqualTo(0.0);
+        assertThat(testee.getValueAtPercentile(99.0)).isEqualTo(0);
+    }
+
+    @Test
+    public final void testPercentiles() {
+
+        // PREPARE
+        final LatencyHistogram testee = new LatencyHistogram();
+
+        // TEST
+        for (long i = 1; i <= 10_000; i++) {
+            testee.record(i * 1000);
+        }
+
+        // VERIFY
+        assertThat(testee.getCount()).isEqualTo(10_000);
+        assertThat(testee.getMin()).isEqualTo(1000);
+        assertThat(testee.getMax()).isEqualTo(10_000_000);
+        assertThat(testee.getMean()).isCloseTo(5_000_500.0, within(0.1));
+        assertThat((double) testee.getValueAtPercentile(50.0)).isCloseTo(5_000_000.0, within(5_000_000.0 / 64));
+        assertThat((double) testee.getValueAtPercentile(99.0)).isCloseTo(9_900_000.0, within(9_900_000.0 / 64));
+        assertThat((double) testee.getValueAtPercentile(99.9)).isCloseTo(9_990_000.0, within(9_990_000.0 / 64));
+        assertThat(testee.getValueAtPercentile(100.0)).isEqualTo(10_000_000);
+        assertThat(testee.getDurationAtPercentile(100.0)).isEqualTo(Duration.ofMillis(10));
+        assertThat(testee.toString()).startsWith("count=10000, mean=5000.5 us, p50=");
+
+    }
+
+    @Test
+    public final void testBuckets() {
+        for (long value : new long[] { 0, 1, 127, 128, 129, 255, 256, 1000, 123_456_789, Long.MAX_VALUE }) {
+            final int bucket = LatencyHistogram.bucket(value);
+            assertThat(LatencyHistogram.highestValue(bucket)).isGreaterThanOrEqualTo(value);
+            if (bucket > 0) {
+                assertThat(LatencyHistogram.highestValue(bucket - 1)).isLessThan(value);
+            }
+        }
+        assertThat(LatencyHistogram.bucket(127)).isEqualTo(127);
+    }
+
+    @Test
+    public final void testRecordWithExpectedInterval() {
+
+        // PREPARE
+        final LatencyHistogram testee = new LatencyHistogram();
+
+        // TEST
+        testee.recordWithExpectedInterval(100_000, 10_000);
+
+        // VERIFY
+        assertThat(testee.getCount()).isEqualTo(10);
+        assertThat(testee.getMax()).isEqualTo(100_000);
+        assertThat(testee.getMin()).isEqualTo(10_000);
+
+    }
+
+    @Test
+    public final void testAdd() {
+
+        // PREPARE
+        final LatencyHistogram a = new LatencyHistogram();
+        a.record(10);
+        final LatencyHistogram b = new LatencyHistogram();
+        b.record(5);
+        b.record(20);
+
+        // TEST
+        a.add(b);
+
+        // VERIFY
+        assertThat(a.getCount()).isEqualTo(3);
+        assertThat(a.getMin()).isEqualTo(5);
+        assertThat(a.getMax()).isEqualTo(20);
+
+    }
+
+    @Test
+    public final void testNegative() {
+        final LatencyHistogram testee = new LatencyHistogram();
+        testee.record(-1);
+        assertThat(testee.getMin()).isEqualTo(0);
+    }
+
+    @Test
+    public final void testInvalid() {
+        final LatencyHistogram testee = new LatencyHistogram();
+        assertThatThrownBy(() -> testee.getValueAtPercentile(100.1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,66 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.fuin.units4j.perf.LoadResultAssert.assertThat;
+
+// CHECKSTYLE:OFF Test code
+public final class LoadResultAssertTest {
+
+    private static LoadResult result(final long failures) {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 10_000L);
+        }
+        return new LoadResult(histogram, 100, failures, 1_000_000_000L, failures == 0 ? null : "Boom");
+    }
+
+    @Test
+    public final void testValid() {
+        assertThat(result(0)).hasNoFailures().failureRateIsAtMost(0.0).throughputIsAtLeast(100)
+                .p50IsAtMost(Duration.ofMillis(1)).p99IsAtMost(Duration.ofMillis(1)).p999IsAtMost(Duration.ofMillis(1))
+                .maxIsAtMost(Duration.ofMillis(1)).percentileIsAtMost(10.0, Duration.ofMillis(1));
+    }
+
+    @Test
+    public final void testInvalid() {
+        final LoadResult ok = result(0);
+        final LoadResult failed = result(2);
+        assertThatThrownBy(() -> assertThat(ok).throughputIsAtLeast(101)).isInstanceOf(AssertionError.class)
+                .hasMessageStartingWith("Expected a throughput of at least 101.0 ops/s, but was 100.0 ops/s");
+        assertThatThrownBy(() -> assertThat(failed).hasNoFailures()).isInstanceOf(AssertionError.class)
+                .hasMessage("Expected no failures, but 2 of 100 operations failed. First failure: Boom");
+        assertThatThrownBy(() -> assertThat(failed).failureRateIsAtMost(0.01)).isInstanceOf(AssertionError.class)
+                .hasMessage("Expected a failure rate of at most 1.000%, but was 2.000%. First failure: Boom");
+        assertThatThrownBy(() -> assertThat(ok).p50IsAtMost(Duration.ofNanos(100_000))).isInstanceOf(AssertionError.class)
+                .hasMessageStartingWith("Expected p50.0 latency to be at most 100.0 us, but was ");
+        assertThatThrownBy(() -> assertThat(ok).p99IsAtMost(Duration.ofNanos(500_000))).isInstanceOf(AssertionError.class)
+                .hasMessageStartingWith("Expected p99.0 latency");
+        assertThatThrownBy(() -> assertThat(ok).p999IsAtMost(Duration.ofNanos(500_000))).isInstanceOf(AssertionError.class)
+                .hasMessageStartingWith("Expected p99.9 latency");
+        assertThatThrownBy(() -> assertThat(ok).maxIsAtMost(Duration.ofNanos(999_999))).isInstanceOf(AssertionError.class)
+                .hasMessageStartingWith("Expected p100.0 latency to be at most 1000.0 us, but was 1000.0 us");
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,59 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+// CHECKSTYLE:OFF Test code
+public final class LoadResultTest {
+
+    @Test
+    public final void testValues() {
+
+        // PREPARE
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1000);
+        histogram.record(3000);
+
+        // TEST
+        final LoadResult testee = new LoadResult(histogram, 4, 1, 2_000_000_000L, "Boom");
+
+        // VERIFY
+        assertThat(testee.getHistogram()).isSameAs(histogram);
+        assertThat(testee.getOperations()).isEqualTo(4);
+        assertThat(testee.getFailures()).isEqualTo(1);
+        assertThat(testee.getElapsedNanos()).isEqualTo(2_000_000_000L);
+        assertThat(testee.getFirstFailure()).isEqualTo("Boom");
+        assertThat(testee.getThroughput()).isCloseTo(2.0, within(0.001));
+        assertThat(testee.getFailureRate()).isCloseTo(0.25, within(0.001));
+        assertThat(testee.toString()).startsWith("4 operations in 2.000 s (2.0 ops/s), 1 failures - count=2, mean=2.0 us");
+
+    }
+
+    @Test
+    public final void testEmpty() {
+        final LoadResult testee = new LoadResult(new LatencyHistogram(), 0, 0, 0, null);
+        assertThat(testee.getThroughput()).isEqualTo(0.0);
+        assertThat(testee.getFailureRate()).isEqualTo(0.0);
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// CHECKSTYLE:OFF Test code
+public final class TimingHarnessTest {
+
+    @Test
+    public final void testMeasureRunnable() {
+
+        // PREPARE
+        final AtomicInteger counter = new AtomicInteger();
+        final TimingHarness testee = new TimingHarness().warmupIterations(10).iterations(20).rounds(3);
+
+        // TEST
+        final TimingResult result = testee.measure(() -> {
+            counter.incrementAndGet();
+            busyWait(Duration.ofNanos(100_000));
+        });
+
+        // VERIFY
+        assertThat(counter.get()).isEqualTo(70);
+        assertThat(result.getRounds()).hasSize(3);
+        assertThat(result.getCount()).isEqualTo(60);
+        assertThat(result.getValueAtPercentile(50.0)).isGreaterThanOrEqualTo(Duration.ofNanos(100_000).toNanos());
+
+    }
+
+    @Test
+    public final void testMeasureSupplier() {
+
+        // PREPARE
+        final TimingHarness testee = new TimingHarness().warmupIterations(0).iterations(10).rounds(1);
+
+        // TEST
+        final TimingResult result = testee.measure(() -> "x");
+
+        // VERIFY
+        assertThat(result.getCount()).isEqualTo(10);
+        assertThat(testee.getBlackhole().toString()).startsWith("Blackhole [true");
+
+    }
+
+    @Test
+    public final void testCountOutliers() {
+        assertThat(TimingHarness.countOutliers(new long[] { 10, 11, 12, 10, 11, 12, 13, 10, 11, 500 })).isEqualTo(1);
+        assertThat(TimingHarness.countOutliers(new long[] { 10, 11, 12, 13 })).isEqualTo(0);
+        assertThat(TimingHarness.countOutliers(new long[] { 5 })).isEqualTo(0);
+    }
+
+    @Test
+    public final void testInvalidArguments() {
+        final TimingHarness testee = new TimingHarness();
+        assertThatThrownBy(() -> testee.warmupIterations(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> testee.iterations(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> testee.rounds(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    static void busyWait(final Duration duration) {
+        final long end = System.nanoTime() + duration.toNanos();
+        while (System.nanoTime() - end < 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,68 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// CHECKSTYLE:OFF Test code
+public final class TimingResultTest {
+
+    private static LatencyHistogram histogram(final long... values) {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (final long value : values) {
+            histogram.record(value);
+        }
+        return histogram;
+    }
+
+    @Test
+    public final void testMedianOfRounds() {
+
+        // PREPARE
+        final TimingResult testee = new TimingResult(
+                Arrays.asList(histogram(10, 20), histogram(10, 100_000), histogram(10, 30)), 1);
+
+        // TEST + VERIFY
+        assertThat(testee.getRounds()).hasSize(3);
+        assertThat(testee.getCount()).isEqualTo(6);
+        assertThat(testee.getOutliers()).isEqualTo(1);
+        assertThat(testee.getValueAtPercentile(100.0)).isEqualTo(30);
+        assertThat(testee.getValueAtPercentile(0.0)).isEqualTo(10);
+        assertThat(testee.toString()).isEqualTo("p50=0.010 us, p99=0.030 us, p999=0.030 us, rounds=3, samples=6, outliers=1");
+
+    }
+
+    @Test
+    public final void testEvenNumberOfRounds() {
+        final TimingResult testee = new TimingResult(Arrays.asList(histogram(10), histogram(20)), 0);
+        assertThat(testee.getValueAtPercentile(50.0)).isEqualTo(15);
+    }
+
+    @Test
+    public final void testNoRounds() {
+        assertThatThrownBy(() -> new TimingResult(Collections.emptyList(), 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
+// CHECKSTYLE:ON
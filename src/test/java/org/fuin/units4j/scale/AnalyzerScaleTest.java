@@ -0,0 +1,236 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.scale;
+
+import org.fuin.units4j.JandexAssert;
+import org.fuin.units4j.Units4JUtils;
+import org.fuin.units4j.analyzer.MCAMethod;
+import org.fuin.units4j.analyzer.MethodCallAnalyzer;
+import org.fuin.units4j.dependency.DependencyAnalyzer;
+import org.fuin.units4j.dependency.DependencyDiff;
+import org.fuin.units4j.dependency.DependencyGraph;
+import org.fuin.units4j.dependency.DependencyGraphBuilder;
+import org.fuin.units4j.dependency.DependencyGraphExporter;
+import org.fuin.units4j.dependency.DependencySnapshot;
+import org.fuin.units4j.dependency.GraphFormat;
+import org.jboss.jandex.Index;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the analyzers against a synthetic corpus and verifies they stay within time and retained heap ceilings. By default a small
+ * corpus is used so the test runs with every build. Larger corpora can be tested using system properties:
+ * <ul>
+ * <li>units4j.scale.classes - Number of generated classes (default 2000).</li>
+ * <li>units4j.scale.max-millis-per-class - Time ceiling per class in milliseconds (default 5).</li>
+ * <li>units4j.scale.max-heap-bytes-per-class - Retained heap ceiling per class in bytes (default 2048). The Jandex index retains about
+ * 600 bytes per synthetic class, the other analyzers less than 400 bytes. Very small corpora may need a higher value as a part of the
+ * retained memory does not depend on the number of classes.</li>
+ * </ul>
+ * Example: <code>mvn test -Dtest=AnalyzerScaleTest -Dunits4j.scale.classes=100000</code>
+ */
+// CHECKSTYLE:OFF Test code
+public class AnalyzerScaleTest {
+
+    private static final int CLASSES = Integer.getInteger("units4j.scale.classes", 2000);
+
+    private static final long MAX_MILLIS = CLASSES * Long.getLong("units4j.scale.max-millis-per-class", 5);
+
+    private static final long MAX_HEAP_BYTES = CLASSES * Long.getLong("units4j.scale.max-heap-bytes-per-class", 2048);
+
+    @TempDir
+    static Path tmp;
+
+    private static SyntheticCorpusGenerator generator;
+
+    private static File dir;
+
+    private static File jar;
+
+    @BeforeAll
+    public static void beforeAll() throws Exception {
+        generator = SyntheticCorpusGenerator.typical(CLASSES);
+        dir = tmp.resolve("classes").toFile();
+        jar = tmp.resolve("classes.jar").toFile();
+        generator.writeDirectory(dir);
+        generator.writeJar(jar);
+    }
+
+    @Test
+    public void testDependencyAnalyzer() throws Exception {
+
+        // PREPARE
+        final DependencyAnalyzer testee = new DependencyAnalyzer(AnalyzerScaleTest.class, "/scale-dependencies.xml");
+
+        // TEST
+        final int errors = withinCeilings("DependencyAnalyzer", () -> {
+            testee.analyze(dir);
+            return testee.getDependencyErrors().size();
+        });
+
+        // VERIFY
+        assertThat(errors).isGreaterThan(0);
+
+    }
+
+    @Test
+    public void testDependencyGraphBuilder() throws Exception {
+
+        // TEST
+        final DependencyGraph graph = withinCeilings("DependencyGraphBuilder", () -> new DependencyGraphBuilder().scan(dir).buildClassGraph());
+
+        // VERIFY
+        final int first = graph.getId(generator.internalName(0).replace('/', '.'));
+        assertThat(graph.getSuccessorCount(first)).isGreaterThan(0);
+
+    }
+
+    @Test
+    public void testDependencyGraphExporter() throws Exception {
+
+        // PREPARE
+        final File file = tmp.resolve("classes.jsonl").toFile();
+
+        // TEST
+        withinCeilings("DependencyGraphExporter", () -> {
+            try (final Writer writer = Files.newBufferedWriter(file.toPath())) {
+                new DependencyGraphExporter(writer, GraphFormat.JSONL, DependencyGraphExporter.CLASS_LEVEL).include("gen").scanJar(jar)
+                        .finish();
+            }
+            return null;
+        });
+
+        // VERIFY
+        assertThat(file.length()).isGreaterThan(0);
+
+    }
+
+    @Test
+    public void testDependencySnapshotDiff() throws Exception {
+
+        // PREPARE
+        final File oldFile = tmp.resolve("old-snapshot.bin").toFile();
+        final DependencySnapshot current = DependencySnapshot.create(dir);
+        final List<String> edges = new ArrayList<>(current.getClassEdges());
+        edges.remove(0);
+        new DependencySnapshot(edges).write(oldFile);
+        final File newFile = tmp.resolve("new-snapshot.bin").toFile();
+        current.write(newFile);
+
+        // TEST
+        final DependencyDiff diff = withinCeilings("DependencySnapshot.diff",
+                () -> DependencySnapshot.diff(DependencySnapshot.read(oldFile), DependencySnapshot.read(newFile)));
+
+        // VERIFY
+        assertThat(diff.getAddedClassEdges()).hasSize(1);
+        assertThat(diff.getRemovedClassEdges()).isEmpty();
+
+    }
+
+    @Test
+    public void testMethodCallAnalyzerDir() throws Exception {
+
+        // PREPARE
+        final MethodCallAnalyzer testee = new MethodCallAnalyzer(
+                new MCAMethod("java.math.BigDecimal", "java.math.BigDecimal divide(java.math.BigDecimal)"));
+
+        // TEST
+        final int calls = withinCeilings("MethodCallAnalyzer (dir)", () -> {
+            testee.findCallingMethodsInDir(dir);
+            return testee.getMethodCalls().size();
+        });
+
+        // VERIFY
+        assertThat(calls).isEqualTo(generator.getDivideCallCount());
+
+    }
+
+    @Test
+    public void testMethodCallAnalyzerJar() throws Exception {
+
+        // PREPARE
+        final MethodCallAnalyzer testee = new MethodCallAnalyzer(
+                new MCAMethod("java.math.BigDecimal", "java.math.BigDecimal divide(java.math.BigDecimal)"));
+
+        // TEST
+        final int calls = withinCeilings("MethodCallAnalyzer (jar)", () -> {
+            testee.findCallingMethodsInJar(jar);
+            return testee.getMethodCalls().size();
+        });
+
+        // VERIFY
+        assertThat(calls).isEqualTo(generator.getDivideCallCount());
+
+    }
+
+    @Test
+    public void testJandexAssert() throws Exception {
+
+        // TEST
+        final Index index = withinCeilings("JandexAssert", () -> {
+            final List<File> classFiles = Units4JUtils.findAllClasses(dir);
+            final Index result = Units4JUtils.indexAllClasses(classFiles);
+            JandexAssert.assertThat(result).hasOnlyValidJpaEntities().hasNoFinalFieldsWithJsonbPropertyAnnotation();
+            return result;
+        });
+
+        // VERIFY
+        assertThat(index.getKnownClasses()).hasSize(CLASSES);
+
+    }
+
+    private static <T> T withinCeilings(final String name, final Callable<T> task) throws Exception {
+        final long before = retainedHeap();
+        final long start = System.nanoTime();
+        final T result = task.call();
+        final long millis = (System.nanoTime() - start) / 1_000_000;
+        // The task (and with it the analyzer) and the result are still referenced, so their data survives the GC
+        final long retained = retainedHeap() - before;
+        Reference.reachabilityFence(task);
+        Reference.reachabilityFence(result);
+        assertThat(millis).as("%s: Time for %d classes [ms]", name, CLASSES).isLessThanOrEqualTo(MAX_MILLIS);
+        assertThat(retained).as("%s: Retained heap for %d classes [bytes]", name, CLASSES).isLessThanOrEqualTo(MAX_HEAP_BYTES);
+        return result;
+    }
+
+    /**
+     * Returns the used heap after a full GC. This is the memory that is still referenced and does not depend on how far the young
+     * generation grew before a collection (which varies with the default heap size of the host).
+     * 
+     * @return Used heap in bytes.
+     */
+    private static long retainedHeap() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,266 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.scale;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * Generates a deterministic set of synthetic class files using ASM. The same configuration always creates exactly the same bytes. The
+ * generated classes have the following structure:
+ * <ul>
+ * <li>Classes are distributed round robin over packages named "gen/pN" (with optional nested "sN" segments).</li>
+ * <li>Every class has a private field for each class it depends on. A configurable part of the dependencies point to classes in the same
+ * package.</li>
+ * <li>Every class has a static method "m()" that calls "m()" of a configurable number of other classes.</li>
+ * <li>Every n-th class calls "BigDecimal.divide(BigDecimal)" in a method "compute(BigDecimal)".</li>
+ * <li>Every n-th class is annotated with "jakarta.persistence.Entity".</li>
+ * </ul>
+ */
+// CHECKSTYLE:OFF Test code
+public final class SyntheticCorpusGenerator implements Opcodes {
+
+    private static final String BIG_DECIMAL = "java/math/BigDecimal";
+
+    private final int classCount;
+
+    private final int packageCount;
+
+    private final int packageDepth;
+
+    private final int dependenciesPerClass;
+
+    private final int callsPerClass;
+
+    private final double locality;
+
+    private final int divideEvery;
+
+    private final int entityEvery;
+
+    private final long seed;
+
+    /**
+     * Constructor with all settings.
+     *
+     * @param classCount
+     *            Number of classes to generate.
+     * @param packageCount
+     *            Number of packages.
+     * @param packageDepth
+     *            Number of nested segments below "gen/pN" (0 = "gen/pN" only).
+     * @param dependenciesPerClass
+     *            Number of field dependencies per class.
+     * @param callsPerClass
+     *            Number of static method calls to other classes.
+     * @param locality
+     *            Probability (0..1) that a dependency points to a class in the same package.
+     * @param divideEvery
+     *            Every n-th class calls BigDecimal.divide (0 = never).
+     * @param entityEvery
+     *            Every n-th class is annotated with "@Entity" (0 = never).
+     * @param seed
+     *            Seed for the random generator.
+     */
+    public SyntheticCorpusGenerator(final int classCount, final int packageCount, final int packageDepth, final int dependenciesPerClass,
+            final int callsPerClass, final double locality, final int divideEvery, final int entityEvery, final long seed) {
+        super();
+        if (classCount < 1 || packageCount < 1 || packageCount > classCount) {
+            throw new IllegalArgumentException(
+                    "Invalid class count (" + classCount + ") or package count (" + packageCount + ")");
+        }
+        this.classCount = classCount;
+        this.packageCount = packageCount;
+        this.packageDepth = packageDepth;
+        this.dependenciesPerClass = dependenciesPerClass;
+        this.callsPerClass = callsPerClass;
+        this.locality = locality;
+        this.divideEvery = divideEvery;
+        this.entityEvery = entityEvery;
+        this.seed = seed;
+    }
+
+    /**
+     * Creates a generator with typical settings: One package per 50 classes, 8 dependencies and 4 calls per class, 70% package local
+     * dependencies, every 100th class calls BigDecimal.divide and every 20th class is an entity.
+     *
+     * @param classCount
+     *            Number of classes to generate.
+     *
+     * @return New generator.
+     */
+    public static SyntheticCorpusGenerator typical(final int classCount) {
+        return new SyntheticCorpusGenerator(classCount, Math.max(1, classCount / 50), 1, 8, 4, 0.7, 100, 20, 4711L);
+    }
+
+    /**
+     * Returns the number of classes to generate.
+     *
+     * @return Number of classes.
+     */
+    public int getClassCount() {
+        return classCount;
+    }
+
+    /**
+     * Returns the number of classes that call BigDecimal.divide.
+     *
+     * @return Number of classes with a divide call.
+     */
+    public int getDivideCallCount() {
+        return divideEvery == 0 ? 0 : (classCount + divideEvery - 1) / divideEvery;
+    }
+
+    /**
+     * Returns the internal name of a generated class.
+     *
+     * @param index
+     *            Index of the class (0..classCount-1).
+     *
+     * @return Internal name like "gen/p3/s0/C42".
+     */
+    public String internalName(final int index) {
+        return packageName(index % packageCount) + "/C" + index;
+    }
+
+    /**
+     * Creates the byte code of a single class.
+     *
+     * @param index
+     *            Index of the class (0..classCount-1).
+     *
+     * @return Class file content.
+     */
+    public byte[] generate(final int index) {
+        final SplittableRandom random = new SplittableRandom(seed + index);
+        final String name = internalName(index);
+        final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V17, ACC_PUBLIC | ACC_SUPER, name, null, "java/lang/Object", null);
+        if (entityEvery > 0 && index % entityEvery == 0) {
+            cw.visitAnnotation("Ljakarta/persistence/Entity;", true).visitEnd();
+        }
+
+        for (int i = 0; i < dependenciesPerClass; i++) {
+            final FieldVisitor fv = cw.visitField(ACC_PRIVATE, "f" + i, "L" + internalName(target(random, index)) + ";", null, null);
+            fv.visitEnd();
+        }
+
+        final MethodVisitor init = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        init.visitCode();
+        init.visitVarInsn(ALOAD, 0);
+        init.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        init.visitInsn(RETURN);
+        init.visitMaxs(0, 0);
+        init.visitEnd();
+
+        final MethodVisitor m = cw.visitMethod(ACC_PUBLIC | ACC_STATIC, "m", "()V", null, null);
+        m.visitCode();
+        for (int i = 0; i < callsPerClass; i++) {
+            m.visitMethodInsn(INVOKESTATIC, internalName(target(random, index)), "m", "()V", false);
+        }
+        m.visitInsn(RETURN);
+        m.visitMaxs(0, 0);
+        m.visitEnd();
+
+        if (divideEvery > 0 && index % divideEvery == 0) {
+            final String desc = "(L" + BIG_DECIMAL + ";)L" + BIG_DECIMAL + ";";
+            final MethodVisitor compute = cw.visitMethod(ACC_PUBLIC, "compute", desc, null, null);
+            compute.visitCode();
+            compute.visitVarInsn(ALOAD, 1);
+            compute.visitVarInsn(ALOAD, 1);
+            compute.visitMethodInsn(INVOKEVIRTUAL, BIG_DECIMAL, "divide", desc, false);
+            compute.visitInsn(ARETURN);
+            compute.visitMaxs(0, 0);
+            compute.visitEnd();
+        }
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    /**
+     * Writes all classes as ".class" files into a directory.
+     *
+     * @param dir
+     *            Target directory - Will be created if it does not exist.
+     *
+     * @throws IOException
+     *             Error writing the files.
+     */
+    public void writeDirectory(final File dir) throws IOException {
+        final Path root = dir.toPath();
+        for (int i = 0; i < classCount; i++) {
+            final Path file = root.resolve(internalName(i) + ".class");
+            Files.createDirectories(file.getParent());
+            try (final OutputStream out = Files.newOutputStream(file)) {
+                out.write(generate(i));
+            }
+        }
+    }
+
+    /**
+     * Writes all classes into a JAR file.
+     *
+     * @param jar
+     *            JAR file to create.
+     *
+     * @throws IOException
+     *             Error writing the file.
+     */
+    public void writeJar(final File jar) throws IOException {
+        try (final JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar.toPath()))) {
+            for (int i = 0; i < classCount; i++) {
+                final JarEntry entry = new JarEntry(internalName(i) + ".class");
+                entry.setTime(0);
+                out.putNextEntry(entry);
+                out.write(generate(i));
+                out.closeEntry();
+            }
+        }
+    }
+
+    private int target(final SplittableRandom random, final int index) {
+        if (random.nextDouble() < locality) {
+            // Same package: index + k * packageCount
+            final int samePackage = (classCount - 1 - index % packageCount) / packageCount + 1;
+            return index % packageCount + random.nextInt(samePackage) * packageCount;
+        }
+        return random.nextInt(classCount);
+    }
+
+    private String packageName(final int pkg) {
+        final StringBuilder sb = new StringBuilder("gen/p").append(pkg);
+        for (int i = 0; i < packageDepth; i++) {
+            sb.append("/s").append(i);
+        }
+        return sb.toString();
+    }
+
+}
+// CHECKSTYLE:ON
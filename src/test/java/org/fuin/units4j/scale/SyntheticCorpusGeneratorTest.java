@@ -0,0 +1,143 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.scale;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.ClassReader;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.JarFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the {@link SyntheticCorpusGenerator} class.
+ */
+// CHECKSTYLE:OFF Test code
+public class SyntheticCorpusGeneratorTest {
+
+    @Test
+    public void testDeterministic() {
+
+        // PREPARE
+        final SyntheticCorpusGenerator a = SyntheticCorpusGenerator.typical(200);
+        final SyntheticCorpusGenerator b = SyntheticCorpusGenerator.typical(200);
+
+        // TEST + VERIFY
+        for (int i = 0; i < 200; i++) {
+            assertThat(a.generate(i)).isEqualTo(b.generate(i));
+        }
+
+    }
+
+    @Test
+    public void testStructure() {
+
+        // PREPARE
+        final SyntheticCorpusGenerator testee = new SyntheticCorpusGenerator(10, 2, 1, 3, 2, 1.0, 5, 2, 1L);
+
+        // TEST
+        final ClassReader reader = new ClassReader(testee.generate(4));
+
+        // VERIFY
+        assertThat(reader.getClassName()).isEqualTo("gen/p0/s0/C4");
+        assertThat(testee.internalName(5)).isEqualTo("gen/p1/s0/C5");
+        assertThat(testee.getDivideCallCount()).isEqualTo(2);
+
+    }
+
+    @Test
+    public void testGeneratedClassesAreValid() throws Exception {
+
+        // PREPARE
+        final SyntheticCorpusGenerator testee = new SyntheticCorpusGenerator(20, 4, 0, 3, 2, 0.5, 5, 2, 1L);
+        final GeneratedClassLoader cl = new GeneratedClassLoader(testee);
+
+        // TEST
+        final Class<?> clasz = Class.forName("gen.p0.C0", true, cl);
+
+        // VERIFY
+        assertThat(clasz.getDeclaredFields()).hasSize(3);
+        assertThat(clasz.getAnnotation(jakarta.persistence.Entity.class)).isNotNull();
+        final Method compute = clasz.getMethod("compute", java.math.BigDecimal.class);
+        assertThat(compute.invoke(clasz.getConstructor().newInstance(), java.math.BigDecimal.TEN)).isEqualTo(java.math.BigDecimal.ONE);
+        assertThat(Modifier.isStatic(clasz.getMethod("m").getModifiers())).isTrue();
+
+    }
+
+    @Test
+    public void testWriteDirectoryAndJar(@TempDir final Path tmp) throws Exception {
+
+        // PREPARE
+        final SyntheticCorpusGenerator testee = SyntheticCorpusGenerator.typical(100);
+        final File dir = tmp.resolve("classes").toFile();
+        final File jar = tmp.resolve("classes.jar").toFile();
+
+        // TEST
+        testee.writeDirectory(dir);
+        testee.writeJar(jar);
+
+        // VERIFY
+        try (final var stream = Files.walk(dir.toPath())) {
+            assertThat(stream.filter(path -> path.toString().endsWith(".class")).count()).isEqualTo(100);
+        }
+        try (final JarFile jarFile = new JarFile(jar)) {
+            assertThat(jarFile.size()).isEqualTo(100);
+            assertThat(jarFile.getEntry(testee.internalName(99) + ".class")).isNotNull();
+        }
+
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThatThrownBy(() -> new SyntheticCorpusGenerator(1, 2, 0, 0, 0, 0.0, 0, 0, 0L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Loads classes directly from the generator.
+     */
+    private static final class GeneratedClassLoader extends ClassLoader {
+
+        private final SyntheticCorpusGenerator generator;
+
+        GeneratedClassLoader(final SyntheticCorpusGenerator generator) {
+            super(SyntheticCorpusGeneratorTest.class.getClassLoader());
+            this.generator = generator;
+        }
+
+        @Override
+        protected Class<?> findClass(final String name) throws ClassNotFoundException {
+            if (name.startsWith("gen.")) {
+                final int index = Integer.parseInt(name.substring(name.lastIndexOf('C') + 1));
+                final byte[] data = generator.generate(index);
+                return defineClass(name, data, 0, data.length);
+            }
+            throw new ClassNotFoundException(name);
+        }
+
+    }
+
+}
+// CHECKSTYLE:ON
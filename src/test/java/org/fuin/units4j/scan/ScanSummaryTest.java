@@ -0,0 +1,120 @@
+/**
+ * Copyright (C) 2015 Michael Schnell. All rights reserved.
+ * http://www.fuin.org/
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library. If not, see http://www.gnu.org/licenses/.
+ */
+package org.fuin.units4j.scan;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the {@link ScanSummary} class.
+ */
+// CHECKSTYLE:OFF Test code
+public class ScanSummaryTest {
+
+    @Test
+    public void testTotals() {
+
+        // PREPARE
+        final ScanSummary testee = new ScanSummary();
+
+        // TEST
+        testee.fileDiscovered("a/A.class");
+        testee.fileDiscovered("a/B.class");
+        testee.bytesRead("a/A.class", 100, 1_000);
+        testee.bytesRead("a/B.class", 50, 2_000);
+        testee.classParsed("a.A", 3_000);
+        testee.classParsed("a.B", 4_000);
+
+        // VERIFY
+        assertThat(testee.getFiles()).isEqualTo(2);
+        assertThat(testee.getBytes()).isEqualTo(150);
+        assertThat(testee.getReadNanos()).isEqualTo(3_000);
+        assertThat(testee.getClasses()).isEqualTo(2);
+        assertThat(testee.getParseNanos()).isEqualTo(7_000);
+
+    }
+
+    @Test
+    public void testSlowestClassesAreLimited() {
+
+        // PREPARE
+        final ScanSummary testee = new ScanSummary(3);
+
+        // TEST
+        IntStream.of(5, 1, 9, 3, 7, 2).forEach(i -> testee.classParsed("C" + i, i));
+
+        // VERIFY
+        assertThat(testee.getSlowestClasses()).extracting(ScanSummary.ClassTiming::getClassName).containsExactly("C9", "C7", "C5");
+        assertThat(testee.getClasses()).isEqualTo(6);
+
+    }
+
+    @Test
+    public void testSlowestRules() {
+
+        // PREPARE
+        final ScanSummary testee = new ScanSummary(2);
+
+        // TEST
+        testee.ruleEvaluated("fast", "a.A", true, 10);
+        testee.ruleEvaluated("slow", "a.A", true, 500);
+        testee.ruleEvaluated("slow", "a.B", false, 600);
+        testee.ruleEvaluated("medium", "a.A", true, 200);
+
+        // VERIFY
+        assertThat(testee.getSlowestRules()).hasSize(2);
+        final ScanSummary.RuleTiming slow = testee.getSlowestRules().get(0);
+        assertThat(slow.getRule()).isEqualTo("slow");
+        assertThat(slow.getCount()).isEqualTo(2);
+        assertThat(slow.getFailures()).isEqualTo(1);
+        assertThat(slow.getNanos()).isEqualTo(1_100);
+        assertThat(testee.getSlowestRules().get(1).getRule()).isEqualTo("medium");
+
+    }
+
+    @Test
+    public void testReport() {
+
+        // PREPARE
+        final ScanSummary testee = new ScanSummary();
+        testee.fileDiscovered("a/A.class");
+        testee.bytesRead("a/A.class", 100, 1_000_000);
+        testee.classParsed("a.A", 2_500_000);
+        testee.ruleEvaluated("MyRule", "a.A", false, 1_500_000);
+
+        // TEST
+        final String report = testee.report();
+
+        // VERIFY
+        assertThat(report).isEqualTo("Scanned 1 files (100 bytes) - read 1.000 ms, parsed 1 classes in 2.500 ms\n" + "Slowest classes:\n"
+                + "       2.500 ms  a.A\n" + "Slowest rules:\n" + "       1.500 ms  MyRule (1 evaluations, 1 failed)\n");
+        assertThat(testee).hasToString(report);
+
+    }
+
+    @Test
+    public void testInvalidLimit() {
+        assertThatThrownBy(() -> new ScanSummary(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
+// CHECKSTYLE:ON
@@ -0,0 +1,4 @@
+-- Example data for the DataSetLoaderTest
+INSERT INTO MY_TEST_TABLE (ID, NAME) VALUES (1, 'John Doe');
+INSERT INTO MY_TEST_TABLE (ID, NAME)
+VALUES (2, 'Jane Doe');